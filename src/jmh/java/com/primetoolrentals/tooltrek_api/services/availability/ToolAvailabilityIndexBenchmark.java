@@ -0,0 +1,77 @@
+package com.primetoolrentals.tooltrek_api.services.availability;
+
+import com.primetoolrentals.tooltrek_api.dto.ToolDto;
+import com.primetoolrentals.tooltrek_api.dto.ToolTypeAvailabilityDto;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the availability of a fleet of 50 000 tools of one type, each rented back to back for random periods
+ * of 1 to 14 days with gaps of 0 to 14 days over two years.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx3g")
+public class ToolAvailabilityIndexBenchmark {
+
+    private static final int TOOL_COUNT = 50_000;
+    private static final LocalDate FIRST_DAY = LocalDate.of(2023, 1, 1);
+    private static final LocalDate LAST_DAY = LocalDate.of(2024, 12, 31);
+
+    /**
+     * The number of days of the period queried: a week, a quarter and the two years.
+     */
+    @Param({"7", "90", "731"})
+    private int periodDays;
+
+    private ToolAvailabilityIndex index;
+    private LocalDate from;
+    private LocalDate to;
+
+    /**
+     * Fills the index with the tools and their rentals.
+     */
+    @Setup
+    public void setUp() {
+        index = new ToolAvailabilityIndex(null, null, null, null);
+        Random random = new Random(42);
+        for (long id = 1; id <= TOOL_COUNT; id++) {
+            index.addTool(new ToolDto(id, "T" + id, 1L, "Brand", 1L, "Type"));
+            LocalDate start = FIRST_DAY.plusDays(random.nextInt(15));
+            while (start.isBefore(LAST_DAY)) {
+                LocalDate end = start.plusDays(1 + random.nextInt(14));
+                index.add(id, start, end);
+                start = end.plusDays(random.nextInt(15));
+            }
+        }
+        from = LAST_DAY.minusDays(periodDays - 1);
+        to = LAST_DAY;
+    }
+
+    /**
+     * Counts the free tools by day over the period and finds the tools free on every day.
+     *
+     * @return The availability of the fleet.
+     */
+    @Benchmark
+    public ToolTypeAvailabilityDto findToolTypeAvailability() {
+        return index.findToolTypeAvailability(1L, from, to);
+    }
+
+    /**
+     * Checks a tool in the middle of the fleet for a rental over the period, as done at checkout.
+     *
+     * @return The rented period found, if any.
+     */
+    @Benchmark
+    public Optional<BookedPeriod> findOverlap() {
+        return index.findOverlap(TOOL_COUNT / 2L, from, to.plusDays(1));
+    }
+}
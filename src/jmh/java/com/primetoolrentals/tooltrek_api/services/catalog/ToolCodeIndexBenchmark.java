@@ -0,0 +1,65 @@
+package com.primetoolrentals.tooltrek_api.services.catalog;
+
+import com.primetoolrentals.tooltrek_api.dto.ToolDto;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the tool code search over an index of one million random codes of 4 to 10 uppercase letters.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class ToolCodeIndexBenchmark {
+
+    private static final int CODE_COUNT = 1_000_000;
+
+    /**
+     * The prefix searched: a letter matching ~40 000 codes, typed prefixes matching a few codes, and no match.
+     */
+    @Param({"J", "JAK", "JAKRX", "ZZZZZZ"})
+    private String prefix;
+
+    private ToolCodeIndex index;
+
+    /**
+     * Fills the index with random codes, spread over a few brands and types.
+     */
+    @Setup
+    public void setUp() {
+        index = new ToolCodeIndex(null, null, null);
+        Random random = new Random(42);
+        Set<String> codes = new HashSet<>(CODE_COUNT * 2);
+        long id = 0;
+        while (codes.size() < CODE_COUNT) {
+            char[] code = new char[4 + random.nextInt(7)];
+            for (int i = 0; i < code.length; i++) {
+                code[i] = (char) ('A' + random.nextInt(26));
+            }
+            String value = new String(code);
+            if (codes.add(value)) {
+                long brandId = id % 20;
+                long typeId = id % 8;
+                index.add(new ToolDto(++id, value, brandId, "Brand " + brandId, typeId, "Type " + typeId));
+            }
+        }
+    }
+
+    /**
+     * Finds the first 10 tools whose codes start with the prefix.
+     *
+     * @return The tools found.
+     */
+    @Benchmark
+    public List<ToolDto> search() {
+        return index.search(prefix, 10);
+    }
+}
@@ -0,0 +1,69 @@
+package com.primetoolrentals.tooltrek_api.services.catalog;
+
+import com.primetoolrentals.tooltrek_api.dto.ToolDto;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the full-text tool search over an index of 500 000 tools with random codes of 4 to 10 uppercase letters,
+ * spread over 200 brands and 500 types whose names are made of two words.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx3g")
+public class ToolTextIndexBenchmark {
+
+    private static final int TOOL_COUNT = 500_000;
+    private static final int BRAND_COUNT = 200;
+    private static final int TYPE_COUNT = 500;
+
+    /**
+     * The query searched: a brand and a type matching ~5 tools, a brand matching ~2 500 tools, a brand word prefix
+     * and a type matching ~10 tools, a code, and a word matching no tool.
+     */
+    @Param({"brand17 type42", "brand17", "bran heavy42", "JAKRX", "zzzzzz"})
+    private String query;
+
+    private ToolTextIndex index;
+
+    /**
+     * Fills the index with random codes, spread evenly over the brands and types.
+     */
+    @Setup
+    public void setUp() {
+        index = new ToolTextIndex(null, null, null);
+        Random random = new Random(42);
+        Set<String> codes = new HashSet<>(TOOL_COUNT * 2);
+        long id = 0;
+        while (codes.size() < TOOL_COUNT) {
+            char[] code = new char[4 + random.nextInt(7)];
+            for (int i = 0; i < code.length; i++) {
+                code[i] = (char) ('A' + random.nextInt(26));
+            }
+            String value = new String(code);
+            if (codes.add(value)) {
+                long brandId = random.nextInt(BRAND_COUNT);
+                long typeId = random.nextInt(TYPE_COUNT);
+                index.add(new ToolDto(++id, value, brandId, "Brand" + brandId + " Tools", typeId, "Heavy" + typeId + " Type" + typeId));
+            }
+        }
+    }
+
+    /**
+     * Finds the 10 best tools matching the query.
+     *
+     * @return The tools found.
+     */
+    @Benchmark
+    public List<ToolDto> search() {
+        return index.search(query, 10);
+    }
+}
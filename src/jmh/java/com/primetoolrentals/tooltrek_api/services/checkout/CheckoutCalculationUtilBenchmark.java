@@ -0,0 +1,57 @@
+package com.primetoolrentals.tooltrek_api.services.checkout;
+
+import com.primetoolrentals.tooltrek_api.dto.Money;
+import com.primetoolrentals.tooltrek_api.services.format.AmountFormatter;
+import org.openjdk.jmh.annotations.*;
+
+import java.text.NumberFormat;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the currency formatting used by the rental agreement document.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CheckoutCalculationUtilBenchmark {
+
+    private Money amount = Money.ofCents(123456);
+    private NumberFormat numberFormat = NumberFormat.getCurrencyInstance(Locale.US);
+    private AmountFormatter amountFormatter = AmountFormatter.forLocale(Locale.US);
+    private StringBuilder out = new StringBuilder();
+
+    /**
+     * Formats a currency amount.
+     *
+     * @return The formatted amount.
+     */
+    @Benchmark
+    public String formatCurrencyAmount() {
+        return CheckoutCalculationUtil.formatCurrencyAmount(amount);
+    }
+
+    /**
+     * Formats a currency amount with a NumberFormat, as done before AmountFormatter.
+     *
+     * @return The formatted amount.
+     */
+    @Benchmark
+    public String formatWithNumberFormat() {
+        return numberFormat.format(amount.doubleValue());
+    }
+
+    /**
+     * Appends a currency amount to a reused string builder.
+     *
+     * @return The string builder.
+     */
+    @Benchmark
+    public StringBuilder appendCurrency() {
+        out.setLength(0);
+        return amountFormatter.appendCurrency(amount, out);
+    }
+}
@@ -0,0 +1,37 @@
+package com.primetoolrentals.tooltrek_api.services.checkout;
+
+import com.primetoolrentals.tooltrek_api.dto.RentalDaysDto;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the charge day calculation over short and multi-year rental periods.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CheckoutDateUtilBenchmark {
+
+    /**
+     * The number of rental days: a short rental, a rental spanning Independence Day, and multi-year periods.
+     */
+    @Param({"5", "30", "1000", "10000"})
+    private int rentalDays;
+
+    private final LocalDate checkoutDate = LocalDate.of(2024, 6, 28);
+
+    /**
+     * Calculates the charge days using the default holiday calendar.
+     *
+     * @return The rental days breakdown.
+     */
+    @Benchmark
+    public RentalDaysDto numberOfChargeDays() {
+        return CheckoutDateUtil.numberOfChargeDays(checkoutDate, rentalDays);
+    }
+}
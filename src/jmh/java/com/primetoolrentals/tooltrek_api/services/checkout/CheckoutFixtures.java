@@ -0,0 +1,187 @@
+package com.primetoolrentals.tooltrek_api.services.checkout;
+
+import com.primetoolrentals.tooltrek_api.dto.HolidayDto;
+import com.primetoolrentals.tooltrek_api.entity.Rental;
+import com.primetoolrentals.tooltrek_api.entity.RentalAgreement;
+import com.primetoolrentals.tooltrek_api.entity.Tool;
+import com.primetoolrentals.tooltrek_api.entity.ToolBrand;
+import com.primetoolrentals.tooltrek_api.entity.ToolType;
+import com.primetoolrentals.tooltrek_api.repository.RentalAgreementRepository;
+import com.primetoolrentals.tooltrek_api.repository.RentalRepository;
+import com.primetoolrentals.tooltrek_api.services.agreement.AgreementDocumentCache;
+import com.primetoolrentals.tooltrek_api.services.agreement.AgreementTemplateRegistry;
+import com.primetoolrentals.tooltrek_api.services.calendar.HolidayCalendar;
+import com.primetoolrentals.tooltrek_api.services.calendar.HolidayService;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * In-memory entities and services for the checkout benchmarks, so that no database is needed.
+ */
+final class CheckoutFixtures {
+
+    private CheckoutFixtures() {
+    }
+
+    /**
+     * Creates a rental of a jackhammer, charged on weekdays only.
+     *
+     * @param rentalDate     The checkout date.
+     * @param rentalDayCount The number of rental days.
+     * @param rentalDiscount The discount percent.
+     * @return The rental entity.
+     */
+    static Rental rental(LocalDate rentalDate, int rentalDayCount, int rentalDiscount) {
+        ToolBrand brand = ToolBrand.builder().name("Ridgid").build();
+        ToolType type = ToolType.builder()
+                .name("Jackhammer")
+                .dailyCharge(new BigDecimal("2.99"))
+                .isWeekdayCharge(true)
+                .isWeekendCharge(false)
+                .isHolidayCharge(false)
+                .build();
+        Tool tool = Tool.builder().code("JAKR").toolBrand(brand).toolType(type).build();
+        Rental rental = Rental.builder()
+                .tool(tool)
+                .rentalDate(rentalDate)
+                .rentalDayCount(rentalDayCount)
+                .rentalDiscount(rentalDiscount)
+                .build();
+        rental.setId(1L);
+        rental.setVersion(0);
+        return rental;
+    }
+
+    /**
+     * Creates a checkout service whose rental repository always returns the given rental,
+     * and whose rental agreement repository always returns the snapshot of its agreement.
+     * The agreement document cache caches nothing, so every document is rendered.
+     *
+     * @param rental The rental returned by the repository.
+     * @return The checkout service.
+     */
+    static CheckoutServiceImpl checkoutService(Rental rental) {
+        AgreementDocumentCache agreementDocumentCache = new AgreementDocumentCache();
+        ReflectionTestUtils.setField(agreementDocumentCache, "maxSize", DataSize.ofBytes(0));
+        return checkoutService(rental, agreementDocumentCache);
+    }
+
+    /**
+     * Creates a checkout service whose rental repository always returns the given rental,
+     * and whose rental agreement repository always returns the snapshot of its agreement.
+     *
+     * @param rental                 The rental returned by the repository.
+     * @param agreementDocumentCache The cache of the rendered agreement documents.
+     * @return The checkout service.
+     */
+    static CheckoutServiceImpl checkoutService(Rental rental, AgreementDocumentCache agreementDocumentCache) {
+        AtomicReference<RentalAgreement> snapshot = new AtomicReference<>();
+        CheckoutServiceImpl checkoutService = new CheckoutServiceImpl(
+                repository(RentalRepository.class, Map.of("findById", () -> rental)),
+                repository(RentalAgreementRepository.class, Map.of("findById", snapshot::get)), null, null, null,
+                holidayService(), agreementTemplateRegistry(), agreementDocumentCache, null, null, transactionTemplate());
+        snapshot.set(CheckoutServiceImpl.rentalAgreementDtoToRentalAgreement(checkoutService.generateRentalAgreement(rental), rental));
+        snapshot.get().setRentalId(rental.getId());
+        return checkoutService;
+    }
+
+    /**
+     * Creates a repository whose finders always return the same result.
+     *
+     * @param repositoryType The type of the repository.
+     * @param results        The results of the finders by method name; the other methods are not supported.
+     * @param <R>            The type of the repository.
+     * @return The repository.
+     */
+    private static <R> R repository(Class<R> repositoryType, Map<String, Supplier<Object>> results) {
+        return repositoryType.cast(Proxy.newProxyInstance(
+                repositoryType.getClassLoader(),
+                new Class<?>[]{repositoryType},
+                (proxy, method, args) -> {
+                    Supplier<Object> result = results.get(method.getName());
+                    if (result == null) {
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                    return Optional.of(result.get());
+                }));
+    }
+
+    /**
+     * Creates a transaction template whose transactions do nothing, as the repositories are in memory.
+     *
+     * @return The transaction template.
+     */
+    private static TransactionTemplate transactionTemplate() {
+        return new TransactionTemplate(new PlatformTransactionManager() {
+            @Override
+            public TransactionStatus getTransaction(TransactionDefinition definition) {
+                return new SimpleTransactionStatus();
+            }
+
+            @Override
+            public void commit(TransactionStatus status) {
+            }
+
+            @Override
+            public void rollback(TransactionStatus status) {
+            }
+        });
+    }
+
+    /**
+     * Creates an agreement template registry with the templates on the classpath.
+     *
+     * @return The agreement template registry.
+     */
+    static AgreementTemplateRegistry agreementTemplateRegistry() {
+        AgreementTemplateRegistry registry = new AgreementTemplateRegistry(new DefaultResourceLoader());
+        registry.compileTemplates();
+        return registry;
+    }
+
+    /**
+     * Creates a holiday service serving the default holiday calendar.
+     *
+     * @return The holiday service.
+     */
+    static HolidayService holidayService() {
+        HolidayCalendar calendar = new HolidayCalendar(CheckoutDateUtil.DEFAULT_HOLIDAY_RULES,
+                CheckoutDateUtil.DEFAULT_CALENDAR_FIRST_YEAR, CheckoutDateUtil.DEFAULT_CALENDAR_LAST_YEAR);
+        return new HolidayService() {
+            @Override
+            public HolidayDto addHoliday(HolidayDto holidayDto) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public void deleteHoliday(Long id) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public List<HolidayDto> findAllHolidays() {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public HolidayCalendar currentCalendar() {
+                return calendar;
+            }
+        };
+    }
+}
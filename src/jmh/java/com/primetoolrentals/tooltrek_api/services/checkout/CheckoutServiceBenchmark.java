@@ -0,0 +1,160 @@
+package com.primetoolrentals.tooltrek_api.services.checkout;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.primetoolrentals.tooltrek_api.dto.RentalAgreementDto;
+import com.primetoolrentals.tooltrek_api.entity.Rental;
+import com.primetoolrentals.tooltrek_api.services.agreement.AgreementDocumentCache;
+import com.primetoolrentals.tooltrek_api.services.agreement.AgreementTemplateVariant;
+import com.samskivert.mustache.Mustache;
+import com.samskivert.mustache.Template;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the rental agreement generation, rendering and serialization with in-memory entities.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CheckoutServiceBenchmark {
+
+    private Rental rental;
+    private CheckoutServiceImpl checkoutService;
+    private CheckoutServiceImpl cachingCheckoutService;
+    private RentalAgreementDto agreement;
+    private String templateSource;
+    private Template template;
+    private Map<String, String> templateData;
+    private Writer responseWriter;
+    private ObjectMapper objectMapper;
+
+    /**
+     * Creates the in-memory rental, the checkout services without and with the agreement document cache,
+     * and the data rendered into the agreement.
+     *
+     * @throws IOException if the plain agreement template cannot be read.
+     */
+    @Setup
+    public void setUp() throws IOException {
+        rental = CheckoutFixtures.rental(LocalDate.of(2020, 7, 2), 9, 10);
+        checkoutService = CheckoutFixtures.checkoutService(rental);
+        cachingCheckoutService = CheckoutFixtures.checkoutService(rental, new AgreementDocumentCache());
+        agreement = checkoutService.generateRentalAgreement(rental);
+        try (InputStream in = CheckoutServiceBenchmark.class.getResourceAsStream("/templates/agreement/plain.mustache")) {
+            templateSource = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        template = Mustache.compiler().compile(templateSource);
+        templateData = new HashMap<>();
+        templateData.put("toolCode", agreement.getToolCode());
+        templateData.put("toolType", agreement.getToolType());
+        templateData.put("toolBrand", agreement.getToolBrand());
+        templateData.put("checkoutDate", CheckoutDateUtil.formatRentalDate(agreement.getCheckoutDate()));
+        templateData.put("dueDate", CheckoutDateUtil.formatRentalDate(agreement.getDueDate()));
+        templateData.put("dailyRentalCharge", CheckoutCalculationUtil.formatCurrencyAmount(agreement.getDailyRentalCharge()));
+        templateData.put("chargeDays", Integer.toString(agreement.getChargeDays()));
+        templateData.put("preDiscountCharge", CheckoutCalculationUtil.formatCurrencyAmount(agreement.getPreDiscountCharge()));
+        templateData.put("discountPercent", CheckoutCalculationUtil.formatPercentAmount(agreement.getDiscountPercent()));
+        templateData.put("discountAmount", CheckoutCalculationUtil.formatCurrencyAmount(agreement.getDiscountAmount()));
+        templateData.put("finalCharge", CheckoutCalculationUtil.formatCurrencyAmount(agreement.getFinalCharge()));
+        responseWriter = Writer.nullWriter();
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    }
+
+    /**
+     * Generates the rental agreement DTO, including charge day and price calculation.
+     *
+     * @return The rental agreement.
+     */
+    @Benchmark
+    public RentalAgreementDto generateRentalAgreement() {
+        return checkoutService.generateRentalAgreement(rental);
+    }
+
+    /**
+     * Generates the rental agreement document end to end, as served by the agreement endpoint
+     * from the snapshot of the agreement.
+     *
+     * @return The rendered document.
+     */
+    @Benchmark
+    public String generateRentalAgreementDocument() {
+        return checkoutService.generateRentalAgreementDocument(rental.getId());
+    }
+
+    /**
+     * Writes the rental agreement document end to end into a writer, as the agreement endpoint
+     * does into the response; the writer discards the characters.
+     *
+     * @throws IOException if the writer cannot be written.
+     */
+    @Benchmark
+    public void writeRentalAgreementDocument() throws IOException {
+        checkoutService.writeRentalAgreementDocument(rental.getId(), AgreementTemplateVariant.PLAIN, responseWriter);
+    }
+
+    /**
+     * Writes the rental agreement document end to end into a writer that discards the characters,
+     * served from the agreement document cache after the first call.
+     *
+     * @throws IOException if the writer cannot be written.
+     */
+    @Benchmark
+    public void writeCachedRentalAgreementDocument() throws IOException {
+        cachingCheckoutService.writeRentalAgreementDocument(rental.getId(), AgreementTemplateVariant.PLAIN, responseWriter);
+    }
+
+    /**
+     * Writes the receipt variant of the rental agreement document into a writer that discards the characters.
+     *
+     * @throws IOException if the writer cannot be written.
+     */
+    @Benchmark
+    public void writeReceiptAgreementDocument() throws IOException {
+        checkoutService.writeRentalAgreementDocument(rental.getId(), AgreementTemplateVariant.RECEIPT, responseWriter);
+    }
+
+    /**
+     * Compiles and renders the Mustache agreement template, as was done for every document
+     * before the templates were precompiled.
+     *
+     * @return The rendered document.
+     */
+    @Benchmark
+    public String compileAndRenderTemplate() {
+        return Mustache.compiler().compile(templateSource).execute(templateData);
+    }
+
+    /**
+     * Renders the precompiled Mustache agreement template.
+     *
+     * @return The rendered document.
+     */
+    @Benchmark
+    public String renderCompiledTemplate() {
+        return template.execute(templateData);
+    }
+
+    /**
+     * Serializes the rental agreement to JSON with the mapper configuration used by Spring MVC.
+     *
+     * @return The JSON document.
+     * @throws JsonProcessingException if the agreement cannot be serialized.
+     */
+    @Benchmark
+    public byte[] serializeRentalAgreement() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(agreement);
+    }
+}
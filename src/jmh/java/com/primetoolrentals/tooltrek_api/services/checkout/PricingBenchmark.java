@@ -0,0 +1,75 @@
+package com.primetoolrentals.tooltrek_api.services.checkout;
+
+import com.primetoolrentals.tooltrek_api.dto.Money;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the price calculation of a rental agreement using doubles, BigDecimal and Money.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PricingBenchmark {
+
+    private BigDecimal dailyCharge = new BigDecimal("2.99");
+    private int chargeDays = 5;
+    private int discountPercent = 50;
+
+    /**
+     * The calculation used before Money: doubles rounded with Math.round and boxed into the DTO.
+     *
+     * @param blackhole consumes the calculated amounts.
+     */
+    @Benchmark
+    public void doubles(Blackhole blackhole) {
+        double preDiscountCharge = CheckoutCalculationUtil.roundCalculationResult(chargeDays * dailyCharge.doubleValue());
+        double discountAmount = CheckoutCalculationUtil.roundCalculationResult(preDiscountCharge * discountPercent / 100D);
+        double finalCharge = CheckoutCalculationUtil.roundCalculationResult(preDiscountCharge - discountAmount);
+        blackhole.consume(Double.valueOf(dailyCharge.doubleValue()));
+        blackhole.consume(Double.valueOf(preDiscountCharge));
+        blackhole.consume(Double.valueOf(discountAmount));
+        blackhole.consume(Double.valueOf(finalCharge));
+    }
+
+    /**
+     * The calculation with BigDecimal arithmetic.
+     *
+     * @param blackhole consumes the calculated amounts.
+     */
+    @Benchmark
+    public void bigDecimals(Blackhole blackhole) {
+        BigDecimal preDiscountCharge = dailyCharge.multiply(BigDecimal.valueOf(chargeDays));
+        BigDecimal discountAmount = preDiscountCharge.multiply(BigDecimal.valueOf(discountPercent))
+                .movePointLeft(2).setScale(2, RoundingMode.HALF_UP);
+        BigDecimal finalCharge = preDiscountCharge.subtract(discountAmount);
+        blackhole.consume(dailyCharge);
+        blackhole.consume(preDiscountCharge);
+        blackhole.consume(discountAmount);
+        blackhole.consume(finalCharge);
+    }
+
+    /**
+     * The calculation with Money, as done by the checkout service.
+     *
+     * @param blackhole consumes the calculated amounts.
+     */
+    @Benchmark
+    public void money(Blackhole blackhole) {
+        Money dailyRentalCharge = Money.of(dailyCharge);
+        Money preDiscountCharge = dailyRentalCharge.times(chargeDays);
+        Money discountAmount = preDiscountCharge.percent(discountPercent);
+        Money finalCharge = preDiscountCharge.minus(discountAmount);
+        blackhole.consume(dailyRentalCharge);
+        blackhole.consume(preDiscountCharge);
+        blackhole.consume(discountAmount);
+        blackhole.consume(finalCharge);
+    }
+}
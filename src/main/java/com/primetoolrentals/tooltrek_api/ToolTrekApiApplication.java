@@ -5,12 +5,15 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.MessageSource;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.support.ReloadableResourceBundleMessageSource;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
 
 /**
  * Main entry point for the Tool Trek API application.
+ * Scheduling is enabled for the background polls of the data versions.
  */
 @SpringBootApplication
+@EnableScheduling
 public class ToolTrekApiApplication {
 
 	/**
@@ -1,22 +1,36 @@
 package com.primetoolrentals.tooltrek_api.controller;
 
+import com.primetoolrentals.tooltrek_api.dto.AgreementDocumentCacheStatsDto;
 import com.primetoolrentals.tooltrek_api.dto.RentalAgreementDto;
+import com.primetoolrentals.tooltrek_api.dto.RentalBulkRequestDto;
+import com.primetoolrentals.tooltrek_api.dto.RentalBulkResponseDto;
+import com.primetoolrentals.tooltrek_api.dto.RentalQuoteRequestDto;
 import com.primetoolrentals.tooltrek_api.dto.RentalRequestDto;
+import com.primetoolrentals.tooltrek_api.dto.RentalSummaryDto;
+import com.primetoolrentals.tooltrek_api.exception.ApiError;
+import com.primetoolrentals.tooltrek_api.services.agreement.AgreementTemplateVariant;
 import com.primetoolrentals.tooltrek_api.services.checkout.CheckoutService;
+import com.primetoolrentals.tooltrek_api.services.checkout.RentalHistoryService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.headers.Header;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
 import java.io.IOException;
+import java.time.LocalDate;
+import java.util.List;
 
 /**
  * Controller class for handling tool rental checkout and agreement retrieval.
@@ -29,6 +43,39 @@ public class CheckoutController {
 
     private final CheckoutService checkoutService;
 
+    private final RentalHistoryService rentalHistoryService;
+
+    /**
+     * Endpoint for listing the rental history: a page of rentals in rental date order, optionally filtered.
+     *
+     * @param toolId  the ID of the tool to filter by, or null for all tools.
+     * @param from    the first rental date to include, or null for no lower bound.
+     * @param to      the last rental date to include, or null for no upper bound.
+     * @param afterId the ID of the last rental of the previous page, or null for the first page.
+     * @param limit   the number of rentals per page, or null for the default; at most the configured maximum page size.
+     * @return the ResponseEntity with status 200 (OK), the list of rentals in the body and
+     * a Link header with the URL of the next page, unless this is the last page.
+     */
+    @Operation(summary = "Get rental history", description = "Retrieve a page of rentals in rental date order, then in ID order. Follow the Link header for the next page.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successful retrieval of rentals",
+                    headers = @Header(name = "Link", description = "URL of the next page, with rel=\"next\", unless this is the last page"),
+                    content = @Content(array = @ArraySchema(schema = @Schema(implementation = RentalSummaryDto.class)))),
+            @ApiResponse(responseCode = "400", description = "Invalid filter, date range or page",
+                    content = @Content(schema = @Schema(implementation = ApiError.class))),
+            @ApiResponse(responseCode = "404", description = "Rental of the afterId not found",
+                    content = @Content(schema = @Schema(implementation = String.class)))
+    })
+    @GetMapping("")
+    public ResponseEntity<List<RentalSummaryDto>> findRentals(
+            @RequestParam(required = false) @Min(value = 1, message = "{rental.request.tool.invalid}") Long toolId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) @Min(value = 0, message = "{page.afterid.invalid}") Long afterId,
+            @RequestParam(required = false) @Min(value = 1, message = "{page.limit.invalid}") Integer limit) {
+        return KeysetPageResponses.ok(rentalHistoryService.findRentals(toolId, from, to, afterId, limit));
+    }
+
     /**
      * Endpoint for checking out a tool.
      *
@@ -40,6 +87,8 @@ public class CheckoutController {
             @ApiResponse(responseCode = "201", description = "Tool successfully checked out",
                     content = @Content(schema = @Schema(implementation = RentalAgreementDto.class))),
             @ApiResponse(responseCode = "400", description = "Invalid request or cannot checkout tool",
+                    content = @Content(schema = @Schema(implementation = String.class))),
+            @ApiResponse(responseCode = "409", description = "Tool already rented for overlapping dates",
                     content = @Content(schema = @Schema(implementation = String.class)))
     })
     @PostMapping("")
@@ -52,21 +101,88 @@ public class CheckoutController {
         return new ResponseEntity<>(agreementDto, HttpStatus.CREATED);
     }
 
+    /**
+     * Endpoint for checking out several tools at once.
+     *
+     * @param rentalBulkRequestDto the bulk request data transfer object containing the rentals.
+     * @return a ResponseEntity with status 201 (Created) and the agreements of all rentals,
+     * or with status 400 (Bad Request) and the errors of the invalid rentals, in which case no rental is saved.
+     */
+    @Operation(summary = "Checkout several tools", description = "Checks out several tools at once, saving either all rentals or none.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Tools successfully checked out",
+                    content = @Content(schema = @Schema(implementation = RentalBulkResponseDto.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid rentals, none checked out",
+                    content = @Content(schema = @Schema(implementation = RentalBulkResponseDto.class))),
+            @ApiResponse(responseCode = "409", description = "Tool already rented for overlapping dates, none checked out",
+                    content = @Content(schema = @Schema(implementation = String.class)))
+    })
+    @PostMapping("/bulk")
+    public ResponseEntity<RentalBulkResponseDto> checkoutBulk(@Valid @RequestBody RentalBulkRequestDto rentalBulkRequestDto) {
+        RentalBulkResponseDto response = checkoutService.checkoutTools(rentalBulkRequestDto.getRentals());
+        return new ResponseEntity<>(response, response.getErrors().isEmpty() ? HttpStatus.CREATED : HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * Endpoint for pricing rental scenarios without checking out.
+     *
+     * @param rentalQuoteRequestDto the quote request data transfer object containing the rental scenarios.
+     * @return a ResponseEntity containing the rental agreement DTOs of the scenarios, in the order of the scenarios.
+     */
+    @Operation(summary = "Quote rentals", description = "Prices rental scenarios without checking out or persisting any rental.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Rental scenarios priced",
+                    content = @Content(array = @ArraySchema(schema = @Schema(implementation = RentalAgreementDto.class)))),
+            @ApiResponse(responseCode = "400", description = "Invalid rental scenarios",
+                    content = @Content(schema = @Schema(implementation = String.class))),
+            @ApiResponse(responseCode = "404", description = "Tool of a rental scenario not found",
+                    content = @Content(schema = @Schema(implementation = String.class)))
+    })
+    @PostMapping("/quote")
+    public ResponseEntity<List<RentalAgreementDto>> quote(@Valid @RequestBody RentalQuoteRequestDto rentalQuoteRequestDto) {
+        return new ResponseEntity<>(checkoutService.quoteRentals(rentalQuoteRequestDto.getScenarios()), HttpStatus.OK);
+    }
+
     /**
      * Endpoint for retrieving the rental agreement document for a given rental ID.
+     * The document is served from the agreement document cache if it was rendered before.
      *
      * @param rentalId the ID of the rental.
-     * @return a ResponseEntity containing the rental agreement document as a String.
+     * @param variant  the variant of the document: PLAIN text, an HTML page or a RECEIPT for receipt printers.
+     * @param response the HTTP response the document is written to.
+     * @throws IOException if the response cannot be written.
      */
     @Operation(summary = "Get rental agreement", description = "Retrieves the rental agreement document for a given rental ID.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Rental agreement document retrieved",
+                    content = {@Content(mediaType = "text/plain", schema = @Schema(implementation = String.class)),
+                            @Content(mediaType = "text/html", schema = @Schema(implementation = String.class))}),
+            @ApiResponse(responseCode = "400", description = "Invalid rental ID or variant",
                     content = @Content(schema = @Schema(implementation = String.class))),
-            @ApiResponse(responseCode = "400", description = "Invalid rental ID",
+            @ApiResponse(responseCode = "404", description = "Rental not found",
                     content = @Content(schema = @Schema(implementation = String.class)))
     })
     @GetMapping("/{rentalId}/agreement")
-    public ResponseEntity<String> getRentalAgreement(@Min(1) @PathVariable("rentalId") Long rentalId) throws IOException {
-        return new ResponseEntity<>(checkoutService.generateRentalAgreementDocument(rentalId), HttpStatus.OK);
+    public void getRentalAgreement(@Min(1) @PathVariable("rentalId") Long rentalId,
+                                   @RequestParam(defaultValue = "PLAIN") AgreementTemplateVariant variant,
+                                   HttpServletResponse response) throws IOException {
+        response.setContentType(variant.getMediaType().toString());
+        checkoutService.writeRentalAgreementDocument(rentalId, variant, response.getWriter());
+    }
+
+    /**
+     * Endpoint for retrieving the counters of the cache of rendered rental agreement documents.
+     *
+     * @return the ResponseEntity with status 200 (OK) and the AgreementDocumentCacheStatsDto in the body.
+     */
+    @Operation(summary = "Get agreement cache stats",
+            description = "Retrieve the size, the estimated heap size, the hit ratio and the hit, miss, eviction and expiration counters of the rental agreement document cache.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successful retrieval of the cache stats",
+                    content = @Content(schema = @Schema(implementation = AgreementDocumentCacheStatsDto.class)))
+    })
+    @GetMapping("/agreement-cache-stats")
+    public ResponseEntity<AgreementDocumentCacheStatsDto> findAgreementCacheStats() {
+        return new ResponseEntity<>(checkoutService.findAgreementCacheStats(), HttpStatus.OK);
     }
 }
\ No newline at end of file
@@ -0,0 +1,45 @@
+package com.primetoolrentals.tooltrek_api.controller;
+
+import com.primetoolrentals.tooltrek_api.datasource.ReadWriteRoutingDataSource;
+import com.primetoolrentals.tooltrek_api.dto.DataSourceRouteStatsDto;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * REST controller for monitoring the routing of the database connections between the primary database and the read replica.
+ */
+@RestController
+@RequestMapping("/api/datasource")
+@RequiredArgsConstructor
+public class DataSourceController {
+
+    private final ReadWriteRoutingDataSource readWriteRoutingDataSource;
+
+    /**
+     * Get the connection counters and the pool state of the primary and replica routes.
+     *
+     * @return the ResponseEntity with status 200 (OK) and the list of DataSourceRouteStatsDto in the body, the primary first.
+     */
+    @Operation(summary = "Get datasource route stats",
+            description = "Retrieve the connections taken from the primary and replica pools, the fallbacks of read-only transactions to the primary and the state of the pools.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successful retrieval of the route stats",
+                    content = @Content(array = @ArraySchema(schema = @Schema(implementation = DataSourceRouteStatsDto.class))))
+    })
+    @GetMapping("/stats")
+    public ResponseEntity<List<DataSourceRouteStatsDto>> findRouteStats() {
+        return new ResponseEntity<>(readWriteRoutingDataSource.stats(), HttpStatus.OK);
+    }
+}
@@ -0,0 +1,81 @@
+package com.primetoolrentals.tooltrek_api.controller;
+
+import com.primetoolrentals.tooltrek_api.dto.HolidayDto;
+import com.primetoolrentals.tooltrek_api.services.calendar.HolidayService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * REST controller for managing the holiday rules used for rental charge calculation.
+ */
+@RestController
+@RequestMapping("/api/holiday")
+@RequiredArgsConstructor
+@Validated
+public class HolidayController {
+
+    private final HolidayService holidayService;
+
+    /**
+     * Get all holiday rules.
+     *
+     * @return the ResponseEntity with status 200 (OK) and the list of holiday rules in the body.
+     */
+    @Operation(summary = "Get all holiday rules", description = "Retrieve a list of all holiday rules.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successful retrieval of holiday rules",
+                    content = @Content(array = @ArraySchema(schema = @Schema(implementation = HolidayDto.class))))
+    })
+    @GetMapping("")
+    public ResponseEntity<List<HolidayDto>> findAllHolidays() {
+        return new ResponseEntity<>(holidayService.findAllHolidays(), HttpStatus.OK);
+    }
+
+    /**
+     * Create a new holiday rule. The holiday calendar is recompiled, so the rule applies to subsequent checkouts.
+     *
+     * @param holidayDto the HolidayDto to create.
+     * @return the ResponseEntity with status 201 (Created) and the created HolidayDto in the body.
+     */
+    @Operation(summary = "Create a new holiday rule", description = "Add a new holiday rule to the database.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Holiday rule created successfully",
+                    content = @Content(schema = @Schema(implementation = HolidayDto.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid holiday rule",
+                    content = @Content(schema = @Schema(implementation = String.class)))
+    })
+    @PostMapping("")
+    public ResponseEntity<HolidayDto> createNewHoliday(@Valid @RequestBody HolidayDto holidayDto) {
+        return new ResponseEntity<>(holidayService.addHoliday(holidayDto), HttpStatus.CREATED);
+    }
+
+    /**
+     * Delete a holiday rule.
+     *
+     * @param id the ID of the holiday rule to delete.
+     * @return the ResponseEntity with status 204 (No Content).
+     */
+    @Operation(summary = "Delete a holiday rule", description = "Remove a holiday rule from the database.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Holiday rule deleted successfully"),
+            @ApiResponse(responseCode = "404", description = "Holiday rule not found",
+                    content = @Content(schema = @Schema(implementation = String.class)))
+    })
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteHoliday(@PathVariable Long id) {
+        holidayService.deleteHoliday(id);
+        return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+    }
+}
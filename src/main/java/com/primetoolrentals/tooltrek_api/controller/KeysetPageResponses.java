@@ -0,0 +1,37 @@
+package com.primetoolrentals.tooltrek_api.controller;
+
+import com.primetoolrentals.tooltrek_api.dto.KeysetPageDto;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.util.List;
+
+/**
+ * Builds the responses of keyset paginated listings: the items of the page as a JSON array, and
+ * a {@code Link} header with the URL of the next page, unless the page is the last one.
+ */
+final class KeysetPageResponses {
+
+    private KeysetPageResponses() {
+    }
+
+    /**
+     * Creates the response of a page of the current request.
+     *
+     * @param page The page.
+     * @param <T>  The type of the items.
+     * @return the ResponseEntity with status 200 (OK), the items in the body and the link to the next page.
+     */
+    static <T> ResponseEntity<List<T>> ok(KeysetPageDto<T> page) {
+        HttpHeaders headers = new HttpHeaders();
+        if (page.getNextAfterId() != null) {
+            String next = ServletUriComponentsBuilder.fromCurrentRequest()
+                    .replaceQueryParam("afterId", page.getNextAfterId())
+                    .toUriString();
+            headers.add(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+        }
+        return new ResponseEntity<>(page.getItems(), headers, HttpStatus.OK);
+    }
+}
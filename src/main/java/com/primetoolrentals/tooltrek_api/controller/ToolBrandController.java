@@ -1,19 +1,25 @@
 package com.primetoolrentals.tooltrek_api.controller;
 
 import com.primetoolrentals.tooltrek_api.dto.ToolBrandDto;
+import com.primetoolrentals.tooltrek_api.exception.ApiError;
+import com.primetoolrentals.tooltrek_api.services.catalog.CatalogVersion;
 import com.primetoolrentals.tooltrek_api.services.tools.ToolBrandService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.headers.Header;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -27,20 +33,39 @@ import java.util.List;
 public class ToolBrandController {
 
     private final ToolBrandService toolBrandService;
+    private final CatalogVersion catalogVersion;
 
     /**
-     * Get all tool brands.
+     * Get a page of tool brands in ID order, optionally filtered.
      *
-     * @return the ResponseEntity with status 200 (OK) and the list of tool brands in the body.
+     * @param namePrefix the prefix of the names to filter by, or null for all names.
+     * @param afterId    the ID of the last tool brand of the previous page, or null for the first page.
+     * @param limit      the number of tool brands per page, or null for the default; at most the configured maximum page size.
+     * @param webRequest the request, checked for an If-None-Match or If-Modified-Since header matching the catalog version.
+     * @return the ResponseEntity with status 200 (OK), the list of tool brands in the body, the ETag of the catalog version and
+     * a Link header with the URL of the next page, unless this is the last page;
+     * or null with status 304 (Not Modified) if the catalog has not changed since the client's copy.
      */
-    @Operation(summary = "Get all tool brands", description = "Retrieve a list of all tool brands.")
+    @Operation(summary = "Get tool brands", description = "Retrieve a page of tool brands in ID order. Follow the Link header for the next page.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successful retrieval of tool brands",
-                    content = @Content(array = @ArraySchema(schema = @Schema(implementation = ToolBrandDto.class))))
+                    headers = {@Header(name = "Link", description = "URL of the next page, with rel=\"next\", unless this is the last page"),
+                            @Header(name = "ETag", description = "Strong validator of the catalog version")},
+                    content = @Content(array = @ArraySchema(schema = @Schema(implementation = ToolBrandDto.class)))),
+            @ApiResponse(responseCode = "304", description = "The catalog has not changed since the If-None-Match ETag", content = @Content),
+            @ApiResponse(responseCode = "400", description = "Invalid filter or page",
+                    content = @Content(schema = @Schema(implementation = ApiError.class)))
     })
     @GetMapping("")
-    public ResponseEntity<List<ToolBrandDto>> findAllToolBrands() {
-        return new ResponseEntity<>(toolBrandService.findAllToolBrands(), HttpStatus.OK);
+    public ResponseEntity<List<ToolBrandDto>> findAllToolBrands(
+            @RequestParam(required = false) @Size(max = 30, message = "{name.prefix.length}") String namePrefix,
+            @RequestParam(required = false) @Min(value = 0, message = "{page.afterid.invalid}") Long afterId,
+            @RequestParam(required = false) @Min(value = 1, message = "{page.limit.invalid}") Integer limit,
+            WebRequest webRequest) {
+        if (webRequest.checkNotModified(catalogVersion.etag(), catalogVersion.lastModified())) {
+            return null;
+        }
+        return KeysetPageResponses.ok(toolBrandService.findToolBrands(namePrefix, afterId, limit));
     }
 
     /**
@@ -62,10 +87,6 @@ public class ToolBrandController {
     })
     @PostMapping("")
     public ResponseEntity<?> createNewToolBrand(@Valid @RequestBody ToolBrandDto toolBrandDto) {
-        if (!toolBrandService.isToolBrandNameUnique(toolBrandDto.getName())) {
-            return new ResponseEntity<>("Tool brand already exists: " + toolBrandDto.getName(), HttpStatus.NOT_ACCEPTABLE);
-        }
-
         ToolBrandDto toolBrand = toolBrandService.addToolBrand(toolBrandDto);
         if (toolBrand == null) {
             return new ResponseEntity<>("Cannot create tool brand: " + toolBrandDto.getName(), HttpStatus.BAD_REQUEST);
@@ -1,19 +1,38 @@
 package com.primetoolrentals.tooltrek_api.controller;
 
+import com.primetoolrentals.tooltrek_api.dto.ToolCatalogCacheStatsDto;
 import com.primetoolrentals.tooltrek_api.dto.ToolDto;
+import com.primetoolrentals.tooltrek_api.dto.ToolImportResultDto;
+import com.primetoolrentals.tooltrek_api.exception.ApiError;
+import com.primetoolrentals.tooltrek_api.services.catalog.CatalogVersion;
+import com.primetoolrentals.tooltrek_api.services.tools.ToolExportFormat;
+import com.primetoolrentals.tooltrek_api.services.tools.ToolExportService;
+import com.primetoolrentals.tooltrek_api.services.tools.ToolImportFormat;
+import com.primetoolrentals.tooltrek_api.services.tools.ToolImportService;
 import com.primetoolrentals.tooltrek_api.services.tools.ToolService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.headers.Header;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 /**
@@ -22,23 +41,49 @@ import java.util.List;
 @RestController
 @RequestMapping("/api/tool")
 @RequiredArgsConstructor
+@Validated
 public class ToolController {
 
     private final ToolService toolService;
+    private final CatalogVersion catalogVersion;
+    private final ToolImportService toolImportService;
+    private final ToolExportService toolExportService;
 
     /**
-     * Get all tools.
+     * Get a page of tools in ID order, optionally filtered.
      *
-     * @return the ResponseEntity with status 200 (OK) and the list of tools in the body.
+     * @param brandId    the ID of the tool brand to filter by, or null for all brands.
+     * @param typeId     the ID of the tool type to filter by, or null for all types.
+     * @param codePrefix the prefix of the tool codes to filter by, or null for all codes.
+     * @param afterId    the ID of the last tool of the previous page, or null for the first page.
+     * @param limit      the number of tools per page, or null for the default; at most the configured maximum page size.
+     * @param webRequest the request, checked for an If-None-Match or If-Modified-Since header matching the catalog version.
+     * @return the ResponseEntity with status 200 (OK), the list of tools in the body, the ETag of the catalog version and
+     * a Link header with the URL of the next page, unless this is the last page;
+     * or null with status 304 (Not Modified) if the catalog has not changed since the client's copy.
      */
-    @Operation(summary = "Get all tools", description = "Retrieve a list of all tools.")
+    @Operation(summary = "Get tools", description = "Retrieve a page of tools in ID order. Follow the Link header for the next page.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successful retrieval of tools",
-                    content = @Content(array = @ArraySchema(schema = @Schema(implementation = ToolDto.class))))
+                    headers = {@Header(name = "Link", description = "URL of the next page, with rel=\"next\", unless this is the last page"),
+                            @Header(name = "ETag", description = "Strong validator of the catalog version")},
+                    content = @Content(array = @ArraySchema(schema = @Schema(implementation = ToolDto.class)))),
+            @ApiResponse(responseCode = "304", description = "The catalog has not changed since the If-None-Match ETag", content = @Content),
+            @ApiResponse(responseCode = "400", description = "Invalid filter or page",
+                    content = @Content(schema = @Schema(implementation = ApiError.class)))
     })
     @GetMapping("")
-    public ResponseEntity<List<ToolDto>> findAllTools() {
-        return new ResponseEntity<>(toolService.findAllTools(), HttpStatus.OK);
+    public ResponseEntity<List<ToolDto>> findAllTools(
+            @RequestParam(required = false) @Min(value = 1, message = "{tool.brand.invalid}") Long brandId,
+            @RequestParam(required = false) @Min(value = 1, message = "{tool.type.invalid}") Long typeId,
+            @RequestParam(required = false) @Pattern(regexp = "^[A-Z]{1,10}$", message = "{tool.code.prefix.format}") String codePrefix,
+            @RequestParam(required = false) @Min(value = 0, message = "{page.afterid.invalid}") Long afterId,
+            @RequestParam(required = false) @Min(value = 1, message = "{page.limit.invalid}") Integer limit,
+            WebRequest webRequest) {
+        if (webRequest.checkNotModified(catalogVersion.etag(), catalogVersion.lastModified())) {
+            return null;
+        }
+        return KeysetPageResponses.ok(toolService.findTools(brandId, typeId, codePrefix, afterId, limit));
     }
 
     /**
@@ -60,10 +105,6 @@ public class ToolController {
     })
     @PostMapping("")
     public ResponseEntity<?> createNewTool(@Valid @RequestBody ToolDto toolDto) {
-        if (!toolService.isToolCodeUnique(toolDto.getCode())) {
-            return new ResponseEntity<>("Tool already exists: " + toolDto.getCode(), HttpStatus.NOT_ACCEPTABLE);
-        }
-
         ToolDto tool = toolService.addTool(toolDto);
         if (tool == null) {
             return new ResponseEntity<>("Cannot create tool: " + toolDto.getCode(), HttpStatus.BAD_REQUEST);
@@ -71,4 +112,128 @@ public class ToolController {
 
         return new ResponseEntity<>(tool, HttpStatus.CREATED);
     }
+
+    /**
+     * Search tools by code prefix, for autocompletion. The tools are found in the in-memory tool code index.
+     *
+     * @param prefix the prefix of the tool codes, in any case.
+     * @param limit  the maximum number of tools to return, or null for the default; at most the configured maximum.
+     * @return the ResponseEntity with status 200 (OK) and the list of matching tools in code order in the body.
+     */
+    @Operation(summary = "Search tools by code prefix", description = "Retrieve the tools whose codes start with a prefix, in code order.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successful search of tools",
+                    content = @Content(array = @ArraySchema(schema = @Schema(implementation = ToolDto.class)))),
+            @ApiResponse(responseCode = "400", description = "Invalid prefix or limit",
+                    content = @Content(schema = @Schema(implementation = ApiError.class)))
+    })
+    @GetMapping("/search")
+    public ResponseEntity<List<ToolDto>> searchTools(
+            @RequestParam @Pattern(regexp = "^[A-Za-z]{1,10}$", message = "{tool.search.prefix.format}") String prefix,
+            @RequestParam(required = false) @Min(value = 1, message = "{tool.search.limit.invalid}") Integer limit) {
+        return new ResponseEntity<>(toolService.searchToolCodes(prefix, limit), HttpStatus.OK);
+    }
+
+    /**
+     * Search tools by words of their code, brand name and type name, e.g. "dewalt jackhammer". Every word must match
+     * a code or a name word, or be a prefix of one. The tools are found in the in-memory tool text index.
+     *
+     * @param query the words of the query, in any case.
+     * @param limit the maximum number of tools to return, or null for the default; at most the configured maximum.
+     * @return the ResponseEntity with status 200 (OK) and the list of matching tools in the body, ranked with
+     * code matches before name matches and whole words before prefixes, then in code order.
+     */
+    @Operation(summary = "Search tools by text", description = "Retrieve the tools whose code, brand name or type name match every word of the query, best match first.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successful search of tools",
+                    content = @Content(array = @ArraySchema(schema = @Schema(implementation = ToolDto.class)))),
+            @ApiResponse(responseCode = "400", description = "Invalid query or limit",
+                    content = @Content(schema = @Schema(implementation = ApiError.class)))
+    })
+    @GetMapping("/text-search")
+    public ResponseEntity<List<ToolDto>> searchToolsByText(
+            @RequestParam @NotBlank(message = "{tool.text-search.query.required}")
+            @Size(max = 100, message = "{tool.text-search.query.length}") String query,
+            @RequestParam(required = false) @Min(value = 1, message = "{tool.search.limit.invalid}") Integer limit) {
+        return new ResponseEntity<>(toolService.searchTools(query, limit), HttpStatus.OK);
+    }
+
+    /**
+     * Export all tools as JSON or NDJSON. The tools are written to the response as they are read from the database,
+     * on a request thread of the async executor, so the memory used does not depend on the size of the catalog.
+     *
+     * @param format the format of the export: a JSON array, or NDJSON with one tool per line.
+     * @return the ResponseEntity with status 200 (OK) and the body streaming the tools in ID order.
+     */
+    @Operation(summary = "Export tools",
+            description = "Stream the whole tool catalog in ID order, as a JSON array or as NDJSON with one tool per line.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Tools streamed",
+                    content = {@Content(mediaType = MediaType.APPLICATION_JSON_VALUE, array = @ArraySchema(schema = @Schema(implementation = ToolDto.class))),
+                            @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE, schema = @Schema(implementation = ToolDto.class))})
+    })
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTools(@RequestParam(defaultValue = "JSON") ToolExportFormat format) {
+        StreamingResponseBody body = outputStream -> toolExportService.exportTools(format, outputStream);
+        return ResponseEntity.ok().contentType(format.getMediaType()).body(body);
+    }
+
+    /**
+     * Get the counters of the tool catalog cache used by checkout.
+     *
+     * @return the ResponseEntity with status 200 (OK) and the ToolCatalogCacheStatsDto in the body.
+     */
+    @Operation(summary = "Get tool catalog cache stats",
+            description = "Retrieve the size and the hit, miss, eviction and invalidation counters of the tool catalog cache.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successful retrieval of the cache stats",
+                    content = @Content(schema = @Schema(implementation = ToolCatalogCacheStatsDto.class)))
+    })
+    @GetMapping("/cache-stats")
+    public ResponseEntity<ToolCatalogCacheStatsDto> findCatalogCacheStats() {
+        return new ResponseEntity<>(toolService.findCatalogCacheStats(), HttpStatus.OK);
+    }
+
+    /**
+     * Import tools from a CSV file.
+     *
+     * @param body      the CSV file, with a header line naming the columns.
+     * @param batchSize the number of tools inserted per batch and transaction, or null for the configured default.
+     * @return the ResponseEntity with status 200 (OK) and the ToolImportResultDto in the body,
+     * or with status 400 (Bad Request) if the header lacks the code, brand or type column.
+     * @throws IOException if the request body cannot be read.
+     */
+    @Operation(summary = "Import tools from CSV",
+            description = "Stream a CSV file of tools into the catalog, creating missing brands and types. Rejected lines are reported in the result.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Import finished",
+                    content = @Content(schema = @Schema(implementation = ToolImportResultDto.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid CSV header",
+                    content = @Content(schema = @Schema(implementation = String.class)))
+    })
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public ResponseEntity<ToolImportResultDto> importToolsFromCsv(InputStream body,
+                                                                  @RequestParam(required = false) @Min(1) Integer batchSize) throws IOException {
+        return new ResponseEntity<>(toolImportService.importTools(body, ToolImportFormat.CSV, batchSize), HttpStatus.OK);
+    }
+
+    /**
+     * Import tools from an NDJSON file.
+     *
+     * @param body      the NDJSON file, with one tool object per line.
+     * @param batchSize the number of tools inserted per batch and transaction, or null for the configured default.
+     * @return the ResponseEntity with status 200 (OK) and the ToolImportResultDto in the body.
+     * @throws IOException if the request body cannot be read.
+     */
+    @Operation(summary = "Import tools from NDJSON",
+            description = "Stream an NDJSON file of tools into the catalog, creating missing brands and types. Rejected lines are reported in the result.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Import finished",
+                    content = @Content(schema = @Schema(implementation = ToolImportResultDto.class)))
+    })
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<ToolImportResultDto> importToolsFromNdjson(InputStream body,
+                                                                     @RequestParam(required = false) @Min(1) Integer batchSize) throws IOException {
+        return new ResponseEntity<>(toolImportService.importTools(body, ToolImportFormat.NDJSON, batchSize), HttpStatus.OK);
+    }
 }
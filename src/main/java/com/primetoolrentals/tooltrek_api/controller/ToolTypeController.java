@@ -1,19 +1,30 @@
 package com.primetoolrentals.tooltrek_api.controller;
 
+import com.primetoolrentals.tooltrek_api.dto.ToolTypeAvailabilityDto;
+import com.primetoolrentals.tooltrek_api.dto.ToolTypeChargesDto;
 import com.primetoolrentals.tooltrek_api.dto.ToolTypeDto;
+import com.primetoolrentals.tooltrek_api.exception.ApiError;
+import com.primetoolrentals.tooltrek_api.services.catalog.CatalogVersion;
 import com.primetoolrentals.tooltrek_api.services.tools.ToolTypeService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.headers.Header;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.LocalDate;
 import java.util.List;
 
 /**
@@ -22,23 +33,70 @@ import java.util.List;
 @RestController
 @RequestMapping("/api/tool-type")
 @RequiredArgsConstructor
+@Validated
 public class ToolTypeController {
 
     private final ToolTypeService toolTypeService;
+    private final CatalogVersion catalogVersion;
 
     /**
-     * Get all tool types.
+     * Get a page of tool types in ID order, optionally filtered.
      *
-     * @return the ResponseEntity with status 200 (OK) and the list of tool types in the body.
+     * @param namePrefix the prefix of the names to filter by, or null for all names.
+     * @param afterId    the ID of the last tool type of the previous page, or null for the first page.
+     * @param limit      the number of tool types per page, or null for the default; at most the configured maximum page size.
+     * @param webRequest the request, checked for an If-None-Match or If-Modified-Since header matching the catalog version.
+     * @return the ResponseEntity with status 200 (OK), the list of tool types in the body, the ETag of the catalog version and
+     * a Link header with the URL of the next page, unless this is the last page;
+     * or null with status 304 (Not Modified) if the catalog has not changed since the client's copy.
      */
-    @Operation(summary = "Get all tool types", description = "Retrieve a list of all tool types.")
+    @Operation(summary = "Get tool types", description = "Retrieve a page of tool types in ID order. Follow the Link header for the next page.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successful retrieval of tool types",
-                    content = @Content(array = @ArraySchema(schema = @Schema(implementation = ToolTypeDto.class))))
+                    headers = {@Header(name = "Link", description = "URL of the next page, with rel=\"next\", unless this is the last page"),
+                            @Header(name = "ETag", description = "Strong validator of the catalog version")},
+                    content = @Content(array = @ArraySchema(schema = @Schema(implementation = ToolTypeDto.class)))),
+            @ApiResponse(responseCode = "304", description = "The catalog has not changed since the If-None-Match ETag", content = @Content),
+            @ApiResponse(responseCode = "400", description = "Invalid filter or page",
+                    content = @Content(schema = @Schema(implementation = ApiError.class)))
     })
     @GetMapping("")
-    public ResponseEntity<List<ToolTypeDto>> findAllToolTypes() {
-        return new ResponseEntity<>(toolTypeService.findAllToolTypes(), HttpStatus.OK);
+    public ResponseEntity<List<ToolTypeDto>> findAllToolTypes(
+            @RequestParam(required = false) @Size(max = 30, message = "{name.prefix.length}") String namePrefix,
+            @RequestParam(required = false) @Min(value = 0, message = "{page.afterid.invalid}") Long afterId,
+            @RequestParam(required = false) @Min(value = 1, message = "{page.limit.invalid}") Integer limit,
+            WebRequest webRequest) {
+        if (webRequest.checkNotModified(catalogVersion.etag(), catalogVersion.lastModified())) {
+            return null;
+        }
+        return KeysetPageResponses.ok(toolTypeService.findToolTypes(namePrefix, afterId, limit));
+    }
+
+    /**
+     * Get the availability of the tools of a tool type over a period, served from the in-memory tool availability index.
+     *
+     * @param id   the ID of the tool type.
+     * @param from the first day of the period, in the format yyyy-MM-dd.
+     * @param to   the last day of the period, in the format yyyy-MM-dd.
+     * @return the ResponseEntity with status 200 (OK) and the number of free tools on each day of the period
+     * and the IDs of the tools free on every day in the body.
+     */
+    @Operation(summary = "Get tool type availability",
+            description = "Retrieve the number of free tools of a tool type on each day of a period and the tools free on every day.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successful retrieval of the availability",
+                    content = @Content(schema = @Schema(implementation = ToolTypeAvailabilityDto.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid period",
+                    content = @Content(schema = @Schema(implementation = String.class))),
+            @ApiResponse(responseCode = "404", description = "Tool type not found",
+                    content = @Content(schema = @Schema(implementation = String.class)))
+    })
+    @GetMapping("/{id}/availability")
+    public ResponseEntity<ToolTypeAvailabilityDto> findToolTypeAvailability(
+            @PathVariable Long id,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return new ResponseEntity<>(toolTypeService.findToolTypeAvailability(id, from, to), HttpStatus.OK);
     }
 
     /**
@@ -60,10 +118,6 @@ public class ToolTypeController {
     })
     @PostMapping("")
     public ResponseEntity<?> createNewToolType(@Valid @RequestBody ToolTypeDto toolTypeDto) {
-        if (!toolTypeService.isToolTypeNameUnique(toolTypeDto.getName())) {
-            return new ResponseEntity<>("Tool type already exists: " + toolTypeDto.getName(), HttpStatus.NOT_ACCEPTABLE);
-        }
-
         ToolTypeDto toolType = toolTypeService.addToolType(toolTypeDto);
         if (toolType == null) {
             return new ResponseEntity<>("Cannot create tool type: " + toolTypeDto.getName(), HttpStatus.BAD_REQUEST);
@@ -71,4 +125,29 @@ public class ToolTypeController {
 
         return new ResponseEntity<>(toolType, HttpStatus.CREATED);
     }
+
+    /**
+     * Change the charges of a tool type.
+     *
+     * @param id      the ID of the tool type.
+     * @param charges the ToolTypeChargesDto with the charges to change; the charges not given are kept.
+     * @return the ResponseEntity with status 200 (OK) and the updated ToolTypeDto in the body,
+     * or with status 404 (Not Found) if the tool type does not exist,
+     * or with status 409 (Conflict) if the tool type kept being changed by concurrent requests.
+     */
+    @Operation(summary = "Change the charges of a tool type",
+            description = "Change the daily charge and the weekday, weekend and holiday charge flags given, keeping the others. Concurrent changes of the same tool type are all applied.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Tool type updated successfully",
+                    content = @Content(schema = @Schema(implementation = ToolTypeDto.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid charges",
+                    content = @Content(schema = @Schema(implementation = ApiError.class))),
+            @ApiResponse(responseCode = "404", description = "Tool type not found", content = @Content),
+            @ApiResponse(responseCode = "409", description = "The tool type kept being changed by concurrent requests",
+                    content = @Content(schema = @Schema(implementation = String.class)))
+    })
+    @PatchMapping("/{id}")
+    public ResponseEntity<ToolTypeDto> updateToolTypeCharges(@PathVariable Long id, @Valid @RequestBody ToolTypeChargesDto charges) {
+        return new ResponseEntity<>(toolTypeService.updateToolTypeCharges(id, charges), HttpStatus.OK);
+    }
 }
@@ -0,0 +1,46 @@
+package com.primetoolrentals.tooltrek_api.controller;
+
+import com.primetoolrentals.tooltrek_api.dto.WriteRetryStatsDto;
+import com.primetoolrentals.tooltrek_api.services.retry.ConflictRetryAspect;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * REST controller for monitoring the concurrency failures of the service writes and their retries.
+ */
+@RestController
+@RequestMapping("/api/write-retry")
+@RequiredArgsConstructor
+public class WriteRetryController {
+
+    private final ConflictRetryAspect conflictRetryAspect;
+
+    /**
+     * Get the conflict and retry counters of the service writes.
+     *
+     * @return the ResponseEntity with status 200 (OK) and the list of WriteRetryStatsDto in the body, one per write
+     * called since the application started.
+     */
+    @Operation(summary = "Get write retry stats",
+            description = "Retrieve the optimistic locking failures, deadlocks and lock wait timeouts of the service writes, their retries, and the writes that succeeded after a retry or failed every attempt.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successful retrieval of the write retry stats",
+                    content = @Content(array = @ArraySchema(schema = @Schema(implementation = WriteRetryStatsDto.class))))
+    })
+    @GetMapping("/stats")
+    public ResponseEntity<List<WriteRetryStatsDto>> findWriteRetryStats() {
+        return new ResponseEntity<>(conflictRetryAspect.stats(), HttpStatus.OK);
+    }
+}
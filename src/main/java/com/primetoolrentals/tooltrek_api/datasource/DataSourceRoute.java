@@ -0,0 +1,17 @@
+package com.primetoolrentals.tooltrek_api.datasource;
+
+/**
+ * The connection pools the statements of a transaction can be routed to.
+ */
+public enum DataSourceRoute {
+
+    /**
+     * The primary database, serving the writes and the reads that must see them.
+     */
+    PRIMARY,
+
+    /**
+     * The read replica of the primary database, serving the read-only transactions.
+     */
+    REPLICA
+}
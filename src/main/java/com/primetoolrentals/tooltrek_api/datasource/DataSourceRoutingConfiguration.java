@@ -0,0 +1,89 @@
+package com.primetoolrentals.tooltrek_api.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+import java.time.Duration;
+
+/**
+ * Configures the connection pools of the primary database and of the optional read replica, and the DataSource
+ * routing between them used by JPA, Flyway and JDBC.
+ * <p>
+ * The primary pool is configured by the {@code spring.datasource} properties as usual. The replica pool is created
+ * when {@code tooltrek.datasource.replica.jdbc-url} is set, and is configured by the HikariCP properties under
+ * {@code tooltrek.datasource.replica}.
+ */
+@Configuration(proxyBeanMethods = false)
+public class DataSourceRoutingConfiguration {
+
+    /**
+     * Creates the pool of the primary database.
+     *
+     * @param properties The spring.datasource properties.
+     * @return The HikariDataSource of the primary database.
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    /**
+     * Creates the pool of the read replica. Its connections are read-only, and a short connection timeout
+     * lets the read-only transactions fall back to the primary database quickly when the replica is down.
+     *
+     * @return The HikariDataSource of the read replica.
+     */
+    @Bean
+    @ConditionalOnProperty("tooltrek.datasource.replica.jdbc-url")
+    @ConfigurationProperties("tooltrek.datasource.replica")
+    public HikariDataSource replicaDataSource() {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        dataSource.setConnectionTimeout(2000);
+        return dataSource;
+    }
+
+    /**
+     * Creates the DataSource routing the read-only transactions to the replica.
+     *
+     * @param primary              The pool of the primary database.
+     * @param replica              The pool of the read replica, if configured.
+     * @param replicaRetryInterval How long the replica is skipped after it failed to hand out a connection.
+     * @return The ReadWriteRoutingDataSource.
+     */
+    @Bean
+    public ReadWriteRoutingDataSource readWriteRoutingDataSource(
+            @Qualifier("primaryDataSource") HikariDataSource primary,
+            @Qualifier("replicaDataSource") ObjectProvider<HikariDataSource> replica,
+            @Value("${tooltrek.datasource.replica-retry-interval:30s}") Duration replicaRetryInterval) {
+        return new ReadWriteRoutingDataSource(primary, replica.getIfAvailable(), replicaRetryInterval, Clock.systemUTC());
+    }
+
+    /**
+     * Creates the DataSource used by the application, deferring the choice of the route until the first statement
+     * of a transaction, once the transaction manager has marked the transaction read-only or not.
+     *
+     * @param readWriteRoutingDataSource The routing DataSource.
+     * @return The LazyConnectionDataSourceProxy wrapping the routing DataSource.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadWriteRoutingDataSource readWriteRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(readWriteRoutingDataSource);
+    }
+}
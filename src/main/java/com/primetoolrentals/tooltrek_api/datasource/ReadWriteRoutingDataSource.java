@@ -0,0 +1,145 @@
+package com.primetoolrentals.tooltrek_api.datasource;
+
+import com.primetoolrentals.tooltrek_api.dto.DataSourceRouteStatsDto;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * DataSource routing the connections of read-only transactions, e.g. {@code @Transactional(readOnly = true)} service
+ * methods and the default transactions of the repository finders, to the replica pool, and all other connections
+ * to the primary pool.
+ * <p>
+ * The route is decided when the connection is requested, so this DataSource must be wrapped in a
+ * LazyConnectionDataSourceProxy: the transaction manager then begins the transaction before the physical connection
+ * is fetched for the first statement, once the read-only flag of the transaction is known.
+ * <p>
+ * When the replica cannot hand out a connection, the connection is taken from the primary pool instead, and the
+ * replica is skipped until the retry interval has passed. Without a replica, all connections come from the primary pool.
+ */
+public class ReadWriteRoutingDataSource extends AbstractDataSource {
+
+    private final HikariDataSource primary;
+    private final HikariDataSource replica;
+    private final Duration replicaRetryInterval;
+    private final Clock clock;
+
+    private final LongAdder primaryConnections = new LongAdder();
+    private final LongAdder replicaConnections = new LongAdder();
+    private final LongAdder replicaFallbacks = new LongAdder();
+
+    private volatile Instant replicaRetryAt = Instant.MIN;
+
+    /**
+     * Creates the routing DataSource.
+     *
+     * @param primary              The pool of the primary database.
+     * @param replica              The pool of the read replica, or null if no replica is configured.
+     * @param replicaRetryInterval How long the replica is skipped after it failed to hand out a connection.
+     * @param clock                The clock timing the retry interval.
+     */
+    public ReadWriteRoutingDataSource(HikariDataSource primary, HikariDataSource replica, Duration replicaRetryInterval, Clock clock) {
+        this.primary = primary;
+        this.replica = replica;
+        this.replicaRetryInterval = replicaRetryInterval;
+        this.clock = clock;
+    }
+
+    /**
+     * Returns a connection of the route of the current transaction.
+     *
+     * @return A connection of the replica pool for a read-only transaction, otherwise of the primary pool.
+     * @throws SQLException if no connection can be obtained from the primary pool.
+     */
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (currentRoute() == DataSourceRoute.REPLICA) {
+            Connection connection = replicaConnection();
+            if (connection != null) {
+                return connection;
+            }
+        }
+        Connection connection = primary.getConnection();
+        primaryConnections.increment();
+        return connection;
+    }
+
+    /**
+     * Connections with explicit credentials are not supported, the credentials are set on the pools.
+     *
+     * @param username The database user.
+     * @param password The password of the user.
+     * @return Never returns.
+     * @throws SQLException always.
+     */
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLException("The routing DataSource uses the credentials of its pools");
+    }
+
+    /**
+     * Determines the route of the current transaction.
+     *
+     * @return REPLICA if a replica is configured and the current transaction is read-only, PRIMARY otherwise.
+     */
+    public DataSourceRoute currentRoute() {
+        return replica != null && TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                ? DataSourceRoute.REPLICA : DataSourceRoute.PRIMARY;
+    }
+
+    /**
+     * Returns the connection counters and the pool state of each route.
+     *
+     * @return List of DataSourceRouteStatsDto objects, the primary first.
+     */
+    public List<DataSourceRouteStatsDto> stats() {
+        return List.of(routeStats(DataSourceRoute.PRIMARY, primary, primaryConnections.sum(), 0),
+                routeStats(DataSourceRoute.REPLICA, replica, replicaConnections.sum(), replicaFallbacks.sum()));
+    }
+
+    /**
+     * Takes a connection from the replica pool, unless the replica is being skipped after a failure.
+     *
+     * @return The connection, or null if the connection must be taken from the primary pool instead.
+     */
+    private Connection replicaConnection() {
+        if (clock.instant().isBefore(replicaRetryAt)) {
+            replicaFallbacks.increment();
+            return null;
+        }
+        try {
+            Connection connection = replica.getConnection();
+            replicaConnections.increment();
+            return connection;
+        } catch (SQLException | RuntimeException ex) {
+            // A pool started lazily reports an unreachable database with an unchecked exception
+            replicaRetryAt = clock.instant().plus(replicaRetryInterval);
+            replicaFallbacks.increment();
+            return null;
+        }
+    }
+
+    private DataSourceRouteStatsDto routeStats(DataSourceRoute route, HikariDataSource pool, long connections, long fallbacks) {
+        HikariPoolMXBean poolBean = pool != null ? pool.getHikariPoolMXBean() : null;
+        return DataSourceRouteStatsDto.builder()
+                .route(route)
+                .configured(pool != null)
+                .available(pool != null && (route == DataSourceRoute.PRIMARY || !clock.instant().isBefore(replicaRetryAt)))
+                .connectionsAcquired(connections)
+                .fallbacks(fallbacks)
+                .activeConnections(poolBean != null ? poolBean.getActiveConnections() : 0)
+                .idleConnections(poolBean != null ? poolBean.getIdleConnections() : 0)
+                .totalConnections(poolBean != null ? poolBean.getTotalConnections() : 0)
+                .threadsAwaitingConnection(poolBean != null ? poolBean.getThreadsAwaitingConnection() : 0)
+                .build();
+    }
+}
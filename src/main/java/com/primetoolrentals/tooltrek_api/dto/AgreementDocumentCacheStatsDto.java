@@ -0,0 +1,61 @@
+package com.primetoolrentals.tooltrek_api.dto;
+
+import lombok.*;
+
+/**
+ * A Data Transfer Object for the size and the counters of the rental agreement document cache,
+ * counted since the application started.
+ */
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@ToString
+public class AgreementDocumentCacheStatsDto {
+
+    /**
+     * The number of documents currently cached.
+     */
+    private Integer size;
+
+    /**
+     * The estimated heap size of the cached documents, in bytes.
+     */
+    private Long weightBytes;
+
+    /**
+     * The maximum estimated heap size of the cached documents, in bytes.
+     */
+    private Long maxWeightBytes;
+
+    /**
+     * The number of seconds a document is served from the cache after it was rendered.
+     */
+    private Long ttlSeconds;
+
+    /**
+     * The number of documents served from the cache.
+     */
+    private Long hits;
+
+    /**
+     * The number of documents rendered because they were not cached.
+     */
+    private Long misses;
+
+    /**
+     * The share of the documents served from the cache, from 0 to 1.
+     */
+    private Double hitRatio;
+
+    /**
+     * The number of documents removed to keep the cache within its maximum size.
+     */
+    private Long evictions;
+
+    /**
+     * The number of documents removed because they were older than the time to live.
+     */
+    private Long expirations;
+}
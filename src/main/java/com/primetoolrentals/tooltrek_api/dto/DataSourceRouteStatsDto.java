@@ -0,0 +1,62 @@
+package com.primetoolrentals.tooltrek_api.dto;
+
+import com.primetoolrentals.tooltrek_api.datasource.DataSourceRoute;
+import lombok.*;
+
+/**
+ * A Data Transfer Object for the connection counters of a route of the routing DataSource, counted since
+ * the application started, and the current state of its connection pool.
+ */
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@ToString
+public class DataSourceRouteStatsDto {
+
+    /**
+     * The route.
+     */
+    private DataSourceRoute route;
+
+    /**
+     * Whether a connection pool is configured for the route.
+     */
+    private Boolean configured;
+
+    /**
+     * Whether the route is used; false while the replica is skipped after a failure.
+     */
+    private Boolean available;
+
+    /**
+     * The number of connections taken from the pool of the route.
+     */
+    private Long connectionsAcquired;
+
+    /**
+     * The number of connections of read-only transactions taken from the primary pool because the replica was unavailable.
+     */
+    private Long fallbacks;
+
+    /**
+     * The number of connections of the pool in use.
+     */
+    private Integer activeConnections;
+
+    /**
+     * The number of idle connections of the pool.
+     */
+    private Integer idleConnections;
+
+    /**
+     * The number of connections of the pool.
+     */
+    private Integer totalConnections;
+
+    /**
+     * The number of threads waiting for a connection of the pool.
+     */
+    private Integer threadsAwaitingConnection;
+}
@@ -0,0 +1,27 @@
+package com.primetoolrentals.tooltrek_api.dto;
+
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * A Data Transfer Object for the version of some data kept in memory by every instance of the application.
+ */
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@ToString
+public class DataVersionDto {
+
+    /**
+     * The version of the data, incremented by every write of the data.
+     */
+    private Long version;
+
+    /**
+     * The timestamp of the latest write of the data.
+     */
+    private Instant updatedOn;
+}
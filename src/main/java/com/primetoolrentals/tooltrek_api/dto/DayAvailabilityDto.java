@@ -0,0 +1,27 @@
+package com.primetoolrentals.tooltrek_api.dto;
+
+import lombok.*;
+
+import java.time.LocalDate;
+
+/**
+ * A Data Transfer Object for the number of free tools on a day.
+ */
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@ToString
+public class DayAvailabilityDto {
+
+    /**
+     * The day.
+     */
+    private LocalDate date;
+
+    /**
+     * The number of tools not rented on the day.
+     */
+    private int freeCount;
+}
@@ -0,0 +1,105 @@
+package com.primetoolrentals.tooltrek_api.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.primetoolrentals.tooltrek_api.entity.HolidayObservance;
+import com.primetoolrentals.tooltrek_api.entity.HolidayRuleType;
+import jakarta.validation.constraints.*;
+import lombok.*;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.Month;
+
+/**
+ * A Data Transfer Object for holiday rules.
+ */
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@ToString
+public class HolidayDto implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = -1652436530467720846L;
+
+    /**
+     * The ID of the holiday.
+     */
+    private Long id;
+
+    /**
+     * The name of the holiday.
+     * Cannot be null and must be between 2 and 50 characters long.
+     */
+    @NotNull(message = "{holiday.name.required}")
+    @Size(min = 2, max = 50, message = "{holiday.name.length}")
+    private String name;
+
+    /**
+     * The way the date of the holiday is defined.
+     * Cannot be null.
+     */
+    @NotNull(message = "{holiday.type.required}")
+    private HolidayRuleType ruleType;
+
+    /**
+     * The month of the holiday.
+     * Cannot be null and must be between 1 and 12.
+     */
+    @NotNull(message = "{holiday.month.required}")
+    @Min(value = 1, message = "{holiday.month.invalid}")
+    @Max(value = 12, message = "{holiday.month.invalid}")
+    private Integer month;
+
+    /**
+     * The day of the month, required for fixed date holidays.
+     */
+    @Min(value = 1, message = "{holiday.day.invalid}")
+    @Max(value = 31, message = "{holiday.day.invalid}")
+    private Integer dayOfMonth;
+
+    /**
+     * The day of the week (1 = Monday, 7 = Sunday), required for weekday based holidays.
+     */
+    @Min(value = 1, message = "{holiday.weekday.invalid}")
+    @Max(value = 7, message = "{holiday.weekday.invalid}")
+    private Integer dayOfWeek;
+
+    /**
+     * The occurrence of the weekday within the month, required for nth weekday holidays.
+     */
+    @Min(value = 1, message = "{holiday.week.invalid}")
+    @Max(value = 4, message = "{holiday.week.invalid}")
+    private Integer weekOfMonth;
+
+    /**
+     * The way the holiday is observed when it falls on a weekend. Defaults to no observance.
+     */
+    private HolidayObservance observance;
+
+    /**
+     * The region the holiday applies to, or null if it applies to all stores.
+     */
+    @Size(max = 30, message = "{holiday.region.length}")
+    private String region;
+
+    /**
+     * Checks that the fields required by the rule type are present and form a valid date.
+     *
+     * @return true if the rule is complete, false otherwise.
+     */
+    @JsonIgnore
+    @AssertTrue(message = "{holiday.rule.incomplete}")
+    public boolean isRuleComplete() {
+        if (ruleType == null || month == null || month < 1 || month > 12) {
+            return true;
+        }
+        return switch (ruleType) {
+            case FIXED_DATE -> dayOfMonth != null && dayOfMonth <= Month.of(month).maxLength();
+            case NTH_WEEKDAY -> dayOfWeek != null && weekOfMonth != null;
+            case LAST_WEEKDAY -> dayOfWeek != null;
+        };
+    }
+}
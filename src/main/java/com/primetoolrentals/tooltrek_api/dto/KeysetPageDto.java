@@ -0,0 +1,29 @@
+package com.primetoolrentals.tooltrek_api.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * A page of a keyset paginated listing, and the ID of its last item to continue after for the next page.
+ *
+ * @param <T> The type of the items.
+ */
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@ToString
+public class KeysetPageDto<T> {
+
+    /**
+     * The items of the page, in the order of the listing: by ID, or by rental date then ID for the rental history.
+     */
+    private List<T> items;
+
+    /**
+     * The ID of the last item, to be passed as afterId for the next page, or null if this is the last page.
+     */
+    private Long nextAfterId;
+}
@@ -0,0 +1,164 @@
+package com.primetoolrentals.tooltrek_api.dto;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * An immutable amount of money in US dollars, stored as a whole number of cents.
+ * Serialized to JSON as a decimal number of dollars, e.g. {@code 3.58}.
+ *
+ * @param cents The amount in cents.
+ */
+@Schema(type = "number", format = "double", example = "3.58")
+public record Money(long cents) implements Serializable, Comparable<Money> {
+
+    private static final int CENTS_PER_DOLLAR = 100;
+    private static final int CENTS_SCALE = 2;
+    private static final int PERCENT = 100;
+    private static final int MAX_EXACT_DOUBLE_PRECISION = 15;
+
+    /**
+     * Amounts from zero up to this number of cents are cached, so that typical daily charges,
+     * discounts and totals do not allocate.
+     */
+    private static final int CACHE_HIGH_CENTS = 100_00;
+    private static final Money[] CACHE = new Money[CACHE_HIGH_CENTS + 1];
+
+    static {
+        for (int cents = 0; cents < CACHE.length; cents++) {
+            CACHE[cents] = new Money(cents);
+        }
+    }
+
+    /**
+     * Zero dollars.
+     */
+    public static final Money ZERO = CACHE[0];
+
+    /**
+     * Creates an amount from a number of cents.
+     *
+     * @param cents The amount in cents.
+     * @return The amount.
+     */
+    public static Money ofCents(long cents) {
+        return cents >= 0 && cents <= CACHE_HIGH_CENTS ? CACHE[(int) cents] : new Money(cents);
+    }
+
+    /**
+     * Creates an amount from a number of dollars, rounded half up to whole cents.
+     *
+     * @param amount The amount in dollars.
+     * @return The amount.
+     */
+    public static Money of(BigDecimal amount) {
+        if (amount.scale() <= CENTS_SCALE && amount.precision() <= MAX_EXACT_DOUBLE_PRECISION) {
+            // Whole cents with few digits survive the round trip through double exactly, without allocating
+            return ofCents(Math.round(amount.doubleValue() * CENTS_PER_DOLLAR));
+        }
+        return ofCents(amount.setScale(CENTS_SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact());
+    }
+
+    /**
+     * Creates an amount from a number of dollars as it appears in JSON, rounded half up to whole cents.
+     *
+     * @param amount The amount in dollars.
+     * @return The amount.
+     */
+    @JsonCreator
+    public static Money of(double amount) {
+        return of(BigDecimal.valueOf(amount));
+    }
+
+    /**
+     * Multiplies the amount by a whole number, e.g. a number of days.
+     *
+     * @param multiplier The multiplier.
+     * @return The product.
+     */
+    public Money times(int multiplier) {
+        return ofCents(Math.multiplyExact(cents, multiplier));
+    }
+
+    /**
+     * Calculates a percentage of the amount, rounded half up to whole cents.
+     *
+     * @param percent The percentage.
+     * @return The percentage of the amount.
+     */
+    public Money percent(int percent) {
+        return ofCents(divideHalfUp(Math.multiplyExact(cents, percent), PERCENT));
+    }
+
+    /**
+     * Subtracts an amount from this amount.
+     *
+     * @param other The amount to subtract.
+     * @return The difference.
+     */
+    public Money minus(Money other) {
+        return ofCents(Math.subtractExact(cents, other.cents));
+    }
+
+    /**
+     * Returns the amount in dollars as a double, the representation used in JSON.
+     * The result is the double closest to the exact amount.
+     *
+     * @return The amount in dollars.
+     */
+    @JsonValue
+    public double doubleValue() {
+        return (double) cents / CENTS_PER_DOLLAR;
+    }
+
+    /**
+     * Returns the exact amount in dollars.
+     *
+     * @return The amount in dollars with a scale of two.
+     */
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(cents, CENTS_SCALE);
+    }
+
+    /**
+     * Compares the amount with another amount.
+     *
+     * @param other The amount to compare with.
+     * @return A negative number, zero or a positive number if this amount is less than, equal to or greater than the other.
+     */
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(cents, other.cents);
+    }
+
+    /**
+     * Returns the amount in dollars, e.g. {@code 3.58}.
+     *
+     * @return The amount in dollars.
+     */
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString();
+    }
+
+    /**
+     * Divides two numbers, rounding half up (away from zero) like {@link RoundingMode#HALF_UP}.
+     *
+     * @param dividend The dividend.
+     * @param divisor  The positive divisor.
+     * @return The rounded quotient.
+     */
+    private static long divideHalfUp(long dividend, long divisor) {
+        long quotient = dividend / divisor;
+        long remainder = Math.abs(dividend % divisor);
+        if (remainder * 2 >= divisor) {
+            quotient += Long.signum(dividend);
+        }
+        return quotient;
+    }
+}
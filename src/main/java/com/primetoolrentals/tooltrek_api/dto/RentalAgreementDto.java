@@ -58,7 +58,7 @@ public class RentalAgreementDto implements Serializable {
     /**
      * The daily rental charge for the tool.
      */
-    private Double dailyRentalCharge;
+    private Money dailyRentalCharge;
 
     /**
      * The number of chargeable days in the rental period.
@@ -68,7 +68,7 @@ public class RentalAgreementDto implements Serializable {
     /**
      * The pre-discount total rental charge.
      */
-    private Double preDiscountCharge;
+    private Money preDiscountCharge;
 
     /**
      * The discount percentage applied to the rental.
@@ -78,10 +78,10 @@ public class RentalAgreementDto implements Serializable {
     /**
      * The amount discounted from the pre-discount charge.
      */
-    private Double discountAmount;
+    private Money discountAmount;
 
     /**
      * The final total charge for the rental after the discount.
      */
-    private Double finalCharge;
+    private Money finalCharge;
 }
@@ -0,0 +1,27 @@
+package com.primetoolrentals.tooltrek_api.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * A Data Transfer Object for the errors of one rental of a bulk checkout.
+ */
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@ToString
+public class RentalBulkErrorDto {
+
+    /**
+     * The zero-based index of the rental in the bulk checkout request.
+     */
+    private Integer index;
+
+    /**
+     * The error messages of the rental.
+     */
+    private List<String> errors;
+}
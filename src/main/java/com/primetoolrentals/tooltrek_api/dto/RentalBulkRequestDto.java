@@ -0,0 +1,28 @@
+package com.primetoolrentals.tooltrek_api.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * A Data Transfer Object for checking out several tools at once.
+ * The rentals are validated one by one, so that errors can be reported per rental.
+ */
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@ToString
+public class RentalBulkRequestDto {
+
+    /**
+     * The rentals to check out.
+     * Cannot be empty and can contain at most 100 rentals.
+     */
+    @NotEmpty(message = "{rental.bulk.rentals.required}")
+    @Size(max = 100, message = "{rental.bulk.rentals.size}")
+    private List<RentalRequestDto> rentals;
+}
@@ -0,0 +1,28 @@
+package com.primetoolrentals.tooltrek_api.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * A Data Transfer Object for the result of a bulk checkout: either the agreements of all rentals,
+ * or the errors of the rentals that could not be checked out, in which case no rental is saved.
+ */
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@ToString
+public class RentalBulkResponseDto {
+
+    /**
+     * The rental agreements, in the order of the request. Empty if there are errors.
+     */
+    private List<RentalAgreementDto> agreements;
+
+    /**
+     * The errors of the rentals that could not be checked out.
+     */
+    private List<RentalBulkErrorDto> errors;
+}
@@ -0,0 +1,46 @@
+package com.primetoolrentals.tooltrek_api.dto;
+
+import lombok.*;
+
+import java.time.LocalDate;
+
+/**
+ * A Data Transfer Object for the period a tool is rented for.
+ */
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@ToString
+public class RentalPeriodDto {
+
+    /**
+     * The ID of the rental.
+     */
+    private Long rentalId;
+
+    /**
+     * The ID of the rented tool.
+     */
+    private Long toolId;
+
+    /**
+     * The date when the rental starts.
+     */
+    private LocalDate rentalDate;
+
+    /**
+     * The number of days for the rental.
+     */
+    private Integer rentalDayCount;
+
+    /**
+     * Returns the date the tool is due back, the first day it is free again.
+     *
+     * @return The rental date plus the rental day count.
+     */
+    public LocalDate getDueDate() {
+        return rentalDate.plusDays(rentalDayCount);
+    }
+}
@@ -0,0 +1,28 @@
+package com.primetoolrentals.tooltrek_api.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * A Data Transfer Object for a batch of rental scenarios to be priced without checking out.
+ */
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@ToString
+public class RentalQuoteRequestDto {
+
+    /**
+     * The rental scenarios to price.
+     * Cannot be empty and can contain at most 100 scenarios.
+     */
+    @NotEmpty(message = "{rental.quote.scenarios.required}")
+    @Size(max = 100, message = "{rental.quote.scenarios.size}")
+    private List<@Valid RentalRequestDto> scenarios;
+}
@@ -0,0 +1,52 @@
+package com.primetoolrentals.tooltrek_api.dto;
+
+import lombok.*;
+
+import java.time.LocalDate;
+
+/**
+ * A Data Transfer Object for a rental in the rental history, with the columns of the rental only:
+ * the tool is referenced by its ID rather than loaded with its brand and type.
+ */
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@ToString
+public class RentalSummaryDto {
+
+    /**
+     * The ID of the rental.
+     */
+    private Long rentalId;
+
+    /**
+     * The ID of the rented tool.
+     */
+    private Long toolId;
+
+    /**
+     * The date when the rental starts.
+     */
+    private LocalDate rentalDate;
+
+    /**
+     * The number of days for the rental.
+     */
+    private Integer rentalDayCount;
+
+    /**
+     * The discount percentage of the rental.
+     */
+    private Integer rentalDiscount;
+
+    /**
+     * Returns the date the tool is due back.
+     *
+     * @return The rental date plus the rental day count.
+     */
+    public LocalDate getDueDate() {
+        return rentalDate.plusDays(rentalDayCount);
+    }
+}
@@ -0,0 +1,45 @@
+package com.primetoolrentals.tooltrek_api.dto;
+
+import lombok.*;
+
+/**
+ * A Data Transfer Object for the counters of the tool catalog cache, counted since the application started.
+ */
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@ToString
+public class ToolCatalogCacheStatsDto {
+
+    /**
+     * The number of tools currently cached.
+     */
+    private Integer size;
+
+    /**
+     * The maximum number of tools cached.
+     */
+    private Integer maxSize;
+
+    /**
+     * The number of lookups served from the cache.
+     */
+    private Long hits;
+
+    /**
+     * The number of lookups that read the tool from the database.
+     */
+    private Long misses;
+
+    /**
+     * The number of tools removed to keep the cache within its maximum size.
+     */
+    private Long evictions;
+
+    /**
+     * The number of tools removed because the tool, its brand or its type was written.
+     */
+    private Long invalidations;
+}
@@ -0,0 +1,27 @@
+package com.primetoolrentals.tooltrek_api.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * A Data Transfer Object for the errors of one line of a tool catalog import.
+ */
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@ToString
+public class ToolImportErrorDto {
+
+    /**
+     * The one-based number of the line in the uploaded file.
+     */
+    private Long line;
+
+    /**
+     * The error messages of the line.
+     */
+    private List<String> errors;
+}
@@ -0,0 +1,62 @@
+package com.primetoolrentals.tooltrek_api.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * A Data Transfer Object for the result of a tool catalog import.
+ */
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@ToString
+public class ToolImportResultDto {
+
+    /**
+     * The number of tool lines read, not counting the header and blank lines.
+     */
+    private Long linesRead;
+
+    /**
+     * The number of tools imported.
+     */
+    private Long toolsImported;
+
+    /**
+     * The number of tool brands created for the imported tools.
+     */
+    private Long brandsCreated;
+
+    /**
+     * The number of tool types created for the imported tools.
+     */
+    private Long typesCreated;
+
+    /**
+     * The number of lines rejected.
+     */
+    private Long linesRejected;
+
+    /**
+     * The errors of the rejected lines, up to the configured maximum number of reported lines.
+     */
+    private List<ToolImportErrorDto> errors;
+
+    /**
+     * The number of batches the tools were inserted in.
+     */
+    private Long batches;
+
+    /**
+     * The time the import took, in milliseconds.
+     */
+    private Long elapsedMillis;
+
+    /**
+     * The number of lines processed per second.
+     */
+    private Double linesPerSecond;
+}
@@ -0,0 +1,65 @@
+package com.primetoolrentals.tooltrek_api.dto;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+/**
+ * A Data Transfer Object for one line of a tool catalog import.
+ * The brand and the type are referenced by name and created when they do not exist yet.
+ */
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@ToString
+public class ToolImportRowDto {
+
+    /**
+     * The unique code of the tool.
+     * Cannot be null and must be 4 to 10 uppercase letters.
+     */
+    @NotNull(message = "{tool.code.required}")
+    @Pattern(regexp = "^[A-Z]{4,10}$", message = "{tool.code.format}")
+    private String code;
+
+    /**
+     * The name of the tool brand.
+     * Cannot be null and must be between 2 and 30 characters long.
+     */
+    @NotNull(message = "{brand.name.required}")
+    @Size(min = 2, max = 30, message = "{brand.name.length}")
+    private String brand;
+
+    /**
+     * The name of the tool type.
+     * Cannot be null and must be between 2 and 30 characters long.
+     */
+    @NotNull(message = "{type.name.required}")
+    @Size(min = 2, max = 30, message = "{type.name.length}")
+    private String type;
+
+    /**
+     * The daily rental charge of the tool type. Only needed when the tool type does not exist yet.
+     */
+    @Min(value = 0, message = "{type.charge.amount.required}")
+    private Double dailyCharge;
+
+    /**
+     * Flag indicating if weekday charges apply for the tool type. Only needed when the tool type does not exist yet.
+     */
+    private Boolean isWeekdayCharge;
+
+    /**
+     * Flag indicating if weekend charges apply for the tool type. Only needed when the tool type does not exist yet.
+     */
+    private Boolean isWeekendCharge;
+
+    /**
+     * Flag indicating if holiday charges apply for the tool type. Only needed when the tool type does not exist yet.
+     */
+    private Boolean isHolidayCharge;
+}
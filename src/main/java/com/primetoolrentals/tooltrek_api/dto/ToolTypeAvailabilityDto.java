@@ -0,0 +1,48 @@
+package com.primetoolrentals.tooltrek_api.dto;
+
+import lombok.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * A Data Transfer Object for the availability of the tools of a tool type over a period.
+ */
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@ToString
+public class ToolTypeAvailabilityDto {
+
+    /**
+     * The ID of the tool type.
+     */
+    private Long toolTypeId;
+
+    /**
+     * The first day of the period.
+     */
+    private LocalDate from;
+
+    /**
+     * The last day of the period.
+     */
+    private LocalDate to;
+
+    /**
+     * The number of tools of the tool type.
+     */
+    private int toolCount;
+
+    /**
+     * The number of free tools on each day of the period, in date order.
+     */
+    private List<DayAvailabilityDto> days;
+
+    /**
+     * The IDs of the tools free on every day of the period, in ID order.
+     */
+    private List<Long> freeToolIds;
+}
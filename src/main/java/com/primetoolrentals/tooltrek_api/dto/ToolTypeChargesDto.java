@@ -0,0 +1,38 @@
+package com.primetoolrentals.tooltrek_api.dto;
+
+import jakarta.validation.constraints.Min;
+import lombok.*;
+
+/**
+ * A Data Transfer Object for changing the charges of a tool type. Only the fields given are changed.
+ */
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@ToString
+public class ToolTypeChargesDto {
+
+    /**
+     * The new daily rental charge for the tool type, or null to keep the current one.
+     * Cannot be negative.
+     */
+    @Min(value = 0, message = "{type.charge.amount.invalid}")
+    private Double dailyCharge;
+
+    /**
+     * Whether weekday charges apply for the tool type, or null to keep the current flag.
+     */
+    private Boolean isWeekdayCharge;
+
+    /**
+     * Whether weekend charges apply for the tool type, or null to keep the current flag.
+     */
+    private Boolean isWeekendCharge;
+
+    /**
+     * Whether holiday charges apply for the tool type, or null to keep the current flag.
+     */
+    private Boolean isHolidayCharge;
+}
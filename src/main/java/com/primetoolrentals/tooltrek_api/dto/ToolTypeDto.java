@@ -7,6 +7,7 @@ import lombok.*;
 
 import java.io.Serial;
 import java.io.Serializable;
+import java.math.BigDecimal;
 
 /**
  * A Data Transfer Object for tool types.
@@ -63,4 +64,19 @@ public class ToolTypeDto implements Serializable {
      */
     @NotNull(message = "{type.holiday.charge.required}")
     private Boolean isHolidayCharge;
+
+    /**
+     * Creates a ToolTypeDto from the columns of a tool type, for query projections.
+     *
+     * @param id              The ID of the tool type.
+     * @param name            The name of the tool type.
+     * @param dailyCharge     The daily rental charge.
+     * @param isWeekdayCharge Flag indicating if weekday charges apply.
+     * @param isWeekendCharge Flag indicating if weekend charges apply.
+     * @param isHolidayCharge Flag indicating if holiday charges apply.
+     */
+    public ToolTypeDto(Long id, String name, BigDecimal dailyCharge,
+                       Boolean isWeekdayCharge, Boolean isWeekendCharge, Boolean isHolidayCharge) {
+        this(id, name, dailyCharge != null ? dailyCharge.doubleValue() : null, isWeekdayCharge, isWeekendCharge, isHolidayCharge);
+    }
 }
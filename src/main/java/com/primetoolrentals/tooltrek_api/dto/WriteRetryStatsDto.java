@@ -0,0 +1,40 @@
+package com.primetoolrentals.tooltrek_api.dto;
+
+import lombok.*;
+
+/**
+ * A Data Transfer Object for the concurrency failures and retries of a service write, counted since the application started.
+ */
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@ToString
+public class WriteRetryStatsDto {
+
+    /**
+     * The service write, as the simple class name and the method name, e.g. "ToolTypeServiceImpl.updateToolTypeCharges".
+     */
+    private String operation;
+
+    /**
+     * The number of attempts that failed with a concurrency failure.
+     */
+    private Long conflicts;
+
+    /**
+     * The number of attempts run again after a concurrency failure.
+     */
+    private Long retries;
+
+    /**
+     * The number of writes that succeeded after one or more retries.
+     */
+    private Long recovered;
+
+    /**
+     * The number of writes that failed because every attempt failed with a concurrency failure.
+     */
+    private Long exhausted;
+}
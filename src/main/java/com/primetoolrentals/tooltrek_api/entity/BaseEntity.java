@@ -5,7 +5,11 @@ import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
 import org.hibernate.annotations.SourceType;
+import org.hibernate.annotations.UpdateTimestamp;
+import org.hibernate.id.enhanced.TableGenerator;
 
 import java.time.Instant;
 
@@ -19,23 +23,37 @@ import java.time.Instant;
 public class BaseEntity {
 
     /**
-     * The primary key ID of the entity.
+     * The ID, allocated from the id_generator table in blocks, with one row per entity table.
+     * Unlike identity columns this lets Hibernate batch inserts.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "pooled-table")
+    @GenericGenerator(name = "pooled-table", type = TableGenerator.class, parameters = {
+            @Parameter(name = TableGenerator.TABLE_PARAM, value = "id_generator"),
+            @Parameter(name = TableGenerator.CONFIG_PREFER_SEGMENT_PER_ENTITY, value = "true"),
+            @Parameter(name = TableGenerator.INCREMENT_PARAM, value = "50"),
+            @Parameter(name = TableGenerator.OPT_PARAM, value = "pooled-lo")
+    })
     private Long id;
 
     /**
      * The timestamp when the entity was created.
+     * Taken from the application clock, so that inserts need no select of the generated value and can be batched.
      */
-    @CreationTimestamp(source = SourceType.DB)
-    @Column(updatable = false, insertable = false)
+    @CreationTimestamp(source = SourceType.VM)
+    @Column(updatable = false)
     private Instant createdOn;
 
     /**
-     * The timestamp when the entity was last updated.
+     * The timestamp when the entity was last inserted or updated, taken from the application clock like createdOn.
      */
-    @CreationTimestamp(source = SourceType.DB)
-    @Column(updatable = false, insertable = false)
+    @UpdateTimestamp(source = SourceType.VM)
     private Instant lastUpdatedOn;
+
+    /**
+     * The version of the entity, incremented by every update and checked by it: an update or delete of a row
+     * changed since the entity was read fails with an optimistic locking failure instead of overwriting the change.
+     */
+    @Version
+    private Integer version;
 }
@@ -0,0 +1,52 @@
+package com.primetoolrentals.tooltrek_api.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * Entity class representing the version of some data kept in memory by every instance of the application.
+ * <p>
+ * A write of the data increments the version in its transaction, and the instances poll the version to pick up
+ * the writes made through the other instances.
+ */
+@Entity
+@Table(name = "data_versions")
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@ToString
+public class DataVersion {
+
+    /**
+     * The name of the version of the tool catalog: the tools, tool brands and tool types.
+     */
+    public static final String CATALOG = "catalog";
+
+    /**
+     * The name of the version of the holiday rules.
+     */
+    public static final String HOLIDAY_RULES = "holiday_rules";
+
+    /**
+     * The name of the data, which is the primary key of its version.
+     */
+    @Id
+    @Column(length = 30)
+    private String name;
+
+    /**
+     * The version of the data, incremented by every write of the data.
+     */
+    @Column(nullable = false)
+    private Long version;
+
+    /**
+     * The timestamp of the latest write of the data, taken from the clock of the database.
+     */
+    @Column(nullable = false)
+    private Instant updatedOn;
+}
@@ -0,0 +1,65 @@
+package com.primetoolrentals.tooltrek_api.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Entity class representing a holiday rule.
+ */
+@Entity
+@Table(name = "holiday_rules")
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@ToString
+public class Holiday extends BaseEntity {
+
+    /**
+     * The name of the holiday.
+     */
+    @Column(nullable = false, length = 50)
+    private String name;
+
+    /**
+     * The way the date of the holiday is defined.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private HolidayRuleType ruleType;
+
+    /**
+     * The month of the holiday (1-12).
+     */
+    @Column(nullable = false)
+    private Integer month;
+
+    /**
+     * The day of the month for fixed date holidays.
+     */
+    private Integer dayOfMonth;
+
+    /**
+     * The day of the week (1 = Monday, 7 = Sunday) for weekday based holidays.
+     */
+    private Integer dayOfWeek;
+
+    /**
+     * The occurrence of the weekday within the month (1-4) for nth weekday holidays.
+     */
+    private Integer weekOfMonth;
+
+    /**
+     * The way the holiday is observed when it falls on a weekend.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private HolidayObservance observance;
+
+    /**
+     * The region the holiday applies to, or null if it applies to all stores.
+     */
+    @Column(length = 30)
+    private String region;
+}
@@ -0,0 +1,22 @@
+package com.primetoolrentals.tooltrek_api.entity;
+
+/**
+ * The ways a holiday falling on a weekend is observed on a weekday.
+ */
+public enum HolidayObservance {
+
+    /**
+     * The holiday is not observed on another day.
+     */
+    NONE,
+
+    /**
+     * Saturday holidays are observed on Friday, Sunday holidays on Monday.
+     */
+    NEAREST_WEEKDAY,
+
+    /**
+     * Weekend holidays are observed on the following Monday.
+     */
+    NEXT_WEEKDAY
+}
@@ -0,0 +1,22 @@
+package com.primetoolrentals.tooltrek_api.entity;
+
+/**
+ * The ways a holiday date can be defined.
+ */
+public enum HolidayRuleType {
+
+    /**
+     * A fixed day of a month, e.g. July 4th.
+     */
+    FIXED_DATE,
+
+    /**
+     * The nth occurrence of a weekday in a month, e.g. the first Monday in September.
+     */
+    NTH_WEEKDAY,
+
+    /**
+     * The last occurrence of a weekday in a month, e.g. the last Monday in May.
+     */
+    LAST_WEEKDAY
+}
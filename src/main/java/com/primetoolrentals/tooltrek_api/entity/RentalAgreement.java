@@ -0,0 +1,123 @@
+package com.primetoolrentals.tooltrek_api.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.SourceType;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * Entity class representing the agreement of a rental, as computed at checkout.
+ * <p>
+ * The agreement is a snapshot: it keeps the charges and the names of the tool type and brand of the time of the rental,
+ * so later changes of the prices, the names or the holiday calendar do not change it. It is never updated.
+ */
+@Entity
+@Table(name = "rental_agreements")
+@Immutable
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@ToString
+public class RentalAgreement {
+
+    /**
+     * The ID of the rental, which is the primary key of its agreement.
+     */
+    @Id
+    private Long rentalId;
+
+    /**
+     * The rental, never loaded when the agreement is read.
+     */
+    @MapsId
+    @OneToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "rental_id")
+    @ToString.Exclude
+    private Rental rental;
+
+    /**
+     * The code of the rented tool.
+     */
+    @Column(nullable = false, length = 10)
+    private String toolCode;
+
+    /**
+     * The name of the type of the tool at the time of the rental.
+     */
+    @Column(nullable = false, length = 30)
+    private String toolTypeName;
+
+    /**
+     * The name of the brand of the tool at the time of the rental.
+     */
+    @Column(nullable = false, length = 30)
+    private String toolBrandName;
+
+    /**
+     * The number of days of the rental.
+     */
+    @Column(nullable = false)
+    private Integer rentalDays;
+
+    /**
+     * The date when the rental starts.
+     */
+    @Column(nullable = false)
+    private LocalDate checkoutDate;
+
+    /**
+     * The date when the tool is due back.
+     */
+    @Column(nullable = false)
+    private LocalDate dueDate;
+
+    /**
+     * The daily rental charge of the tool type at the time of the rental.
+     */
+    @Column(nullable = false, precision = 10, scale = 2)
+    private BigDecimal dailyRentalCharge;
+
+    /**
+     * The number of days charged.
+     */
+    @Column(nullable = false)
+    private Integer chargeDays;
+
+    /**
+     * The charge before the discount.
+     */
+    @Column(nullable = false, precision = 12, scale = 2)
+    private BigDecimal preDiscountCharge;
+
+    /**
+     * The discount percentage of the rental.
+     */
+    @Column(nullable = false)
+    private Integer discountPercent;
+
+    /**
+     * The amount of the discount.
+     */
+    @Column(nullable = false, precision = 12, scale = 2)
+    private BigDecimal discountAmount;
+
+    /**
+     * The charge after the discount.
+     */
+    @Column(nullable = false, precision = 12, scale = 2)
+    private BigDecimal finalCharge;
+
+    /**
+     * The timestamp when the agreement was created, taken from the application clock.
+     */
+    @CreationTimestamp(source = SourceType.VM)
+    @Column(updatable = false)
+    private Instant createdOn;
+}
@@ -7,7 +7,7 @@ import lombok.*;
  * Entity class representing a tool.
  */
 @Entity
-@Table(name = "tools", uniqueConstraints = {@UniqueConstraint(columnNames = {"code"})})
+@Table(name = "tools", uniqueConstraints = {@UniqueConstraint(name = Tool.CODE_UNIQUE_KEY, columnNames = {"code"})})
 @Builder
 @AllArgsConstructor
 @NoArgsConstructor
@@ -16,10 +16,15 @@ import lombok.*;
 @ToString
 public class Tool extends BaseEntity {
 
+    /**
+     * The name of the unique key of the tool codes.
+     */
+    public static final String CODE_UNIQUE_KEY = "UK1s923wkmf1f3q19fvxe2hm17l";
+
     /**
      * The unique code assigned to the tool.
      */
-    @Column(nullable = false, length = 10, unique = true)
+    @Column(nullable = false, length = 10)
     private String code;
 
     /**
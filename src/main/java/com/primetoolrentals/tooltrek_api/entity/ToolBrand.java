@@ -3,13 +3,14 @@ package com.primetoolrentals.tooltrek_api.entity;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import lombok.*;
 
 /**
  * Entity class representing a tool brand.
  */
 @Entity
-@Table(name = "tool_brands")
+@Table(name = "tool_brands", uniqueConstraints = {@UniqueConstraint(name = ToolBrand.NAME_UNIQUE_KEY, columnNames = {"name"})})
 @Builder
 @AllArgsConstructor
 @NoArgsConstructor
@@ -18,9 +19,14 @@ import lombok.*;
 @ToString
 public class ToolBrand extends BaseEntity {
 
+    /**
+     * The name of the unique key of the tool brand names.
+     */
+    public static final String NAME_UNIQUE_KEY = "uk_tool_brands_name";
+
     /**
      * The name of the tool brand.
      */
-    @Column(nullable = false, length = 30, unique = true)
+    @Column(nullable = false, length = 30)
     private String name;
 }
@@ -3,6 +3,7 @@ package com.primetoolrentals.tooltrek_api.entity;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import lombok.*;
 
 import java.math.BigDecimal;
@@ -11,7 +12,7 @@ import java.math.BigDecimal;
  * Entity class representing a tool type.
  */
 @Entity
-@Table(name = "tool_types")
+@Table(name = "tool_types", uniqueConstraints = {@UniqueConstraint(name = ToolType.NAME_UNIQUE_KEY, columnNames = {"name"})})
 @Builder
 @AllArgsConstructor
 @NoArgsConstructor
@@ -20,10 +21,15 @@ import java.math.BigDecimal;
 @ToString
 public class ToolType extends BaseEntity {
 
+    /**
+     * The name of the unique key of the tool type names.
+     */
+    public static final String NAME_UNIQUE_KEY = "uk_tool_types_name";
+
     /**
      * The name of the tool type.
      */
-    @Column(nullable = false, length = 30, unique = true)
+    @Column(nullable = false, length = 30)
     private String name;
 
     /**
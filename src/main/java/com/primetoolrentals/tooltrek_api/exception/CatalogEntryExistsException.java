@@ -0,0 +1,23 @@
+package com.primetoolrentals.tooltrek_api.exception;
+
+import java.io.Serial;
+
+/**
+ * Exception thrown when a tool, tool brand or tool type cannot be created because its code or name
+ * is already used, as reported by the unique key of the database.
+ */
+public class CatalogEntryExistsException extends RuntimeException {
+
+    @Serial
+    private static final long serialVersionUID = 4187520366935201487L;
+
+    /**
+     * Creates the exception.
+     *
+     * @param message The message returned as the response body, e.g. "Tool already exists: LADW".
+     * @param cause   The violation of the unique key.
+     */
+    public CatalogEntryExistsException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
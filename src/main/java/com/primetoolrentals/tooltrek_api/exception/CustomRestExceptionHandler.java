@@ -1,5 +1,8 @@
 package com.primetoolrentals.tooltrek_api.exception;
 
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import org.springframework.dao.ConcurrencyFailureException;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
@@ -8,6 +11,7 @@ import org.springframework.validation.FieldError;
 import org.springframework.validation.ObjectError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
 
@@ -47,4 +51,54 @@ public class CustomRestExceptionHandler extends ResponseEntityExceptionHandler {
         return handleExceptionInternal(
                 ex, apiError, headers, apiError.getStatus(), request);
     }
+
+    /**
+     * Handles ConstraintViolationException thrown when the validation of request parameters or path variables fails.
+     * @param ex The exception instance.
+     * @param request The web request.
+     * @return ResponseEntity containing ApiError with validation error details.
+     */
+    @ExceptionHandler(ConstraintViolationException.class)
+    protected ResponseEntity<Object> handleConstraintViolation(ConstraintViolationException ex, WebRequest request) {
+        List<String> errors = new ArrayList<String>();
+        for (ConstraintViolation<?> violation : ex.getConstraintViolations()) {
+            errors.add(violation.getMessage());
+        }
+
+        ApiError apiError =
+                new ApiError(HttpStatus.BAD_REQUEST, ex.getLocalizedMessage(), errors);
+        return handleExceptionInternal(
+                ex, apiError, new HttpHeaders(), apiError.getStatus(), request);
+    }
+
+    /**
+     * Handles CatalogEntryExistsException thrown when a tool, tool brand or tool type violates a unique key.
+     * @param ex The exception instance.
+     * @return ResponseEntity containing the message of the exception, e.g. "Tool already exists: LADW".
+     */
+    @ExceptionHandler(CatalogEntryExistsException.class)
+    protected ResponseEntity<Object> handleCatalogEntryExists(CatalogEntryExistsException ex) {
+        return new ResponseEntity<>(ex.getMessage(), HttpStatus.NOT_ACCEPTABLE);
+    }
+
+    /**
+     * Handles ToolUnavailableException thrown when a tool is already rented for overlapping dates.
+     * @param ex The exception instance.
+     * @return ResponseEntity containing the message of the exception, e.g. "Tool LADW is already rented from 2020-07-02 to 2020-07-05".
+     */
+    @ExceptionHandler(ToolUnavailableException.class)
+    protected ResponseEntity<Object> handleToolUnavailable(ToolUnavailableException ex) {
+        return new ResponseEntity<>(ex.getMessage(), HttpStatus.CONFLICT);
+    }
+
+    /**
+     * Handles ConcurrencyFailureException thrown when every attempt of a write failed because concurrent requests
+     * changed the same data, or deadlocked or timed out waiting for its locks.
+     * @param ex The exception instance.
+     * @return ResponseEntity containing a message asking to try again.
+     */
+    @ExceptionHandler(ConcurrencyFailureException.class)
+    protected ResponseEntity<Object> handleConcurrencyFailure(ConcurrencyFailureException ex) {
+        return new ResponseEntity<>("The data was changed by a concurrent request, please try again", HttpStatus.CONFLICT);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,16 @@
+package com.primetoolrentals.tooltrek_api.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.io.Serial;
+
+/**
+ * Exception thrown when a requested holiday is not found.
+ */
+@ResponseStatus(value = HttpStatus.NOT_FOUND, reason = "Selected holiday does not exist")
+public class HolidayNotFoundException extends RuntimeException {
+
+    @Serial
+    private static final long serialVersionUID = 3372085174093268524L;
+}
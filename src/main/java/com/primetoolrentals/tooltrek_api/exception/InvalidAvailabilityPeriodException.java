@@ -0,0 +1,16 @@
+package com.primetoolrentals.tooltrek_api.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.io.Serial;
+
+/**
+ * Exception thrown when the period of an availability request ends before it starts or is longer than allowed.
+ */
+@ResponseStatus(value = HttpStatus.BAD_REQUEST, reason = "The availability period should end on or after its first day and span at most the maximum number of days")
+public class InvalidAvailabilityPeriodException extends RuntimeException {
+
+    @Serial
+    private static final long serialVersionUID = 7301569249410585163L;
+}
@@ -0,0 +1,16 @@
+package com.primetoolrentals.tooltrek_api.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.io.Serial;
+
+/**
+ * Exception thrown when the header of an imported CSV file lacks a required column.
+ */
+@ResponseStatus(value = HttpStatus.BAD_REQUEST, reason = "The CSV header must contain the code, brand and type columns")
+public class InvalidImportHeaderException extends RuntimeException {
+
+    @Serial
+    private static final long serialVersionUID = 4702513897412265301L;
+}
@@ -0,0 +1,16 @@
+package com.primetoolrentals.tooltrek_api.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.io.Serial;
+
+/**
+ * Exception thrown when the date range of a rental history request ends before it starts.
+ */
+@ResponseStatus(value = HttpStatus.BAD_REQUEST, reason = "The rental history range should end on or after its first day")
+public class InvalidRentalHistoryRangeException extends RuntimeException {
+
+    @Serial
+    private static final long serialVersionUID = -4127598032771690313L;
+}
@@ -0,0 +1,26 @@
+package com.primetoolrentals.tooltrek_api.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.io.Serial;
+
+/**
+ * Exception thrown when a tool cannot be checked out because it is already rented for overlapping dates.
+ */
+@ResponseStatus(value = HttpStatus.CONFLICT)
+public class ToolUnavailableException extends RuntimeException {
+
+    @Serial
+    private static final long serialVersionUID = -3514470120652883194L;
+
+    /**
+     * Creates the exception.
+     *
+     * @param message The message returned as the response body,
+     *                e.g. "Tool LADW is already rented from 2020-07-02 to 2020-07-05".
+     */
+    public ToolUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,42 @@
+package com.primetoolrentals.tooltrek_api.repository;
+
+import com.primetoolrentals.tooltrek_api.dto.DataVersionDto;
+import com.primetoolrentals.tooltrek_api.entity.DataVersion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Repository interface for accessing and managing DataVersion entities in the database.
+ * The versions are written and read in the write transactions of their data.
+ */
+@Repository
+public interface DataVersionRepository extends JpaRepository<DataVersion, String> {
+
+    /**
+     * Increments the version of some data in the current transaction, with the update time taken from the clock
+     * of the database. The row stays locked until the transaction ends, so concurrent writes of the data
+     * increment the version one after the other.
+     *
+     * @param name The name of the data.
+     * @return The number of versions incremented, 1 if the version exists.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    @Modifying
+    @Query("update DataVersion v set v.version = v.version + 1, v.updatedOn = current_timestamp where v.name = :name")
+    int incrementVersion(@Param("name") String name);
+
+    /**
+     * Finds the version of some data in the current transaction, including its own increment.
+     *
+     * @param name The name of the data.
+     * @return DataVersionDto with the version and its update time.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    @Query("select new com.primetoolrentals.tooltrek_api.dto.DataVersionDto(v.version, v.updatedOn) from DataVersion v where v.name = :name")
+    DataVersionDto findVersionByName(@Param("name") String name);
+}
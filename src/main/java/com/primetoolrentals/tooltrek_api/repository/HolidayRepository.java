@@ -0,0 +1,12 @@
+package com.primetoolrentals.tooltrek_api.repository;
+
+import com.primetoolrentals.tooltrek_api.entity.Holiday;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository interface for accessing and managing Holiday entities in the database.
+ */
+@Repository
+public interface HolidayRepository extends JpaRepository<Holiday, Long> {
+}
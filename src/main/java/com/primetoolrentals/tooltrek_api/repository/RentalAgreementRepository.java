@@ -0,0 +1,13 @@
+package com.primetoolrentals.tooltrek_api.repository;
+
+import com.primetoolrentals.tooltrek_api.entity.RentalAgreement;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository interface for accessing and managing RentalAgreement entities in the database.
+ * The agreements are found by the IDs of their rentals, with a single read of the primary key.
+ */
+@Repository
+public interface RentalAgreementRepository extends JpaRepository<RentalAgreement, Long> {
+}
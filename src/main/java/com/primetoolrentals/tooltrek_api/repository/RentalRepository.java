@@ -1,12 +1,96 @@
 package com.primetoolrentals.tooltrek_api.repository;
 
+import com.primetoolrentals.tooltrek_api.dto.RentalPeriodDto;
+import com.primetoolrentals.tooltrek_api.dto.RentalSummaryDto;
 import com.primetoolrentals.tooltrek_api.entity.Rental;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
 /**
  * Repository interface for accessing and managing Rental entities in the database.
  */
 @Repository
 public interface RentalRepository extends JpaRepository<Rental, Long> {
-}
\ No newline at end of file
+
+    /**
+     * Finds a page of rental periods in ID order, projected straight into RentalPeriodDto objects.
+     *
+     * @param afterId Only Rentals with a greater ID are returned.
+     * @param limit   The maximum number of Rentals to return.
+     * @return List of the RentalPeriodDto objects found.
+     */
+    @Query("select new com.primetoolrentals.tooltrek_api.dto.RentalPeriodDto(r.id, r.tool.id, r.rentalDate, r.rentalDayCount)"
+            + " from Rental r where r.id > :afterId order by r.id")
+    List<RentalPeriodDto> findRentalPeriodPage(@Param("afterId") long afterId, Limit limit);
+
+    /**
+     * Finds the latest rentals of a tool starting before a date, latest first, by a backward range scan of the
+     * index on the tool and the rental date. Since the rentals of a tool do not overlap, the latest one is the only
+     * one that can overlap a new rental ending at that date. The rows are read with a locking read, so that they
+     * include the rentals committed after the transaction has started.
+     *
+     * @param toolId The ID of the tool.
+     * @param before Only Rentals starting before this date are returned.
+     * @param limit  The maximum number of Rentals to return.
+     * @return List of the RentalPeriodDto objects found.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select new com.primetoolrentals.tooltrek_api.dto.RentalPeriodDto(r.id, r.tool.id, r.rentalDate, r.rentalDayCount)"
+            + " from Rental r where r.tool.id = :toolId and r.rentalDate < :before order by r.rentalDate desc")
+    List<RentalPeriodDto> findLatestRentalPeriodsBefore(@Param("toolId") Long toolId, @Param("before") LocalDate before, Limit limit);
+
+    /**
+     * Finds the rental date of a Rental, without loading the Rental.
+     *
+     * @param id The ID of the Rental.
+     * @return The rental date, or empty if there is no Rental with the ID.
+     */
+    @Query("select r.rentalDate from Rental r where r.id = :id")
+    Optional<LocalDate> findRentalDateById(@Param("id") Long id);
+
+    /**
+     * Finds a page of the rentals of a tool in rental date order, then in ID order, projected straight into
+     * RentalSummaryDto objects. The page starts after the given date and ID, and is read by a range scan
+     * of the covering index on the tool, the rental date and the ID.
+     *
+     * @param toolId    The ID of the tool.
+     * @param afterDate Only Rentals starting after this date, or starting on it with a greater ID, are returned.
+     * @param afterId   The ID after which the Rentals starting on afterDate are returned.
+     * @param to        Only Rentals starting on or before this date are returned.
+     * @param limit     The maximum number of Rentals to return.
+     * @return List of the RentalSummaryDto objects found.
+     */
+    @Query("select new com.primetoolrentals.tooltrek_api.dto.RentalSummaryDto(r.id, r.tool.id, r.rentalDate, r.rentalDayCount, r.rentalDiscount)"
+            + " from Rental r where r.tool.id = :toolId"
+            + " and (r.rentalDate > :afterDate or r.rentalDate = :afterDate and r.id > :afterId) and r.rentalDate <= :to"
+            + " order by r.rentalDate, r.id")
+    List<RentalSummaryDto> findRentalSummaryPageByTool(@Param("toolId") Long toolId, @Param("afterDate") LocalDate afterDate,
+                                                       @Param("afterId") long afterId, @Param("to") LocalDate to, Limit limit);
+
+    /**
+     * Finds a page of the rentals of all tools in rental date order, then in ID order, projected straight into
+     * RentalSummaryDto objects. The page starts after the given date and ID, and is read by a range scan
+     * of the covering index on the rental date and the ID.
+     *
+     * @param afterDate Only Rentals starting after this date, or starting on it with a greater ID, are returned.
+     * @param afterId   The ID after which the Rentals starting on afterDate are returned.
+     * @param to        Only Rentals starting on or before this date are returned.
+     * @param limit     The maximum number of Rentals to return.
+     * @return List of the RentalSummaryDto objects found.
+     */
+    @Query("select new com.primetoolrentals.tooltrek_api.dto.RentalSummaryDto(r.id, r.tool.id, r.rentalDate, r.rentalDayCount, r.rentalDiscount)"
+            + " from Rental r"
+            + " where (r.rentalDate > :afterDate or r.rentalDate = :afterDate and r.id > :afterId) and r.rentalDate <= :to"
+            + " order by r.rentalDate, r.id")
+    List<RentalSummaryDto> findRentalSummaryPage(@Param("afterDate") LocalDate afterDate, @Param("afterId") long afterId,
+                                                 @Param("to") LocalDate to, Limit limit);
+}
@@ -1,10 +1,14 @@
 package com.primetoolrentals.tooltrek_api.repository;
 
+import com.primetoolrentals.tooltrek_api.dto.ToolBrandDto;
 import com.primetoolrentals.tooltrek_api.entity.ToolBrand;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.util.Optional;
+import java.util.List;
 
 /**
  * Repository interface for accessing and managing ToolBrand entities in the database.
@@ -13,10 +17,15 @@ import java.util.Optional;
 public interface ToolBrandRepository extends JpaRepository<ToolBrand, Long> {
 
     /**
-     * Finds the first ToolBrand entity by its name.
+     * Finds a page of tool brands in ID order, optionally filtered by name, projected straight into ToolBrandDto objects.
      *
-     * @param name The name of the ToolBrand to find.
-     * @return Optional containing the ToolBrand entity if found, otherwise empty.
+     * @param afterId     Only ToolBrands with a greater ID are returned.
+     * @param namePattern The LIKE pattern of the names to filter by, or null for all names.
+     * @param limit       The maximum number of ToolBrands to return.
+     * @return List of the ToolBrandDto objects found.
      */
-    Optional<ToolBrand> findFirstByName(String name);
+    @Query("select new com.primetoolrentals.tooltrek_api.dto.ToolBrandDto(b.id, b.name) from ToolBrand b where b.id > :afterId"
+            + " and (:namePattern is null or b.name like :namePattern escape '!')"
+            + " order by b.id")
+    List<ToolBrandDto> findToolBrandDtoPage(@Param("afterId") long afterId, @Param("namePattern") String namePattern, Limit limit);
 }
@@ -1,10 +1,25 @@
 package com.primetoolrentals.tooltrek_api.repository;
 
+import com.primetoolrentals.tooltrek_api.dto.ToolDto;
 import com.primetoolrentals.tooltrek_api.entity.Tool;
+import com.primetoolrentals.tooltrek_api.entity.ToolBrand;
+import com.primetoolrentals.tooltrek_api.entity.ToolType;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for accessing and managing Tool entities in the database.
@@ -13,10 +28,113 @@ import java.util.Optional;
 public interface ToolRepository extends JpaRepository<Tool, Long> {
 
     /**
-     * Finds the first Tool entity by its code.
+     * Finds the ToolBrand and the ToolType of a new tool in a single query. The query runs in a read-write transaction,
+     * so that it is served by the primary database and sees a brand or type just created.
+     *
+     * @param toolBrandId The ID of the ToolBrand to find.
+     * @param toolTypeId  The ID of the ToolType to find.
+     * @return Optional containing the ToolBrand and the ToolType, empty if either of them does not exist.
+     */
+    @Transactional
+    @Query("select b as toolBrand, ty as toolType from ToolBrand b, ToolType ty where b.id = :toolBrandId and ty.id = :toolTypeId")
+    Optional<ToolBrandAndType> findToolBrandAndType(@Param("toolBrandId") Long toolBrandId, @Param("toolTypeId") Long toolTypeId);
+
+    /**
+     * Finds the Tool entities with the given IDs, together with their brands and types, in a single query.
+     * The query runs in a read-write transaction, so that it is served by the primary database and the tool catalog
+     * cache loading the tools sees a tool just created or changed, rather than caching what the replica has.
+     *
+     * @param ids The IDs of the Tools to find.
+     * @return List of the Tool entities found.
+     */
+    @Transactional
+    @Query("select t from Tool t join fetch t.toolBrand join fetch t.toolType where t.id in :ids")
+    List<Tool> findAllWithBrandAndTypeByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Finds the Tool entity with the given code, together with its brand and type, in a single query.
+     * The query runs in a read-write transaction, so that it is served by the primary database and the tool catalog
+     * cache loading the tool sees a tool just created or changed.
      *
      * @param code The code of the Tool to find.
-     * @return Optional containing the Tool entity if found, otherwise empty.
+     * @return Optional containing the Tool entity if found, empty otherwise.
      */
-    Optional<Tool> findFirstByCode(String code);
+    @Transactional
+    @Query("select t from Tool t join fetch t.toolBrand join fetch t.toolType where t.code = :code")
+    Optional<Tool> findWithBrandAndTypeByCode(@Param("code") String code);
+
+    /**
+     * Finds which of the given tool codes are already used. The query runs in a read-write transaction,
+     * so that it is served by the primary database and sees the codes just inserted.
+     *
+     * @param codes The tool codes to check.
+     * @return List of the codes used by existing Tool entities.
+     */
+    @Transactional
+    @Query("select t.code from Tool t where t.code in :codes")
+    List<String> findCodesByCodeIn(@Param("codes") Collection<String> codes);
+
+    /**
+     * Finds a page of tools in ID order, optionally filtered, projected straight into ToolDto objects
+     * by a single query joining the brands and types.
+     *
+     * @param afterId     Only Tools with a greater ID are returned.
+     * @param toolBrandId The ID of the tool brand to filter by, or null for all brands.
+     * @param toolTypeId  The ID of the tool type to filter by, or null for all types.
+     * @param codePattern The LIKE pattern of the codes to filter by, or null for all codes.
+     * @param limit       The maximum number of Tools to return.
+     * @return List of the ToolDto objects found.
+     */
+    @Query("select new com.primetoolrentals.tooltrek_api.dto.ToolDto(t.id, t.code, b.id, b.name, ty.id, ty.name)"
+            + " from Tool t join t.toolBrand b join t.toolType ty where t.id > :afterId"
+            + " and (:toolBrandId is null or b.id = :toolBrandId)"
+            + " and (:toolTypeId is null or ty.id = :toolTypeId)"
+            + " and (:codePattern is null or t.code like :codePattern escape '!')"
+            + " order by t.id")
+    List<ToolDto> findToolDtoPage(@Param("afterId") long afterId, @Param("toolBrandId") Long toolBrandId,
+                                  @Param("toolTypeId") Long toolTypeId, @Param("codePattern") String codePattern, Limit limit);
+
+    /**
+     * Streams all tools in ID order, projected into ToolDto objects, through a forward-only cursor.
+     * The fetch size of Integer.MIN_VALUE makes MySQL Connector/J hand over the rows one by one as they
+     * arrive instead of reading the whole result set into memory; no entity enters the persistence context.
+     * The stream must be consumed within a transaction and closed.
+     *
+     * @return Stream of the ToolDto objects of all tools.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    @Query("select new com.primetoolrentals.tooltrek_api.dto.ToolDto(t.id, t.code, b.id, b.name, ty.id, ty.name)"
+            + " from Tool t join t.toolBrand b join t.toolType ty order by t.id")
+    Stream<ToolDto> streamAllToolDtos();
+
+    /**
+     * Locks the row of a tool until the end of the transaction, serializing the checkouts of the tool
+     * across transactions and application instances.
+     *
+     * @param id The ID of the Tool to lock.
+     * @return Optional containing the ID of the Tool if it exists, empty otherwise.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select t.id from Tool t where t.id = :id")
+    Optional<Long> lockById(@Param("id") Long id);
+
+    /**
+     * Projection of a ToolBrand and a ToolType found together.
+     */
+    interface ToolBrandAndType {
+
+        /**
+         * Returns the ToolBrand.
+         *
+         * @return The ToolBrand entity.
+         */
+        ToolBrand getToolBrand();
+
+        /**
+         * Returns the ToolType.
+         *
+         * @return The ToolType entity.
+         */
+        ToolType getToolType();
+    }
 }
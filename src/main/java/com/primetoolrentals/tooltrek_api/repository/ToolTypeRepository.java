@@ -1,10 +1,14 @@
 package com.primetoolrentals.tooltrek_api.repository;
 
+import com.primetoolrentals.tooltrek_api.dto.ToolTypeDto;
 import com.primetoolrentals.tooltrek_api.entity.ToolType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.util.Optional;
+import java.util.List;
 
 /**
  * Repository interface for accessing and managing ToolType entities in the database.
@@ -13,10 +17,16 @@ import java.util.Optional;
 public interface ToolTypeRepository extends JpaRepository<ToolType, Long> {
 
     /**
-     * Finds the first ToolType entity by its name.
+     * Finds a page of tool types in ID order, optionally filtered by name, projected straight into ToolTypeDto objects.
      *
-     * @param name The name of the ToolType to find.
-     * @return Optional containing the ToolType entity if found, otherwise empty.
+     * @param afterId     Only ToolTypes with a greater ID are returned.
+     * @param namePattern The LIKE pattern of the names to filter by, or null for all names.
+     * @param limit       The maximum number of ToolTypes to return.
+     * @return List of the ToolTypeDto objects found.
      */
-    Optional<ToolType> findFirstByName(String name);
+    @Query("select new com.primetoolrentals.tooltrek_api.dto.ToolTypeDto(t.id, t.name, t.dailyCharge,"
+            + " t.isWeekdayCharge, t.isWeekendCharge, t.isHolidayCharge) from ToolType t where t.id > :afterId"
+            + " and (:namePattern is null or t.name like :namePattern escape '!')"
+            + " order by t.id")
+    List<ToolTypeDto> findToolTypeDtoPage(@Param("afterId") long afterId, @Param("namePattern") String namePattern, Limit limit);
 }
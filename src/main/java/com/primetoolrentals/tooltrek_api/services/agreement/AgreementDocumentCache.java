@@ -0,0 +1,218 @@
+package com.primetoolrentals.tooltrek_api.services.agreement;
+
+import com.primetoolrentals.tooltrek_api.dto.AgreementDocumentCacheStatsDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Cache of rendered rental agreement documents, keyed by rental ID and variant.
+ * <p>
+ * The documents are rendered from the agreement snapshots of the rentals, which are never changed, so a cached document
+ * is served without reading the rental or its snapshot. The cache is bounded by the estimated heap size of the documents: the least recently used documents are evicted
+ * once the maximum size is reached, and a document is rendered again once it is older than the time to live.
+ * <p>
+ * Documents are rendered outside the lock; concurrent misses of a document may render it more than once.
+ * When the templates are reloaded on change, cached documents keep the previous template until they expire,
+ * so a short time to live suits editing the templates.
+ */
+@Service
+public class AgreementDocumentCache {
+
+    /**
+     * The estimated heap size of a cached document besides its characters: the key, the entry,
+     * the node of the map and the String object with its array header.
+     */
+    private static final long ENTRY_OVERHEAD_BYTES = 160;
+
+    /**
+     * The maximum estimated heap size of the cached documents.
+     */
+    @Value("${tooltrek.agreement-cache.max-size:16MB}")
+    private DataSize maxSize = DataSize.ofMegabytes(16);
+
+    /**
+     * The time a document is served from the cache after it was rendered.
+     */
+    @Value("${tooltrek.agreement-cache.ttl:1h}")
+    private Duration ttl = Duration.ofHours(1);
+
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * The estimated heap size of the cached documents, guarded by this cache.
+     */
+    private long weight;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+
+    /**
+     * Finds the document of a rental, rendering and caching it if it is not cached.
+     *
+     * @param rentalId The ID of the rental.
+     * @param variant  The variant of the document.
+     * @param renderer Renders the document on a miss.
+     * @return The rendered document.
+     */
+    public String get(Long rentalId, AgreementTemplateVariant variant, Supplier<String> renderer) {
+        Key key = new Key(rentalId, variant);
+        synchronized (this) {
+            Entry entry = entries.get(key);
+            if (entry != null) {
+                if (entry.expiresAt - System.nanoTime() > 0) {
+                    hits.increment();
+                    return entry.document;
+                }
+                remove(key, expirations);
+            }
+        }
+        misses.increment();
+        String document = renderer.get();
+        put(key, document);
+        return document;
+    }
+
+    /**
+     * Removes all documents from the cache. The agreement snapshots are never changed, so nothing in the application
+     * needs this; it is kept for tests that reset the database, where rental IDs are reused, and is invoked from them
+     * by reflection.
+     */
+    synchronized void evictAll() {
+        entries.clear();
+        weight = 0;
+    }
+
+    /**
+     * Returns the counters of the cache.
+     *
+     * @return AgreementDocumentCacheStatsDto with the size, the estimated heap size and the counters of the cache.
+     */
+    public AgreementDocumentCacheStatsDto stats() {
+        int size;
+        long currentWeight;
+        synchronized (this) {
+            size = entries.size();
+            currentWeight = weight;
+        }
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        return AgreementDocumentCacheStatsDto.builder()
+                .size(size)
+                .weightBytes(currentWeight)
+                .maxWeightBytes(maxSize.toBytes())
+                .ttlSeconds(ttl.toSeconds())
+                .hits(hitCount)
+                .misses(missCount)
+                .hitRatio(hitCount + missCount == 0 ? 0.0 : (double) hitCount / (hitCount + missCount))
+                .evictions(evictions.sum())
+                .expirations(expirations.sum())
+                .build();
+    }
+
+    /**
+     * Estimates the heap size of a cached document. Documents of Latin-1 characters only take a byte
+     * per character, other documents two.
+     *
+     * @param document The document.
+     * @return The estimated heap size in bytes.
+     */
+    private static long weigh(String document) {
+        int bytesPerChar = 1;
+        for (int i = 0; i < document.length(); i++) {
+            if (document.charAt(i) > 0xFF) {
+                bytesPerChar = 2;
+                break;
+            }
+        }
+        return ENTRY_OVERHEAD_BYTES + (long) document.length() * bytesPerChar;
+    }
+
+    /**
+     * Caches a rendered document, unless the document alone exceeds the maximum size, replacing the document
+     * rendered by a concurrent miss, then evicts the expired documents and the least recently used ones
+     * until the cache is within its maximum size.
+     *
+     * @param key      The key of the document.
+     * @param document The rendered document.
+     */
+    private synchronized void put(Key key, String document) {
+        long documentWeight = weigh(document);
+        long maxWeight = maxSize.toBytes();
+        if (documentWeight > maxWeight) {
+            return;
+        }
+        if (entries.containsKey(key)) {
+            remove(key, null);
+        }
+        entries.put(key, new Entry(document, documentWeight, System.nanoTime() + ttl.toNanos()));
+        weight += documentWeight;
+        if (weight > maxWeight) {
+            evictExpired();
+        }
+        Iterator<Map.Entry<Key, Entry>> eldest = entries.entrySet().iterator();
+        while (weight > maxWeight && eldest.hasNext()) {
+            weight -= eldest.next().getValue().weight;
+            eldest.remove();
+            evictions.increment();
+        }
+    }
+
+    /**
+     * Removes the expired documents from the cache. Called with the lock of this cache held.
+     */
+    private void evictExpired() {
+        long now = System.nanoTime();
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            Entry entry = iterator.next();
+            if (entry.expiresAt - now <= 0) {
+                weight -= entry.weight;
+                iterator.remove();
+                expirations.increment();
+            }
+        }
+    }
+
+    /**
+     * Removes a cached document. Called with the lock of this cache held.
+     *
+     * @param key     The key of the cached document.
+     * @param counter The counter of the cause of the removal, or null if the removal is not counted.
+     */
+    private void remove(Key key, LongAdder counter) {
+        Entry entry = entries.remove(key);
+        weight -= entry.weight;
+        if (counter != null) {
+            counter.increment();
+        }
+    }
+
+    /**
+     * The key of a cached document.
+     *
+     * @param rentalId The ID of the rental.
+     * @param variant  The variant of the document.
+     */
+    private record Key(Long rentalId, AgreementTemplateVariant variant) {
+    }
+
+    /**
+     * A cached document.
+     *
+     * @param document  The rendered document.
+     * @param weight    The estimated heap size of the document.
+     * @param expiresAt The {@link System#nanoTime()} when the document expires.
+     */
+    private record Entry(String document, long weight, long expiresAt) {
+    }
+}
@@ -0,0 +1,223 @@
+package com.primetoolrentals.tooltrek_api.services.agreement;
+
+import com.samskivert.mustache.Mustache;
+import com.samskivert.mustache.MustacheException;
+import com.samskivert.mustache.Template;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Registry of the compiled rental agreement templates, one per {@link AgreementTemplateVariant}.
+ * The templates are compiled once at startup; when reloading is enabled, a template is recompiled
+ * before rendering if its file has changed since it was compiled.
+ * <p>
+ * Besides the rendered {@link RentalAgreementView}, templates can use these helpers:
+ * <ul>
+ *     <li>{@code {{#line}}label<TAB>value{{/line}}} writes the label and the value on a line of the receipt width,
+ *     the value aligned to the right;</li>
+ *     <li>{@code {{#center}}text{{/center}}} centers the text within the receipt width;</li>
+ *     <li>{@code {{rule}}} is a dashed line of the receipt width.</li>
+ * </ul>
+ */
+@Service
+@RequiredArgsConstructor
+public class AgreementTemplateRegistry {
+
+    private static final String TEMPLATE_SUFFIX = ".mustache";
+    private static final char LABEL_SEPARATOR = '\t';
+
+    private final ResourceLoader resourceLoader;
+    private final AtomicReference<Map<AgreementTemplateVariant, CompiledTemplate>> templates = new AtomicReference<>();
+    private Map<String, Object> helpers;
+
+    /**
+     * The location of the agreement templates, e.g. {@code file:/etc/tooltrek/templates/} to customize them.
+     */
+    @Value("${tooltrek.agreement.template-location:classpath:templates/agreement/}")
+    private String templateLocation = "classpath:templates/agreement/";
+
+    /**
+     * Whether changed template files are recompiled, for editing templates without a restart.
+     */
+    @Value("${tooltrek.agreement.reload-templates:false}")
+    private boolean reloadTemplates;
+
+    /**
+     * The number of characters per line of receipt documents.
+     */
+    @Value("${tooltrek.agreement.receipt-width:40}")
+    private int receiptWidth = 40;
+
+    /**
+     * A compiled template and the modification time of its file when it was compiled.
+     *
+     * @param template     The compiled template.
+     * @param lastModified The modification time of the template file, or 0 if unknown.
+     */
+    private record CompiledTemplate(Template template, long lastModified) {
+    }
+
+    /**
+     * Compiles the templates of all variants and creates the helpers available to them.
+     *
+     * @throws UncheckedIOException if a template cannot be read.
+     * @throws MustacheException    if a template cannot be compiled.
+     */
+    @PostConstruct
+    public void compileTemplates() {
+        Map<AgreementTemplateVariant, CompiledTemplate> compiled = new EnumMap<>(AgreementTemplateVariant.class);
+        for (AgreementTemplateVariant variant : AgreementTemplateVariant.values()) {
+            compiled.put(variant, compile(variant));
+        }
+        helpers = Map.of(
+                "line", (Mustache.Lambda) (fragment, out) -> writeLine(fragment.execute(), out),
+                "center", (Mustache.Lambda) (fragment, out) -> writeCentered(fragment.execute(), out),
+                "rule", "-".repeat(receiptWidth));
+        templates.set(Collections.unmodifiableMap(compiled));
+    }
+
+    /**
+     * Renders a rental agreement with the template of a variant.
+     *
+     * @param variant The variant of the document.
+     * @param view    The formatted rental agreement.
+     * @param out     The writer the document is written to, e.g. the writer of the HTTP response.
+     * @throws IOException if the writer cannot be written.
+     */
+    public void render(AgreementTemplateVariant variant, RentalAgreementView view, Writer out) throws IOException {
+        try {
+            template(variant).execute(view, helpers, out);
+        } catch (MustacheException e) {
+            if (e.getCause() instanceof IOException ioException) {
+                throw ioException;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the compiled template of a variant, recompiling it first if reloading is enabled and its file has changed.
+     *
+     * @param variant The variant of the document.
+     * @return The compiled template.
+     */
+    private Template template(AgreementTemplateVariant variant) {
+        CompiledTemplate compiled = templates.get().get(variant);
+        if (reloadTemplates && compiled.lastModified() != lastModified(resource(variant))) {
+            CompiledTemplate recompiled = compile(variant);
+            templates.updateAndGet(current -> {
+                Map<AgreementTemplateVariant, CompiledTemplate> updated = new EnumMap<>(current);
+                updated.put(variant, recompiled);
+                return Collections.unmodifiableMap(updated);
+            });
+            return recompiled.template();
+        }
+        return compiled.template();
+    }
+
+    /**
+     * Reads and compiles the template of a variant.
+     *
+     * @param variant The variant of the document.
+     * @return The compiled template.
+     * @throws UncheckedIOException if the template cannot be read.
+     */
+    private CompiledTemplate compile(AgreementTemplateVariant variant) {
+        Resource resource = resource(variant);
+        long lastModified = lastModified(resource);
+        try (Reader reader = new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8)) {
+            Template template = Mustache.compiler()
+                    .escapeHTML(variant.isEscapeHtml())
+                    .compile(reader);
+            return new CompiledTemplate(template, lastModified);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read agreement template " + resource.getDescription(), e);
+        }
+    }
+
+    /**
+     * Returns the template file of a variant.
+     *
+     * @param variant The variant of the document.
+     * @return The template resource.
+     */
+    private Resource resource(AgreementTemplateVariant variant) {
+        return resourceLoader.getResource(templateLocation + variant.name().toLowerCase() + TEMPLATE_SUFFIX);
+    }
+
+    /**
+     * Returns the modification time of a template file.
+     *
+     * @param resource The template resource.
+     * @return The modification time, or 0 if it cannot be determined, e.g. within a jar.
+     */
+    private static long lastModified(Resource resource) {
+        try {
+            return resource.lastModified();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Writes a label and a value on one receipt line, the value aligned to the right.
+     * When both do not fit, the value is aligned to the right on the next line.
+     *
+     * @param text The label and the value, separated by a tab.
+     * @param out  The writer.
+     * @throws IOException if the writer cannot be written.
+     */
+    private void writeLine(String text, Writer out) throws IOException {
+        int separator = text.indexOf(LABEL_SEPARATOR);
+        String label = separator < 0 ? text : text.substring(0, separator);
+        String value = separator < 0 ? "" : text.substring(separator + 1);
+        out.write(label);
+        int padding = receiptWidth - label.length() - value.length();
+        if (padding < 1) {
+            out.write('\n');
+            padding = receiptWidth - value.length();
+        }
+        writeSpaces(padding, out);
+        out.write(value);
+    }
+
+    /**
+     * Writes a text centered within the receipt width.
+     *
+     * @param text The text.
+     * @param out  The writer.
+     * @throws IOException if the writer cannot be written.
+     */
+    private void writeCentered(String text, Writer out) throws IOException {
+        writeSpaces((receiptWidth - text.length()) / 2, out);
+        out.write(text);
+    }
+
+    /**
+     * Writes spaces.
+     *
+     * @param count The number of spaces, nothing is written if not positive.
+     * @param out   The writer.
+     * @throws IOException if the writer cannot be written.
+     */
+    private static void writeSpaces(int count, Writer out) throws IOException {
+        for (int i = 0; i < count; i++) {
+            out.write(' ');
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.primetoolrentals.tooltrek_api.services.agreement;
+
+import org.springframework.http.MediaType;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The variants of the rental agreement document. Each variant has its own Mustache template,
+ * named after the variant in lower case, e.g. {@code receipt.mustache}.
+ */
+public enum AgreementTemplateVariant {
+
+    /**
+     * Plain text, one detail per line.
+     */
+    PLAIN(MediaType.TEXT_PLAIN, false),
+
+    /**
+     * An HTML page, with the values escaped.
+     */
+    HTML(MediaType.TEXT_HTML, true),
+
+    /**
+     * Plain text laid out for receipt printers, with the values aligned to the right of a fixed width.
+     */
+    RECEIPT(MediaType.TEXT_PLAIN, false);
+
+    private final MediaType mediaType;
+    private final boolean escapeHtml;
+
+    /**
+     * Creates a variant.
+     *
+     * @param mediaType  The media type of the document, without charset.
+     * @param escapeHtml Whether values are HTML escaped when rendered.
+     */
+    AgreementTemplateVariant(MediaType mediaType, boolean escapeHtml) {
+        this.mediaType = new MediaType(mediaType, StandardCharsets.UTF_8);
+        this.escapeHtml = escapeHtml;
+    }
+
+    /**
+     * Returns the media type of the rendered document.
+     *
+     * @return The media type, with the UTF-8 charset.
+     */
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    /**
+     * Returns whether values are HTML escaped when rendered.
+     *
+     * @return true for HTML documents, false otherwise.
+     */
+    public boolean isEscapeHtml() {
+        return escapeHtml;
+    }
+}
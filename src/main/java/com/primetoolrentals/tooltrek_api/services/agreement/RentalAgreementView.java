@@ -0,0 +1,49 @@
+package com.primetoolrentals.tooltrek_api.services.agreement;
+
+import com.primetoolrentals.tooltrek_api.dto.RentalAgreementDto;
+import com.primetoolrentals.tooltrek_api.services.checkout.CheckoutDateUtil;
+import com.primetoolrentals.tooltrek_api.services.format.AmountFormatter;
+
+/**
+ * The values rendered into the rental agreement templates, formatted for display.
+ * Templates refer to the components by name, e.g. {@code {{finalCharge}}}.
+ *
+ * @param toolCode          The code of the rented tool.
+ * @param toolType          The name of the tool type.
+ * @param toolBrand         The name of the tool brand.
+ * @param checkoutDate      The formatted checkout date.
+ * @param dueDate           The formatted due date.
+ * @param dailyRentalCharge The formatted daily rental charge.
+ * @param chargeDays        The number of charged days.
+ * @param preDiscountCharge The formatted charge before the discount.
+ * @param discountPercent   The formatted discount percentage.
+ * @param discountAmount    The formatted discount amount.
+ * @param finalCharge       The formatted final charge.
+ */
+public record RentalAgreementView(String toolCode, String toolType, String toolBrand,
+                                  String checkoutDate, String dueDate, String dailyRentalCharge, int chargeDays,
+                                  String preDiscountCharge, String discountPercent, String discountAmount,
+                                  String finalCharge) {
+
+    /**
+     * Formats a rental agreement for display.
+     *
+     * @param agreement       The rental agreement.
+     * @param amountFormatter The formatter of the amounts.
+     * @return The formatted rental agreement.
+     */
+    public static RentalAgreementView of(RentalAgreementDto agreement, AmountFormatter amountFormatter) {
+        return new RentalAgreementView(
+                agreement.getToolCode(),
+                agreement.getToolType(),
+                agreement.getToolBrand(),
+                CheckoutDateUtil.formatRentalDate(agreement.getCheckoutDate()),
+                CheckoutDateUtil.formatRentalDate(agreement.getDueDate()),
+                amountFormatter.formatCurrency(agreement.getDailyRentalCharge()),
+                agreement.getChargeDays(),
+                amountFormatter.formatCurrency(agreement.getPreDiscountCharge()),
+                amountFormatter.formatPercent(agreement.getDiscountPercent()),
+                amountFormatter.formatCurrency(agreement.getDiscountAmount()),
+                amountFormatter.formatCurrency(agreement.getFinalCharge()));
+    }
+}
@@ -0,0 +1,13 @@
+package com.primetoolrentals.tooltrek_api.services.availability;
+
+import java.time.LocalDate;
+
+/**
+ * A period a tool is rented for, from the first day of its rentals until the day it is due back.
+ * The due date is excluded, so a tool can be checked out again on the day it is returned.
+ *
+ * @param start The first day the tool is rented.
+ * @param end   The day the tool is due back, the first day it is free again.
+ */
+public record BookedPeriod(LocalDate start, LocalDate end) {
+}
@@ -0,0 +1,138 @@
+package com.primetoolrentals.tooltrek_api.services.availability;
+
+import java.time.LocalDate;
+
+/**
+ * An immutable set of days, one bit per day in words of 64 days. The words start at a day that is a multiple of 64
+ * in epoch days and only cover the days from the first to the last word holding a set day, so a tool rented over
+ * two years takes 12 words. Adding days returns a new bitmap, so readers never see a bitmap being modified.
+ */
+final class DayBitmap {
+
+    /**
+     * The bitmap without any day.
+     */
+    static final DayBitmap EMPTY = new DayBitmap(0, new long[0]);
+
+    /**
+     * Returned by {@link #firstSetDay} when no day of the period is set. Days before 1970 have negative epoch days,
+     * so no negative value can serve as the marker; this one is far before {@link LocalDate#MIN}.
+     */
+    static final long NO_DAY = Long.MIN_VALUE;
+
+    /**
+     * The epoch day of the lowest bit of the first word, a multiple of 64.
+     */
+    private final long firstDay;
+    private final long[] words;
+
+    private DayBitmap(long firstDay, long[] words) {
+        this.firstDay = firstDay;
+        this.words = words;
+    }
+
+    /**
+     * Returns a bitmap with the days of a period added.
+     *
+     * @param start The first day of the period.
+     * @param end   The day after the last day of the period.
+     * @return The new bitmap, or this bitmap if the period is empty.
+     */
+    DayBitmap withDays(LocalDate start, LocalDate end) {
+        long startDay = start.toEpochDay();
+        long endDay = end.toEpochDay();
+        if (startDay >= endDay) {
+            return this;
+        }
+        long newFirstDay = Math.floorDiv(startDay, 64) * 64;
+        long newEndDay = (Math.floorDiv(endDay - 1, 64) + 1) * 64;
+        if (words.length > 0) {
+            newFirstDay = Math.min(newFirstDay, firstDay);
+            newEndDay = Math.max(newEndDay, firstDay + 64L * words.length);
+        }
+        long[] newWords = new long[(int) ((newEndDay - newFirstDay) / 64)];
+        if (words.length > 0) {
+            System.arraycopy(words, 0, newWords, (int) ((firstDay - newFirstDay) / 64), words.length);
+        }
+        for (long day = startDay; day < endDay; ) {
+            int bit = (int) (day - newFirstDay);
+            int count = (int) Math.min(64 - (bit & 63), endDay - day);
+            newWords[bit >>> 6] |= mask(bit & 63, count);
+            day += count;
+        }
+        return new DayBitmap(newFirstDay, newWords);
+    }
+
+    /**
+     * Finds the first set day of a period.
+     *
+     * @param start The epoch day of the first day of the period.
+     * @param end   The epoch day after the last day of the period.
+     * @return The epoch day of the first set day, or {@link #NO_DAY} if none of the days are set.
+     */
+    long firstSetDay(long start, long end) {
+        long from = Math.max(start, firstDay);
+        long to = Math.min(end, firstDay + 64L * words.length);
+        for (long day = from; day < to; ) {
+            int bit = (int) (day - firstDay);
+            int count = (int) Math.min(64 - (bit & 63), to - day);
+            long word = words[bit >>> 6] & mask(bit & 63, count);
+            if (word != 0) {
+                return firstDay + (bit & ~63) + Long.numberOfTrailingZeros(word);
+            }
+            day += count;
+        }
+        return NO_DAY;
+    }
+
+    /**
+     * Checks whether a day is set.
+     *
+     * @param day The epoch day.
+     * @return true if the day is set.
+     */
+    boolean isSet(long day) {
+        long bit = day - firstDay;
+        return bit >= 0 && bit < 64L * words.length && (words[(int) (bit >>> 6)] & (1L << bit)) != 0;
+    }
+
+    /**
+     * Counts the set days of a period by day.
+     *
+     * @param start  The epoch day of the first day of the period.
+     * @param end    The epoch day after the last day of the period.
+     * @param counts The counts of the days of the period, incremented for the set days.
+     * @return true if any day of the period is set.
+     */
+    boolean countSetDays(long start, long end, int[] counts) {
+        long from = Math.max(start, firstDay);
+        long to = Math.min(end, firstDay + 64L * words.length);
+        boolean any = false;
+        for (long day = from; day < to; ) {
+            int bit = (int) (day - firstDay);
+            int count = (int) Math.min(64 - (bit & 63), to - day);
+            long word = words[bit >>> 6] & mask(bit & 63, count);
+            if (word != 0) {
+                any = true;
+                int offset = (int) (firstDay + (bit & ~63) - start);
+                do {
+                    counts[offset + Long.numberOfTrailingZeros(word)]++;
+                    word &= word - 1;
+                } while (word != 0);
+            }
+            day += count;
+        }
+        return any;
+    }
+
+    /**
+     * Returns the mask of consecutive bits of a word.
+     *
+     * @param from  The lowest bit.
+     * @param count The number of bits, 1 to 64.
+     * @return The mask.
+     */
+    private static long mask(int from, int count) {
+        return (-1L >>> (64 - count)) << from;
+    }
+}
@@ -0,0 +1,301 @@
+package com.primetoolrentals.tooltrek_api.services.availability;
+
+import com.primetoolrentals.tooltrek_api.dto.DayAvailabilityDto;
+import com.primetoolrentals.tooltrek_api.dto.RentalPeriodDto;
+import com.primetoolrentals.tooltrek_api.dto.ToolDto;
+import com.primetoolrentals.tooltrek_api.dto.ToolTypeAvailabilityDto;
+import com.primetoolrentals.tooltrek_api.repository.RentalRepository;
+import com.primetoolrentals.tooltrek_api.repository.ToolRepository;
+import com.primetoolrentals.tooltrek_api.services.version.RecentUpdates;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory index of the days the tools are rented on, answering whether a tool is free for some dates and how many
+ * tools of a type are free on each day without a query. Each tool has a bitmap of its rented days, from the day
+ * a rental starts until the day before it is due back, and the tools are grouped by tool type.
+ * <p>
+ * The index is loaded from the database at startup and kept in sync by the catalog services as tools are added
+ * and by the checkout service as rentals are committed. The tools and rentals added through the other instances
+ * of the application are polled by their update time. It is a fast first check; the check made atomic
+ * with the insert of a rental is against the database. Reads run without locking while rentals are added.
+ */
+@Service
+@RequiredArgsConstructor
+public class ToolAvailabilityIndex {
+
+    private static final int LOAD_PAGE_SIZE = 10_000;
+
+    private final ToolRepository toolRepository;
+    private final RentalRepository rentalRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final RecentUpdates recentUpdates;
+
+    /**
+     * How long before the latest update time of the previous load the tools and rentals are read again, so that a row
+     * committed some time after its update time, or by an instance whose clock is slightly behind, is not missed.
+     */
+    @Value("${tooltrek.tool-index.poll-overlap:PT10S}")
+    private Duration pollOverlap = Duration.ofSeconds(10);
+
+    private volatile Index index = new Index();
+
+    /**
+     * The latest update times of the tools and of the rentals when they were last loaded, or null if no row had one;
+     * guarded by this index.
+     */
+    private LocalDateTime toolsLoadedUntil;
+    private LocalDateTime rentalsLoadedUntil;
+
+    /**
+     * Loads all tools and rentals from the database into a new index, reading them in keyset pages,
+     * and replaces the current index. The pages are read in one read-write transaction, so that they are served
+     * by the primary database and have the tools and rentals just committed.
+     */
+    @PostConstruct
+    public synchronized void rebuild() {
+        LocalDateTime latestTool = recentUpdates.findLatestToolUpdate();
+        LocalDateTime latestRental = recentUpdates.findLatestRentalUpdate();
+        Index newIndex = new Index();
+        transactionTemplate.executeWithoutResult(status -> {
+            long afterId = 0;
+            List<ToolDto> tools;
+            do {
+                tools = toolRepository.findToolDtoPage(afterId, null, null, null, Limit.of(LOAD_PAGE_SIZE));
+                for (ToolDto tool : tools) {
+                    newIndex.addTool(tool.getId(), tool.getToolTypeId());
+                    afterId = tool.getId();
+                }
+            } while (tools.size() == LOAD_PAGE_SIZE);
+            afterId = 0;
+            List<RentalPeriodDto> rentals;
+            do {
+                rentals = rentalRepository.findRentalPeriodPage(afterId, Limit.of(LOAD_PAGE_SIZE));
+                for (RentalPeriodDto rental : rentals) {
+                    newIndex.bookings(rental.getToolId()).add(rental.getRentalDate(), rental.getDueDate());
+                    afterId = rental.getRentalId();
+                }
+            } while (rentals.size() == LOAD_PAGE_SIZE);
+        });
+        index = newIndex;
+        toolsLoadedUntil = latestTool;
+        rentalsLoadedUntil = latestRental;
+    }
+
+    /**
+     * Adds the tools and rentals updated since the previous load, including those added through the other instances
+     * of the application. The rows updated within the poll overlap before the previous load are read again;
+     * adding a tool or a rental again changes nothing.
+     */
+    @Scheduled(fixedDelayString = "${tooltrek.tool-index.poll-interval:PT1S}")
+    public synchronized void refresh() {
+        LocalDateTime latestTool = recentUpdates.findLatestToolUpdate();
+        LocalDateTime latestRental = recentUpdates.findLatestRentalUpdate();
+        LocalDateTime toolsSince = toolsLoadedUntil != null ? toolsLoadedUntil.minus(pollOverlap) : null;
+        long afterId = 0;
+        List<ToolDto> tools;
+        do {
+            tools = recentUpdates.findToolsUpdatedSince(toolsSince, afterId, LOAD_PAGE_SIZE);
+            for (ToolDto tool : tools) {
+                addTool(tool);
+                afterId = tool.getId();
+            }
+        } while (tools.size() == LOAD_PAGE_SIZE);
+        LocalDateTime rentalsSince = rentalsLoadedUntil != null ? rentalsLoadedUntil.minus(pollOverlap) : null;
+        afterId = 0;
+        List<RentalPeriodDto> rentals;
+        do {
+            rentals = recentUpdates.findRentalsUpdatedSince(rentalsSince, afterId, LOAD_PAGE_SIZE);
+            for (RentalPeriodDto rental : rentals) {
+                add(rental.getToolId(), rental.getRentalDate(), rental.getDueDate());
+                afterId = rental.getRentalId();
+            }
+        } while (rentals.size() == LOAD_PAGE_SIZE);
+        toolsLoadedUntil = latestTool;
+        rentalsLoadedUntil = latestRental;
+    }
+
+    /**
+     * Adds a tool to the index, free on every day unless its rentals were added first.
+     *
+     * @param tool The tool, with its type.
+     */
+    public void addTool(ToolDto tool) {
+        index.addTool(tool.getId(), tool.getToolTypeId());
+    }
+
+    /**
+     * Adds the period of a committed rental to the index.
+     *
+     * @param toolId The ID of the rented tool.
+     * @param start  The date when the rental starts.
+     * @param end    The date the tool is due back.
+     */
+    public void add(Long toolId, LocalDate start, LocalDate end) {
+        index.bookings(toolId).add(start, end);
+    }
+
+    /**
+     * Finds a period the tool is already rented for that overlaps the given dates.
+     *
+     * @param toolId The ID of the tool.
+     * @param start  The first day of the requested rental.
+     * @param end    The day the requested rental is due back.
+     * @return The consecutive rented days around the first rented day of the dates, or empty if the tool is free on every day.
+     */
+    public Optional<BookedPeriod> findOverlap(Long toolId, LocalDate start, LocalDate end) {
+        ToolBookings bookings = index.bookingsByToolId.get(toolId);
+        if (bookings == null) {
+            return Optional.empty();
+        }
+        DayBitmap days = bookings.days;
+        long day = days.firstSetDay(start.toEpochDay(), end.toEpochDay());
+        if (day == DayBitmap.NO_DAY) {
+            return Optional.empty();
+        }
+        long first = day;
+        while (days.isSet(first - 1)) {
+            first--;
+        }
+        long last = day;
+        while (days.isSet(last + 1)) {
+            last++;
+        }
+        return Optional.of(new BookedPeriod(LocalDate.ofEpochDay(first), LocalDate.ofEpochDay(last + 1)));
+    }
+
+    /**
+     * Counts the free tools of a type on each day of a period, and finds the tools free on every day.
+     *
+     * @param toolTypeId The ID of the tool type.
+     * @param from       The first day of the period.
+     * @param to         The last day of the period.
+     * @return ToolTypeAvailabilityDto with the free tools by day and the IDs of the tools free on every day, in ID order;
+     * with no tools if the index has no tool of the type.
+     */
+    public ToolTypeAvailabilityDto findToolTypeAvailability(Long toolTypeId, LocalDate from, LocalDate to) {
+        long start = from.toEpochDay();
+        long end = to.toEpochDay() + 1;
+        int[] rentedCounts = new int[(int) (end - start)];
+        List<Long> freeToolIds = new ArrayList<>();
+
+        ToolFleet fleet = index.fleetsByToolTypeId.get(toolTypeId);
+        int toolCount = fleet != null ? fleet.size : 0;
+        if (toolCount > 0) {
+            ToolBookings[] tools = fleet.tools;
+            for (int i = 0; i < toolCount; i++) {
+                if (!tools[i].days.countSetDays(start, end, rentedCounts)) {
+                    freeToolIds.add(tools[i].toolId);
+                }
+            }
+            freeToolIds.sort(null);
+        }
+
+        List<DayAvailabilityDto> days = new ArrayList<>(rentedCounts.length);
+        for (int i = 0; i < rentedCounts.length; i++) {
+            days.add(new DayAvailabilityDto(from.plusDays(i), toolCount - rentedCounts[i]));
+        }
+        return ToolTypeAvailabilityDto.builder()
+                .toolTypeId(toolTypeId)
+                .from(from)
+                .to(to)
+                .toolCount(toolCount)
+                .days(days)
+                .freeToolIds(freeToolIds)
+                .build();
+    }
+
+    /**
+     * The bookings of the tools and the tools of each type, of one generation of the index.
+     */
+    private static final class Index {
+
+        private final Map<Long, ToolBookings> bookingsByToolId = new ConcurrentHashMap<>();
+        private final Map<Long, ToolFleet> fleetsByToolTypeId = new ConcurrentHashMap<>();
+
+        /**
+         * Adds a tool to the tools of its type, once, also when its bookings were created by its rentals.
+         *
+         * @param toolId     The ID of the tool.
+         * @param toolTypeId The ID of the tool type.
+         */
+        void addTool(Long toolId, Long toolTypeId) {
+            ToolBookings bookings = bookings(toolId);
+            if (bookings.joinFleet()) {
+                fleetsByToolTypeId.computeIfAbsent(toolTypeId, id -> new ToolFleet()).add(bookings);
+            }
+        }
+
+        /**
+         * Returns the bookings of a tool, created for a tool missing from the index, e.g. added by another
+         * application instance and not polled yet; such a tool is found by its ID, but not by its type until it is added.
+         *
+         * @param toolId The ID of the tool.
+         * @return The ToolBookings of the tool.
+         */
+        ToolBookings bookings(Long toolId) {
+            return bookingsByToolId.computeIfAbsent(toolId, ToolBookings::new);
+        }
+    }
+
+    /**
+     * The rented days of one tool. The bitmap is replaced under the lock of this object and read without locking.
+     */
+    private static final class ToolBookings {
+
+        private final Long toolId;
+        private volatile DayBitmap days = DayBitmap.EMPTY;
+        private boolean inFleet;
+
+        ToolBookings(Long toolId) {
+            this.toolId = toolId;
+        }
+
+        /**
+         * Marks the tool as added to the tools of its type.
+         *
+         * @return true the first time, false if the tool was already added.
+         */
+        synchronized boolean joinFleet() {
+            if (inFleet) {
+                return false;
+            }
+            inFleet = true;
+            return true;
+        }
+
+        synchronized void add(LocalDate start, LocalDate end) {
+            days = days.withDays(start, end);
+        }
+    }
+
+    /**
+     * The tools of one type, in an append-only array. The tools are appended under the lock of this object
+     * and published by the volatile size, so a reader reading the size first sees the tools below it.
+     */
+    private static final class ToolFleet {
+
+        private ToolBookings[] tools = new ToolBookings[16];
+        private volatile int size;
+
+        synchronized void add(ToolBookings bookings) {
+            int count = size;
+            if (count == tools.length) {
+                tools = Arrays.copyOf(tools, count * 2);
+            }
+            tools[count] = bookings;
+            size = count + 1;
+        }
+    }
+}
@@ -0,0 +1,338 @@
+package com.primetoolrentals.tooltrek_api.services.calendar;
+
+import com.primetoolrentals.tooltrek_api.dto.RentalDaysDto;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.Year;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Immutable calendar classifying every day as weekday, weekend, holiday or observed holiday.
+ * <p>
+ * For the configured span of years the calendar keeps, per year, a compact array of day classes and
+ * cumulative counts of weekdays, weekend days and holidays, so the breakdown of any rental period is
+ * answered with a few array lookups. Years are indexed lazily on first use and the calendar can be shared
+ * between threads. Rental periods outside the span are calculated arithmetically from the rules.
+ * <p>
+ * Holidays falling on a weekend count as weekend days. A holiday observed on another day only counts as a
+ * holiday if both the actual and the observed day are part of the rental period.
+ */
+public final class HolidayCalendar {
+
+    /**
+     * The class of a calendar day.
+     */
+    public enum DayClass {
+        WEEKDAY,
+        WEEKEND,
+        HOLIDAY,
+        OBSERVED_HOLIDAY
+    }
+
+    private static final DayClass[] DAY_CLASSES = DayClass.values();
+    private static final int DAYS_IN_WEEK = 7;
+    private static final int WEEKDAYS_IN_WEEK = 5;
+    private static final int EPOCH_DAY_OFFSET_FROM_MONDAY = 3;
+
+    /**
+     * The maximum number of days an observed holiday may be moved away from its actual date.
+     */
+    private static final int MAX_OBSERVANCE_SHIFT = 2;
+
+    private final List<HolidayRule> rules;
+    private final int firstYear;
+    private final int lastYear;
+    private final AtomicReferenceArray<YearIndex> yearIndexes;
+
+    /**
+     * Creates a calendar for the given holiday rules, indexing the years from {@code firstYear}
+     * to {@code lastYear} inclusive.
+     *
+     * @param rules     The holiday rules.
+     * @param firstYear The first indexed year.
+     * @param lastYear  The last indexed year.
+     */
+    public HolidayCalendar(List<HolidayRule> rules, int firstYear, int lastYear) {
+        if (lastYear < firstYear) {
+            throw new IllegalArgumentException("Last year of the holiday calendar must not be before the first year");
+        }
+        this.rules = List.copyOf(rules);
+        this.firstYear = firstYear;
+        this.lastYear = lastYear;
+        this.yearIndexes = new AtomicReferenceArray<>(lastYear - firstYear + 1);
+    }
+
+    /**
+     * Returns the class of the given day.
+     *
+     * @param date The date to classify.
+     * @return The class of the day.
+     */
+    public DayClass dayClassOf(LocalDate date) {
+        return dayClassOf(date.toEpochDay());
+    }
+
+    /**
+     * Calculates the breakdown of rental days for a rental starting the day after checkout and ending on the due date.
+     *
+     * @param checkoutDate The checkout date.
+     * @param rentalDays   The number of rental days.
+     * @return RentalDaysDto containing the breakdown of rental days (total, weekday, holidays, weekends).
+     */
+    public RentalDaysDto countRentalDays(LocalDate checkoutDate, int rentalDays) {
+        if (rentalDays <= 0) {
+            return RentalDaysDto.builder().build();
+        }
+
+        long firstRentalDay = checkoutDate.toEpochDay() + 1;
+        long lastRentalDay = checkoutDate.toEpochDay() + rentalDays;
+        int firstRentalYear = yearOf(firstRentalDay);
+        int lastRentalYear = yearOf(lastRentalDay);
+
+        int[] counts = (firstRentalYear >= firstYear && lastRentalYear <= lastYear)
+                ? countIndexed(firstRentalDay, lastRentalDay, firstRentalYear)
+                : countArithmetically(firstRentalDay, lastRentalDay, firstRentalYear, lastRentalYear);
+
+        return RentalDaysDto.builder()
+                .totalRentalDays(rentalDays)
+                .weekdayRentalDays(counts[0])
+                .weekendRentalDays(counts[1])
+                .holidaysRentalDays(counts[2])
+                .build();
+    }
+
+    /**
+     * Counts weekdays, weekend days and holidays in a range of epoch days using the year indexes.
+     * The range must be inside the indexed span.
+     *
+     * @param firstDay     The first epoch day of the range.
+     * @param lastDay      The last epoch day of the range.
+     * @param firstDayYear The year of the first day.
+     * @return The weekday, weekend and holiday counts.
+     */
+    private int[] countIndexed(long firstDay, long lastDay, int firstDayYear) {
+        int weekdays = 0;
+        int weekends = 0;
+        int holidays = 0;
+
+        long day = firstDay;
+        int year = firstDayYear;
+        while (day <= lastDay) {
+            YearIndex index = yearIndex(year++);
+            int from = (int) (day - index.firstEpochDay);
+            int to = (int) Math.min(lastDay - index.firstEpochDay, index.dayClasses.length - 1) + 1;
+            weekdays += index.weekdays[to] - index.weekdays[from];
+            weekends += index.weekends[to] - index.weekends[from];
+            holidays += index.holidays[to] - index.holidays[from];
+            day = index.firstEpochDay + to;
+        }
+
+        // Observed holidays whose actual day lies outside the rental period stay weekdays.
+        // They can only be found within the maximum observance shift of either end of the period.
+        long leadingEnd = Math.min(firstDay + MAX_OBSERVANCE_SHIFT - 1, lastDay);
+        long trailingStart = Math.max(lastDay - MAX_OBSERVANCE_SHIFT + 1, leadingEnd + 1);
+        int unobserved = countUnobserved(firstDay, leadingEnd, firstDay, lastDay)
+                + countUnobserved(trailingStart, lastDay, firstDay, lastDay);
+
+        return new int[]{weekdays + unobserved, weekends, holidays - unobserved};
+    }
+
+    /**
+     * Counts the observed holidays in a range of epoch days whose actual day is outside the rental period.
+     *
+     * @param from     The first epoch day to check.
+     * @param to       The last epoch day to check.
+     * @param firstDay The first epoch day of the rental period.
+     * @param lastDay  The last epoch day of the rental period.
+     * @return The number of observed holidays that do not count as holidays.
+     */
+    private int countUnobserved(long from, long to, long firstDay, long lastDay) {
+        int unobserved = 0;
+        for (long day = from; day <= to; day++) {
+            YearIndex index = yearIndex(yearOf(day));
+            int dayOfYear = (int) (day - index.firstEpochDay);
+            if (index.dayClasses[dayOfYear] == DayClass.OBSERVED_HOLIDAY.ordinal()) {
+                long actualDay = day + index.observanceShifts[dayOfYear];
+                if (actualDay < firstDay || actualDay > lastDay) {
+                    unobserved++;
+                }
+            }
+        }
+        return unobserved;
+    }
+
+    /**
+     * Counts weekdays, weekend days and holidays in a range of epoch days without using the year indexes.
+     * Weekdays are counted from epoch day arithmetic, then every observed holiday of the spanned years that
+     * falls on a weekday in range is moved to the holiday count.
+     *
+     * @param firstDay     The first epoch day of the range.
+     * @param lastDay      The last epoch day of the range.
+     * @param firstDayYear The year of the first day.
+     * @param lastDayYear  The year of the last day.
+     * @return The weekday, weekend and holiday counts.
+     */
+    private int[] countArithmetically(long firstDay, long lastDay, int firstDayYear, int lastDayYear) {
+        int weekdays = (int) (weekdaysBefore(lastDay + 1) - weekdaysBefore(firstDay));
+        int weekends = (int) (lastDay - firstDay + 1) - weekdays;
+
+        // Holidays of the neighbouring years may be observed inside the range
+        long[] holidayDays = new long[(lastDayYear - firstDayYear + 3) * rules.size()];
+        int holidays = 0;
+        for (int year = firstDayYear - 1; year <= lastDayYear + 1; year++) {
+            for (HolidayRule rule : rules) {
+                long actualDay = rule.dateIn(year).toEpochDay();
+                long observedDay = rule.observedDateIn(year).toEpochDay();
+                if (observedDay >= firstDay && observedDay <= lastDay
+                        && actualDay >= firstDay && actualDay <= lastDay
+                        && !isWeekend(observedDay)) {
+                    holidayDays[holidays++] = observedDay;
+                }
+            }
+        }
+        holidays = (int) Arrays.stream(holidayDays, 0, holidays).distinct().count();
+
+        return new int[]{weekdays - holidays, weekends, holidays};
+    }
+
+    /**
+     * Returns the class of the given epoch day.
+     *
+     * @param epochDay The epoch day to classify.
+     * @return The class of the day.
+     */
+    private DayClass dayClassOf(long epochDay) {
+        YearIndex index = yearIndex(yearOf(epochDay));
+        return DAY_CLASSES[index.dayClasses[(int) (epochDay - index.firstEpochDay)]];
+    }
+
+    /**
+     * Returns the index of the given year, building it on first use. Years outside the indexed span
+     * are built on every call and not retained.
+     *
+     * @param year The year.
+     * @return The index of the year.
+     */
+    private YearIndex yearIndex(int year) {
+        if (year < firstYear || year > lastYear) {
+            return buildYearIndex(year);
+        }
+
+        int slot = year - firstYear;
+        YearIndex index = yearIndexes.get(slot);
+        if (index == null) {
+            // Concurrent builders produce identical indexes, so the first one stored wins
+            yearIndexes.compareAndSet(slot, null, buildYearIndex(year));
+            index = yearIndexes.get(slot);
+        }
+        return index;
+    }
+
+    /**
+     * Builds the day classes and cumulative counts of a year.
+     *
+     * @param year The year.
+     * @return The index of the year.
+     */
+    private YearIndex buildYearIndex(int year) {
+        long firstEpochDay = LocalDate.of(year, 1, 1).toEpochDay();
+        int length = Year.of(year).length();
+        byte[] dayClasses = new byte[length];
+        byte[] observanceShifts = new byte[length];
+
+        for (int dayOfYear = 0; dayOfYear < length; dayOfYear++) {
+            dayClasses[dayOfYear] = (byte) (isWeekend(firstEpochDay + dayOfYear) ? DayClass.WEEKEND : DayClass.WEEKDAY).ordinal();
+        }
+
+        // Actual holidays take precedence over observed ones landing on the same day
+        for (int ruleYear = year - 1; ruleYear <= year + 1; ruleYear++) {
+            for (HolidayRule rule : rules) {
+                long actualDay = rule.dateIn(ruleYear).toEpochDay();
+                long observedDay = rule.observedDateIn(ruleYear).toEpochDay();
+                int dayOfYear = (int) (observedDay - firstEpochDay);
+                if (actualDay == observedDay && dayOfYear >= 0 && dayOfYear < length
+                        && dayClasses[dayOfYear] != DayClass.WEEKEND.ordinal()) {
+                    dayClasses[dayOfYear] = (byte) DayClass.HOLIDAY.ordinal();
+                }
+            }
+        }
+        for (int ruleYear = year - 1; ruleYear <= year + 1; ruleYear++) {
+            for (HolidayRule rule : rules) {
+                long actualDay = rule.dateIn(ruleYear).toEpochDay();
+                long observedDay = rule.observedDateIn(ruleYear).toEpochDay();
+                int dayOfYear = (int) (observedDay - firstEpochDay);
+                if (actualDay != observedDay && dayOfYear >= 0 && dayOfYear < length
+                        && dayClasses[dayOfYear] == DayClass.WEEKDAY.ordinal()) {
+                    if (Math.abs(actualDay - observedDay) > MAX_OBSERVANCE_SHIFT) {
+                        throw new IllegalStateException("Holiday observed more than " + MAX_OBSERVANCE_SHIFT + " days from its date");
+                    }
+                    dayClasses[dayOfYear] = (byte) DayClass.OBSERVED_HOLIDAY.ordinal();
+                    observanceShifts[dayOfYear] = (byte) (actualDay - observedDay);
+                }
+            }
+        }
+
+        int[] weekdays = new int[length + 1];
+        int[] weekends = new int[length + 1];
+        int[] holidays = new int[length + 1];
+        for (int dayOfYear = 0; dayOfYear < length; dayOfYear++) {
+            DayClass dayClass = DAY_CLASSES[dayClasses[dayOfYear]];
+            weekdays[dayOfYear + 1] = weekdays[dayOfYear] + (dayClass == DayClass.WEEKDAY ? 1 : 0);
+            weekends[dayOfYear + 1] = weekends[dayOfYear] + (dayClass == DayClass.WEEKEND ? 1 : 0);
+            holidays[dayOfYear + 1] = holidays[dayOfYear] + (dayClass == DayClass.HOLIDAY || dayClass == DayClass.OBSERVED_HOLIDAY ? 1 : 0);
+        }
+
+        return new YearIndex(firstEpochDay, dayClasses, observanceShifts, weekdays, weekends, holidays);
+    }
+
+    /**
+     * Returns the year of an epoch day.
+     *
+     * @param epochDay The epoch day.
+     * @return The year.
+     */
+    private static int yearOf(long epochDay) {
+        return LocalDate.ofEpochDay(epochDay).getYear();
+    }
+
+    /**
+     * Checks if an epoch day is a Saturday or Sunday.
+     *
+     * @param epochDay The epoch day.
+     * @return True if the day is a weekend day, false otherwise.
+     */
+    private static boolean isWeekend(long epochDay) {
+        return Math.floorMod(epochDay + EPOCH_DAY_OFFSET_FROM_MONDAY, DAYS_IN_WEEK) >= DayOfWeek.SATURDAY.ordinal();
+    }
+
+    /**
+     * Counts the weekdays (Monday to Friday) strictly before the given epoch day, relative to the
+     * Monday preceding the epoch (1969-12-29). Epoch day 0 is a Thursday, hence the offset of 3.
+     *
+     * @param epochDay The exclusive upper bound as an epoch day.
+     * @return The number of weekdays before the given day.
+     */
+    private static long weekdaysBefore(long epochDay) {
+        long daysSinceMonday = epochDay + EPOCH_DAY_OFFSET_FROM_MONDAY;
+        return Math.floorDiv(daysSinceMonday, DAYS_IN_WEEK) * WEEKDAYS_IN_WEEK
+                + Math.min(Math.floorMod(daysSinceMonday, DAYS_IN_WEEK), WEEKDAYS_IN_WEEK);
+    }
+
+    /**
+     * Day classes and cumulative day counts of a single year. Cumulative arrays hold the count of
+     * days before the given day of year, so they are one element longer than the year.
+     *
+     * @param firstEpochDay    The epoch day of January 1st.
+     * @param dayClasses       The class ordinal of each day of the year.
+     * @param observanceShifts For observed holidays, the offset in days to the actual holiday.
+     * @param weekdays         Cumulative weekday counts.
+     * @param weekends         Cumulative weekend day counts.
+     * @param holidays         Cumulative holiday counts, including observed holidays.
+     */
+    private record YearIndex(long firstEpochDay, byte[] dayClasses, byte[] observanceShifts,
+                             int[] weekdays, int[] weekends, int[] holidays) {
+    }
+}
@@ -0,0 +1,122 @@
+package com.primetoolrentals.tooltrek_api.services.calendar;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.Month;
+import java.time.MonthDay;
+import java.time.temporal.TemporalAdjusters;
+import java.util.function.UnaryOperator;
+
+/**
+ * A rule that determines when a holiday falls and when it is observed in a given year.
+ */
+@FunctionalInterface
+public interface HolidayRule {
+
+    /**
+     * Returns the actual date of the holiday in the given year.
+     *
+     * @param year The year.
+     * @return The date of the holiday.
+     */
+    LocalDate dateIn(int year);
+
+    /**
+     * Returns the date on which the holiday is observed in the given year.
+     * Defaults to the actual date of the holiday.
+     *
+     * @param year The year.
+     * @return The observed date of the holiday.
+     */
+    default LocalDate observedDateIn(int year) {
+        return dateIn(year);
+    }
+
+    /**
+     * Creates a rule for a holiday on a fixed day of a month, e.g. July 4th.
+     * February 29th falls on February 28th in non-leap years.
+     *
+     * @param month      The month of the holiday.
+     * @param dayOfMonth The day of the month.
+     * @return The holiday rule.
+     */
+    static HolidayRule fixedDate(Month month, int dayOfMonth) {
+        MonthDay monthDay = MonthDay.of(month, dayOfMonth);
+        return monthDay::atYear;
+    }
+
+    /**
+     * Creates a rule for a holiday on the nth occurrence of a weekday in a month,
+     * e.g. the first Monday in September.
+     *
+     * @param ordinal   The occurrence of the weekday within the month, from 1 to 4.
+     * @param dayOfWeek The day of the week.
+     * @param month     The month of the holiday.
+     * @return The holiday rule.
+     */
+    static HolidayRule nthWeekdayOfMonth(int ordinal, DayOfWeek dayOfWeek, Month month) {
+        return year -> LocalDate.of(year, month, 1).with(TemporalAdjusters.dayOfWeekInMonth(ordinal, dayOfWeek));
+    }
+
+    /**
+     * Creates a rule for a holiday on the last occurrence of a weekday in a month,
+     * e.g. the last Monday in May.
+     *
+     * @param dayOfWeek The day of the week.
+     * @param month     The month of the holiday.
+     * @return The holiday rule.
+     */
+    static HolidayRule lastWeekdayOfMonth(DayOfWeek dayOfWeek, Month month) {
+        return year -> LocalDate.of(year, month, 1).with(TemporalAdjusters.lastInMonth(dayOfWeek));
+    }
+
+    /**
+     * Creates a rule that observes a holiday falling on a Saturday on the Friday before,
+     * and a holiday falling on a Sunday on the Monday after.
+     *
+     * @param rule The rule determining the actual date of the holiday.
+     * @return The rule with nearest weekday observance.
+     */
+    static HolidayRule observedOnNearestWeekday(HolidayRule rule) {
+        return observedOn(rule, date -> switch (date.getDayOfWeek()) {
+            case SATURDAY -> date.minusDays(1);
+            case SUNDAY -> date.plusDays(1);
+            default -> date;
+        });
+    }
+
+    /**
+     * Creates a rule that observes a holiday falling on a weekend on the following Monday.
+     *
+     * @param rule The rule determining the actual date of the holiday.
+     * @return The rule with next weekday observance.
+     */
+    static HolidayRule observedOnNextWeekday(HolidayRule rule) {
+        return observedOn(rule, date -> switch (date.getDayOfWeek()) {
+            case SATURDAY -> date.plusDays(2);
+            case SUNDAY -> date.plusDays(1);
+            default -> date;
+        });
+    }
+
+    /**
+     * Creates a rule whose observed date is derived from the actual date of another rule.
+     *
+     * @param rule        The rule determining the actual date of the holiday.
+     * @param observation The function moving the actual date to the observed date.
+     * @return The rule with the given observance.
+     */
+    private static HolidayRule observedOn(HolidayRule rule, UnaryOperator<LocalDate> observation) {
+        return new HolidayRule() {
+            @Override
+            public LocalDate dateIn(int year) {
+                return rule.dateIn(year);
+            }
+
+            @Override
+            public LocalDate observedDateIn(int year) {
+                return observation.apply(rule.dateIn(year));
+            }
+        };
+    }
+}
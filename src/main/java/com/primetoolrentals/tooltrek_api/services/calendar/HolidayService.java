@@ -0,0 +1,41 @@
+package com.primetoolrentals.tooltrek_api.services.calendar;
+
+import com.primetoolrentals.tooltrek_api.dto.HolidayDto;
+
+import java.util.List;
+
+/**
+ * Service interface for managing holiday rules and the holiday calendar compiled from them.
+ */
+public interface HolidayService {
+
+    /**
+     * Adds a new holiday rule and recompiles the holiday calendar.
+     *
+     * @param holidayDto The HolidayDto object containing details of the holiday to create.
+     * @return The created HolidayDto object.
+     */
+    HolidayDto addHoliday(HolidayDto holidayDto);
+
+    /**
+     * Deletes a holiday rule and recompiles the holiday calendar.
+     *
+     * @param id The ID of the holiday to delete.
+     */
+    void deleteHoliday(Long id);
+
+    /**
+     * Retrieves all holiday rules.
+     *
+     * @return List of HolidayDto objects representing all holiday rules.
+     */
+    List<HolidayDto> findAllHolidays();
+
+    /**
+     * Returns the holiday calendar compiled from the current holiday rules.
+     * Does not access the database.
+     *
+     * @return The current holiday calendar.
+     */
+    HolidayCalendar currentCalendar();
+}
@@ -0,0 +1,195 @@
+package com.primetoolrentals.tooltrek_api.services.calendar;
+
+import com.primetoolrentals.tooltrek_api.dto.DataVersionDto;
+import com.primetoolrentals.tooltrek_api.dto.HolidayDto;
+import com.primetoolrentals.tooltrek_api.entity.DataVersion;
+import com.primetoolrentals.tooltrek_api.entity.Holiday;
+import com.primetoolrentals.tooltrek_api.entity.HolidayObservance;
+import com.primetoolrentals.tooltrek_api.exception.HolidayNotFoundException;
+import com.primetoolrentals.tooltrek_api.repository.HolidayRepository;
+import com.primetoolrentals.tooltrek_api.services.retry.RetryOnConflict;
+import com.primetoolrentals.tooltrek_api.services.version.DataVersions;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.DayOfWeek;
+import java.time.Month;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Implementation of HolidayService that keeps the holiday rules in the database and
+ * the compiled holiday calendar in memory.
+ * <p>
+ * Each instance of the application compiles its own calendar, and checkout only reads it from memory. Adding or
+ * deleting a holiday increments the version of the holiday rules in the database, and the instance recompiles its
+ * calendar at once. The other instances poll the version in the background and recompile their calendars only when
+ * it has changed, so they apply the change within the poll interval.
+ */
+@Service
+@RequiredArgsConstructor
+public class HolidayServiceImpl implements HolidayService {
+
+    private final HolidayRepository holidayRepository;
+    private final DataVersions dataVersions;
+    private final TransactionTemplate transactionTemplate;
+    private final AtomicReference<HolidayCalendar> calendar = new AtomicReference<>();
+
+    @Value("${tooltrek.holiday-calendar.first-year:2000}")
+    private int firstYear;
+
+    @Value("${tooltrek.holiday-calendar.last-year:2099}")
+    private int lastYear;
+
+    @Value("${tooltrek.holiday-calendar.region:}")
+    private String region;
+
+    /**
+     * The version of the holiday rules the calendar was compiled from, guarded by this service.
+     */
+    private long compiledVersion;
+
+    /**
+     * Compiles the holiday calendar from the holiday rules stored in the primary database, which has the rules
+     * just added or deleted, together with their version in the same transaction.
+     * Rules without a region and rules of the configured region are included.
+     */
+    @PostConstruct
+    public synchronized void compileCalendar() {
+        transactionTemplate.executeWithoutResult(status -> {
+            final DataVersionDto version = dataVersions.find(DataVersion.HOLIDAY_RULES);
+            final List<HolidayRule> rules = holidayRepository.findAll().stream()
+                    .filter(holiday -> holiday.getRegion() == null || Objects.equals(holiday.getRegion(), region))
+                    .map(HolidayServiceImpl::holidayToHolidayRule)
+                    .toList();
+            calendar.set(new HolidayCalendar(rules, firstYear, lastYear));
+            compiledVersion = version.getVersion();
+        });
+    }
+
+    /**
+     * Polls the version of the holiday rules in the database, and recompiles the calendar if it differs from
+     * the version the calendar was compiled from, to pick up holidays changed through other instances.
+     */
+    @Scheduled(fixedDelayString = "${tooltrek.holiday-calendar.poll-interval:PT1S}")
+    public void refreshCalendar() {
+        final long version = dataVersions.read(DataVersion.HOLIDAY_RULES).getVersion();
+        synchronized (this) {
+            if (version != compiledVersion) {
+                compileCalendar();
+            }
+        }
+    }
+
+    /**
+     * Adds a new holiday rule, incrementing the version of the holiday rules in the same transaction,
+     * and recompiles the holiday calendar.
+     *
+     * @param holidayDto The HolidayDto object containing details of the holiday to create.
+     * @return The created HolidayDto object.
+     */
+    @Override
+    @RetryOnConflict
+    public HolidayDto addHoliday(HolidayDto holidayDto) {
+        final Holiday newHoliday = Holiday.builder()
+                .name(holidayDto.getName())
+                .ruleType(holidayDto.getRuleType())
+                .month(holidayDto.getMonth())
+                .dayOfMonth(holidayDto.getDayOfMonth())
+                .dayOfWeek(holidayDto.getDayOfWeek())
+                .weekOfMonth(holidayDto.getWeekOfMonth())
+                .observance(Objects.requireNonNullElse(holidayDto.getObservance(), HolidayObservance.NONE))
+                .region(holidayDto.getRegion())
+                .build();
+        final Holiday savedHoliday = transactionTemplate.execute(status -> {
+            final Holiday holiday = holidayRepository.save(newHoliday);
+            dataVersions.increment(DataVersion.HOLIDAY_RULES);
+            return holiday;
+        });
+        compileCalendar();
+        return holidayToHolidayDto(savedHoliday);
+    }
+
+    /**
+     * Deletes a holiday rule and recompiles the holiday calendar. The rule is read and deleted in one transaction
+     * on the primary database, so a rule just added is found, and the version of the holiday rules is incremented in it.
+     *
+     * @param id The ID of the holiday to delete.
+     * @throws HolidayNotFoundException If the holiday with the specified ID is not found.
+     */
+    @Override
+    @RetryOnConflict
+    public void deleteHoliday(Long id) {
+        transactionTemplate.executeWithoutResult(status -> {
+            final Holiday holiday = holidayRepository.findById(id).orElseThrow(HolidayNotFoundException::new);
+            holidayRepository.delete(holiday);
+            dataVersions.increment(DataVersion.HOLIDAY_RULES);
+        });
+        compileCalendar();
+    }
+
+    /**
+     * Retrieves all holiday rules.
+     *
+     * @return List of HolidayDto objects representing all holiday rules.
+     */
+    @Override
+    public List<HolidayDto> findAllHolidays() {
+        return holidayRepository.findAll().stream().map(this::holidayToHolidayDto).toList();
+    }
+
+    /**
+     * Returns the holiday calendar compiled from the current holiday rules, without reading the database.
+     *
+     * @return The current holiday calendar.
+     */
+    @Override
+    public HolidayCalendar currentCalendar() {
+        return calendar.get();
+    }
+
+    /**
+     * Converts a Holiday entity to the HolidayRule evaluated by the calendar.
+     *
+     * @param holiday The Holiday entity to convert.
+     * @return The corresponding HolidayRule.
+     */
+    private static HolidayRule holidayToHolidayRule(Holiday holiday) {
+        final Month month = Month.of(holiday.getMonth());
+        final HolidayRule rule = switch (holiday.getRuleType()) {
+            case FIXED_DATE -> HolidayRule.fixedDate(month, holiday.getDayOfMonth());
+            case NTH_WEEKDAY -> HolidayRule.nthWeekdayOfMonth(holiday.getWeekOfMonth(), DayOfWeek.of(holiday.getDayOfWeek()), month);
+            case LAST_WEEKDAY -> HolidayRule.lastWeekdayOfMonth(DayOfWeek.of(holiday.getDayOfWeek()), month);
+        };
+        return switch (holiday.getObservance()) {
+            case NONE -> rule;
+            case NEAREST_WEEKDAY -> HolidayRule.observedOnNearestWeekday(rule);
+            case NEXT_WEEKDAY -> HolidayRule.observedOnNextWeekday(rule);
+        };
+    }
+
+    /**
+     * Converts a Holiday entity to HolidayDto.
+     *
+     * @param holiday The Holiday entity to convert.
+     * @return The corresponding HolidayDto object.
+     */
+    private HolidayDto holidayToHolidayDto(Holiday holiday) {
+        return HolidayDto.builder()
+                .id(holiday.getId())
+                .name(holiday.getName())
+                .ruleType(holiday.getRuleType())
+                .month(holiday.getMonth())
+                .dayOfMonth(holiday.getDayOfMonth())
+                .dayOfWeek(holiday.getDayOfWeek())
+                .weekOfMonth(holiday.getWeekOfMonth())
+                .observance(holiday.getObservance())
+                .region(holiday.getRegion())
+                .build();
+    }
+}
@@ -0,0 +1,101 @@
+package com.primetoolrentals.tooltrek_api.services.catalog;
+
+import com.primetoolrentals.tooltrek_api.dto.DataVersionDto;
+import com.primetoolrentals.tooltrek_api.entity.DataVersion;
+import com.primetoolrentals.tooltrek_api.services.version.DataVersions;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * The version of the tool catalog, i.e. of the tools, tool brands and tool types, used as the validator
+ * of the catalog listings. The version is a counter in the database: every write of the catalog increments it
+ * in its transaction, and every instance of the application polls it in the background, so a conditional request
+ * is answered from memory without reading the database.
+ * <p>
+ * An instance serves the version of its own writes as soon as they commit, and the version of the writes through
+ * other instances once it has polled it: a listing may be answered as unchanged for up to the poll interval after
+ * such a write. The ETag is the counter itself, so all instances give the same ETag for the same version.
+ * <p>
+ * The version also keys the tool catalog cache. The catalog services invalidate the tools they write, but the tools
+ * written through other instances are not known, so the whole cache is invalidated when the version advances past
+ * a version this instance did not write: a cached tool is at most a poll interval older than its last write.
+ */
+@Service
+@RequiredArgsConstructor
+public class CatalogVersion {
+
+    private final DataVersions dataVersions;
+    private final ToolCatalogCache toolCatalogCache;
+
+    private volatile DataVersionDto version;
+
+    /**
+     * Reads the current version from the database.
+     */
+    @PostConstruct
+    public synchronized void readVersion() {
+        version = dataVersions.read(DataVersion.CATALOG);
+    }
+
+    /**
+     * Increments the version in the current write transaction of the catalog. This instance serves the incremented
+     * version once the transaction has committed.
+     */
+    public void increment() {
+        final DataVersionDto incremented = dataVersions.increment(DataVersion.CATALOG);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                advance(incremented, true);
+            }
+        });
+    }
+
+    /**
+     * Polls the version in the database, to pick up the writes through other instances of the application.
+     */
+    @Scheduled(fixedDelayString = "${tooltrek.catalog-version.poll-interval:PT1S}")
+    public void poll() {
+        advance(dataVersions.read(DataVersion.CATALOG), false);
+    }
+
+    /**
+     * Returns the strong ETag of the current version.
+     *
+     * @return The quoted ETag.
+     */
+    public String etag() {
+        return "\"catalog-" + version.getVersion() + "\"";
+    }
+
+    /**
+     * Returns the last modification time of the current version.
+     *
+     * @return The last modification time, in milliseconds since the epoch.
+     */
+    public long lastModified() {
+        return version.getUpdatedOn().toEpochMilli();
+    }
+
+    /**
+     * Advances the version to a later version committed in the database, keeping the current version otherwise.
+     * The tool catalog cache is invalidated unless the later version is the next one and was written by this instance.
+     *
+     * @param committed The version committed in the database.
+     * @param written   true if the version was incremented by a write through this instance, false if it was polled.
+     */
+    private synchronized void advance(DataVersionDto committed, boolean written) {
+        final long current = version.getVersion();
+        if (committed.getVersion() <= current) {
+            return;
+        }
+        if (!written || committed.getVersion() > current + 1) {
+            toolCatalogCache.evictAll();
+        }
+        version = committed;
+    }
+}
@@ -0,0 +1,224 @@
+package com.primetoolrentals.tooltrek_api.services.catalog;
+
+import com.primetoolrentals.tooltrek_api.dto.ToolCatalogCacheStatsDto;
+import com.primetoolrentals.tooltrek_api.repository.ToolRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+/**
+ * Read-through cache of tool snapshots, keyed by tool ID and tool code. The least recently used tools are
+ * evicted once the maximum size is reached. The catalog services invalidate the cached tools they write,
+ * so a snapshot is never older than the last write of its tool, brand or type through this instance. The writes
+ * through other instances are picked up by the {@link CatalogVersion}, which invalidates all tools once it polls
+ * a version written elsewhere.
+ * <p>
+ * Unknown tools are not cached. The database is read outside the lock; a snapshot read while
+ * a write was invalidated is not cached, since it may predate the write.
+ */
+@Service
+@RequiredArgsConstructor
+public class ToolCatalogCache {
+
+    private final ToolRepository toolRepository;
+
+    /**
+     * The maximum number of tools cached.
+     */
+    @Value("${tooltrek.catalog-cache.max-size:10000}")
+    private int maxSize = 10000;
+
+    private final Map<String, Long> idsByCode = new HashMap<>();
+    private final LinkedHashMap<Long, ToolSnapshot> snapshotsById = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, ToolSnapshot> eldest) {
+            if (size() <= maxSize) {
+                return false;
+            }
+            idsByCode.remove(eldest.getValue().code());
+            evictions.increment();
+            return true;
+        }
+    };
+
+    /**
+     * Incremented by every invalidation, guarded by this cache.
+     */
+    private long generation;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    /**
+     * Finds a tool by its ID, reading it from the database if it is not cached.
+     *
+     * @param id The ID of the tool.
+     * @return The snapshot of the tool, or empty if the tool does not exist.
+     */
+    public Optional<ToolSnapshot> findById(Long id) {
+        return Optional.ofNullable(findAllById(List.of(id)).get(id));
+    }
+
+    /**
+     * Finds a tool by its code, reading it from the database if it is not cached.
+     *
+     * @param code The code of the tool.
+     * @return The snapshot of the tool, or empty if the tool does not exist.
+     */
+    public Optional<ToolSnapshot> findByCode(String code) {
+        long loadGeneration;
+        synchronized (this) {
+            Long id = idsByCode.get(code);
+            if (id != null) {
+                hits.increment();
+                return Optional.of(snapshotsById.get(id));
+            }
+            loadGeneration = generation;
+        }
+        misses.increment();
+        Optional<ToolSnapshot> snapshot = toolRepository.findWithBrandAndTypeByCode(code).map(ToolSnapshot::of);
+        snapshot.ifPresent(loaded -> put(List.of(loaded), loadGeneration));
+        return snapshot;
+    }
+
+    /**
+     * Finds tools by their IDs. The tools that are not cached are read from the database in a single query.
+     *
+     * @param ids The IDs of the tools.
+     * @return Map of the snapshots of the tools found by their IDs.
+     */
+    public Map<Long, ToolSnapshot> findAllById(Collection<Long> ids) {
+        Map<Long, ToolSnapshot> found = new HashMap<>();
+        Set<Long> missing = new LinkedHashSet<>();
+        long loadGeneration;
+        synchronized (this) {
+            for (Long id : ids) {
+                ToolSnapshot snapshot = snapshotsById.get(id);
+                if (snapshot != null) {
+                    found.put(id, snapshot);
+                } else {
+                    missing.add(id);
+                }
+            }
+            loadGeneration = generation;
+        }
+        hits.add(found.size());
+        if (missing.isEmpty()) {
+            return found;
+        }
+        misses.add(missing.size());
+        List<ToolSnapshot> loaded = toolRepository.findAllWithBrandAndTypeByIdIn(missing).stream()
+                .map(ToolSnapshot::of)
+                .toList();
+        loaded.forEach(snapshot -> found.put(snapshot.id(), snapshot));
+        put(loaded, loadGeneration);
+        return found;
+    }
+
+    /**
+     * Removes a tool from the cache after it was written.
+     *
+     * @param id   The ID of the tool.
+     * @param code The code of the tool.
+     */
+    public synchronized void evictTool(Long id, String code) {
+        generation++;
+        Long cachedId = idsByCode.get(code);
+        if (cachedId != null) {
+            remove(cachedId);
+        }
+        remove(id);
+    }
+
+    /**
+     * Removes the tools of a tool brand from the cache after the brand was written.
+     *
+     * @param toolBrandId The ID of the tool brand.
+     */
+    public synchronized void evictToolBrand(Long toolBrandId) {
+        evictMatching(snapshot -> Objects.equals(snapshot.toolBrandId(), toolBrandId));
+    }
+
+    /**
+     * Removes the tools of a tool type from the cache after the type was written.
+     *
+     * @param toolTypeId The ID of the tool type.
+     */
+    public synchronized void evictToolType(Long toolTypeId) {
+        evictMatching(snapshot -> Objects.equals(snapshot.toolTypeId(), toolTypeId));
+    }
+
+    /**
+     * Removes all tools from the cache, for writes made through other instances of the application
+     * or to the database outside the catalog services.
+     */
+    public synchronized void evictAll() {
+        generation++;
+        invalidations.add(snapshotsById.size());
+        snapshotsById.clear();
+        idsByCode.clear();
+    }
+
+    /**
+     * Returns the counters of the cache.
+     *
+     * @return ToolCatalogCacheStatsDto with the size and the counters of the cache.
+     */
+    public ToolCatalogCacheStatsDto stats() {
+        int size;
+        synchronized (this) {
+            size = snapshotsById.size();
+        }
+        return ToolCatalogCacheStatsDto.builder()
+                .size(size)
+                .maxSize(maxSize)
+                .hits(hits.sum())
+                .misses(misses.sum())
+                .evictions(evictions.sum())
+                .invalidations(invalidations.sum())
+                .build();
+    }
+
+    /**
+     * Caches snapshots read from the database, unless an invalidation happened since the read started.
+     *
+     * @param snapshots      The snapshots read.
+     * @param loadGeneration The generation when the read started.
+     */
+    private synchronized void put(List<ToolSnapshot> snapshots, long loadGeneration) {
+        if (generation != loadGeneration) {
+            return;
+        }
+        for (ToolSnapshot snapshot : snapshots) {
+            snapshotsById.put(snapshot.id(), snapshot);
+            idsByCode.put(snapshot.code(), snapshot.id());
+        }
+    }
+
+    private void evictMatching(Predicate<ToolSnapshot> predicate) {
+        generation++;
+        Iterator<ToolSnapshot> iterator = snapshotsById.values().iterator();
+        while (iterator.hasNext()) {
+            ToolSnapshot snapshot = iterator.next();
+            if (predicate.test(snapshot)) {
+                idsByCode.remove(snapshot.code());
+                iterator.remove();
+                invalidations.increment();
+            }
+        }
+    }
+
+    private void remove(Long id) {
+        ToolSnapshot snapshot = snapshotsById.remove(id);
+        if (snapshot != null) {
+            idsByCode.remove(snapshot.code());
+            invalidations.increment();
+        }
+    }
+}
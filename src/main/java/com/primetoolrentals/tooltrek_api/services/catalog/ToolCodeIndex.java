@@ -0,0 +1,170 @@
+package com.primetoolrentals.tooltrek_api.services.catalog;
+
+import com.primetoolrentals.tooltrek_api.dto.ToolDto;
+import com.primetoolrentals.tooltrek_api.repository.ToolRepository;
+import com.primetoolrentals.tooltrek_api.services.version.RecentUpdates;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * In-memory index of the tool codes for autocompletion, with the brand and type names attached.
+ * The codes are kept in a sorted concurrent map, so the codes starting with a prefix are a contiguous
+ * range found in logarithmic time, and searches run without locking while tools are added.
+ * <p>
+ * The index is loaded from the database at startup and kept in sync by the catalog services
+ * as tools are added. The tools added through the other instances of the application are polled
+ * by their update time.
+ */
+@Service
+@RequiredArgsConstructor
+public class ToolCodeIndex {
+
+    private static final int LOAD_PAGE_SIZE = 10_000;
+
+    private final ToolRepository toolRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final RecentUpdates recentUpdates;
+
+    /**
+     * The number of results returned when a search does not specify a limit.
+     */
+    @Value("${tooltrek.tool-search.default-limit:10}")
+    private int defaultLimit = 10;
+
+    /**
+     * The largest number of results returned; larger limits are reduced to it.
+     */
+    @Value("${tooltrek.tool-search.max-limit:50}")
+    private int maxLimit = 50;
+
+    /**
+     * How long before the latest update time of the previous load the tools are read again, so that a tool committed
+     * some time after its update time, or by an instance whose clock is slightly behind, is not missed.
+     */
+    @Value("${tooltrek.tool-index.poll-overlap:PT10S}")
+    private Duration pollOverlap = Duration.ofSeconds(10);
+
+    private volatile ConcurrentSkipListMap<String, IndexedTool> toolsByCode = new ConcurrentSkipListMap<>();
+
+    /**
+     * The latest update time of the tools when they were last loaded, or null if no tool had one; guarded by this index.
+     */
+    private LocalDateTime loadedUntil;
+
+    /**
+     * Loads all tools from the database into a new index, reading them in keyset pages, and replaces the current index.
+     * The pages are read in one read-write transaction, so that they are served by the primary database and have
+     * the tools just committed.
+     */
+    @PostConstruct
+    public synchronized void rebuild() {
+        LocalDateTime latest = recentUpdates.findLatestToolUpdate();
+        ConcurrentSkipListMap<String, IndexedTool> index = new ConcurrentSkipListMap<>();
+        transactionTemplate.executeWithoutResult(status -> {
+            long afterId = 0;
+            List<ToolDto> page;
+            do {
+                page = toolRepository.findToolDtoPage(afterId, null, null, null, Limit.of(LOAD_PAGE_SIZE));
+                for (ToolDto tool : page) {
+                    index.put(tool.getCode(), IndexedTool.of(tool));
+                    afterId = tool.getId();
+                }
+            } while (page.size() == LOAD_PAGE_SIZE);
+        });
+        toolsByCode = index;
+        loadedUntil = latest;
+    }
+
+    /**
+     * Adds the tools updated since the previous load, including the tools added through the other instances
+     * of the application. The tools updated within the poll overlap before the previous load are read again;
+     * adding a tool again only replaces it.
+     */
+    @Scheduled(fixedDelayString = "${tooltrek.tool-index.poll-interval:PT1S}")
+    public synchronized void refresh() {
+        LocalDateTime latest = recentUpdates.findLatestToolUpdate();
+        LocalDateTime since = loadedUntil != null ? loadedUntil.minus(pollOverlap) : null;
+        long afterId = 0;
+        List<ToolDto> page;
+        do {
+            page = recentUpdates.findToolsUpdatedSince(since, afterId, LOAD_PAGE_SIZE);
+            for (ToolDto tool : page) {
+                add(tool);
+                afterId = tool.getId();
+            }
+        } while (page.size() == LOAD_PAGE_SIZE);
+        loadedUntil = latest;
+    }
+
+    /**
+     * Adds a tool to the index, or replaces the tool with the same code.
+     *
+     * @param tool The tool, with its brand and type.
+     */
+    public void add(ToolDto tool) {
+        toolsByCode.put(tool.getCode(), IndexedTool.of(tool));
+    }
+
+    /**
+     * Finds the tools whose codes start with a prefix, in code order.
+     *
+     * @param prefix The prefix of the codes, in upper case.
+     * @param limit  The maximum number of tools to return, or null for the default; at most the configured maximum.
+     * @return List of the ToolDto objects of the matching tools.
+     */
+    public List<ToolDto> search(String prefix, Integer limit) {
+        int size = Math.min(limit != null ? limit : defaultLimit, maxLimit);
+        List<ToolDto> tools = new ArrayList<>(Math.min(size, 16));
+        for (Map.Entry<String, IndexedTool> entry : toolsByCode.tailMap(prefix, true).entrySet()) {
+            if (tools.size() == size || !entry.getKey().startsWith(prefix)) {
+                break;
+            }
+            tools.add(entry.getValue().toToolDto());
+        }
+        return tools;
+    }
+
+    /**
+     * Returns the number of tools in the index.
+     *
+     * @return The number of indexed tools.
+     */
+    public int size() {
+        return toolsByCode.size();
+    }
+
+    /**
+     * An immutable entry of the index.
+     *
+     * @param id            The ID of the tool.
+     * @param code          The code of the tool.
+     * @param toolBrandId   The ID of the tool brand.
+     * @param toolBrandName The name of the tool brand.
+     * @param toolTypeId    The ID of the tool type.
+     * @param toolTypeName  The name of the tool type.
+     */
+    private record IndexedTool(Long id, String code, Long toolBrandId, String toolBrandName,
+                               Long toolTypeId, String toolTypeName) {
+
+        static IndexedTool of(ToolDto tool) {
+            return new IndexedTool(tool.getId(), tool.getCode(), tool.getToolBrandId(), tool.getToolBrandName(),
+                    tool.getToolTypeId(), tool.getToolTypeName());
+        }
+
+        ToolDto toToolDto() {
+            return new ToolDto(id, code, toolBrandId, toolBrandName, toolTypeId, toolTypeName);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.primetoolrentals.tooltrek_api.services.catalog;
+
+import com.primetoolrentals.tooltrek_api.entity.Tool;
+import com.primetoolrentals.tooltrek_api.entity.ToolBrand;
+import com.primetoolrentals.tooltrek_api.entity.ToolType;
+
+import java.math.BigDecimal;
+
+/**
+ * An immutable copy of a tool with the brand and type values needed to price a rental,
+ * safe to share between threads and to keep beyond the persistence context it was read in.
+ *
+ * @param id             The ID of the tool.
+ * @param code           The code of the tool.
+ * @param toolBrandId    The ID of the tool brand.
+ * @param toolBrandName  The name of the tool brand.
+ * @param toolTypeId     The ID of the tool type.
+ * @param toolTypeName   The name of the tool type.
+ * @param dailyCharge    The daily charge of the tool type.
+ * @param weekdayCharge  Whether weekdays are charged.
+ * @param weekendCharge  Whether weekend days are charged.
+ * @param holidayCharge  Whether holidays are charged.
+ */
+public record ToolSnapshot(Long id, String code, Long toolBrandId, String toolBrandName,
+                           Long toolTypeId, String toolTypeName, BigDecimal dailyCharge,
+                           boolean weekdayCharge, boolean weekendCharge, boolean holidayCharge) {
+
+    /**
+     * Copies a tool with its brand and type.
+     *
+     * @param tool The tool entity, with its brand and type loaded.
+     * @return The snapshot of the tool.
+     */
+    public static ToolSnapshot of(Tool tool) {
+        ToolBrand brand = tool.getToolBrand();
+        ToolType type = tool.getToolType();
+        return new ToolSnapshot(tool.getId(), tool.getCode(), brand.getId(), brand.getName(),
+                type.getId(), type.getName(), type.getDailyCharge(),
+                Boolean.TRUE.equals(type.getIsWeekdayCharge()),
+                Boolean.TRUE.equals(type.getIsWeekendCharge()),
+                Boolean.TRUE.equals(type.getIsHolidayCharge()));
+    }
+}
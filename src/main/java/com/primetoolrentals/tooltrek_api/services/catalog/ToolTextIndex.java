@@ -0,0 +1,363 @@
+package com.primetoolrentals.tooltrek_api.services.catalog;
+
+import com.primetoolrentals.tooltrek_api.dto.ToolDto;
+import com.primetoolrentals.tooltrek_api.repository.ToolRepository;
+import com.primetoolrentals.tooltrek_api.services.version.RecentUpdates;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * In-memory inverted index of the tools for full-text search over the tool codes and the brand and type names,
+ * e.g. "dewalt jackhammer" or "jak rid".
+ * <p>
+ * Each tool gets a dense ordinal and is indexed under its lower-cased code and the words of its brand and type names.
+ * The postings of a token are the ordinals of its tools in an append-only int array, and the tokens are kept in sorted
+ * concurrent maps, so the tokens starting with a search term are a contiguous range. A tool matches when every term
+ * of the query is a token of the tool or a prefix of one: the postings of each term are collected into a bit set
+ * of ordinals and the bit sets of the terms are intersected, so the tools are only read for the matches.
+ * The matching tools are scored by the best match of each term:
+ * <ul>
+ *     <li>a term equal to the code scores 8, a prefix of the code 4;</li>
+ *     <li>a term equal to a word of the brand or type name scores 2, a prefix of a word 1.</li>
+ * </ul>
+ * The tools are returned by descending score, then in code order.
+ * <p>
+ * The index is loaded from the database at startup and kept in sync by the catalog services as tools are added.
+ * The tools added through the other instances of the application are polled by their update time.
+ * Searches run without locking while tools are added.
+ */
+@Service
+@RequiredArgsConstructor
+public class ToolTextIndex {
+
+    private static final int LOAD_PAGE_SIZE = 10_000;
+
+    private static final Comparator<ScoredTool> RANKING = Comparator.comparingInt(ScoredTool::score).reversed()
+            .thenComparing(scored -> scored.tool().code());
+
+    private final ToolRepository toolRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final RecentUpdates recentUpdates;
+
+    /**
+     * The number of results returned when a search does not specify a limit.
+     */
+    @Value("${tooltrek.tool-search.default-limit:10}")
+    private int defaultLimit = 10;
+
+    /**
+     * The largest number of results returned; larger limits are reduced to it.
+     */
+    @Value("${tooltrek.tool-search.max-limit:50}")
+    private int maxLimit = 50;
+
+    /**
+     * How long before the latest update time of the previous load the tools are read again, so that a tool committed
+     * some time after its update time, or by an instance whose clock is slightly behind, is not missed.
+     */
+    @Value("${tooltrek.tool-index.poll-overlap:PT10S}")
+    private Duration pollOverlap = Duration.ofSeconds(10);
+
+    private volatile Index index = new Index();
+
+    /**
+     * The latest update time of the tools when they were last loaded, or null if no tool had one; guarded by this index.
+     */
+    private LocalDateTime loadedUntil;
+
+    /**
+     * Loads all tools from the database into a new index, reading them in keyset pages, and replaces the current index.
+     * The pages are read in one read-write transaction, so that they are served by the primary database and have
+     * the tools just committed.
+     */
+    @PostConstruct
+    public synchronized void rebuild() {
+        LocalDateTime latest = recentUpdates.findLatestToolUpdate();
+        Index newIndex = new Index();
+        transactionTemplate.executeWithoutResult(status -> {
+            long afterId = 0;
+            List<ToolDto> page;
+            do {
+                page = toolRepository.findToolDtoPage(afterId, null, null, null, Limit.of(LOAD_PAGE_SIZE));
+                for (ToolDto tool : page) {
+                    newIndex.add(IndexedTool.of(tool));
+                    afterId = tool.getId();
+                }
+            } while (page.size() == LOAD_PAGE_SIZE);
+        });
+        index = newIndex;
+        loadedUntil = latest;
+    }
+
+    /**
+     * Adds the tools updated since the previous load, including the tools added through the other instances
+     * of the application. The tools updated within the poll overlap before the previous load are read again;
+     * a tool already in the index is skipped.
+     */
+    @Scheduled(fixedDelayString = "${tooltrek.tool-index.poll-interval:PT1S}")
+    public synchronized void refresh() {
+        LocalDateTime latest = recentUpdates.findLatestToolUpdate();
+        LocalDateTime since = loadedUntil != null ? loadedUntil.minus(pollOverlap) : null;
+        long afterId = 0;
+        List<ToolDto> page;
+        do {
+            page = recentUpdates.findToolsUpdatedSince(since, afterId, LOAD_PAGE_SIZE);
+            for (ToolDto tool : page) {
+                add(tool);
+                afterId = tool.getId();
+            }
+        } while (page.size() == LOAD_PAGE_SIZE);
+        loadedUntil = latest;
+    }
+
+    /**
+     * Adds a tool to the index, unless a tool with its ID is already indexed.
+     *
+     * @param tool The tool, with its brand and type.
+     */
+    public void add(ToolDto tool) {
+        index.add(IndexedTool.of(tool));
+    }
+
+    /**
+     * Finds the tools matching every term of a query, ranked by score.
+     *
+     * @param query The words of the query, in any case, separated by spaces or punctuation.
+     * @param limit The maximum number of tools to return, or null for the default; at most the configured maximum.
+     * @return List of the ToolDto objects of the matching tools, best first.
+     */
+    public List<ToolDto> search(String query, Integer limit) {
+        int size = Math.min(limit != null ? limit : defaultLimit, maxLimit);
+        Set<String> terms = tokenize(query);
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+        Index current = index;
+        int toolCount = current.toolCount;
+        IndexedTool[] tools = current.tools;
+
+        // Intersect the tools matching each term
+        List<TermMatch> termMatches = new ArrayList<>(terms.size());
+        BitSet matches = null;
+        for (String term : terms) {
+            TermMatch termMatch = current.match(term, toolCount);
+            if (matches == null) {
+                matches = (BitSet) termMatch.tools().clone();
+            } else {
+                matches.and(termMatch.tools());
+            }
+            if (matches.isEmpty()) {
+                return List.of();
+            }
+            termMatches.add(termMatch);
+        }
+
+        // Score the matches, keeping the best ones in a heap with the worst on top
+        PriorityQueue<ScoredTool> best = new PriorityQueue<>(size + 1, RANKING.reversed());
+        for (int ordinal = matches.nextSetBit(0); ordinal >= 0; ordinal = matches.nextSetBit(ordinal + 1)) {
+            int score = 0;
+            for (TermMatch termMatch : termMatches) {
+                score += termMatch.score(ordinal);
+            }
+            ScoredTool worst = best.peek();
+            if (best.size() < size || score > worst.score()
+                    || score == worst.score() && tools[ordinal].code().compareTo(worst.tool().code()) < 0) {
+                best.add(new ScoredTool(tools[ordinal], score));
+                if (best.size() > size) {
+                    best.poll();
+                }
+            }
+        }
+
+        List<ScoredTool> ranked = new ArrayList<>(best);
+        ranked.sort(RANKING);
+        return ranked.stream().map(scoredTool -> scoredTool.tool().toToolDto()).toList();
+    }
+
+    /**
+     * Returns the number of tools in the index.
+     *
+     * @return The number of indexed tools.
+     */
+    public int size() {
+        return index.toolCount;
+    }
+
+    /**
+     * Splits a text into lower-case tokens of letters and digits.
+     *
+     * @param text The text to split.
+     * @return The distinct tokens, in order of appearance.
+     */
+    static Set<String> tokenize(String text) {
+        Set<String> tokens = new LinkedHashSet<>();
+        for (String token : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * The tools and the postings of one generation of the index. The tools are appended under the lock of the index,
+     * each before its postings, and published by the volatile tool count, so a search reading the count first
+     * sees the tools of all ordinals below it.
+     */
+    private static final class Index {
+
+        private final ConcurrentSkipListMap<String, Posting> codePostings = new ConcurrentSkipListMap<>();
+        private final ConcurrentSkipListMap<String, Posting> wordPostings = new ConcurrentSkipListMap<>();
+        private final Set<Long> toolIds = new HashSet<>();
+        private IndexedTool[] tools = new IndexedTool[1024];
+        private volatile int toolCount;
+
+        /**
+         * Appends a tool and adds its ordinal to the postings of its code and words, unless the tool is already indexed.
+         *
+         * @param tool The tool to add.
+         */
+        synchronized void add(IndexedTool tool) {
+            if (!toolIds.add(tool.id())) {
+                return;
+            }
+            int ordinal = toolCount;
+            if (ordinal == tools.length) {
+                tools = Arrays.copyOf(tools, ordinal * 2);
+            }
+            tools[ordinal] = tool;
+            toolCount = ordinal + 1;
+            codePostings.computeIfAbsent(tool.codeToken(), token -> new Posting()).add(ordinal);
+            for (String word : tool.words()) {
+                wordPostings.computeIfAbsent(word, token -> new Posting()).add(ordinal);
+            }
+        }
+
+        /**
+         * Collects the tools matching a term.
+         *
+         * @param term      The term of the query.
+         * @param toolCount The number of tools searched; tools added later are ignored.
+         * @return The TermMatch of the term.
+         */
+        TermMatch match(String term, int toolCount) {
+            BitSet codeMatches = collect(codePostings.subMap(term, true, term + Character.MAX_VALUE, false).values(), toolCount);
+            Posting exactCode = codePostings.get(term);
+            Posting exactWord = wordPostings.get(term);
+            BitSet wordExactMatches = exactWord != null ? collect(List.of(exactWord), toolCount) : new BitSet();
+            BitSet matches = collect(wordPostings.subMap(term, true, term + Character.MAX_VALUE, false).values(), toolCount);
+            matches.or(codeMatches);
+            return new TermMatch(matches, exactCode != null ? collect(List.of(exactCode), toolCount) : new BitSet(),
+                    codeMatches, wordExactMatches);
+        }
+
+        private static BitSet collect(Collection<Posting> postings, int toolCount) {
+            BitSet bits = new BitSet();
+            for (Posting posting : postings) {
+                posting.addTo(bits, toolCount);
+            }
+            return bits;
+        }
+    }
+
+    /**
+     * The ordinals of the tools of a token, in an append-only array. The ordinals are appended under the lock
+     * of the index and published by the volatile size, so a reader reading the size first sees the ordinals below it.
+     */
+    private static final class Posting {
+
+        private int[] ordinals = new int[4];
+        private volatile int size;
+
+        void add(int ordinal) {
+            int count = size;
+            if (count == ordinals.length) {
+                ordinals = Arrays.copyOf(ordinals, count * 2);
+            }
+            ordinals[count] = ordinal;
+            size = count + 1;
+        }
+
+        void addTo(BitSet bits, int toolCount) {
+            int count = size;
+            int[] values = ordinals;
+            for (int i = 0; i < count; i++) {
+                if (values[i] < toolCount) {
+                    bits.set(values[i]);
+                }
+            }
+        }
+    }
+
+    /**
+     * The tools matching a term of a query.
+     *
+     * @param tools            The tools with a code or word starting with the term.
+     * @param codeExactMatches The tools with a code equal to the term.
+     * @param codeMatches      The tools with a code starting with the term.
+     * @param wordExactMatches The tools with a word equal to the term.
+     */
+    private record TermMatch(BitSet tools, BitSet codeExactMatches, BitSet codeMatches, BitSet wordExactMatches) {
+
+        /**
+         * Scores the best match of the term by a matching tool.
+         *
+         * @param ordinal The ordinal of the tool.
+         * @return 8 for the code, 4 for a prefix of the code, 2 for a word, 1 for a prefix of a word.
+         */
+        int score(int ordinal) {
+            if (codeExactMatches.get(ordinal)) {
+                return 8;
+            }
+            if (codeMatches.get(ordinal)) {
+                return 4;
+            }
+            return wordExactMatches.get(ordinal) ? 2 : 1;
+        }
+    }
+
+    /**
+     * An immutable entry of the index.
+     *
+     * @param id            The ID of the tool.
+     * @param code          The code of the tool.
+     * @param codeToken     The lower-cased code of the tool.
+     * @param words         The distinct lower-cased words of the brand and type names.
+     * @param toolBrandId   The ID of the tool brand.
+     * @param toolBrandName The name of the tool brand.
+     * @param toolTypeId    The ID of the tool type.
+     * @param toolTypeName  The name of the tool type.
+     */
+    private record IndexedTool(Long id, String code, String codeToken, Set<String> words, Long toolBrandId, String toolBrandName,
+                               Long toolTypeId, String toolTypeName) {
+
+        static IndexedTool of(ToolDto tool) {
+            return new IndexedTool(tool.getId(), tool.getCode(), tool.getCode().toLowerCase(Locale.ROOT),
+                    tokenize(tool.getToolBrandName() + " " + tool.getToolTypeName()),
+                    tool.getToolBrandId(), tool.getToolBrandName(), tool.getToolTypeId(), tool.getToolTypeName());
+        }
+
+        ToolDto toToolDto() {
+            return new ToolDto(id, code, toolBrandId, toolBrandName, toolTypeId, toolTypeName);
+        }
+    }
+
+    /**
+     * A matching tool with its score.
+     *
+     * @param tool  The tool.
+     * @param score The score of the tool.
+     */
+    private record ScoredTool(IndexedTool tool, int score) {
+    }
+}
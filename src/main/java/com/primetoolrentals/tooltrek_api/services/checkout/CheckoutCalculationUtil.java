@@ -1,8 +1,9 @@
 package com.primetoolrentals.tooltrek_api.services.checkout;
 
+import com.primetoolrentals.tooltrek_api.dto.Money;
+import com.primetoolrentals.tooltrek_api.services.format.AmountFormatter;
 import org.springframework.stereotype.Service;
 
-import java.text.NumberFormat;
 import java.util.Locale;
 
 /**
@@ -13,7 +14,7 @@ public class CheckoutCalculationUtil {
 
     private static final String LOCALE_LANGUAGE = "en";
     private static final String LOCALE_COUNTRY = "US";
-    private static final NumberFormat AMOUNT_CURRENCY_FORMAT = NumberFormat.getCurrencyInstance(new Locale(LOCALE_LANGUAGE, LOCALE_COUNTRY));
+    private static final AmountFormatter AMOUNT_FORMATTER = AmountFormatter.forLocale(new Locale(LOCALE_LANGUAGE, LOCALE_COUNTRY));
 
     /**
      * Rounds a given amount to two decimal places.
@@ -26,13 +27,23 @@ public class CheckoutCalculationUtil {
     }
 
     /**
-     * Formats a currency amount into a string representation.
+     * Formats a currency amount into a string representation, rounded half up to whole cents.
      *
      * @param amount The amount to format.
      * @return The formatted currency string.
      */
     public static String formatCurrencyAmount(double amount) {
-        return AMOUNT_CURRENCY_FORMAT.format(amount);
+        return formatCurrencyAmount(Money.of(amount));
+    }
+
+    /**
+     * Formats an amount of money into a string representation.
+     *
+     * @param amount The amount to format.
+     * @return The formatted currency string.
+     */
+    public static String formatCurrencyAmount(Money amount) {
+        return AMOUNT_FORMATTER.formatCurrency(amount);
     }
 
     /**
@@ -42,7 +53,7 @@ public class CheckoutCalculationUtil {
      * @return The formatted percentage string.
      */
     public static String formatPercentAmount(int amount) {
-        return amount + "%";
+        return AMOUNT_FORMATTER.formatPercent(amount);
     }
 
     /**
@@ -1,12 +1,15 @@
 package com.primetoolrentals.tooltrek_api.services.checkout;
 
 import com.primetoolrentals.tooltrek_api.dto.RentalDaysDto;
+import com.primetoolrentals.tooltrek_api.services.calendar.HolidayCalendar;
+import com.primetoolrentals.tooltrek_api.services.calendar.HolidayRule;
 import org.springframework.stereotype.Service;
 
 import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.Month;
 import java.time.format.DateTimeFormatter;
+import java.util.List;
 
 /**
  * Utility class for checkout date calculations.
@@ -17,6 +20,40 @@ public class CheckoutDateUtil {
     private static final int FOURTH_DAY = 4;
     public static DateTimeFormatter RENTAL_DATE_FORMATTER = DateTimeFormatter.ofPattern("MM/dd/yy");
 
+    /**
+     * Independence Day (July 4th), observed on the nearest weekday when it falls on a weekend.
+     */
+    public static final HolidayRule INDEPENDENCE_DAY = HolidayRule.observedOnNearestWeekday(
+            HolidayRule.fixedDate(Month.JULY, FOURTH_DAY));
+
+    /**
+     * Labor Day (first Monday in September).
+     */
+    public static final HolidayRule LABOR_DAY = HolidayRule.nthWeekdayOfMonth(1, DayOfWeek.MONDAY, Month.SEPTEMBER);
+
+    /**
+     * The holidays observed by the static charge day calculation, which reads no database. They match the rules
+     * seeded into the holiday_rules table by the V3 migration, but are no fallback for them: the holiday service
+     * compiles its calendar from the database only, so a database without holiday rules observes no holidays.
+     */
+    public static final List<HolidayRule> DEFAULT_HOLIDAY_RULES = List.of(INDEPENDENCE_DAY, LABOR_DAY);
+
+    /**
+     * The first year indexed by the default holiday calendar.
+     */
+    public static final int DEFAULT_CALENDAR_FIRST_YEAR = 2000;
+
+    /**
+     * The last year indexed by the default holiday calendar.
+     */
+    public static final int DEFAULT_CALENDAR_LAST_YEAR = 2099;
+
+    /**
+     * Holiday calendar used by the static charge day calculation.
+     */
+    private static final HolidayCalendar DEFAULT_HOLIDAY_CALENDAR =
+            new HolidayCalendar(DEFAULT_HOLIDAY_RULES, DEFAULT_CALENDAR_FIRST_YEAR, DEFAULT_CALENDAR_LAST_YEAR);
+
     /**
      * Formats a rental date into a string representation.
      *
@@ -69,68 +106,14 @@ public class CheckoutDateUtil {
     }
 
     /**
-     * Calculates the number of chargeable rental days based on checkout date and rental days.
+     * Calculates the number of chargeable rental days based on checkout date and rental days,
+     * using the default holiday calendar.
      *
      * @param checkoutDate The checkout date.
      * @param rentalDays   The number of rental days.
      * @return RentalDaysDto containing the breakdown of rental days (total, weekday, holidays, weekends).
      */
     public static RentalDaysDto numberOfChargeDays(LocalDate checkoutDate, int rentalDays) {
-        int holidayRentalDays = 0;
-        int weekendRentalDays = 0;
-        int weekdayRentalDays = 0;
-        boolean observeIndependenceDay = false;
-
-        LocalDate rentalDay;
-        for (int i = 1; i <= rentalDays; i++) {
-            rentalDay = checkoutDate.plusDays(i);
-
-            // Check if the rental day is Labor Day
-            if (isLaborDay(rentalDay)) {
-                holidayRentalDays++;
-                continue;
-            }
-
-            // Check if the rental day is Independence Day
-            if (isIndependenceDay(rentalDay)) {
-                if (!isWeekend(rentalDay)) {
-                    holidayRentalDays++;
-                } else {
-                    weekendRentalDays++;
-                    if (rentalDay.getDayOfWeek().equals(DayOfWeek.SATURDAY)) {
-                        if (weekdayRentalDays > 0) {
-                            holidayRentalDays++;
-                            weekdayRentalDays--;
-                        }
-                    } else {
-                        observeIndependenceDay = true;
-                    }
-                }
-                continue;
-            }
-
-            // Check if the rental day is a weekend
-            if (isWeekend(rentalDay)) {
-                weekendRentalDays++;
-            }
-
-            // Check if the rental day is a weekday
-            if (!isWeekend(rentalDay)) {
-                if (observeIndependenceDay) {
-                    holidayRentalDays++;
-                    observeIndependenceDay = false;
-                } else {
-                    weekdayRentalDays++;
-                }
-                continue;
-            }
-        }
-
-        return RentalDaysDto.builder()
-                .totalRentalDays(weekdayRentalDays + holidayRentalDays + weekendRentalDays)
-                .weekdayRentalDays(weekdayRentalDays)
-                .holidaysRentalDays(holidayRentalDays)
-                .weekendRentalDays(weekendRentalDays)
-                .build();
+        return DEFAULT_HOLIDAY_CALENDAR.countRentalDays(checkoutDate, rentalDays);
     }
 }
@@ -1,7 +1,14 @@
 package com.primetoolrentals.tooltrek_api.services.checkout;
 
+import com.primetoolrentals.tooltrek_api.dto.AgreementDocumentCacheStatsDto;
 import com.primetoolrentals.tooltrek_api.dto.RentalAgreementDto;
+import com.primetoolrentals.tooltrek_api.dto.RentalBulkResponseDto;
 import com.primetoolrentals.tooltrek_api.dto.RentalRequestDto;
+import com.primetoolrentals.tooltrek_api.services.agreement.AgreementTemplateVariant;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
 
 /**
  * Service interface for checkout operations.
@@ -16,6 +23,14 @@ public interface CheckoutService {
      */
     RentalAgreementDto checkoutTool(RentalRequestDto rentalRequestDto);
 
+    /**
+     * Performs checkout of several tools at once, saving either all rentals or none.
+     *
+     * @param rentalRequestDtos The rental request DTOs containing rental details.
+     * @return RentalBulkResponseDto with the agreements of all rentals, or with the errors of the invalid rentals.
+     */
+    RentalBulkResponseDto checkoutTools(List<RentalRequestDto> rentalRequestDtos);
+
     /**
      * Generates a rental agreement document for a given rental ID.
      *
@@ -23,4 +38,29 @@ public interface CheckoutService {
      * @return String representing the generated rental agreement document.
      */
     String generateRentalAgreementDocument(Long rentalId);
+
+    /**
+     * Writes a rental agreement document for a given rental ID, with the charges as agreed at checkout.
+     *
+     * @param rentalId The ID of the rental for which the document is generated.
+     * @param variant  The variant of the document.
+     * @param out      The writer the document is written to.
+     * @throws IOException if the writer cannot be written.
+     */
+    void writeRentalAgreementDocument(Long rentalId, AgreementTemplateVariant variant, Writer out) throws IOException;
+
+    /**
+     * Returns the size and the counters of the cache of rendered rental agreement documents.
+     *
+     * @return AgreementDocumentCacheStatsDto with the size, the estimated heap size and the counters of the cache.
+     */
+    AgreementDocumentCacheStatsDto findAgreementCacheStats();
+
+    /**
+     * Prices rental scenarios without checking out, i.e. without persisting any rental.
+     *
+     * @param scenarios The rental request DTOs describing the scenarios to price.
+     * @return List of RentalAgreementDto objects in the order of the scenarios, without rental IDs.
+     */
+    List<RentalAgreementDto> quoteRentals(List<RentalRequestDto> scenarios);
 }
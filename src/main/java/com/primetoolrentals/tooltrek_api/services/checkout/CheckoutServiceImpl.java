@@ -1,24 +1,58 @@
 package com.primetoolrentals.tooltrek_api.services.checkout;
 
+import com.primetoolrentals.tooltrek_api.dto.AgreementDocumentCacheStatsDto;
+import com.primetoolrentals.tooltrek_api.dto.Money;
 import com.primetoolrentals.tooltrek_api.dto.RentalAgreementDto;
+import com.primetoolrentals.tooltrek_api.dto.RentalBulkErrorDto;
+import com.primetoolrentals.tooltrek_api.dto.RentalBulkResponseDto;
 import com.primetoolrentals.tooltrek_api.dto.RentalDaysDto;
+import com.primetoolrentals.tooltrek_api.dto.RentalPeriodDto;
 import com.primetoolrentals.tooltrek_api.dto.RentalRequestDto;
 import com.primetoolrentals.tooltrek_api.entity.Rental;
+import com.primetoolrentals.tooltrek_api.entity.RentalAgreement;
 import com.primetoolrentals.tooltrek_api.entity.Tool;
-import com.primetoolrentals.tooltrek_api.entity.ToolBrand;
-import com.primetoolrentals.tooltrek_api.entity.ToolType;
 import com.primetoolrentals.tooltrek_api.exception.RentalNotFoundException;
 import com.primetoolrentals.tooltrek_api.exception.ToolNotFoundException;
+import com.primetoolrentals.tooltrek_api.exception.ToolUnavailableException;
+import com.primetoolrentals.tooltrek_api.repository.RentalAgreementRepository;
 import com.primetoolrentals.tooltrek_api.repository.RentalRepository;
 import com.primetoolrentals.tooltrek_api.repository.ToolRepository;
-import com.samskivert.mustache.Mustache;
-import com.samskivert.mustache.Template;
+import com.primetoolrentals.tooltrek_api.services.agreement.AgreementDocumentCache;
+import com.primetoolrentals.tooltrek_api.services.agreement.AgreementTemplateRegistry;
+import com.primetoolrentals.tooltrek_api.services.agreement.AgreementTemplateVariant;
+import com.primetoolrentals.tooltrek_api.services.agreement.RentalAgreementView;
+import com.primetoolrentals.tooltrek_api.services.availability.BookedPeriod;
+import com.primetoolrentals.tooltrek_api.services.availability.ToolAvailabilityIndex;
+import com.primetoolrentals.tooltrek_api.services.calendar.HolidayService;
+import com.primetoolrentals.tooltrek_api.services.catalog.ToolCatalogCache;
+import com.primetoolrentals.tooltrek_api.services.catalog.ToolSnapshot;
+import com.primetoolrentals.tooltrek_api.services.format.AmountFormatter;
+import com.primetoolrentals.tooltrek_api.services.retry.RetryOnConflict;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.MessageSource;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.time.LocalDate;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 
 /**
  * Service implementation for handling tool checkout operations.
@@ -27,57 +61,96 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class CheckoutServiceImpl implements CheckoutService {
 
+    private final RentalRepository rentalRepository;
+    private final RentalAgreementRepository rentalAgreementRepository;
+    private final ToolRepository toolRepository;
+    private final ToolCatalogCache toolCatalogCache;
+    private final ToolAvailabilityIndex toolAvailabilityIndex;
+    private final HolidayService holidayService;
+    private final AgreementTemplateRegistry agreementTemplateRegistry;
+    private final AgreementDocumentCache agreementDocumentCache;
+    private final Validator validator;
+    private final MessageSource messageSource;
+    private final TransactionTemplate transactionTemplate;
+
     /**
-     * Mustache template for generating rental agreements.
+     * The locale used for the amounts in rental agreement documents, e.g. {@code en-CA} for Canadian stores.
      */
-    private static final String RENTAL_AGREEMENT_TEMPLATE = """
-Rental Agreement
+    @Value("${tooltrek.agreement.locale:en-US}")
+    private Locale agreementLocale = Locale.US;
 
-Tool code: {{tool_code}}
-Tool type: {{tool_type}}
-Tool brand: {{tool_brand}}
-Check out date: {{checkout_date}}
-Due date: {{due_date}}
-Daily rental charge: {{daily_rental_charge}}
-Charge days: {{charge_days}}
-Pre-discount charge: {{pre_discount_charge}}
-Discount percent: {{discount_percent}}
-Discount amount: {{discount_amount}}
-Final charge: {{final_charge}}""";
+    /**
+     * The number of threads pricing quote scenarios.
+     */
+    @Value("${tooltrek.quote.pool-size:4}")
+    private int quotePoolSize = 4;
 
-    private final RentalRepository rentalRepository;
-    private final ToolRepository toolRepository;
+    /**
+     * The number of quote tasks that can wait for a thread; when full, the requesting thread prices its scenarios itself.
+     */
+    @Value("${tooltrek.quote.queue-capacity:64}")
+    private int quoteQueueCapacity = 64;
+
+    private ExecutorService quoteExecutor;
+
+    /**
+     * Starts the bounded thread pool pricing quote scenarios.
+     */
+    @PostConstruct
+    public void startQuoteExecutor() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        quoteExecutor = new ThreadPoolExecutor(quotePoolSize, quotePoolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(quoteQueueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "rental-quote-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    /**
+     * Stops the thread pool pricing quote scenarios.
+     */
+    @PreDestroy
+    public void stopQuoteExecutor() {
+        quoteExecutor.shutdown();
+    }
 
     /**
-     * Checkout a tool based on the provided rental request.
+     * Checkout a tool based on the provided rental request. The tool is read from the tool catalog cache;
+     * the rental references it by ID without loading the entity. The agreement is saved with the rental as its snapshot.
      *
      * @param rentalRequestDto The rental request DTO containing details of the tool to be rented.
      * @return RentalAgreementDto representing the generated rental agreement.
-     * @throws ToolNotFoundException if the tool specified in the rental request does not exist.
+     * @throws ToolNotFoundException    if the tool specified in the rental request does not exist.
+     * @throws ToolUnavailableException if the tool is already rented for overlapping dates.
      */
     @Override
+    @RetryOnConflict
+    @Transactional
     public RentalAgreementDto checkoutTool(RentalRequestDto rentalRequestDto) {
-        // Find the tool from the repository or throw ToolNotFoundException
-        Tool tool = toolRepository.findById(rentalRequestDto.getToolId())
+        // Find the tool in the catalog cache or throw ToolNotFoundException
+        ToolSnapshot tool = toolCatalogCache.findById(rentalRequestDto.getToolId())
                 .orElseThrow(ToolNotFoundException::new);
 
         // Create a new Rental entity
-        Rental rental = Rental.builder()
-                .tool(tool)
-                .rentalDate(LocalDate.parse(rentalRequestDto.getRentalDate()))
-                .rentalDayCount(rentalRequestDto.getRentalDayCount())
-                .rentalDiscount(rentalRequestDto.getRentalDiscount())
-                .build();
+        Rental rental = rentalRequestDtoToRental(rentalRequestDto, toolRepository.getReferenceById(tool.id()));
+
+        // Check that the tool is free for the rental dates, atomically with the insert
+        reserveTools(List.of(rental), Map.of(tool.id(), tool));
 
         // Save the new Rental entity
         Rental newRental = rentalRepository.save(rental);
 
-        // Generate and return the rental agreement DTO
-        return generateRentalAgreement(newRental);
+        // Generate the rental agreement DTO, save its snapshot and return it
+        RentalAgreementDto agreementDto = generateRentalAgreement(newRental, tool);
+        rentalAgreementRepository.save(rentalAgreementDtoToRentalAgreement(agreementDto, newRental));
+        return agreementDto;
     }
 
     /**
-     * Generate a rental agreement document for the specified rental ID.
+     * Generate a plain text rental agreement document for the specified rental ID.
      *
      * @param rentalId The ID of the rental for which the agreement document is generated.
      * @return String representing the rental agreement document.
@@ -85,32 +158,362 @@ Final charge: {{final_charge}}""";
      */
     @Override
     public String generateRentalAgreementDocument(Long rentalId) {
-        // Find the rental from the repository or throw RentalNotFoundException
-        Rental rental = rentalRepository.findById(rentalId)
-                .orElseThrow(RentalNotFoundException::new);
+        return findRentalAgreementDocument(rentalId, AgreementTemplateVariant.PLAIN);
+    }
+
+    /**
+     * Write a rental agreement document for the specified rental ID. The document is served from the agreement
+     * document cache if it was rendered before; otherwise the precompiled template of the variant is rendered
+     * from the snapshot of the agreement saved at checkout, read as a single row without loading the rental
+     * or its tool and without pricing it again.
+     *
+     * @param rentalId The ID of the rental for which the agreement document is generated.
+     * @param variant  The variant of the document.
+     * @param out      The writer the document is written to.
+     * @throws IOException             if the writer cannot be written.
+     * @throws RentalNotFoundException if the rental with the specified ID does not exist.
+     */
+    @Override
+    public void writeRentalAgreementDocument(Long rentalId, AgreementTemplateVariant variant, Writer out) throws IOException {
+        out.write(findRentalAgreementDocument(rentalId, variant));
+    }
+
+    /**
+     * Returns the size and the counters of the cache of rendered rental agreement documents.
+     *
+     * @return AgreementDocumentCacheStatsDto with the size, the estimated heap size and the counters of the cache.
+     */
+    @Override
+    public AgreementDocumentCacheStatsDto findAgreementCacheStats() {
+        return agreementDocumentCache.stats();
+    }
+
+    /**
+     * Finds the rental agreement document of a rental in the agreement document cache, rendering it on a miss.
+     * The document is rendered from the agreement snapshot, which is never changed, so a cached document
+     * is served without reading the database.
+     *
+     * @param rentalId The ID of the rental.
+     * @param variant  The variant of the document.
+     * @return The rendered document.
+     * @throws RentalNotFoundException if the rental with the specified ID does not exist.
+     */
+    private String findRentalAgreementDocument(Long rentalId, AgreementTemplateVariant variant) {
+        return agreementDocumentCache.get(rentalId, variant, () -> renderRentalAgreementDocument(rentalId, variant));
+    }
 
-        // Generate the rental agreement DTO
-        RentalAgreementDto agreement = generateRentalAgreement(rental);
+    /**
+     * Renders the rental agreement document of a rental from the snapshot of its agreement.
+     *
+     * @param rentalId The ID of the rental.
+     * @param variant  The variant of the document.
+     * @return The rendered document.
+     * @throws RentalNotFoundException if the rental with the specified ID does not exist.
+     */
+    private String renderRentalAgreementDocument(Long rentalId, AgreementTemplateVariant variant) {
+        // Read the snapshot of the agreement, or take it now for a rental saved without one
+        RentalAgreementDto agreement = rentalAgreementRepository.findById(rentalId)
+                .map(CheckoutServiceImpl::rentalAgreementToRentalAgreementDto)
+                .orElseGet(() -> snapshotRentalAgreement(rentalId));
 
-        // Compile the Mustache template for generating the document
-        Template tmpl = Mustache.compiler().compile(RENTAL_AGREEMENT_TEMPLATE);
+        // Format the agreement for display
+        RentalAgreementView view = RentalAgreementView.of(agreement, AmountFormatter.forLocale(agreementLocale));
 
-        // Prepare data for template rendering
-        Map<String, String> data = new HashMap<>();
-        data.put("tool_code", agreement.getToolCode());
-        data.put("tool_type", agreement.getToolType());
-        data.put("tool_brand", agreement.getToolBrand());
-        data.put("checkout_date", CheckoutDateUtil.formatRentalDate(agreement.getCheckoutDate()));
-        data.put("due_date", CheckoutDateUtil.formatRentalDate(agreement.getDueDate()));
-        data.put("daily_rental_charge", CheckoutCalculationUtil.formatCurrencyAmount(agreement.getDailyRentalCharge()));
-        data.put("charge_days", Integer.toString(agreement.getChargeDays()));
-        data.put("pre_discount_charge", CheckoutCalculationUtil.formatCurrencyAmount(agreement.getPreDiscountCharge()));
-        data.put("discount_percent", CheckoutCalculationUtil.formatPercentAmount(agreement.getDiscountPercent()));
-        data.put("discount_amount", CheckoutCalculationUtil.formatCurrencyAmount(agreement.getDiscountAmount()));
-        data.put("final_charge", CheckoutCalculationUtil.formatCurrencyAmount(agreement.getFinalCharge()));
+        // Render the compiled template of the variant
+        StringWriter writer = new StringWriter(512);
+        try {
+            agreementTemplateRegistry.render(variant, view, writer);
+        } catch (IOException e) {
+            // A StringWriter is never closed and cannot fail
+            throw new UncheckedIOException(e);
+        }
+        return writer.toString();
+    }
 
-        // Render the template with data and return the result as a String
-        return tmpl.execute(data);
+    /**
+     * Prices rental scenarios without persisting any rental. The referenced tools that are not in the
+     * tool catalog cache are loaded in one query, then the scenarios are split between the threads of the quote pool.
+     *
+     * @param scenarios The rental request DTOs describing the scenarios to price.
+     * @return List of RentalAgreementDto objects in the order of the scenarios, without rental IDs.
+     * @throws ToolNotFoundException if a tool specified in a scenario does not exist.
+     */
+    @Override
+    public List<RentalAgreementDto> quoteRentals(List<RentalRequestDto> scenarios) {
+        // Find all referenced tools at once
+        Map<Long, ToolSnapshot> tools = findToolsById(scenarios);
+        if (scenarios.stream().anyMatch(scenario -> !tools.containsKey(scenario.getToolId()))) {
+            throw new ToolNotFoundException();
+        }
+
+        // Build the unsaved rentals to price; they are never saved, so they reference no tool entity
+        List<Rental> rentals = scenarios.stream()
+                .map(scenario -> rentalRequestDtoToRental(scenario, null))
+                .toList();
+
+        // Price every n-th rental on each of the n tasks
+        RentalAgreementDto[] agreements = new RentalAgreementDto[rentals.size()];
+        int taskCount = Math.min(quotePoolSize, rentals.size());
+        List<Callable<Void>> tasks = new ArrayList<>(taskCount);
+        for (int task = 0; task < taskCount; task++) {
+            int firstIndex = task;
+            tasks.add(() -> {
+                for (int i = firstIndex; i < agreements.length; i += taskCount) {
+                    agreements[i] = generateRentalAgreement(rentals.get(i), tools.get(scenarios.get(i).getToolId()));
+                }
+                return null;
+            });
+        }
+        try {
+            for (Future<Void> future : quoteExecutor.invokeAll(tasks)) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while pricing rental scenarios", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Cannot price rental scenarios", e.getCause());
+        }
+        return Arrays.asList(agreements);
+    }
+
+    /**
+     * Checks out several tools at once. Every rental is validated and all tools are found, the tools not in the
+     * tool catalog cache with one query, before anything is saved; if any rental is invalid, the errors of all invalid rentals are returned
+     * and no rental is saved. Otherwise all rentals and the snapshots of their agreements are inserted in JDBC batches
+     * within one transaction.
+     *
+     * @param rentalRequestDtos The rental request DTOs containing details of the tools to be rented.
+     * @return RentalBulkResponseDto with the agreements of all rentals, or with the errors of the invalid rentals.
+     * @throws ToolUnavailableException if a tool is already rented for dates overlapping one of the rentals,
+     *                                  or rented twice for overlapping dates by the rentals; no rental is saved.
+     */
+    @Override
+    @RetryOnConflict
+    @Transactional
+    public RentalBulkResponseDto checkoutTools(List<RentalRequestDto> rentalRequestDtos) {
+        // Find all referenced tools at once
+        Map<Long, ToolSnapshot> tools = findToolsById(rentalRequestDtos);
+
+        // Validate every rental and collect the errors per rental
+        List<RentalBulkErrorDto> errors = new ArrayList<>();
+        for (int index = 0; index < rentalRequestDtos.size(); index++) {
+            RentalRequestDto rentalRequestDto = rentalRequestDtos.get(index);
+            List<String> rentalErrors = new ArrayList<>();
+            for (ConstraintViolation<RentalRequestDto> violation : validator.validate(rentalRequestDto)) {
+                rentalErrors.add(violation.getMessage());
+            }
+            if (rentalRequestDto.getToolId() != null && !tools.containsKey(rentalRequestDto.getToolId())) {
+                rentalErrors.add(messageSource.getMessage("rental.request.tool.notfound", null, LocaleContextHolder.getLocale()));
+            }
+            if (!rentalErrors.isEmpty()) {
+                errors.add(RentalBulkErrorDto.builder().index(index).errors(rentalErrors).build());
+            }
+        }
+        if (!errors.isEmpty()) {
+            return RentalBulkResponseDto.builder().agreements(List.of()).errors(errors).build();
+        }
+
+        // Save all rentals; the IDs come from the pooled generator, so the inserts are batched
+        List<Rental> rentals = rentalRequestDtos.stream()
+                .map(rentalRequestDto -> rentalRequestDtoToRental(rentalRequestDto, toolRepository.getReferenceById(rentalRequestDto.getToolId())))
+                .toList();
+        reserveTools(rentals, tools);
+        List<Rental> newRentals = rentalRepository.saveAll(rentals);
+
+        // Generate the agreements and save their snapshots
+        List<RentalAgreementDto> agreements = newRentals.stream()
+                .map(rental -> generateRentalAgreement(rental, tools.get(rental.getTool().getId())))
+                .toList();
+        List<RentalAgreement> snapshots = new ArrayList<>(agreements.size());
+        for (int i = 0; i < agreements.size(); i++) {
+            snapshots.add(rentalAgreementDtoToRentalAgreement(agreements.get(i), newRentals.get(i)));
+        }
+        rentalAgreementRepository.saveAll(snapshots);
+
+        return RentalBulkResponseDto.builder()
+                .agreements(agreements)
+                .errors(List.of())
+                .build();
+    }
+
+    /**
+     * Checks that the tools of new rentals are free for their dates, atomically with the inserts of the rentals.
+     * The rentals are first checked against the tool availability index and against each other, which rejects
+     * conflicts without a query. Then the rows of the tools are locked in ID order, so concurrent checkouts of a tool
+     * are serialized until the end of their transactions, and each rental is checked against the latest rental
+     * of its tool starting before its due date in the database. Once the transaction commits, the rentals are added
+     * to the index.
+     *
+     * @param rentals The unsaved rentals, referencing their tools.
+     * @param tools   The snapshots of the tools by their IDs.
+     * @throws ToolUnavailableException if a tool is already rented for overlapping dates.
+     */
+    private void reserveTools(List<Rental> rentals, Map<Long, ToolSnapshot> tools) {
+        // Group the rentals by tool in ID order, the rentals of each tool by date
+        SortedMap<Long, List<Rental>> rentalsByToolId = new TreeMap<>();
+        for (Rental rental : rentals) {
+            rentalsByToolId.computeIfAbsent(rental.getTool().getId(), toolId -> new ArrayList<>()).add(rental);
+        }
+
+        // Check the rentals against the index and against each other
+        for (Map.Entry<Long, List<Rental>> entry : rentalsByToolId.entrySet()) {
+            ToolSnapshot tool = tools.get(entry.getKey());
+            entry.getValue().sort(Comparator.comparing(Rental::getRentalDate));
+            Rental previous = null;
+            for (Rental rental : entry.getValue()) {
+                Optional<BookedPeriod> overlap = toolAvailabilityIndex.findOverlap(tool.id(), rental.getRentalDate(), dueDate(rental));
+                if (overlap.isPresent()) {
+                    throw toolUnavailable(tool, overlap.get().start(), overlap.get().end());
+                }
+                if (previous != null && dueDate(previous).isAfter(rental.getRentalDate())) {
+                    throw toolUnavailable(tool, previous.getRentalDate(), dueDate(previous));
+                }
+                previous = rental;
+            }
+        }
+
+        // Lock the tools and check the rentals against the database
+        for (Map.Entry<Long, List<Rental>> entry : rentalsByToolId.entrySet()) {
+            ToolSnapshot tool = tools.get(entry.getKey());
+            toolRepository.lockById(tool.id()).orElseThrow(ToolNotFoundException::new);
+            for (Rental rental : entry.getValue()) {
+                for (RentalPeriodDto latest : rentalRepository.findLatestRentalPeriodsBefore(tool.id(), dueDate(rental), Limit.of(1))) {
+                    if (latest.getDueDate().isAfter(rental.getRentalDate())) {
+                        throw toolUnavailable(tool, latest.getRentalDate(), latest.getDueDate());
+                    }
+                }
+            }
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                for (Rental rental : rentals) {
+                    toolAvailabilityIndex.add(rental.getTool().getId(), rental.getRentalDate(), dueDate(rental));
+                }
+            }
+        });
+    }
+
+    private static LocalDate dueDate(Rental rental) {
+        return rental.getRentalDate().plusDays(rental.getRentalDayCount());
+    }
+
+    private static ToolUnavailableException toolUnavailable(ToolSnapshot tool, LocalDate start, LocalDate end) {
+        return new ToolUnavailableException("Tool " + tool.code() + " is already rented from " + start + " to " + end);
+    }
+
+    /**
+     * Finds the tools referenced by rental requests in the tool catalog cache, loading the missing ones in a single query.
+     *
+     * @param rentalRequestDtos The rental request DTOs referencing the tools.
+     * @return Map of the snapshots of the tools found by their IDs.
+     */
+    private Map<Long, ToolSnapshot> findToolsById(List<RentalRequestDto> rentalRequestDtos) {
+        Set<Long> toolIds = rentalRequestDtos.stream()
+                .map(RentalRequestDto::getToolId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        if (toolIds.isEmpty()) {
+            return Map.of();
+        }
+        return toolCatalogCache.findAllById(toolIds);
+    }
+
+    /**
+     * Converts a rental request DTO to an unsaved Rental entity.
+     *
+     * @param rentalRequestDto The rental request DTO.
+     * @param tool             The tool to be rented, or null for a rental that is never saved.
+     * @return The Rental entity.
+     */
+    private static Rental rentalRequestDtoToRental(RentalRequestDto rentalRequestDto, Tool tool) {
+        return Rental.builder()
+                .tool(tool)
+                .rentalDate(LocalDate.parse(rentalRequestDto.getRentalDate()))
+                .rentalDayCount(rentalRequestDto.getRentalDayCount())
+                .rentalDiscount(rentalRequestDto.getRentalDiscount())
+                .build();
+    }
+
+    /**
+     * Generates the agreement of a rental saved without a snapshot of its agreement, priced with the current
+     * prices and holiday calendar, and saves it as the snapshot of the agreement in the transaction reading the rental.
+     * When a concurrent request saved the snapshot first, the saved snapshot is read back from the primary,
+     * where it is committed, rather than from a replica which may not have it yet.
+     *
+     * @param rentalId The ID of the rental.
+     * @return RentalAgreementDto representing the agreement of the rental.
+     * @throws RentalNotFoundException if the rental with the specified ID does not exist.
+     */
+    private RentalAgreementDto snapshotRentalAgreement(Long rentalId) {
+        try {
+            return transactionTemplate.execute(status -> {
+                Rental rental = rentalRepository.findById(rentalId)
+                        .orElseThrow(RentalNotFoundException::new);
+                RentalAgreementDto agreement = generateRentalAgreement(rental);
+                rentalAgreementRepository.save(rentalAgreementDtoToRentalAgreement(agreement, rental));
+                return agreement;
+            });
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent request saved the snapshot first; read it in a read-write transaction, on the primary
+            return transactionTemplate.execute(status -> rentalAgreementRepository.findById(rentalId)
+                    .map(CheckoutServiceImpl::rentalAgreementToRentalAgreementDto)
+                    .orElseThrow(RentalNotFoundException::new));
+        }
+    }
+
+    /**
+     * Converts a rental agreement DTO to the unsaved snapshot of the agreement of a rental.
+     *
+     * @param agreement The rental agreement DTO.
+     * @param rental    The rental of the agreement.
+     * @return The RentalAgreement entity.
+     */
+    static RentalAgreement rentalAgreementDtoToRentalAgreement(RentalAgreementDto agreement, Rental rental) {
+        return RentalAgreement.builder()
+                .rental(rental)
+                .toolCode(agreement.getToolCode())
+                .toolTypeName(agreement.getToolType())
+                .toolBrandName(agreement.getToolBrand())
+                .rentalDays(agreement.getRentalDays())
+                .checkoutDate(agreement.getCheckoutDate())
+                .dueDate(agreement.getDueDate())
+                .dailyRentalCharge(agreement.getDailyRentalCharge().toBigDecimal())
+                .chargeDays(agreement.getChargeDays())
+                .preDiscountCharge(agreement.getPreDiscountCharge().toBigDecimal())
+                .discountPercent(agreement.getDiscountPercent())
+                .discountAmount(agreement.getDiscountAmount().toBigDecimal())
+                .finalCharge(agreement.getFinalCharge().toBigDecimal())
+                .build();
+    }
+
+    /**
+     * Converts the snapshot of the agreement of a rental to a rental agreement DTO.
+     *
+     * @param agreement The RentalAgreement entity.
+     * @return RentalAgreementDto representing the agreement.
+     */
+    private static RentalAgreementDto rentalAgreementToRentalAgreementDto(RentalAgreement agreement) {
+        return RentalAgreementDto.builder()
+                .rentalId(agreement.getRentalId())
+                .toolCode(agreement.getToolCode())
+                .toolType(agreement.getToolTypeName())
+                .toolBrand(agreement.getToolBrandName())
+                .rentalDays(agreement.getRentalDays())
+                .checkoutDate(agreement.getCheckoutDate())
+                .dueDate(agreement.getDueDate())
+                .dailyRentalCharge(Money.of(agreement.getDailyRentalCharge()))
+                .chargeDays(agreement.getChargeDays())
+                .preDiscountCharge(Money.of(agreement.getPreDiscountCharge()))
+                .discountPercent(agreement.getDiscountPercent())
+                .discountAmount(Money.of(agreement.getDiscountAmount()))
+                .finalCharge(Money.of(agreement.getFinalCharge()))
+                .build();
     }
 
     /**
@@ -119,31 +522,38 @@ Final charge: {{final_charge}}""";
      * @param rental The rental entity for which the agreement DTO is generated.
      * @return RentalAgreementDto representing the generated rental agreement.
      */
-    private RentalAgreementDto generateRentalAgreement(Rental rental) {
-        // Extract tool, brand, and type information from the rental
-        Tool tool = rental.getTool();
-        ToolBrand brand = tool.getToolBrand();
-        ToolType type = tool.getToolType();
+    RentalAgreementDto generateRentalAgreement(Rental rental) {
+        return generateRentalAgreement(rental, ToolSnapshot.of(rental.getTool()));
+    }
 
+    /**
+     * Generate a rental agreement DTO from the specified rental entity and a snapshot of its tool.
+     *
+     * @param rental The rental entity for which the agreement DTO is generated.
+     * @param tool   The snapshot of the rented tool.
+     * @return RentalAgreementDto representing the generated rental agreement.
+     */
+    RentalAgreementDto generateRentalAgreement(Rental rental, ToolSnapshot tool) {
         // Calculate checkout date, due date, and rental days breakdown
         LocalDate checkoutDate = rental.getRentalDate();
         LocalDate dueDate = checkoutDate.plusDays(rental.getRentalDayCount());
-        RentalDaysDto rentalDaysDto = CheckoutDateUtil.numberOfChargeDays(checkoutDate, rental.getRentalDayCount());
-        int chargeDays = calculateChargeDays(type, rentalDaysDto);
-        double preDiscountCharge = CheckoutCalculationUtil.roundCalculationResult(chargeDays * type.getDailyCharge().doubleValue());
-        double discountAmount = CheckoutCalculationUtil.roundCalculationResult(preDiscountCharge * rental.getRentalDiscount() / 100D);
-        double finalCharge = CheckoutCalculationUtil.roundCalculationResult(preDiscountCharge - discountAmount);
+        RentalDaysDto rentalDaysDto = holidayService.currentCalendar().countRentalDays(checkoutDate, rental.getRentalDayCount());
+        int chargeDays = calculateChargeDays(tool, rentalDaysDto);
+        Money dailyRentalCharge = Money.of(tool.dailyCharge());
+        Money preDiscountCharge = dailyRentalCharge.times(chargeDays);
+        Money discountAmount = preDiscountCharge.percent(rental.getRentalDiscount());
+        Money finalCharge = preDiscountCharge.minus(discountAmount);
 
         // Build and return the RentalAgreementDto
         return RentalAgreementDto.builder()
                 .rentalId(rental.getId())
-                .toolCode(tool.getCode())
-                .toolType(type.getName())
-                .toolBrand(brand.getName())
+                .toolCode(tool.code())
+                .toolType(tool.toolTypeName())
+                .toolBrand(tool.toolBrandName())
                 .rentalDays(rentalDaysDto.getTotalRentalDays())
                 .checkoutDate(checkoutDate)
                 .dueDate(dueDate)
-                .dailyRentalCharge(type.getDailyCharge().doubleValue())
+                .dailyRentalCharge(dailyRentalCharge)
                 .chargeDays(chargeDays)
                 .preDiscountCharge(preDiscountCharge)
                 .discountPercent(rental.getRentalDiscount())
@@ -155,14 +565,14 @@ Final charge: {{final_charge}}""";
     /**
      * Calculate the number of chargeable days based on tool type and rental days.
      *
-     * @param type           The tool type for which the chargeable days are calculated.
+     * @param tool           The tool for which the chargeable days are calculated.
      * @param rentalDaysDto  DTO containing breakdown of rental days (weekday, weekend, holiday).
      * @return int representing the total chargeable days.
      */
-    private int calculateChargeDays(ToolType type, RentalDaysDto rentalDaysDto) {
+    private int calculateChargeDays(ToolSnapshot tool, RentalDaysDto rentalDaysDto) {
         // Calculate the total chargeable days based on weekday, weekend, and holiday rules
-        return rentalDaysDto.getWeekdayRentalDays() * CheckoutCalculationUtil.covertBooleanToInt(type.getIsWeekdayCharge()) +
-                rentalDaysDto.getWeekendRentalDays() * CheckoutCalculationUtil.covertBooleanToInt(type.getIsWeekendCharge()) +
-                rentalDaysDto.getHolidaysRentalDays() * CheckoutCalculationUtil.covertBooleanToInt(type.getIsHolidayCharge());
+        return rentalDaysDto.getWeekdayRentalDays() * CheckoutCalculationUtil.covertBooleanToInt(tool.weekdayCharge()) +
+                rentalDaysDto.getWeekendRentalDays() * CheckoutCalculationUtil.covertBooleanToInt(tool.weekendCharge()) +
+                rentalDaysDto.getHolidaysRentalDays() * CheckoutCalculationUtil.covertBooleanToInt(tool.holidayCharge());
     }
 }
@@ -0,0 +1,24 @@
+package com.primetoolrentals.tooltrek_api.services.checkout;
+
+import com.primetoolrentals.tooltrek_api.dto.KeysetPageDto;
+import com.primetoolrentals.tooltrek_api.dto.RentalSummaryDto;
+
+import java.time.LocalDate;
+
+/**
+ * Service interface for reading the rental history.
+ */
+public interface RentalHistoryService {
+
+    /**
+     * Retrieves a page of rentals in rental date order, then in ID order, optionally filtered by tool and rental date.
+     *
+     * @param toolId   The ID of the tool to filter by, or null for all tools.
+     * @param from     The first rental date to include, or null for no lower bound.
+     * @param to       The last rental date to include, or null for no upper bound.
+     * @param afterId  The ID of the last rental of the previous page, or null for the first page.
+     * @param pageSize The number of rentals per page, or null for the default page size.
+     * @return KeysetPageDto with the RentalSummaryDto objects of the page.
+     */
+    KeysetPageDto<RentalSummaryDto> findRentals(Long toolId, LocalDate from, LocalDate to, Long afterId, Integer pageSize);
+}
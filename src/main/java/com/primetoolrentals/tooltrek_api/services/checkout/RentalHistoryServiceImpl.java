@@ -0,0 +1,81 @@
+package com.primetoolrentals.tooltrek_api.services.checkout;
+
+import com.primetoolrentals.tooltrek_api.dto.KeysetPageDto;
+import com.primetoolrentals.tooltrek_api.dto.RentalSummaryDto;
+import com.primetoolrentals.tooltrek_api.exception.InvalidRentalHistoryRangeException;
+import com.primetoolrentals.tooltrek_api.exception.RentalNotFoundException;
+import com.primetoolrentals.tooltrek_api.repository.RentalRepository;
+import com.primetoolrentals.tooltrek_api.services.paging.KeysetPaginator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Implementation of RentalHistoryService reading the rental history from the covering indexes of the rentals.
+ * <p>
+ * The rentals are listed in rental date order, then in ID order. The next page is requested with the ID
+ * of the last rental of a page, as for the other listings; its rental date is looked up by the primary key,
+ * and the page is read as the rentals after that date and ID, so that every page is a range scan of an index.
+ */
+@Service
+@RequiredArgsConstructor
+public class RentalHistoryServiceImpl implements RentalHistoryService {
+
+    /**
+     * The earliest date of the DATE columns, used when no lower bound is given.
+     */
+    private static final LocalDate EARLIEST_DATE = LocalDate.of(1000, 1, 1);
+
+    /**
+     * The latest date of the DATE columns, used when no upper bound is given.
+     */
+    private static final LocalDate LATEST_DATE = LocalDate.of(9999, 12, 31);
+
+    private final RentalRepository rentalRepository;
+    private final KeysetPaginator keysetPaginator;
+
+    /**
+     * Retrieves a page of rentals in rental date order, then in ID order, from the read replica,
+     * optionally filtered by tool and rental date.
+     *
+     * @param toolId   The ID of the tool to filter by, or null for all tools.
+     * @param from     The first rental date to include, or null for no lower bound.
+     * @param to       The last rental date to include, or null for no upper bound.
+     * @param afterId  The ID of the last rental of the previous page, or null for the first page.
+     * @param pageSize The number of rentals per page, or null for the default page size.
+     * @return KeysetPageDto with the RentalSummaryDto objects of the page.
+     * @throws InvalidRentalHistoryRangeException If the range ends before it starts.
+     * @throws RentalNotFoundException            If there is no rental with the afterId.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public KeysetPageDto<RentalSummaryDto> findRentals(Long toolId, LocalDate from, LocalDate to, Long afterId, Integer pageSize) {
+        final LocalDate first = from != null ? from : EARLIEST_DATE;
+        final LocalDate last = to != null ? to : LATEST_DATE;
+        if (last.isBefore(first)) {
+            throw new InvalidRentalHistoryRangeException();
+        }
+
+        // Start after the last rental of the previous page, or at the first date
+        LocalDate afterDate = first;
+        long afterRentalId = 0;
+        if (afterId != null) {
+            final LocalDate afterRentalDate = rentalRepository.findRentalDateById(afterId).orElseThrow(RentalNotFoundException::new);
+            if (!afterRentalDate.isBefore(first)) {
+                afterDate = afterRentalDate;
+                afterRentalId = afterId;
+            }
+        }
+
+        final int size = keysetPaginator.pageSize(pageSize);
+        final Limit limit = keysetPaginator.fetchLimit(size);
+        final List<RentalSummaryDto> rentals = toolId != null
+                ? rentalRepository.findRentalSummaryPageByTool(toolId, afterDate, afterRentalId, last, limit)
+                : rentalRepository.findRentalSummaryPage(afterDate, afterRentalId, last, limit);
+        return keysetPaginator.page(rentals, size, RentalSummaryDto::getRentalId);
+    }
+}
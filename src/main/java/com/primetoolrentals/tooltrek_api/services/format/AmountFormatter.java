@@ -0,0 +1,220 @@
+package com.primetoolrentals.tooltrek_api.services.format;
+
+import com.primetoolrentals.tooltrek_api.dto.Money;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.text.NumberFormat;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Formats currency amounts and percentages for a locale, the same way as the locale's
+ * {@link NumberFormat#getCurrencyInstance(Locale) currency} and {@link NumberFormat#getPercentInstance(Locale) percent}
+ * formats do, but writing the digits straight from cents into the output.
+ * <p>
+ * Instances are immutable and can be shared between threads. The locale's number formats are only
+ * consulted once, when the formatter of a locale is created; formatters are cached per locale.
+ * Only currencies with two fraction digits (cents) are supported.
+ */
+public final class AmountFormatter {
+
+    private static final int CENTS_PER_UNIT = 100;
+    private static final int CURRENCY_FRACTION_DIGITS = 2;
+    private static final long[] POWERS_OF_TEN = new long[19];
+
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+    }
+
+    private static final Map<Locale, AmountFormatter> FORMATTERS = new ConcurrentHashMap<>();
+
+    private final Locale locale;
+    private final Affixes currencyAffixes;
+    private final char currencyGroupingSeparator;
+    private final char currencyDecimalSeparator;
+    private final int currencyGroupingSize;
+    private final Affixes percentAffixes;
+    private final char percentGroupingSeparator;
+    private final int percentGroupingSize;
+
+    /**
+     * The prefix and suffix written around positive and negative numbers.
+     *
+     * @param positivePrefix The prefix of positive numbers.
+     * @param positiveSuffix The suffix of positive numbers.
+     * @param negativePrefix The prefix of negative numbers.
+     * @param negativeSuffix The suffix of negative numbers.
+     */
+    private record Affixes(String positivePrefix, String positiveSuffix, String negativePrefix, String negativeSuffix) {
+
+        /**
+         * Reads the affixes of a decimal format.
+         *
+         * @param format The decimal format.
+         * @return The affixes of the format.
+         */
+        static Affixes of(DecimalFormat format) {
+            return new Affixes(format.getPositivePrefix(), format.getPositiveSuffix(),
+                    format.getNegativePrefix(), format.getNegativeSuffix());
+        }
+    }
+
+    /**
+     * Creates a formatter from the number formats of a locale.
+     *
+     * @param locale The locale.
+     * @throws IllegalArgumentException if the locale has no decimal formats or its currency does not have cents.
+     */
+    private AmountFormatter(Locale locale) {
+        if (!(NumberFormat.getCurrencyInstance(locale) instanceof DecimalFormat currencyFormat)
+                || !(NumberFormat.getPercentInstance(locale) instanceof DecimalFormat percentFormat)) {
+            throw new IllegalArgumentException("No decimal formats for locale " + locale);
+        }
+        if (currencyFormat.getMaximumFractionDigits() != CURRENCY_FRACTION_DIGITS) {
+            throw new IllegalArgumentException("Currency of locale " + locale + " does not have cents");
+        }
+        DecimalFormatSymbols currencySymbols = currencyFormat.getDecimalFormatSymbols();
+        this.locale = locale;
+        this.currencyAffixes = Affixes.of(currencyFormat);
+        this.currencyGroupingSeparator = currencySymbols.getMonetaryGroupingSeparator();
+        this.currencyDecimalSeparator = currencySymbols.getMonetaryDecimalSeparator();
+        this.currencyGroupingSize = currencyFormat.isGroupingUsed() ? currencyFormat.getGroupingSize() : 0;
+        this.percentAffixes = Affixes.of(percentFormat);
+        this.percentGroupingSeparator = percentFormat.getDecimalFormatSymbols().getGroupingSeparator();
+        this.percentGroupingSize = percentFormat.isGroupingUsed() ? percentFormat.getGroupingSize() : 0;
+    }
+
+    /**
+     * Returns the formatter of a locale, creating and caching it on first use.
+     *
+     * @param locale The locale.
+     * @return The formatter of the locale.
+     * @throws IllegalArgumentException if the currency of the locale does not have cents.
+     */
+    public static AmountFormatter forLocale(Locale locale) {
+        return FORMATTERS.computeIfAbsent(locale, AmountFormatter::new);
+    }
+
+    /**
+     * Returns the locale of the formatter.
+     *
+     * @return The locale.
+     */
+    public Locale getLocale() {
+        return locale;
+    }
+
+    /**
+     * Formats an amount of money, e.g. {@code $1,234.56}.
+     *
+     * @param amount The amount to format.
+     * @return The formatted amount.
+     */
+    public String formatCurrency(Money amount) {
+        return appendCurrency(amount, new StringBuilder(24)).toString();
+    }
+
+    /**
+     * Appends a formatted amount of money to a string builder.
+     *
+     * @param amount The amount to format.
+     * @param out    The string builder to append to.
+     * @return The string builder.
+     */
+    public StringBuilder appendCurrency(Money amount, StringBuilder out) {
+        try {
+            appendCurrency(amount, (Appendable) out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out;
+    }
+
+    /**
+     * Appends a formatted amount of money to an appendable.
+     *
+     * @param amount The amount to format.
+     * @param out    The appendable to append to.
+     * @throws IOException if the appendable cannot be written.
+     */
+    public void appendCurrency(Money amount, Appendable out) throws IOException {
+        long cents = amount.cents();
+        boolean negative = cents < 0;
+        out.append(negative ? currencyAffixes.negativePrefix() : currencyAffixes.positivePrefix());
+        appendDigits(Math.abs(cents / CENTS_PER_UNIT), currencyGroupingSize, currencyGroupingSeparator, out);
+        int fraction = (int) Math.abs(cents % CENTS_PER_UNIT);
+        out.append(currencyDecimalSeparator);
+        out.append((char) ('0' + fraction / 10));
+        out.append((char) ('0' + fraction % 10));
+        out.append(negative ? currencyAffixes.negativeSuffix() : currencyAffixes.positiveSuffix());
+    }
+
+    /**
+     * Formats a whole percentage, e.g. {@code 10%}.
+     *
+     * @param percent The percentage to format.
+     * @return The formatted percentage.
+     */
+    public String formatPercent(int percent) {
+        return appendPercent(percent, new StringBuilder(8)).toString();
+    }
+
+    /**
+     * Appends a formatted whole percentage to a string builder.
+     *
+     * @param percent The percentage to format.
+     * @param out     The string builder to append to.
+     * @return The string builder.
+     */
+    public StringBuilder appendPercent(int percent, StringBuilder out) {
+        try {
+            appendPercent(percent, (Appendable) out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out;
+    }
+
+    /**
+     * Appends a formatted whole percentage to an appendable.
+     *
+     * @param percent The percentage to format.
+     * @param out     The appendable to append to.
+     * @throws IOException if the appendable cannot be written.
+     */
+    public void appendPercent(int percent, Appendable out) throws IOException {
+        boolean negative = percent < 0;
+        out.append(negative ? percentAffixes.negativePrefix() : percentAffixes.positivePrefix());
+        appendDigits(Math.abs((long) percent), percentGroupingSize, percentGroupingSeparator, out);
+        out.append(negative ? percentAffixes.negativeSuffix() : percentAffixes.positiveSuffix());
+    }
+
+    /**
+     * Appends the decimal digits of a non-negative number, separating groups of digits.
+     *
+     * @param value             The number.
+     * @param groupingSize      The number of digits in a group, or 0 for no grouping.
+     * @param groupingSeparator The separator written between groups.
+     * @param out               The appendable to append to.
+     * @throws IOException if the appendable cannot be written.
+     */
+    private static void appendDigits(long value, int groupingSize, char groupingSeparator, Appendable out) throws IOException {
+        int digits = 1;
+        while (digits < POWERS_OF_TEN.length && value >= POWERS_OF_TEN[digits]) {
+            digits++;
+        }
+        for (int position = digits - 1; position >= 0; position--) {
+            out.append((char) ('0' + (value / POWERS_OF_TEN[position]) % 10));
+            if (groupingSize > 0 && position > 0 && position % groupingSize == 0) {
+                out.append(groupingSeparator);
+            }
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.primetoolrentals.tooltrek_api.services.paging;
+
+import com.primetoolrentals.tooltrek_api.dto.KeysetPageDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Helper for keyset (seek) pagination on IDs: a page is read as the rows with an ID greater than the last ID
+ * of the previous page, in ID order, so that every page costs the same index range scan however deep it is.
+ * One row more than the page size is read to know whether there is a next page.
+ */
+@Service
+public class KeysetPaginator {
+
+    private static final char LIKE_ESCAPE = '!';
+
+    /**
+     * The page size used when a request does not specify one.
+     */
+    @Value("${tooltrek.pagination.default-page-size:100}")
+    private int defaultPageSize = 100;
+
+    /**
+     * The largest page size; larger requested page sizes are reduced to it.
+     */
+    @Value("${tooltrek.pagination.max-page-size:500}")
+    private int maxPageSize = 500;
+
+    /**
+     * Returns the page size to use for a request.
+     *
+     * @param requestedPageSize The page size requested, or null for the default.
+     * @return The requested page size, or the default, at most the maximum page size.
+     */
+    public int pageSize(Integer requestedPageSize) {
+        return Math.min(requestedPageSize != null ? requestedPageSize : defaultPageSize, maxPageSize);
+    }
+
+    /**
+     * Returns the number of rows to read for a page: one more than the page size.
+     *
+     * @param pageSize The page size.
+     * @return The limit of the query.
+     */
+    public Limit fetchLimit(int pageSize) {
+        return Limit.of(pageSize + 1);
+    }
+
+    /**
+     * Creates a page from the rows read with {@link #fetchLimit(int)}.
+     *
+     * @param rows     The rows read, in the order of the listing.
+     * @param pageSize The page size.
+     * @param idOf     The function returning the ID of a row.
+     * @param <T>      The type of the rows.
+     * @return The page, with the next afterId if more rows were read than fit in the page.
+     */
+    public <T> KeysetPageDto<T> page(List<T> rows, int pageSize, Function<T, Long> idOf) {
+        if (rows.size() <= pageSize) {
+            return KeysetPageDto.<T>builder().items(rows).build();
+        }
+        List<T> items = rows.subList(0, pageSize);
+        return KeysetPageDto.<T>builder()
+                .items(items)
+                .nextAfterId(idOf.apply(items.get(pageSize - 1)))
+                .build();
+    }
+
+    /**
+     * Returns the ID to read rows after.
+     *
+     * @param afterId The afterId of the request, or null for the first page.
+     * @return The afterId, or 0 for the first page.
+     */
+    public static long afterId(Long afterId) {
+        return afterId != null ? afterId : 0L;
+    }
+
+    /**
+     * Converts a prefix into a LIKE pattern, escaping the LIKE wildcards and the escape character with an exclamation mark.
+     *
+     * @param prefix The prefix, or null.
+     * @return The pattern matching the values starting with the prefix, or null if the prefix is null.
+     */
+    public static String likePrefix(String prefix) {
+        if (prefix == null) {
+            return null;
+        }
+        StringBuilder pattern = new StringBuilder(prefix.length() + 2);
+        for (int i = 0; i < prefix.length(); i++) {
+            char c = prefix.charAt(i);
+            if (c == '%' || c == '_' || c == LIKE_ESCAPE) {
+                pattern.append(LIKE_ESCAPE);
+            }
+            pattern.append(c);
+        }
+        return pattern.append('%').toString();
+    }
+}
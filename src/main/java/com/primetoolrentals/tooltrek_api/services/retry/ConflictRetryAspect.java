@@ -0,0 +1,136 @@
+package com.primetoolrentals.tooltrek_api.services.retry;
+
+import com.primetoolrentals.tooltrek_api.dto.WriteRetryStatsDto;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs the service writes marked with {@link RetryOnConflict} again when they fail with a ConcurrencyFailureException:
+ * an optimistic locking failure of a versioned entity, a deadlock or a lock wait timeout.
+ * <p>
+ * The aspect runs before the transaction interceptor, so every attempt runs in its own transaction. Between the
+ * attempts it waits for an exponential backoff with jitter, from the initial backoff doubling up to the maximum backoff,
+ * so that the requests that conflicted do not collide again at once. When the last attempt fails too, its failure
+ * is thrown and answered with a Conflict response.
+ * <p>
+ * The conflicts and the retries are counted by operation, and exposed by {@link #stats()}.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ConflictRetryAspect {
+
+    /**
+     * The number of attempts of a write, including the first one.
+     */
+    @Value("${tooltrek.write-retry.max-attempts:5}")
+    private int maxAttempts = 5;
+
+    /**
+     * The longest wait before the first retry.
+     */
+    @Value("${tooltrek.write-retry.initial-backoff:10ms}")
+    private Duration initialBackoff = Duration.ofMillis(10);
+
+    /**
+     * The longest wait before any retry.
+     */
+    @Value("${tooltrek.write-retry.max-backoff:200ms}")
+    private Duration maxBackoff = Duration.ofMillis(200);
+
+    private final ConcurrentMap<String, Counters> countersByOperation = new ConcurrentHashMap<>();
+
+    /**
+     * Runs a write, and runs it again after a concurrency failure until it succeeds or the attempts are used up.
+     *
+     * @param joinPoint The call of the write.
+     * @return The result of the write.
+     * @throws Throwable The failure of the write, or the concurrency failure of the last attempt.
+     */
+    @Around("@annotation(com.primetoolrentals.tooltrek_api.services.retry.RetryOnConflict)")
+    public Object retry(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return joinPoint.proceed();
+        }
+        Counters counters = countersByOperation.computeIfAbsent(
+                joinPoint.getSignature().getDeclaringType().getSimpleName() + "." + joinPoint.getSignature().getName(),
+                operation -> new Counters());
+        for (int attempt = 1; ; attempt++) {
+            try {
+                Object result = joinPoint.proceed();
+                if (attempt > 1) {
+                    counters.recovered.increment();
+                }
+                return result;
+            } catch (ConcurrencyFailureException ex) {
+                counters.conflicts.increment();
+                if (attempt >= maxAttempts) {
+                    counters.exhausted.increment();
+                    throw ex;
+                }
+                counters.retries.increment();
+                backOff(attempt, ex);
+            }
+        }
+    }
+
+    /**
+     * Returns the counters of the writes called since the application started.
+     *
+     * @return List of WriteRetryStatsDto objects, in operation order.
+     */
+    public List<WriteRetryStatsDto> stats() {
+        return countersByOperation.entrySet().stream()
+                .map(entry -> WriteRetryStatsDto.builder()
+                        .operation(entry.getKey())
+                        .conflicts(entry.getValue().conflicts.sum())
+                        .retries(entry.getValue().retries.sum())
+                        .recovered(entry.getValue().recovered.sum())
+                        .exhausted(entry.getValue().exhausted.sum())
+                        .build())
+                .sorted(Comparator.comparing(WriteRetryStatsDto::getOperation))
+                .toList();
+    }
+
+    /**
+     * Waits before a retry for a random time between half and all of the backoff of the attempt.
+     *
+     * @param attempt The number of the failed attempt, from 1.
+     * @param failure The concurrency failure of the attempt, thrown if the thread is interrupted while waiting.
+     */
+    private void backOff(int attempt, ConcurrencyFailureException failure) {
+        long backoff = Math.min(maxBackoff.toMillis(), initialBackoff.toMillis() << Math.min(attempt - 1, 20));
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(backoff / 2, backoff + 1));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw failure;
+        }
+    }
+
+    /**
+     * The counters of an operation.
+     */
+    private static final class Counters {
+
+        private final LongAdder conflicts = new LongAdder();
+        private final LongAdder retries = new LongAdder();
+        private final LongAdder recovered = new LongAdder();
+        private final LongAdder exhausted = new LongAdder();
+    }
+}
@@ -0,0 +1,18 @@
+package com.primetoolrentals.tooltrek_api.services.retry;
+
+import java.lang.annotation.*;
+
+/**
+ * Marks a service write to be run again when it fails with a transient concurrency failure, e.g. an optimistic
+ * locking failure of an entity updated by a concurrent request, a deadlock or a lock wait timeout.
+ * <p>
+ * The retries wrap the transaction of the method, so each attempt runs in a new transaction and reads the current data.
+ * A method called within a transaction that is already running is not retried, as the transaction is rolled back anyway.
+ *
+ * @see ConflictRetryAspect
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface RetryOnConflict {
+}
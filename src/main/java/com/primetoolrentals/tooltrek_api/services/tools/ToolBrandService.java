@@ -1,9 +1,8 @@
 package com.primetoolrentals.tooltrek_api.services.tools;
 
+import com.primetoolrentals.tooltrek_api.dto.KeysetPageDto;
 import com.primetoolrentals.tooltrek_api.dto.ToolBrandDto;
 
-import java.util.List;
-
 /**
  * Service interface for managing tool brands.
  */
@@ -18,17 +17,12 @@ public interface ToolBrandService {
     ToolBrandDto addToolBrand(ToolBrandDto toolBrandDto);
 
     /**
-     * Retrieves all tool brands.
-     *
-     * @return A list of DTOs representing all tool brands.
-     */
-    List<ToolBrandDto> findAllToolBrands();
-
-    /**
-     * Checks if a tool brand name is unique.
+     * Retrieves a page of tool brands in ID order, optionally filtered by name.
      *
-     * @param name The name of the tool brand to check.
-     * @return true if the tool brand name is unique; false otherwise.
+     * @param namePrefix The prefix of the names to filter by, or null for all names.
+     * @param afterId    The ID of the last tool brand of the previous page, or null for the first page.
+     * @param pageSize   The number of tool brands per page, or null for the default page size.
+     * @return KeysetPageDto with the ToolBrandDto objects of the page.
      */
-    boolean isToolBrandNameUnique(String name);
+    KeysetPageDto<ToolBrandDto> findToolBrands(String namePrefix, Long afterId, Integer pageSize);
 }
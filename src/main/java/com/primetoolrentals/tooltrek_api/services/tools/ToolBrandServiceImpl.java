@@ -1,10 +1,17 @@
 package com.primetoolrentals.tooltrek_api.services.tools;
 
+import com.primetoolrentals.tooltrek_api.dto.KeysetPageDto;
 import com.primetoolrentals.tooltrek_api.dto.ToolBrandDto;
 import com.primetoolrentals.tooltrek_api.entity.ToolBrand;
+import com.primetoolrentals.tooltrek_api.exception.CatalogEntryExistsException;
 import com.primetoolrentals.tooltrek_api.repository.ToolBrandRepository;
+import com.primetoolrentals.tooltrek_api.services.catalog.CatalogVersion;
+import com.primetoolrentals.tooltrek_api.services.paging.KeysetPaginator;
+import com.primetoolrentals.tooltrek_api.services.retry.RetryOnConflict;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -16,41 +23,53 @@ import java.util.List;
 public class ToolBrandServiceImpl implements ToolBrandService {
 
     private final ToolBrandRepository toolBrandRepository;
+    private final KeysetPaginator keysetPaginator;
+    private final CatalogVersion catalogVersion;
 
     /**
-     * Adds a new tool brand.
+     * Adds a new tool brand and increments the catalog version in the same transaction.
+     * A new tool brand has no tools yet, so no tool is invalidated in the tool catalog cache.
+     * The tool brand is inserted right away: a used name is rejected by the unique key of the tool brand names.
      *
      * @param toolBrandDto The ToolBrandDto object containing details of the tool brand to create.
      * @return The created ToolBrandDto object.
+     * @throws CatalogEntryExistsException If a tool brand with the name already exists.
      */
     @Override
+    @RetryOnConflict
+    @Transactional
     public ToolBrandDto addToolBrand(ToolBrandDto toolBrandDto) {
         final ToolBrand newToolBrand = ToolBrand.builder()
                 .name(toolBrandDto.getName())
                 .build();
-        final ToolBrand savedToolBrand = toolBrandRepository.save(newToolBrand);
+        final ToolBrand savedToolBrand;
+        try {
+            savedToolBrand = toolBrandRepository.saveAndFlush(newToolBrand);
+        } catch (DataIntegrityViolationException ex) {
+            if (UniqueKeyViolations.isViolationOf(ex, ToolBrand.NAME_UNIQUE_KEY)) {
+                throw new CatalogEntryExistsException("Tool brand already exists: " + toolBrandDto.getName(), ex);
+            }
+            throw ex;
+        }
+        catalogVersion.increment();
         return toolBrandToToolBrandDto(savedToolBrand);
     }
 
     /**
-     * Retrieves all tool brands.
+     * Retrieves a page of tool brands in ID order from the read replica, optionally filtered by name.
      *
-     * @return List of ToolBrandDto objects representing all tool brands.
+     * @param namePrefix The prefix of the names to filter by, or null for all names.
+     * @param afterId    The ID of the last tool brand of the previous page, or null for the first page.
+     * @param pageSize   The number of tool brands per page, or null for the default page size.
+     * @return KeysetPageDto with the ToolBrandDto objects of the page.
      */
     @Override
-    public List<ToolBrandDto> findAllToolBrands() {
-        return toolBrandRepository.findAll().stream().map(this::toolBrandToToolBrandDto).toList();
-    }
-
-    /**
-     * Checks if the tool brand name is unique.
-     *
-     * @param name The name of the tool brand to check.
-     * @return true if the tool brand name is unique, false otherwise.
-     */
-    @Override
-    public boolean isToolBrandNameUnique(String name) {
-        return toolBrandRepository.findFirstByName(name).isEmpty();
+    @Transactional(readOnly = true)
+    public KeysetPageDto<ToolBrandDto> findToolBrands(String namePrefix, Long afterId, Integer pageSize) {
+        final int size = keysetPaginator.pageSize(pageSize);
+        final List<ToolBrandDto> toolBrands = toolBrandRepository.findToolBrandDtoPage(KeysetPaginator.afterId(afterId),
+                KeysetPaginator.likePrefix(namePrefix), keysetPaginator.fetchLimit(size));
+        return keysetPaginator.page(toolBrands, size, ToolBrandDto::getId);
     }
 
     /**
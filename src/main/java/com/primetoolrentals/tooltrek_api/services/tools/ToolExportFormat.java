@@ -0,0 +1,41 @@
+package com.primetoolrentals.tooltrek_api.services.tools;
+
+import org.springframework.http.MediaType;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The formats of tool catalog exports.
+ */
+public enum ToolExportFormat {
+
+    /**
+     * A single JSON array of tool objects.
+     */
+    JSON(MediaType.APPLICATION_JSON),
+
+    /**
+     * Newline delimited JSON, one tool object per line.
+     */
+    NDJSON(MediaType.APPLICATION_NDJSON);
+
+    private final MediaType mediaType;
+
+    /**
+     * Creates a format.
+     *
+     * @param mediaType The media type of the export, without charset.
+     */
+    ToolExportFormat(MediaType mediaType) {
+        this.mediaType = new MediaType(mediaType, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Returns the media type of the export.
+     *
+     * @return The media type, with the UTF-8 charset.
+     */
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+}
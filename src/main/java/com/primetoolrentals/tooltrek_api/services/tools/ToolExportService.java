@@ -0,0 +1,20 @@
+package com.primetoolrentals.tooltrek_api.services.tools;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Service interface for exporting the tool catalog.
+ */
+public interface ToolExportService {
+
+    /**
+     * Exports all tools in ID order, writing them to the stream as they are read from the database.
+     *
+     * @param format       The format of the export.
+     * @param outputStream The stream the export is written to, in UTF-8. It is flushed but not closed.
+     * @return The number of tools exported.
+     * @throws IOException if the stream cannot be written.
+     */
+    long exportTools(ToolExportFormat format, OutputStream outputStream) throws IOException;
+}
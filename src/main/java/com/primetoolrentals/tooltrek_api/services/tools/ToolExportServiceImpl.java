@@ -0,0 +1,70 @@
+package com.primetoolrentals.tooltrek_api.services.tools;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.primetoolrentals.tooltrek_api.dto.ToolDto;
+import com.primetoolrentals.tooltrek_api.repository.ToolRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Implementation of ToolExportService that streams the tools from a forward-only database cursor
+ * straight into a JSON generator. Neither the result set nor the written document is held in memory:
+ * the driver hands over one row at a time and the generator writes through a fixed size buffer,
+ * so the memory used does not depend on the size of the catalog.
+ */
+@Service
+@RequiredArgsConstructor
+public class ToolExportServiceImpl implements ToolExportService {
+
+    private final ToolRepository toolRepository;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Exports all tools in ID order, writing them to the stream as they are read from the database.
+     * The read-only transaction keeps the connection, and its open cursor, for the whole export.
+     *
+     * @param format       The format of the export.
+     * @param outputStream The stream the export is written to, in UTF-8. It is flushed but not closed.
+     * @return The number of tools exported.
+     * @throws IOException if the stream cannot be written.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public long exportTools(ToolExportFormat format, OutputStream outputStream) throws IOException {
+        // The generator flushes its buffer when full; flushing after every tool would send a chunk per tool
+        ObjectWriter toolWriter = objectMapper.writerFor(ToolDto.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        long toolsExported = 0;
+        try (Stream<ToolDto> tools = toolRepository.streamAllToolDtos();
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream, JsonEncoding.UTF8)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            if (format == ToolExportFormat.JSON) {
+                generator.writeStartArray();
+            } else {
+                generator.setRootValueSeparator(null);
+            }
+            Iterator<ToolDto> iterator = tools.iterator();
+            while (iterator.hasNext()) {
+                toolWriter.writeValue(generator, iterator.next());
+                if (format == ToolExportFormat.NDJSON) {
+                    generator.writeRaw('\n');
+                }
+                toolsExported++;
+            }
+            if (format == ToolExportFormat.JSON) {
+                generator.writeEndArray();
+            }
+        }
+        outputStream.flush();
+        return toolsExported;
+    }
+}
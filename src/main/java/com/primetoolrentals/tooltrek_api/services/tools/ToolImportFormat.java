@@ -0,0 +1,17 @@
+package com.primetoolrentals.tooltrek_api.services.tools;
+
+/**
+ * The file formats of tool catalog imports.
+ */
+public enum ToolImportFormat {
+
+    /**
+     * Comma separated values with a header line naming the columns.
+     */
+    CSV,
+
+    /**
+     * Newline delimited JSON, one tool object per line.
+     */
+    NDJSON
+}
@@ -0,0 +1,24 @@
+package com.primetoolrentals.tooltrek_api.services.tools;
+
+import com.primetoolrentals.tooltrek_api.dto.ToolImportResultDto;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Service interface for importing tool catalogs.
+ */
+public interface ToolImportService {
+
+    /**
+     * Imports tools from a stream, reading it line by line. Brands and types are referenced by name
+     * and created when they do not exist yet. Invalid lines are reported and skipped.
+     *
+     * @param inputStream The stream of the uploaded file, in UTF-8.
+     * @param format      The format of the file.
+     * @param batchSize   The number of tools inserted per batch and transaction, or null for the configured default.
+     * @return ToolImportResultDto with the number of imported tools, the errors of the rejected lines and throughput stats.
+     * @throws IOException if the stream cannot be read.
+     */
+    ToolImportResultDto importTools(InputStream inputStream, ToolImportFormat format, Integer batchSize) throws IOException;
+}
@@ -0,0 +1,458 @@
+package com.primetoolrentals.tooltrek_api.services.tools;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.primetoolrentals.tooltrek_api.dto.ToolDto;
+import com.primetoolrentals.tooltrek_api.dto.ToolImportErrorDto;
+import com.primetoolrentals.tooltrek_api.dto.ToolImportResultDto;
+import com.primetoolrentals.tooltrek_api.dto.ToolImportRowDto;
+import com.primetoolrentals.tooltrek_api.entity.Tool;
+import com.primetoolrentals.tooltrek_api.entity.ToolBrand;
+import com.primetoolrentals.tooltrek_api.entity.ToolType;
+import com.primetoolrentals.tooltrek_api.exception.InvalidImportHeaderException;
+import com.primetoolrentals.tooltrek_api.repository.ToolBrandRepository;
+import com.primetoolrentals.tooltrek_api.repository.ToolRepository;
+import com.primetoolrentals.tooltrek_api.repository.ToolTypeRepository;
+import com.primetoolrentals.tooltrek_api.services.availability.ToolAvailabilityIndex;
+import com.primetoolrentals.tooltrek_api.services.catalog.CatalogVersion;
+import com.primetoolrentals.tooltrek_api.services.catalog.ToolCatalogCache;
+import com.primetoolrentals.tooltrek_api.services.catalog.ToolCodeIndex;
+import com.primetoolrentals.tooltrek_api.services.catalog.ToolTextIndex;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.MessageSource;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of ToolImportService that streams the uploaded file line by line. Only the current batch of
+ * tools is kept in memory, together with the brands and types by name and the codes imported so far.
+ */
+@Service
+@RequiredArgsConstructor
+public class ToolImportServiceImpl implements ToolImportService {
+
+    private static final String CODE_COLUMN = "code";
+    private static final String BRAND_COLUMN = "brand";
+    private static final String TYPE_COLUMN = "type";
+    private static final String DAILY_CHARGE_COLUMN = "dailycharge";
+    private static final String WEEKDAY_CHARGE_COLUMN = "isweekdaycharge";
+    private static final String WEEKEND_CHARGE_COLUMN = "isweekendcharge";
+    private static final String HOLIDAY_CHARGE_COLUMN = "isholidaycharge";
+
+    private final ToolBrandRepository toolBrandRepository;
+    private final ToolTypeRepository toolTypeRepository;
+    private final ToolRepository toolRepository;
+    private final ToolCatalogCache toolCatalogCache;
+    private final CatalogVersion catalogVersion;
+    private final ToolCodeIndex toolCodeIndex;
+    private final ToolTextIndex toolTextIndex;
+    private final ToolAvailabilityIndex toolAvailabilityIndex;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final MessageSource messageSource;
+
+    /**
+     * The number of tools inserted per batch and transaction, unless the request specifies it.
+     */
+    @Value("${tooltrek.import.batch-size:500}")
+    private int defaultBatchSize;
+
+    /**
+     * The maximum number of rejected lines whose errors are reported.
+     */
+    @Value("${tooltrek.import.max-reported-errors:1000}")
+    private int maxReportedErrors;
+
+    /**
+     * Imports tools from a stream, reading it line by line.
+     *
+     * @param inputStream The stream of the uploaded file, in UTF-8.
+     * @param format      The format of the file.
+     * @param batchSize   The number of tools inserted per batch and transaction, or null for the configured default.
+     * @return ToolImportResultDto with the number of imported tools, the errors of the rejected lines and throughput stats.
+     * @throws IOException                  if the stream cannot be read.
+     * @throws InvalidImportHeaderException if the CSV header lacks a required column.
+     */
+    @Override
+    public ToolImportResultDto importTools(InputStream inputStream, ToolImportFormat format, Integer batchSize) throws IOException {
+        long startNanos = System.nanoTime();
+        ImportRun run = new ImportRun(batchSize != null ? batchSize : defaultBatchSize);
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
+            Map<String, Integer> columns = null;
+            long lineNumber = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                if (format == ToolImportFormat.CSV && columns == null) {
+                    columns = csvHeaderToColumns(line);
+                    continue;
+                }
+                run.addLine(lineNumber, format == ToolImportFormat.CSV ? csvLineToRow(line, columns) : jsonLineToRow(line));
+            }
+        }
+        run.flush();
+
+        long elapsedNanos = System.nanoTime() - startNanos;
+        return ToolImportResultDto.builder()
+                .linesRead(run.linesRead)
+                .toolsImported(run.toolsImported)
+                .brandsCreated(run.brandsCreated)
+                .typesCreated(run.typesCreated)
+                .linesRejected(run.linesRejected)
+                .errors(run.errors)
+                .batches(run.batches)
+                .elapsedMillis(TimeUnit.NANOSECONDS.toMillis(elapsedNanos))
+                .linesPerSecond(elapsedNanos > 0 ? run.linesRead * 1e9 / elapsedNanos : 0)
+                .build();
+    }
+
+    /**
+     * The state of one import: the brands and types by name, the codes imported so far,
+     * the pending batch and the counters of the result.
+     */
+    private final class ImportRun {
+
+        private final int batchSize;
+        private final Map<String, ToolBrand> brands;
+        private final Map<String, ToolType> types;
+        private final Set<String> codes = new HashSet<>();
+        private final List<PendingTool> batch = new ArrayList<>();
+        private final List<ToolImportErrorDto> errors = new ArrayList<>();
+        private long linesRead;
+        private long toolsImported;
+        private long brandsCreated;
+        private long typesCreated;
+        private long linesRejected;
+        private long batches;
+
+        /**
+         * Starts an import, loading all existing brands and types from the primary database.
+         *
+         * @param batchSize The number of tools inserted per batch and transaction.
+         */
+        ImportRun(int batchSize) {
+            this.batchSize = batchSize;
+            this.brands = transactionTemplate.execute(status -> toolBrandRepository.findAll().stream()
+                    .collect(Collectors.toMap(ToolBrand::getName, Function.identity(), (first, second) -> first)));
+            this.types = transactionTemplate.execute(status -> toolTypeRepository.findAll().stream()
+                    .collect(Collectors.toMap(ToolType::getName, Function.identity(), (first, second) -> first)));
+        }
+
+        /**
+         * Validates a parsed line and adds it to the pending batch, inserting the batch when it is full.
+         *
+         * @param lineNumber The one-based number of the line.
+         * @param row        The parsed line, or null if it cannot be parsed.
+         */
+        void addLine(long lineNumber, ToolImportRowDto row) {
+            linesRead++;
+            if (row == null) {
+                reject(lineNumber, List.of(message("import.line.invalid")));
+                return;
+            }
+
+            List<String> rowErrors = new ArrayList<>();
+            for (ConstraintViolation<ToolImportRowDto> violation : validator.validate(row)) {
+                rowErrors.add(violation.getMessage());
+            }
+            if (row.getType() != null && !types.containsKey(row.getType()) && !hasTypeAttributes(row)
+                    && batch.stream().noneMatch(pending -> pending.row().getType().equals(row.getType()) && hasTypeAttributes(pending.row()))) {
+                rowErrors.add(message("import.type.attributes.required"));
+            }
+            if (row.getCode() != null && !codes.add(row.getCode())) {
+                rowErrors.add(message("import.code.duplicate"));
+            }
+            if (!rowErrors.isEmpty()) {
+                reject(lineNumber, rowErrors);
+                return;
+            }
+
+            batch.add(new PendingTool(lineNumber, row));
+            if (batch.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        /**
+         * Inserts the pending batch in one transaction: the tools whose codes are not used yet,
+         * the brands they need and the new types defined in the batch, incrementing the catalog version.
+         * Tools with used codes are rejected.
+         */
+        void flush() {
+            if (batch.isEmpty()) {
+                return;
+            }
+
+            // Check the codes of the whole batch with one query
+            Set<String> usedCodes = new HashSet<>(toolRepository.findCodesByCodeIn(
+                    batch.stream().map(pending -> pending.row().getCode()).toList()));
+            List<ToolImportRowDto> rows = new ArrayList<>(batch.size());
+            for (PendingTool pending : batch) {
+                if (usedCodes.contains(pending.row().getCode())) {
+                    reject(pending.lineNumber(), List.of(message("import.code.duplicate")));
+                } else {
+                    rows.add(pending.row());
+                }
+            }
+            if (rows.isEmpty()) {
+                batch.clear();
+                return;
+            }
+
+            // Create the missing brands and the types defined in the batch, then the tools;
+            // the maps are only updated once the transaction has committed
+            Map<String, ToolBrand> newBrands = new LinkedHashMap<>();
+            Map<String, ToolType> newTypes = new LinkedHashMap<>();
+            for (PendingTool pending : batch) {
+                if (!types.containsKey(pending.row().getType()) && hasTypeAttributes(pending.row())) {
+                    newTypes.putIfAbsent(pending.row().getType(), rowToToolType(pending.row()));
+                }
+            }
+            batch.clear();
+            List<Tool> savedTools = transactionTemplate.execute(status -> {
+                List<Tool> tools = new ArrayList<>(rows.size());
+                for (ToolImportRowDto row : rows) {
+                    ToolBrand brand = brands.containsKey(row.getBrand())
+                            ? brands.get(row.getBrand())
+                            : newBrands.computeIfAbsent(row.getBrand(), name -> ToolBrand.builder().name(name).build());
+                    ToolType type = types.containsKey(row.getType()) ? types.get(row.getType()) : newTypes.get(row.getType());
+                    tools.add(Tool.builder().code(row.getCode()).toolBrand(brand).toolType(type).build());
+                }
+                toolBrandRepository.saveAll(newBrands.values());
+                toolTypeRepository.saveAll(newTypes.values());
+                catalogVersion.increment();
+                return toolRepository.saveAll(tools);
+            });
+
+            // The brands and types created are new, so only the tools can be cached already
+            for (Tool tool : savedTools) {
+                toolCatalogCache.evictTool(tool.getId(), tool.getCode());
+                ToolDto toolDto = new ToolDto(tool.getId(), tool.getCode(), tool.getToolBrand().getId(), tool.getToolBrand().getName(),
+                        tool.getToolType().getId(), tool.getToolType().getName());
+                toolCodeIndex.add(toolDto);
+                toolTextIndex.add(toolDto);
+                toolAvailabilityIndex.addTool(toolDto);
+            }
+            brands.putAll(newBrands);
+            types.putAll(newTypes);
+            brandsCreated += newBrands.size();
+            typesCreated += newTypes.size();
+            toolsImported += rows.size();
+            batches++;
+        }
+
+        /**
+         * Records a rejected line, reporting its errors up to the configured maximum number of lines.
+         *
+         * @param lineNumber The one-based number of the line.
+         * @param lineErrors The error messages of the line.
+         */
+        private void reject(long lineNumber, List<String> lineErrors) {
+            linesRejected++;
+            if (errors.size() < maxReportedErrors) {
+                errors.add(ToolImportErrorDto.builder().line(lineNumber).errors(lineErrors).build());
+            }
+        }
+    }
+
+    /**
+     * A validated line waiting in the pending batch.
+     *
+     * @param lineNumber The one-based number of the line.
+     * @param row        The parsed line.
+     */
+    private record PendingTool(long lineNumber, ToolImportRowDto row) {
+    }
+
+    /**
+     * Checks if a line has all the attributes needed to create its tool type.
+     *
+     * @param row The parsed line.
+     * @return true if the daily charge and all charge flags are present, false otherwise.
+     */
+    private static boolean hasTypeAttributes(ToolImportRowDto row) {
+        return row.getDailyCharge() != null && row.getIsWeekdayCharge() != null
+                && row.getIsWeekendCharge() != null && row.getIsHolidayCharge() != null;
+    }
+
+    /**
+     * Creates a new tool type from the attributes of a line.
+     *
+     * @param row The parsed line.
+     * @return The unsaved ToolType entity.
+     */
+    private static ToolType rowToToolType(ToolImportRowDto row) {
+        return ToolType.builder()
+                .name(row.getType())
+                .dailyCharge(BigDecimal.valueOf(row.getDailyCharge()))
+                .isWeekdayCharge(row.getIsWeekdayCharge())
+                .isWeekendCharge(row.getIsWeekendCharge())
+                .isHolidayCharge(row.getIsHolidayCharge())
+                .build();
+    }
+
+    /**
+     * Parses the header line of a CSV file.
+     *
+     * @param line The header line.
+     * @return Map of the lower case column names to their indexes.
+     * @throws InvalidImportHeaderException if the code, brand or type column is missing.
+     */
+    private static Map<String, Integer> csvHeaderToColumns(String line) {
+        List<String> names = splitCsvLine(line);
+        Map<String, Integer> columns = new HashMap<>();
+        for (int index = 0; names != null && index < names.size(); index++) {
+            columns.putIfAbsent(names.get(index).trim().toLowerCase(Locale.ROOT), index);
+        }
+        if (!columns.containsKey(CODE_COLUMN) || !columns.containsKey(BRAND_COLUMN) || !columns.containsKey(TYPE_COLUMN)) {
+            throw new InvalidImportHeaderException();
+        }
+        return columns;
+    }
+
+    /**
+     * Parses a line of a CSV file.
+     *
+     * @param line    The line.
+     * @param columns The column indexes by lower case name.
+     * @return The parsed line, or null if it cannot be parsed.
+     */
+    private static ToolImportRowDto csvLineToRow(String line, Map<String, Integer> columns) {
+        List<String> fields = splitCsvLine(line);
+        if (fields == null) {
+            return null;
+        }
+        try {
+            String dailyCharge = csvField(fields, columns, DAILY_CHARGE_COLUMN);
+            return ToolImportRowDto.builder()
+                    .code(csvField(fields, columns, CODE_COLUMN))
+                    .brand(csvField(fields, columns, BRAND_COLUMN))
+                    .type(csvField(fields, columns, TYPE_COLUMN))
+                    .dailyCharge(dailyCharge != null ? Double.valueOf(dailyCharge) : null)
+                    .isWeekdayCharge(parseBoolean(csvField(fields, columns, WEEKDAY_CHARGE_COLUMN)))
+                    .isWeekendCharge(parseBoolean(csvField(fields, columns, WEEKEND_CHARGE_COLUMN)))
+                    .isHolidayCharge(parseBoolean(csvField(fields, columns, HOLIDAY_CHARGE_COLUMN)))
+                    .build();
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Parses a line of an NDJSON file.
+     *
+     * @param line The line.
+     * @return The parsed line, or null if it cannot be parsed.
+     */
+    private ToolImportRowDto jsonLineToRow(String line) {
+        try {
+            return objectMapper.readValue(line, ToolImportRowDto.class);
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Returns a field of a CSV line.
+     *
+     * @param fields  The fields of the line.
+     * @param columns The column indexes by lower case name.
+     * @param column  The lower case column name.
+     * @return The trimmed field, or null if the column or the field is missing or empty.
+     */
+    private static String csvField(List<String> fields, Map<String, Integer> columns, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= fields.size() || fields.get(index).isBlank()) {
+            return null;
+        }
+        return fields.get(index).trim();
+    }
+
+    /**
+     * Parses a boolean CSV field strictly.
+     *
+     * @param value The field, or null.
+     * @return The boolean value, or null if the field is null.
+     * @throws IllegalArgumentException if the field is neither true nor false.
+     */
+    private static Boolean parseBoolean(String value) {
+        if (value == null) {
+            return null;
+        }
+        if (value.equalsIgnoreCase("true")) {
+            return Boolean.TRUE;
+        }
+        if (value.equalsIgnoreCase("false")) {
+            return Boolean.FALSE;
+        }
+        throw new IllegalArgumentException("Not a boolean: " + value);
+    }
+
+    /**
+     * Splits a CSV line into fields. Fields may be quoted with double quotes, and double quotes within
+     * quoted fields are escaped by doubling them. Quoted fields cannot span lines.
+     *
+     * @param line The line.
+     * @return List of the fields, or null if a quoted field is not closed.
+     */
+    private static List<String> splitCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            return null;
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    /**
+     * Resolves a validation message for the locale of the current request.
+     *
+     * @param code The message code.
+     * @return The message.
+     */
+    private String message(String code) {
+        return messageSource.getMessage(code, null, LocaleContextHolder.getLocale());
+    }
+}
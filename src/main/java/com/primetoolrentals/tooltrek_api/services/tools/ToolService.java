@@ -1,5 +1,7 @@
 package com.primetoolrentals.tooltrek_api.services.tools;
 
+import com.primetoolrentals.tooltrek_api.dto.KeysetPageDto;
+import com.primetoolrentals.tooltrek_api.dto.ToolCatalogCacheStatsDto;
 import com.primetoolrentals.tooltrek_api.dto.ToolDto;
 
 import java.util.List;
@@ -18,17 +20,39 @@ public interface ToolService {
     ToolDto addTool(ToolDto toolDto);
 
     /**
-     * Retrieves all tools.
+     * Retrieves a page of tools in ID order, optionally filtered.
      *
-     * @return List of ToolDto objects representing all tools.
+     * @param toolBrandId The ID of the tool brand to filter by, or null for all brands.
+     * @param toolTypeId  The ID of the tool type to filter by, or null for all types.
+     * @param codePrefix  The prefix of the tool codes to filter by, or null for all codes.
+     * @param afterId     The ID of the last tool of the previous page, or null for the first page.
+     * @param pageSize    The number of tools per page, or null for the default page size.
+     * @return KeysetPageDto with the ToolDto objects of the page.
      */
-    List<ToolDto> findAllTools();
+    KeysetPageDto<ToolDto> findTools(Long toolBrandId, Long toolTypeId, String codePrefix, Long afterId, Integer pageSize);
 
     /**
-     * Checks if the tool code is unique.
+     * Finds the tools whose codes start with a prefix, for autocompletion, without reading the database.
      *
-     * @param code The code of the tool to check.
-     * @return true if the tool code is unique, false otherwise.
+     * @param prefix The prefix of the tool codes, in any case.
+     * @param limit  The maximum number of tools to return, or null for the default.
+     * @return List of the ToolDto objects of the matching tools, in code order.
      */
-    boolean isToolCodeUnique(String code);
+    List<ToolDto> searchToolCodes(String prefix, Integer limit);
+
+    /**
+     * Finds the tools matching every word of a query by code, brand name or type name, without reading the database.
+     *
+     * @param query The words of the query, in any case.
+     * @param limit The maximum number of tools to return, or null for the default.
+     * @return List of the ToolDto objects of the matching tools, best match first.
+     */
+    List<ToolDto> searchTools(String query, Integer limit);
+
+    /**
+     * Returns the counters of the tool catalog cache used by checkout.
+     *
+     * @return ToolCatalogCacheStatsDto with the size and the counters of the cache.
+     */
+    ToolCatalogCacheStatsDto findCatalogCacheStats();
 }
@@ -1,18 +1,34 @@
 package com.primetoolrentals.tooltrek_api.services.tools;
 
+import com.primetoolrentals.tooltrek_api.dto.KeysetPageDto;
+import com.primetoolrentals.tooltrek_api.dto.ToolCatalogCacheStatsDto;
 import com.primetoolrentals.tooltrek_api.dto.ToolDto;
 import com.primetoolrentals.tooltrek_api.entity.Tool;
 import com.primetoolrentals.tooltrek_api.entity.ToolBrand;
 import com.primetoolrentals.tooltrek_api.entity.ToolType;
+import com.primetoolrentals.tooltrek_api.exception.CatalogEntryExistsException;
 import com.primetoolrentals.tooltrek_api.exception.ToolBrandNotFoundException;
 import com.primetoolrentals.tooltrek_api.exception.ToolTypeNotFoundException;
 import com.primetoolrentals.tooltrek_api.repository.ToolBrandRepository;
 import com.primetoolrentals.tooltrek_api.repository.ToolRepository;
+import com.primetoolrentals.tooltrek_api.repository.ToolRepository.ToolBrandAndType;
 import com.primetoolrentals.tooltrek_api.repository.ToolTypeRepository;
+import com.primetoolrentals.tooltrek_api.services.availability.ToolAvailabilityIndex;
+import com.primetoolrentals.tooltrek_api.services.catalog.CatalogVersion;
+import com.primetoolrentals.tooltrek_api.services.catalog.ToolCatalogCache;
+import com.primetoolrentals.tooltrek_api.services.catalog.ToolCodeIndex;
+import com.primetoolrentals.tooltrek_api.services.catalog.ToolTextIndex;
+import com.primetoolrentals.tooltrek_api.services.paging.KeysetPaginator;
+import com.primetoolrentals.tooltrek_api.services.retry.RetryOnConflict;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.List;
+import java.util.Locale;
 
 /**
  * Implementation of ToolService interface for managing tools.
@@ -24,27 +40,53 @@ public class ToolServiceImpl implements ToolService {
     private final ToolBrandRepository toolBrandRepository;
     private final ToolRepository toolRepository;
     private final ToolTypeRepository toolTypeRepository;
+    private final KeysetPaginator keysetPaginator;
+    private final ToolCatalogCache toolCatalogCache;
+    private final CatalogVersion catalogVersion;
+    private final ToolCodeIndex toolCodeIndex;
+    private final ToolTextIndex toolTextIndex;
+    private final ToolAvailabilityIndex toolAvailabilityIndex;
 
     /**
-     * Adds a new tool.
+     * Adds a new tool and increments the catalog version in the same transaction. Once committed, the tool is invalidated
+     * in the tool catalog cache and indexed for search and availability.
+     * The brand and the type are read by one query and the tool is inserted right away: a used code is
+     * rejected by the unique key of the tool codes, also when the same code is created concurrently.
      *
      * @param toolDto The ToolDto object containing details of the tool to create.
      * @return The created ToolDto object.
-     * @throws ToolBrandNotFoundException If the tool brand with the specified ID is not found.
-     * @throws ToolTypeNotFoundException  If the tool type with the specified ID is not found.
+     * @throws ToolBrandNotFoundException  If the tool brand with the specified ID is not found.
+     * @throws ToolTypeNotFoundException   If the tool type with the specified ID is not found.
+     * @throws CatalogEntryExistsException If a tool with the code already exists.
      */
     @Override
+    @RetryOnConflict
+    @Transactional
     public ToolDto addTool(ToolDto toolDto) {
-        final ToolBrand brand = toolBrandRepository.findById(toolDto.getToolBrandId()).orElseThrow(ToolBrandNotFoundException::new);
-        final ToolType type = toolTypeRepository.findById(toolDto.getToolTypeId()).orElseThrow(ToolTypeNotFoundException::new);
+        // Not an existence check of the code: the names are needed by the response and the indexes,
+        // and a missing brand or type is reported as such instead of as a foreign key violation
+        final ToolBrandAndType brandAndType = toolRepository.findToolBrandAndType(toolDto.getToolBrandId(), toolDto.getToolTypeId())
+                .orElseThrow(() -> toolBrandRepository.existsById(toolDto.getToolBrandId())
+                        ? new ToolTypeNotFoundException() : new ToolBrandNotFoundException());
+        final ToolBrand brand = brandAndType.getToolBrand();
+        final ToolType type = brandAndType.getToolType();
 
         final Tool tool = Tool.builder()
                 .toolType(type)
                 .toolBrand(brand)
                 .code(toolDto.getCode())
                 .build();
-        final Tool newTool = toolRepository.save(tool);
-        return ToolDto.builder()
+        final Tool newTool;
+        try {
+            newTool = toolRepository.saveAndFlush(tool);
+        } catch (DataIntegrityViolationException ex) {
+            if (UniqueKeyViolations.isViolationOf(ex, Tool.CODE_UNIQUE_KEY)) {
+                throw new CatalogEntryExistsException("Tool already exists: " + toolDto.getCode(), ex);
+            }
+            throw ex;
+        }
+        catalogVersion.increment();
+        final ToolDto newToolDto = ToolDto.builder()
                 .id(newTool.getId())
                 .code(newTool.getCode())
                 .toolBrandName(brand.getName())
@@ -52,43 +94,69 @@ public class ToolServiceImpl implements ToolService {
                 .toolTypeName(type.getName())
                 .toolTypeId(type.getId())
                 .build();
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                toolCatalogCache.evictTool(newTool.getId(), newTool.getCode());
+                toolCodeIndex.add(newToolDto);
+                toolTextIndex.add(newToolDto);
+                toolAvailabilityIndex.addTool(newToolDto);
+            }
+        });
+        return newToolDto;
     }
 
     /**
-     * Retrieves all tools.
+     * Retrieves a page of tools in ID order from the read replica, optionally filtered.
      *
-     * @return List of ToolDto objects representing all tools.
+     * @param toolBrandId The ID of the tool brand to filter by, or null for all brands.
+     * @param toolTypeId  The ID of the tool type to filter by, or null for all types.
+     * @param codePrefix  The prefix of the tool codes to filter by, or null for all codes.
+     * @param afterId     The ID of the last tool of the previous page, or null for the first page.
+     * @param pageSize    The number of tools per page, or null for the default page size.
+     * @return KeysetPageDto with the ToolDto objects of the page.
      */
     @Override
-    public List<ToolDto> findAllTools() {
-        return toolRepository.findAll().stream().map(this::toolToToolDto).toList();
+    @Transactional(readOnly = true)
+    public KeysetPageDto<ToolDto> findTools(Long toolBrandId, Long toolTypeId, String codePrefix, Long afterId, Integer pageSize) {
+        final int size = keysetPaginator.pageSize(pageSize);
+        final List<ToolDto> tools = toolRepository.findToolDtoPage(KeysetPaginator.afterId(afterId), toolBrandId, toolTypeId,
+                KeysetPaginator.likePrefix(codePrefix), keysetPaginator.fetchLimit(size));
+        return keysetPaginator.page(tools, size, ToolDto::getId);
     }
 
     /**
-     * Checks if the tool code is unique.
+     * Finds the tools whose codes start with a prefix in the tool code index.
      *
-     * @param code The code of the tool to check.
-     * @return true if the tool code is unique, false otherwise.
+     * @param prefix The prefix of the tool codes, in any case.
+     * @param limit  The maximum number of tools to return, or null for the default.
+     * @return List of the ToolDto objects of the matching tools, in code order.
      */
     @Override
-    public boolean isToolCodeUnique(String code) {
-        return toolRepository.findFirstByCode(code).isEmpty();
+    public List<ToolDto> searchToolCodes(String prefix, Integer limit) {
+        return toolCodeIndex.search(prefix.toUpperCase(Locale.ROOT), limit);
     }
 
     /**
-     * Converts a Tool entity to ToolDto.
+     * Finds the tools matching every word of a query in the tool text index.
      *
-     * @param tool The Tool entity to convert.
-     * @return The corresponding ToolDto object.
+     * @param query The words of the query, in any case.
+     * @param limit The maximum number of tools to return, or null for the default.
+     * @return List of the ToolDto objects of the matching tools, best match first.
      */
-    private ToolDto toolToToolDto(Tool tool) {
-        return ToolDto.builder()
-                .id(tool.getId())
-                .code(tool.getCode())
-                .toolBrandName(tool.getToolBrand().getName())
-                .toolBrandId(tool.getToolBrand().getId())
-                .toolTypeName(tool.getToolType().getName())
-                .toolTypeId(tool.getToolType().getId())
-                .build();
+    @Override
+    public List<ToolDto> searchTools(String query, Integer limit) {
+        return toolTextIndex.search(query, limit);
+    }
+
+    /**
+     * Returns the counters of the tool catalog cache used by checkout.
+     *
+     * @return ToolCatalogCacheStatsDto with the size and the counters of the cache.
+     */
+    @Override
+    public ToolCatalogCacheStatsDto findCatalogCacheStats() {
+        return toolCatalogCache.stats();
     }
 }
@@ -1,8 +1,11 @@
 package com.primetoolrentals.tooltrek_api.services.tools;
 
+import com.primetoolrentals.tooltrek_api.dto.KeysetPageDto;
+import com.primetoolrentals.tooltrek_api.dto.ToolTypeAvailabilityDto;
+import com.primetoolrentals.tooltrek_api.dto.ToolTypeChargesDto;
 import com.primetoolrentals.tooltrek_api.dto.ToolTypeDto;
 
-import java.util.List;
+import java.time.LocalDate;
 
 /**
  * Service interface for managing tool types.
@@ -18,17 +21,31 @@ public interface ToolTypeService {
     ToolTypeDto addToolType(ToolTypeDto toolTypeDto);
 
     /**
-     * Retrieves all tool types.
+     * Changes the charges of a tool type given in the request, keeping the others.
      *
-     * @return List of ToolTypeDto objects representing all tool types.
+     * @param toolTypeId The ID of the tool type.
+     * @param charges    The ToolTypeChargesDto object with the charges to change.
+     * @return The updated ToolTypeDto object.
      */
-    List<ToolTypeDto> findAllToolTypes();
+    ToolTypeDto updateToolTypeCharges(Long toolTypeId, ToolTypeChargesDto charges);
 
     /**
-     * Checks if the tool type name is unique.
+     * Retrieves a page of tool types in ID order, optionally filtered by name.
      *
-     * @param name The name of the tool type to check.
-     * @return true if the tool type name is unique, false otherwise.
+     * @param namePrefix The prefix of the names to filter by, or null for all names.
+     * @param afterId    The ID of the last tool type of the previous page, or null for the first page.
+     * @param pageSize   The number of tool types per page, or null for the default page size.
+     * @return KeysetPageDto with the ToolTypeDto objects of the page.
      */
-    boolean isToolTypeNameUnique(String name);
+    KeysetPageDto<ToolTypeDto> findToolTypes(String namePrefix, Long afterId, Integer pageSize);
+
+    /**
+     * Retrieves the availability of the tools of a tool type over a period.
+     *
+     * @param toolTypeId The ID of the tool type.
+     * @param from       The first day of the period.
+     * @param to         The last day of the period.
+     * @return ToolTypeAvailabilityDto with the number of free tools on each day and the IDs of the tools free on every day.
+     */
+    ToolTypeAvailabilityDto findToolTypeAvailability(Long toolTypeId, LocalDate from, LocalDate to);
 }
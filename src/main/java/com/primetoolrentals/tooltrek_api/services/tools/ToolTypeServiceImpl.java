@@ -1,12 +1,30 @@
 package com.primetoolrentals.tooltrek_api.services.tools;
 
+import com.primetoolrentals.tooltrek_api.dto.KeysetPageDto;
+import com.primetoolrentals.tooltrek_api.dto.ToolTypeAvailabilityDto;
+import com.primetoolrentals.tooltrek_api.dto.ToolTypeChargesDto;
 import com.primetoolrentals.tooltrek_api.dto.ToolTypeDto;
 import com.primetoolrentals.tooltrek_api.entity.ToolType;
+import com.primetoolrentals.tooltrek_api.exception.CatalogEntryExistsException;
+import com.primetoolrentals.tooltrek_api.exception.InvalidAvailabilityPeriodException;
+import com.primetoolrentals.tooltrek_api.exception.ToolTypeNotFoundException;
 import com.primetoolrentals.tooltrek_api.repository.ToolTypeRepository;
+import com.primetoolrentals.tooltrek_api.services.availability.ToolAvailabilityIndex;
+import com.primetoolrentals.tooltrek_api.services.catalog.CatalogVersion;
+import com.primetoolrentals.tooltrek_api.services.catalog.ToolCatalogCache;
+import com.primetoolrentals.tooltrek_api.services.paging.KeysetPaginator;
+import com.primetoolrentals.tooltrek_api.services.retry.RetryOnConflict;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 
 /**
@@ -17,14 +35,29 @@ import java.util.List;
 public class ToolTypeServiceImpl implements ToolTypeService {
 
     private final ToolTypeRepository toolTypeRepository;
+    private final KeysetPaginator keysetPaginator;
+    private final ToolCatalogCache toolCatalogCache;
+    private final CatalogVersion catalogVersion;
+    private final ToolAvailabilityIndex toolAvailabilityIndex;
 
     /**
-     * Adds a new tool type.
+     * The largest number of days of an availability request.
+     */
+    @Value("${tooltrek.availability.max-days:366}")
+    private int maxAvailabilityDays = 366;
+
+    /**
+     * Adds a new tool type and increments the catalog version in the same transaction.
+     * A new tool type has no tools yet, so no tool is invalidated in the tool catalog cache.
+     * The tool type is inserted right away: a used name is rejected by the unique key of the tool type names.
      *
      * @param toolTypeDto The ToolTypeDto object containing details of the tool type to create.
      * @return The created ToolTypeDto object.
+     * @throws CatalogEntryExistsException If a tool type with the name already exists.
      */
     @Override
+    @RetryOnConflict
+    @Transactional
     public ToolTypeDto addToolType(ToolTypeDto toolTypeDto) {
         final ToolType newToolType = ToolType.builder()
                 .name(toolTypeDto.getName())
@@ -33,51 +66,114 @@ public class ToolTypeServiceImpl implements ToolTypeService {
                 .isWeekdayCharge(toolTypeDto.getIsWeekdayCharge())
                 .isWeekendCharge(toolTypeDto.getIsWeekendCharge())
                 .build();
-        final ToolType persistedToolType = toolTypeRepository.save(newToolType);
-        return ToolTypeDto.builder()
-                .id(persistedToolType.getId())
-                .name(persistedToolType.getName())
-                .dailyCharge(persistedToolType.getDailyCharge().doubleValue())
-                .isWeekdayCharge(persistedToolType.getIsWeekdayCharge())
-                .isHolidayCharge(persistedToolType.getIsHolidayCharge())
-                .isWeekendCharge(persistedToolType.getIsWeekendCharge())
-                .build();
+        final ToolType persistedToolType;
+        try {
+            persistedToolType = toolTypeRepository.saveAndFlush(newToolType);
+        } catch (DataIntegrityViolationException ex) {
+            if (UniqueKeyViolations.isViolationOf(ex, ToolType.NAME_UNIQUE_KEY)) {
+                throw new CatalogEntryExistsException("Tool type already exists: " + toolTypeDto.getName(), ex);
+            }
+            throw ex;
+        }
+        catalogVersion.increment();
+        return toolTypeToToolTypeDto(persistedToolType);
+    }
+
+    /**
+     * Changes the charges of a tool type given in the request, keeping the others. The update is checked against
+     * the version of the tool type read, so a concurrent change of another charge is not overwritten: the update
+     * is retried on the changed tool type instead. The catalog version is incremented in the same transaction,
+     * and once committed, the tools of the type are invalidated in the tool catalog cache.
+     *
+     * @param toolTypeId The ID of the tool type.
+     * @param charges    The ToolTypeChargesDto object with the charges to change.
+     * @return The updated ToolTypeDto object.
+     * @throws ToolTypeNotFoundException If the tool type does not exist.
+     */
+    @Override
+    @RetryOnConflict
+    @Transactional
+    public ToolTypeDto updateToolTypeCharges(Long toolTypeId, ToolTypeChargesDto charges) {
+        final ToolType toolType = toolTypeRepository.findById(toolTypeId).orElseThrow(ToolTypeNotFoundException::new);
+        if (charges.getDailyCharge() != null) {
+            toolType.setDailyCharge(BigDecimal.valueOf(charges.getDailyCharge()));
+        }
+        if (charges.getIsWeekdayCharge() != null) {
+            toolType.setIsWeekdayCharge(charges.getIsWeekdayCharge());
+        }
+        if (charges.getIsWeekendCharge() != null) {
+            toolType.setIsWeekendCharge(charges.getIsWeekendCharge());
+        }
+        if (charges.getIsHolidayCharge() != null) {
+            toolType.setIsHolidayCharge(charges.getIsHolidayCharge());
+        }
+        toolTypeRepository.flush();
+        catalogVersion.increment();
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                toolCatalogCache.evictToolType(toolTypeId);
+            }
+        });
+        return toolTypeToToolTypeDto(toolType);
     }
 
     /**
-     * Retrieves all tool types.
+     * Retrieves a page of tool types in ID order from the read replica, optionally filtered by name.
      *
-     * @return List of ToolTypeDto objects representing all tool types.
+     * @param namePrefix The prefix of the names to filter by, or null for all names.
+     * @param afterId    The ID of the last tool type of the previous page, or null for the first page.
+     * @param pageSize   The number of tool types per page, or null for the default page size.
+     * @return KeysetPageDto with the ToolTypeDto objects of the page.
      */
     @Override
-    public List<ToolTypeDto> findAllToolTypes() {
-        return toolTypeRepository.findAll().stream().map(this::toolTypeToToolTypeDto).toList();
+    @Transactional(readOnly = true)
+    public KeysetPageDto<ToolTypeDto> findToolTypes(String namePrefix, Long afterId, Integer pageSize) {
+        final int size = keysetPaginator.pageSize(pageSize);
+        final List<ToolTypeDto> toolTypes = toolTypeRepository.findToolTypeDtoPage(KeysetPaginator.afterId(afterId),
+                KeysetPaginator.likePrefix(namePrefix), keysetPaginator.fetchLimit(size));
+        return keysetPaginator.page(toolTypes, size, ToolTypeDto::getId);
     }
 
     /**
-     * Checks if the tool type name is unique.
+     * Retrieves the availability of the tools of a tool type over a period from the tool availability index.
+     * The tool type is only looked up in the database when the index has no tool of the type, in a read-write transaction
+     * so that it is served by the primary database and a tool type just created is found.
      *
-     * @param name The name of the tool type to check.
-     * @return true if the tool type name is unique, false otherwise.
+     * @param toolTypeId The ID of the tool type.
+     * @param from       The first day of the period.
+     * @param to         The last day of the period.
+     * @return ToolTypeAvailabilityDto with the number of free tools on each day and the IDs of the tools free on every day.
+     * @throws InvalidAvailabilityPeriodException If the period ends before it starts or spans more than the maximum number of days.
+     * @throws ToolTypeNotFoundException          If the tool type does not exist.
      */
     @Override
-    public boolean isToolTypeNameUnique(String name) {
-        return toolTypeRepository.findFirstByName(name).isEmpty();
+    @Transactional
+    public ToolTypeAvailabilityDto findToolTypeAvailability(Long toolTypeId, LocalDate from, LocalDate to) {
+        if (to.isBefore(from) || ChronoUnit.DAYS.between(from, to) >= maxAvailabilityDays) {
+            throw new InvalidAvailabilityPeriodException();
+        }
+        final ToolTypeAvailabilityDto availability = toolAvailabilityIndex.findToolTypeAvailability(toolTypeId, from, to);
+        if (availability.getToolCount() == 0 && !toolTypeRepository.existsById(toolTypeId)) {
+            throw new ToolTypeNotFoundException();
+        }
+        return availability;
     }
 
     /**
-     * Converts a ToolType entity to ToolTypeDto.
+     * Converts a ToolType entity to a ToolTypeDto.
      *
      * @param toolType The ToolType entity to convert.
-     * @return ToolTypeDto representing the converted ToolType entity.
+     * @return The converted ToolTypeDto object.
      */
-    private ToolTypeDto toolTypeToToolTypeDto(ToolType toolType) {
+    private static ToolTypeDto toolTypeToToolTypeDto(ToolType toolType) {
         return ToolTypeDto.builder()
                 .id(toolType.getId())
                 .name(toolType.getName())
                 .dailyCharge(toolType.getDailyCharge().doubleValue())
-                .isHolidayCharge(toolType.getIsHolidayCharge())
                 .isWeekdayCharge(toolType.getIsWeekdayCharge())
+                .isHolidayCharge(toolType.getIsHolidayCharge())
                 .isWeekendCharge(toolType.getIsWeekendCharge())
                 .build();
     }
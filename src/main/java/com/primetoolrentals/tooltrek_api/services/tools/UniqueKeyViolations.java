@@ -0,0 +1,34 @@
+package com.primetoolrentals.tooltrek_api.services.tools;
+
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.Locale;
+
+/**
+ * Recognizes the violations of the unique keys of the catalog tables among the data integrity violations.
+ */
+final class UniqueKeyViolations {
+
+    private UniqueKeyViolations() {
+    }
+
+    /**
+     * Checks if a data integrity violation is the violation of a unique key. The constraint name is compared
+     * ignoring the case and any table prefix, as MySQL reports it as "table.key" and MariaDB as "key".
+     *
+     * @param ex        The data integrity violation.
+     * @param uniqueKey The name of the unique key.
+     * @return true if the violated constraint is the unique key, false otherwise.
+     */
+    static boolean isViolationOf(DataIntegrityViolationException ex, String uniqueKey) {
+        for (Throwable cause = ex.getCause(); cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation && violation.getConstraintName() != null) {
+                String constraintName = violation.getConstraintName().toLowerCase(Locale.ROOT);
+                String key = uniqueKey.toLowerCase(Locale.ROOT);
+                return constraintName.equals(key) || constraintName.endsWith("." + key);
+            }
+        }
+        return false;
+    }
+}
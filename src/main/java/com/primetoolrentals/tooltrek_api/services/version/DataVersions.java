@@ -0,0 +1,69 @@
+package com.primetoolrentals.tooltrek_api.services.version;
+
+import com.primetoolrentals.tooltrek_api.dto.DataVersionDto;
+import com.primetoolrentals.tooltrek_api.repository.DataVersionRepository;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+
+/**
+ * The versions of the data kept in memory by every instance of the application, stored in the data_versions table.
+ * <p>
+ * A write of the data increments its version in the write transaction. The versions are polled in the background
+ * straight from the pool of the primary database: a poll needs the latest committed version, whatever the routing
+ * of the transactions, and runs as a plain JDBC query, so it is not counted among the statements of the requests.
+ */
+@Service
+public class DataVersions {
+
+    private final DataVersionRepository dataVersionRepository;
+    private final JdbcTemplate primaryJdbcTemplate;
+
+    /**
+     * Creates the versions of the data.
+     *
+     * @param dataVersionRepository The repository of the versions, used in the write transactions.
+     * @param primaryDataSource     The pool of the primary database, used by the polls.
+     */
+    public DataVersions(DataVersionRepository dataVersionRepository, @Qualifier("primaryDataSource") DataSource primaryDataSource) {
+        this.dataVersionRepository = dataVersionRepository;
+        this.primaryJdbcTemplate = new JdbcTemplate(primaryDataSource);
+    }
+
+    /**
+     * Increments the version of some data in the current write transaction of the data.
+     *
+     * @param name The name of the data.
+     * @return DataVersionDto with the incremented version, committed with the transaction.
+     * @throws org.springframework.transaction.IllegalTransactionStateException if no transaction is active.
+     */
+    public DataVersionDto increment(String name) {
+        dataVersionRepository.incrementVersion(name);
+        return dataVersionRepository.findVersionByName(name);
+    }
+
+    /**
+     * Finds the version of some data in the current transaction, consistent with the data read by the transaction.
+     *
+     * @param name The name of the data.
+     * @return DataVersionDto with the version and its update time.
+     * @throws org.springframework.transaction.IllegalTransactionStateException if no transaction is active.
+     */
+    public DataVersionDto find(String name) {
+        return dataVersionRepository.findVersionByName(name);
+    }
+
+    /**
+     * Reads the latest committed version of some data from the primary database.
+     *
+     * @param name The name of the data.
+     * @return DataVersionDto with the version and its update time.
+     */
+    public DataVersionDto read(String name) {
+        return primaryJdbcTemplate.queryForObject("select version, updated_on from data_versions where name = ?",
+                (resultSet, rowNum) -> new DataVersionDto(resultSet.getLong("version"), resultSet.getTimestamp("updated_on").toInstant()),
+                name);
+    }
+}
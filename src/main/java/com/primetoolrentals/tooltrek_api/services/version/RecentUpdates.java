@@ -0,0 +1,92 @@
+package com.primetoolrentals.tooltrek_api.services.version;
+
+import com.primetoolrentals.tooltrek_api.dto.RentalPeriodDto;
+import com.primetoolrentals.tooltrek_api.dto.ToolDto;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * The tools and rentals inserted or updated since a time, polled by the in-memory indexes of every instance
+ * of the application to add the writes made through the other instances.
+ * <p>
+ * The update times are the last_updated_on columns, written from the application clock of the writing instance.
+ * They are read and compared as they are stored, without any time zone conversion. Rows without an update time,
+ * not written by the application, are only read by the full loads of the indexes. Like the data versions,
+ * the rows are read straight from the pool of the primary database, as plain JDBC queries that are not counted
+ * among the statements of the requests.
+ */
+@Service
+public class RecentUpdates {
+
+    private static final String TOOLS = "select t.id, t.code, b.id, b.name, ty.id, ty.name"
+            + " from tools t join tool_brands b on b.id = t.tool_brand_id join tool_types ty on ty.id = t.tool_type_id"
+            + " where t.id > ?";
+
+    private static final String RENTALS = "select r.id, r.tool_id, r.rental_date, r.rental_day_count from rentals r"
+            + " where r.id > ?";
+
+    private final JdbcTemplate primaryJdbcTemplate;
+
+    /**
+     * Creates the reader of the recent updates.
+     *
+     * @param primaryDataSource The pool of the primary database.
+     */
+    public RecentUpdates(@Qualifier("primaryDataSource") DataSource primaryDataSource) {
+        this.primaryJdbcTemplate = new JdbcTemplate(primaryDataSource);
+    }
+
+    /**
+     * Reads the latest update time of the tools.
+     *
+     * @return The latest last_updated_on of the tools, or null if no tool has one.
+     */
+    public LocalDateTime findLatestToolUpdate() {
+        return primaryJdbcTemplate.queryForObject("select max(last_updated_on) from tools", LocalDateTime.class);
+    }
+
+    /**
+     * Reads the latest update time of the rentals.
+     *
+     * @return The latest last_updated_on of the rentals, or null if no rental has one.
+     */
+    public LocalDateTime findLatestRentalUpdate() {
+        return primaryJdbcTemplate.queryForObject("select max(last_updated_on) from rentals", LocalDateTime.class);
+    }
+
+    /**
+     * Reads a page of the tools updated since a time, in ID order, with their brands and types.
+     *
+     * @param since   Only tools updated at or after this time are returned, or all tools with an update time if null.
+     * @param afterId Only tools with a greater ID are returned.
+     * @param limit   The maximum number of tools to return.
+     * @return List of the ToolDto objects found.
+     */
+    public List<ToolDto> findToolsUpdatedSince(LocalDateTime since, long afterId, int limit) {
+        String sql = TOOLS + (since != null ? " and t.last_updated_on >= ?" : " and t.last_updated_on is not null") + " order by t.id limit ?";
+        Object[] args = since != null ? new Object[]{afterId, since, limit} : new Object[]{afterId, limit};
+        return primaryJdbcTemplate.query(sql, (resultSet, rowNum) -> new ToolDto(resultSet.getLong(1), resultSet.getString(2),
+                resultSet.getLong(3), resultSet.getString(4), resultSet.getLong(5), resultSet.getString(6)), args);
+    }
+
+    /**
+     * Reads a page of the rental periods updated since a time, in ID order.
+     *
+     * @param since   Only rentals updated at or after this time are returned, or all rentals with an update time if null.
+     * @param afterId Only rentals with a greater ID are returned.
+     * @param limit   The maximum number of rentals to return.
+     * @return List of the RentalPeriodDto objects found.
+     */
+    public List<RentalPeriodDto> findRentalsUpdatedSince(LocalDateTime since, long afterId, int limit) {
+        String sql = RENTALS + (since != null ? " and r.last_updated_on >= ?" : " and r.last_updated_on is not null") + " order by r.id limit ?";
+        Object[] args = since != null ? new Object[]{afterId, since, limit} : new Object[]{afterId, limit};
+        return primaryJdbcTemplate.query(sql, (resultSet, rowNum) -> new RentalPeriodDto(resultSet.getLong(1), resultSet.getLong(2),
+                resultSet.getObject(3, LocalDate.class), resultSet.getInt(4)), args);
+    }
+}
@@ -0,0 +1,22 @@
+-- Agreement snapshots of the rentals, written at checkout: the charges as computed then, and the code of the tool
+-- and the names of its type and brand at the time of the rental. An agreement is read back as a single row
+-- by its rental ID, unchanged by later changes of the prices, the names or the holiday calendar.
+CREATE TABLE `rental_agreements`
+(
+    `rental_id`           bigint         NOT NULL,
+    `tool_code`           varchar(10)    NOT NULL,
+    `tool_type_name`      varchar(30)    NOT NULL,
+    `tool_brand_name`     varchar(30)    NOT NULL,
+    `rental_days`         int            NOT NULL,
+    `checkout_date`       date           NOT NULL,
+    `due_date`            date           NOT NULL,
+    `daily_rental_charge` decimal(10, 2) NOT NULL,
+    `charge_days`         int            NOT NULL,
+    `pre_discount_charge` decimal(12, 2) NOT NULL,
+    `discount_percent`    int            NOT NULL,
+    `discount_amount`     decimal(12, 2) NOT NULL,
+    `final_charge`        decimal(12, 2) NOT NULL,
+    `created_on`          datetime(6) DEFAULT NULL,
+    PRIMARY KEY (`rental_id`),
+    CONSTRAINT `fk_rental_agreements_rental` FOREIGN KEY (`rental_id`) REFERENCES `rentals` (`id`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
@@ -0,0 +1,14 @@
+-- The versions of the data every instance of the application keeps in memory, one row per kind of data.
+-- A write of the data increments its version in the same transaction, and every instance polls the versions
+-- to pick up the writes made through the other instances.
+CREATE TABLE `data_versions`
+(
+    `name`       varchar(30) NOT NULL,
+    `version`    bigint      NOT NULL,
+    `updated_on` datetime(6) NOT NULL,
+    PRIMARY KEY (`name`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+
+INSERT INTO `data_versions` (`name`, `version`, `updated_on`)
+VALUES ('catalog', 1, CURRENT_TIMESTAMP(6)),
+       ('holiday_rules', 1, CURRENT_TIMESTAMP(6));
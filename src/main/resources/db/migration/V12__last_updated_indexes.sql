@@ -0,0 +1,5 @@
+-- The tools and rentals inserted or updated since a time, read by every instance of the application to add
+-- the writes made through the other instances to its in-memory indexes: the latest update time and the rows
+-- updated since the previous poll are a short range at the end of these indexes.
+CREATE INDEX `idx_tools_last_updated_on` ON `tools` (`last_updated_on`);
+CREATE INDEX `idx_rentals_last_updated_on` ON `rentals` (`last_updated_on`);
@@ -0,0 +1,22 @@
+DROP TABLE IF EXISTS `holiday_rules`;
+
+CREATE TABLE `holiday_rules`
+(
+    `id`              bigint      NOT NULL AUTO_INCREMENT,
+    `name`            varchar(50) NOT NULL,
+    `rule_type`       varchar(20) NOT NULL,
+    `month`           int         NOT NULL,
+    `day_of_month`    int DEFAULT NULL,
+    `day_of_week`     int DEFAULT NULL,
+    `week_of_month`   int DEFAULT NULL,
+    `observance`      varchar(20) NOT NULL,
+    `region`          varchar(30) DEFAULT NULL,
+    `created_on`      datetime(6) DEFAULT NULL,
+    `last_updated_on` datetime(6) DEFAULT NULL,
+    `version`         int DEFAULT NULL,
+    PRIMARY KEY (`id`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+
+INSERT INTO `holiday_rules` (`name`, `rule_type`, `month`, `day_of_month`, `day_of_week`, `week_of_month`, `observance`)
+VALUES ('Independence Day', 'FIXED_DATE', 7, 4, NULL, NULL, 'NEAREST_WEEKDAY'),
+       ('Labor Day', 'NTH_WEEKDAY', 9, NULL, 1, 1, 'NONE');
@@ -0,0 +1,19 @@
+DROP TABLE IF EXISTS `id_generator`;
+
+CREATE TABLE `id_generator`
+(
+    `sequence_name` varchar(255) NOT NULL,
+    `next_val`      bigint DEFAULT NULL,
+    PRIMARY KEY (`sequence_name`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+
+INSERT INTO `id_generator` (`sequence_name`, `next_val`)
+SELECT 'tool_brands', COALESCE(MAX(`id`), 0) + 1 FROM `tool_brands`
+UNION ALL
+SELECT 'tool_types', COALESCE(MAX(`id`), 0) + 1 FROM `tool_types`
+UNION ALL
+SELECT 'tools', COALESCE(MAX(`id`), 0) + 1 FROM `tools`
+UNION ALL
+SELECT 'rentals', COALESCE(MAX(`id`), 0) + 1 FROM `rentals`
+UNION ALL
+SELECT 'holiday_rules', COALESCE(MAX(`id`), 0) + 1 FROM `holiday_rules`;
@@ -0,0 +1,14 @@
+-- Composite indexes for the keyset paginated tool listing: the filter columns come first and the id last,
+-- so that a page of each filter combination is a range scan of an index in id order, without sorting.
+-- The brand and type indexes replace the single column indexes created for the foreign keys.
+CREATE INDEX `idx_tools_brand_id` ON `tools` (`tool_brand_id`, `id`);
+CREATE INDEX `idx_tools_type_id` ON `tools` (`tool_type_id`, `id`);
+CREATE INDEX `idx_tools_brand_type_id` ON `tools` (`tool_brand_id`, `tool_type_id`, `id`);
+
+ALTER TABLE `tools`
+    DROP INDEX `FKsiltytsip43ihje6rffhya6sp`,
+    DROP INDEX `FKg098apokbbyhgnyqyebsoy3lu`;
+
+-- Name prefix filters of the brand and type listings
+CREATE INDEX `idx_tool_brands_name` ON `tool_brands` (`name`);
+CREATE INDEX `idx_tool_types_name` ON `tool_types` (`name`);
@@ -0,0 +1,10 @@
+-- Unique keys on the tool brand and tool type names, so that the creates can insert without checking the name
+-- first and a concurrent create of the same name fails on the key. They replace the name prefix indexes of V5,
+-- serving the same range scans.
+ALTER TABLE `tool_brands`
+    DROP INDEX `idx_tool_brands_name`,
+    ADD CONSTRAINT `uk_tool_brands_name` UNIQUE (`name`);
+
+ALTER TABLE `tool_types`
+    DROP INDEX `idx_tool_types_name`,
+    ADD CONSTRAINT `uk_tool_types_name` UNIQUE (`name`);
@@ -0,0 +1,13 @@
+-- The version columns are mapped for optimistic locking: rows inserted before the mapping get version 0,
+-- and the columns can no longer be null, which would make a row look like a new entity.
+UPDATE `tool_brands` SET `version` = 0 WHERE `version` IS NULL;
+UPDATE `tool_types` SET `version` = 0 WHERE `version` IS NULL;
+UPDATE `tools` SET `version` = 0 WHERE `version` IS NULL;
+UPDATE `rentals` SET `version` = 0 WHERE `version` IS NULL;
+UPDATE `holiday_rules` SET `version` = 0 WHERE `version` IS NULL;
+
+ALTER TABLE `tool_brands` MODIFY `version` int NOT NULL DEFAULT 0;
+ALTER TABLE `tool_types` MODIFY `version` int NOT NULL DEFAULT 0;
+ALTER TABLE `tools` MODIFY `version` int NOT NULL DEFAULT 0;
+ALTER TABLE `rentals` MODIFY `version` int NOT NULL DEFAULT 0;
+ALTER TABLE `holiday_rules` MODIFY `version` int NOT NULL DEFAULT 0;
@@ -0,0 +1,6 @@
+-- Covering index of the rental history of all tools by date; the history of a tool is covered by
+-- idx_rentals_tool_history. The ID follows the date so that the index order is the order of the listing,
+-- and the keyset condition on the date and the ID of the last rental of a page is a range of the index.
+-- The tool, the day count and the discount make the index cover the listed columns, so the rows are read
+-- from the index alone.
+CREATE INDEX `idx_rentals_date_history` ON `rentals` (`rental_date`, `id`, `tool_id`, `rental_day_count`, `rental_discount`);
@@ -1,16 +1,34 @@
 package com.primetoolrentals.tooltrek_api;
 
+import com.primetoolrentals.tooltrek_api.services.agreement.AgreementDocumentCache;
+import com.primetoolrentals.tooltrek_api.services.availability.ToolAvailabilityIndex;
+import com.primetoolrentals.tooltrek_api.services.calendar.HolidayServiceImpl;
+import com.primetoolrentals.tooltrek_api.services.catalog.CatalogVersion;
+import com.primetoolrentals.tooltrek_api.services.catalog.ToolCatalogCache;
+import com.primetoolrentals.tooltrek_api.services.catalog.ToolCodeIndex;
+import com.primetoolrentals.tooltrek_api.services.catalog.ToolTextIndex;
 import org.flywaydb.core.Flyway;
 import org.junit.jupiter.api.extension.BeforeEachCallback;
 import org.junit.jupiter.api.extension.ExtensionContext;
+import org.springframework.context.ApplicationContext;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 
 public class ClearDatabaseExtension implements BeforeEachCallback {
 
     @Override public void beforeEach(ExtensionContext extensionContext) throws Exception {
-        Flyway flyway = SpringExtension.getApplicationContext(extensionContext)
-                .getBean(Flyway.class);
+        ApplicationContext applicationContext = SpringExtension.getApplicationContext(extensionContext);
+        Flyway flyway = applicationContext.getBean(Flyway.class);
         flyway.clean();
         flyway.migrate();
+        // The IDs are reused after the clean, so tools and agreements cached or indexed by earlier tests would be stale
+        applicationContext.getBean(ToolCatalogCache.class).evictAll();
+        ReflectionTestUtils.invokeMethod(applicationContext.getBean(AgreementDocumentCache.class), "evictAll");
+        applicationContext.getBean(ToolCodeIndex.class).rebuild();
+        applicationContext.getBean(ToolTextIndex.class).rebuild();
+        applicationContext.getBean(ToolAvailabilityIndex.class).rebuild();
+        // The data versions restart after the clean, behind the versions read by earlier tests
+        applicationContext.getBean(CatalogVersion.class).readVersion();
+        applicationContext.getBean(HolidayServiceImpl.class).compileCalendar();
     }
 }
\ No newline at end of file
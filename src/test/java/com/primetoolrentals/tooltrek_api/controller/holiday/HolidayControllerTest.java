@@ -0,0 +1,154 @@
+package com.primetoolrentals.tooltrek_api.controller.holiday;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.primetoolrentals.tooltrek_api.ClearDatabase;
+import com.primetoolrentals.tooltrek_api.ToolTrekApiApplication;
+import com.primetoolrentals.tooltrek_api.dto.HolidayDto;
+import com.primetoolrentals.tooltrek_api.entity.Holiday;
+import com.primetoolrentals.tooltrek_api.entity.HolidayObservance;
+import com.primetoolrentals.tooltrek_api.entity.HolidayRuleType;
+import com.primetoolrentals.tooltrek_api.repository.HolidayRepository;
+import com.primetoolrentals.tooltrek_api.services.calendar.HolidayCalendar.DayClass;
+import com.primetoolrentals.tooltrek_api.services.calendar.HolidayService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration test for HolidayController using MockMvc.
+ */
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.MOCK,
+        classes = ToolTrekApiApplication.class)
+@AutoConfigureMockMvc
+@ClearDatabase
+public class HolidayControllerTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private HolidayService holidayService;
+
+    @Autowired
+    private HolidayRepository holidayRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Tests that the default holidays are seeded by the database migration.
+     *
+     * @throws Exception if there is an error during the API call or JSON processing.
+     */
+    @Test
+    public void findAll_returnsSeededHolidays() throws Exception {
+        mvc.perform(get("/api/holiday").contentType("application/json"))
+                .andExpect(status().isOk())
+                .andExpect(result -> {
+                    List<?> holidays = objectMapper.readValue(result.getResponse().getContentAsString(), List.class);
+                    assertEquals(2, holidays.size());
+                });
+        assertEquals(DayClass.HOLIDAY, holidayService.currentCalendar().dayClassOf(LocalDate.of(2024, 9, 2)));
+        assertEquals(DayClass.OBSERVED_HOLIDAY, holidayService.currentCalendar().dayClassOf(LocalDate.of(2020, 7, 3)));
+    }
+
+    /**
+     * Tests that a created holiday is applied by the calendar and removed again when deleted.
+     *
+     * @throws Exception if there is an error during the API call or JSON processing.
+     */
+    @Test
+    public void createAndDelete_recompilesCalendar() throws Exception {
+        HolidayDto christmas = HolidayDto.builder()
+                .name("Christmas Day")
+                .ruleType(HolidayRuleType.FIXED_DATE)
+                .month(12)
+                .dayOfMonth(25)
+                .observance(HolidayObservance.NEAREST_WEEKDAY)
+                .build();
+        String body = objectMapper.writeValueAsString(christmas);
+        String response = mvc.perform(post("/api/holiday").contentType("application/json").content(body))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        HolidayDto created = objectMapper.readValue(response, HolidayDto.class);
+
+        assertEquals(DayClass.HOLIDAY, holidayService.currentCalendar().dayClassOf(LocalDate.of(2024, 12, 25)));
+        assertEquals(DayClass.OBSERVED_HOLIDAY, holidayService.currentCalendar().dayClassOf(LocalDate.of(2022, 12, 26)));
+
+        mvc.perform(delete("/api/holiday/" + created.getId()))
+                .andExpect(status().isNoContent());
+
+        assertEquals(DayClass.WEEKDAY, holidayService.currentCalendar().dayClassOf(LocalDate.of(2024, 12, 25)));
+    }
+
+    /**
+     * Tests a holiday saved in the database by another instance of the application: the calendar is kept while
+     * the version of the holiday rules is unchanged, and applies the holiday once the poll has found the version
+     * incremented by the other instance.
+     *
+     * @throws Exception if the wait is interrupted.
+     */
+    @Test
+    public void saveElsewhere_afterVersionIncrement_thenRecompilesCalendar() throws Exception {
+        holidayRepository.save(Holiday.builder()
+                .name("New Year's Day")
+                .ruleType(HolidayRuleType.FIXED_DATE)
+                .month(1)
+                .dayOfMonth(1)
+                .observance(HolidayObservance.NONE)
+                .build());
+        Thread.sleep(1100);
+        assertEquals(DayClass.WEEKDAY, holidayService.currentCalendar().dayClassOf(LocalDate.of(2025, 1, 1)));
+
+        jdbcTemplate.update("update data_versions set version = version + 1, updated_on = current_timestamp(6) where name = 'holiday_rules'");
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        while (holidayService.currentCalendar().dayClassOf(LocalDate.of(2025, 1, 1)) == DayClass.WEEKDAY && System.nanoTime() < deadline) {
+            Thread.sleep(100);
+        }
+        assertEquals(DayClass.HOLIDAY, holidayService.currentCalendar().dayClassOf(LocalDate.of(2025, 1, 1)));
+    }
+
+    /**
+     * Tests creating a holiday rule without the fields its rule type needs, expecting a BadRequest response.
+     *
+     * @throws Exception if there is an error during the API call or JSON processing.
+     */
+    @Test
+    public void create_incompleteHoliday() throws Exception {
+        HolidayDto memorialDay = HolidayDto.builder()
+                .name("Memorial Day")
+                .ruleType(HolidayRuleType.LAST_WEEKDAY)
+                .month(5)
+                .build();
+        String body = objectMapper.writeValueAsString(memorialDay);
+        mvc.perform(post("/api/holiday").contentType("application/json").content(body))
+                .andExpect(status().isBadRequest());
+    }
+
+    /**
+     * Tests deleting a holiday that does not exist, expecting a NotFound response.
+     *
+     * @throws Exception if there is an error during the API call.
+     */
+    @Test
+    public void delete_unknownHoliday() throws Exception {
+        mvc.perform(delete("/api/holiday/9999"))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,207 @@
+package com.primetoolrentals.tooltrek_api.controller.rental;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.primetoolrentals.tooltrek_api.ClearDatabase;
+import com.primetoolrentals.tooltrek_api.ToolTrekApiApplication;
+import com.primetoolrentals.tooltrek_api.dto.AgreementDocumentCacheStatsDto;
+import com.primetoolrentals.tooltrek_api.entity.Rental;
+import com.primetoolrentals.tooltrek_api.entity.Tool;
+import com.primetoolrentals.tooltrek_api.entity.ToolBrand;
+import com.primetoolrentals.tooltrek_api.entity.ToolType;
+import com.primetoolrentals.tooltrek_api.repository.RentalRepository;
+import com.primetoolrentals.tooltrek_api.repository.ToolBrandRepository;
+import com.primetoolrentals.tooltrek_api.repository.ToolRepository;
+import com.primetoolrentals.tooltrek_api.repository.ToolTypeRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for the cache of rendered rental agreement documents: documents are served from the cache
+ * without reading the database, within a small maximum size and a short time to live.
+ */
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.MOCK,
+        classes = ToolTrekApiApplication.class,
+        properties = {"spring.jpa.properties.hibernate.generate_statistics=true",
+                "tooltrek.agreement-cache.max-size=2KB",
+                "tooltrek.agreement-cache.ttl=1s"})
+@AutoConfigureMockMvc
+@ClearDatabase
+public class AgreementDocumentCacheTest {
+
+    private static final int RENTAL_COUNT = 10;
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ToolBrandRepository toolBrandRepository;
+
+    @Autowired
+    private ToolTypeRepository toolTypeRepository;
+
+    @Autowired
+    private ToolRepository toolRepository;
+
+    @Autowired
+    private RentalRepository rentalRepository;
+
+    private List<Rental> rentals;
+
+    /**
+     * Saves rentals of a ladder, one a week.
+     */
+    @BeforeEach
+    public void setUp() {
+        ToolBrand werner = toolBrandRepository.save(ToolBrand.builder().name("Werner").build());
+        ToolType ladder = toolTypeRepository.save(ToolType.builder()
+                .name("Ladder")
+                .dailyCharge(new BigDecimal("1.99"))
+                .isWeekdayCharge(true)
+                .isWeekendCharge(true)
+                .isHolidayCharge(false)
+                .build());
+        Tool ladw = toolRepository.save(Tool.builder().code("LADW").toolBrand(werner).toolType(ladder).build());
+        rentals = new ArrayList<>();
+        for (int i = 0; i < RENTAL_COUNT; i++) {
+            rentals.add(rentalRepository.save(Rental.builder()
+                    .tool(ladw)
+                    .rentalDate(LocalDate.of(2020, 7, 2).plusWeeks(i))
+                    .rentalDayCount(3)
+                    .rentalDiscount(10)
+                    .build()));
+        }
+    }
+
+    /**
+     * Tests retrieving an agreement again: it is served from the cache without any statement,
+     * while another variant of the agreement is rendered on its own.
+     *
+     * @throws Exception if there is an error performing the HTTP requests or validating the responses.
+     */
+    @Test
+    public void getAgreementAgain_thenServeFromCache() throws Exception {
+        Long rentalId = rentals.get(0).getId();
+        AgreementDocumentCacheStatsDto before = stats();
+
+        String document = agreement(rentalId, "PLAIN");
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        assertEquals(document, agreement(rentalId, "PLAIN"));
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertNotEquals(document, agreement(rentalId, "RECEIPT"));
+
+        AgreementDocumentCacheStatsDto after = stats();
+        assertEquals(1, after.getHits() - before.getHits());
+        assertEquals(2, after.getMisses() - before.getMisses());
+        assertEquals(2, after.getSize());
+        assertTrue(after.getWeightBytes() > 2L * document.length(), after::toString);
+        assertTrue(after.getHitRatio() > 0 && after.getHitRatio() < 1, after::toString);
+        assertEquals(1, after.getTtlSeconds());
+    }
+
+    /**
+     * Tests retrieving the agreement of a rental changed since its agreement was cached: the agreement snapshot
+     * is never changed, so the cached document is still served.
+     *
+     * @throws Exception if there is an error performing the HTTP requests or validating the responses.
+     */
+    @Test
+    public void getAgreement_rentalChanged_thenServeFromCache() throws Exception {
+        Rental rental = rentals.get(0);
+        String document = agreement(rental.getId(), "PLAIN");
+        AgreementDocumentCacheStatsDto before = stats();
+
+        rental.setRentalDiscount(20);
+        rental = rentalRepository.save(rental);
+        assertEquals(1, rental.getVersion());
+
+        assertEquals(document, agreement(rental.getId(), "PLAIN"));
+        AgreementDocumentCacheStatsDto after = stats();
+        assertEquals(1, after.getHits() - before.getHits());
+        assertEquals(0, after.getMisses() - before.getMisses());
+        assertEquals(1, after.getSize());
+    }
+
+    /**
+     * Tests retrieving more agreements than fit the maximum size: the least recently used agreements are evicted,
+     * and the estimated heap size of the cache stays within the maximum size.
+     *
+     * @throws Exception if there is an error performing the HTTP requests or validating the responses.
+     */
+    @Test
+    public void getAgreements_overMaxSize_thenEvictLeastRecentlyUsed() throws Exception {
+        AgreementDocumentCacheStatsDto before = stats();
+        for (Rental rental : rentals) {
+            agreement(rental.getId(), "PLAIN");
+        }
+
+        AgreementDocumentCacheStatsDto filled = stats();
+        assertEquals(2048, filled.getMaxWeightBytes());
+        assertTrue(filled.getWeightBytes() <= filled.getMaxWeightBytes(), filled::toString);
+        assertTrue(filled.getSize() > 0 && filled.getSize() < RENTAL_COUNT, filled::toString);
+        assertEquals(RENTAL_COUNT - filled.getSize(), filled.getEvictions() - before.getEvictions());
+
+        agreement(rentals.get(RENTAL_COUNT - 1).getId(), "PLAIN");
+        agreement(rentals.get(0).getId(), "PLAIN");
+        AgreementDocumentCacheStatsDto after = stats();
+        assertEquals(1, after.getHits() - filled.getHits());
+        assertEquals(1, after.getMisses() - filled.getMisses());
+    }
+
+    /**
+     * Tests retrieving an agreement again after the time to live: the agreement is rendered again.
+     *
+     * @throws Exception if there is an error performing the HTTP requests or the wait is interrupted.
+     */
+    @Test
+    public void getAgreement_afterTimeToLive_thenRenderAgain() throws Exception {
+        Long rentalId = rentals.get(0).getId();
+        agreement(rentalId, "HTML");
+        AgreementDocumentCacheStatsDto before = stats();
+
+        Thread.sleep(1100);
+        agreement(rentalId, "HTML");
+
+        AgreementDocumentCacheStatsDto after = stats();
+        assertEquals(0, after.getHits() - before.getHits());
+        assertEquals(1, after.getMisses() - before.getMisses());
+        assertEquals(1, after.getExpirations() - before.getExpirations());
+    }
+
+    private String agreement(Long rentalId, String variant) throws Exception {
+        return mvc.perform(get("/api/rental/{rentalId}/agreement", rentalId).param("variant", variant))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+    }
+
+    private AgreementDocumentCacheStatsDto stats() throws Exception {
+        String response = mvc.perform(get("/api/rental/agreement-cache-stats"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readValue(response, AgreementDocumentCacheStatsDto.class);
+    }
+}
@@ -0,0 +1,113 @@
+package com.primetoolrentals.tooltrek_api.controller.rental;
+
+import com.primetoolrentals.tooltrek_api.dto.Money;
+import com.primetoolrentals.tooltrek_api.services.format.AmountFormatter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.math.BigDecimal;
+import java.text.NumberFormat;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Unit tests for AmountFormatter.
+ */
+public class AmountFormatterTest {
+
+    /**
+     * Tests that amounts and percentages are formatted like the number formats of the locale.
+     *
+     * @param languageTag the language tag of the locale.
+     */
+    @ParameterizedTest
+    @ValueSource(strings = {"en-US", "en-CA", "fr-CA", "de-DE"})
+    public void formatMatchesNumberFormat(String languageTag) {
+        Locale locale = Locale.forLanguageTag(languageTag);
+        AmountFormatter formatter = AmountFormatter.forLocale(locale);
+        NumberFormat currencyFormat = NumberFormat.getCurrencyInstance(locale);
+        NumberFormat percentFormat = NumberFormat.getPercentInstance(locale);
+        Random random = new Random(languageTag.hashCode());
+
+        for (int i = 0; i < 10_000; i++) {
+            long cents = i < 1_000 ? i - 500 : random.nextLong() % 1_000_000_000_000L;
+            assertEquals(currencyFormat.format(BigDecimal.valueOf(cents, 2)), formatter.formatCurrency(Money.ofCents(cents)));
+            int percent = random.nextInt(20_000) - 10_000;
+            assertEquals(percentFormat.format(percent / 100.0), formatter.formatPercent(percent));
+        }
+    }
+
+    /**
+     * Tests that amounts are appended to an existing string builder.
+     */
+    @Test
+    public void appendToStringBuilder() {
+        AmountFormatter formatter = AmountFormatter.forLocale(Locale.US);
+        StringBuilder out = new StringBuilder("Final charge: ");
+        formatter.appendCurrency(Money.ofCents(123456), out).append(" (");
+        formatter.appendPercent(10, out).append(" off)");
+        assertEquals("Final charge: $1,234.56 (10% off)", out.toString());
+    }
+
+    /**
+     * Tests that formatters are cached per locale and that currencies without cents are rejected.
+     */
+    @Test
+    public void formattersAreCachedPerLocale() {
+        assertSame(AmountFormatter.forLocale(Locale.CANADA), AmountFormatter.forLocale(Locale.CANADA));
+        assertThrows(IllegalArgumentException.class, () -> AmountFormatter.forLocale(Locale.JAPAN));
+    }
+
+    /**
+     * Formats amounts with shared formatters from several threads started at the same time,
+     * and compares each result with a number format owned by the thread.
+     *
+     * @throws Exception if a thread fails.
+     */
+    @Test
+    public void concurrentFormattingStaysCorrect() throws Exception {
+        Locale[] locales = {Locale.US, Locale.CANADA, Locale.CANADA_FRENCH};
+        int threads = 8;
+        CyclicBarrier start = new CyclicBarrier(threads);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int thread = 0; thread < threads; thread++) {
+                long seed = thread;
+                futures.add(executor.submit(() -> {
+                    Random random = new Random(seed);
+                    NumberFormat[] currencyFormats = new NumberFormat[locales.length];
+                    for (int i = 0; i < locales.length; i++) {
+                        currencyFormats[i] = NumberFormat.getCurrencyInstance(locales[i]);
+                    }
+                    StringBuilder out = new StringBuilder();
+                    start.await();
+                    for (int i = 0; i < 50_000; i++) {
+                        int localeIndex = random.nextInt(locales.length);
+                        long cents = random.nextInt(100_000_000);
+                        out.setLength(0);
+                        AmountFormatter.forLocale(locales[localeIndex]).appendCurrency(Money.ofCents(cents), out);
+                        assertEquals(currencyFormats[localeIndex].format(BigDecimal.valueOf(cents, 2)), out.toString());
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
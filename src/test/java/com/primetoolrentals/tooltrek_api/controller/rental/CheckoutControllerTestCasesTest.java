@@ -111,11 +111,11 @@ public class CheckoutControllerTestCasesTest {
                     RentalAgreementDto agreementDto = objectMapper.readValue(result.getResponse().getContentAsString(), RentalAgreementDto.class);
                     req.setRentalId(agreementDto.getRentalId());
                     assertEquals(LocalDate.parse("2020-07-05"), agreementDto.getDueDate());
-                    assertEquals(1.99, agreementDto.getDailyRentalCharge());
+                    assertEquals(1.99, agreementDto.getDailyRentalCharge().doubleValue());
                     assertEquals(2, agreementDto.getChargeDays());
-                    assertEquals(3.98, agreementDto.getPreDiscountCharge());
-                    assertEquals(0.40, agreementDto.getDiscountAmount());
-                    assertEquals(3.58, agreementDto.getFinalCharge());
+                    assertEquals(3.98, agreementDto.getPreDiscountCharge().doubleValue());
+                    assertEquals(0.40, agreementDto.getDiscountAmount().doubleValue());
+                    assertEquals(3.58, agreementDto.getFinalCharge().doubleValue());
                 });
 
         // Verify the content of the agreement document returned by GET request
@@ -174,11 +174,11 @@ public class CheckoutControllerTestCasesTest {
                     RentalAgreementDto agreementDto = objectMapper.readValue(result.getResponse().getContentAsString(), RentalAgreementDto.class);
                     req.setRentalId(agreementDto.getRentalId());
                     assertEquals(LocalDate.parse("2015-07-07"), agreementDto.getDueDate());
-                    assertEquals(1.49, agreementDto.getDailyRentalCharge());
+                    assertEquals(1.49, agreementDto.getDailyRentalCharge().doubleValue());
                     assertEquals(3, agreementDto.getChargeDays());
-                    assertEquals(4.47, agreementDto.getPreDiscountCharge());
-                    assertEquals(1.12, agreementDto.getDiscountAmount());
-                    assertEquals(3.35, agreementDto.getFinalCharge());
+                    assertEquals(4.47, agreementDto.getPreDiscountCharge().doubleValue());
+                    assertEquals(1.12, agreementDto.getDiscountAmount().doubleValue());
+                    assertEquals(3.35, agreementDto.getFinalCharge().doubleValue());
                 });
 
         // Verify the content of the agreement document returned by GET request
@@ -237,11 +237,11 @@ public class CheckoutControllerTestCasesTest {
                     RentalAgreementDto agreementDto = objectMapper.readValue(result.getResponse().getContentAsString(), RentalAgreementDto.class);
                     req.setRentalId(agreementDto.getRentalId());
                     assertEquals(LocalDate.parse("2015-09-09"), agreementDto.getDueDate());
-                    assertEquals(2.99, agreementDto.getDailyRentalCharge());
+                    assertEquals(2.99, agreementDto.getDailyRentalCharge().doubleValue());
                     assertEquals(3, agreementDto.getChargeDays());
-                    assertEquals(8.97, agreementDto.getPreDiscountCharge());
-                    assertEquals(0.00, agreementDto.getDiscountAmount());
-                    assertEquals(8.97, agreementDto.getFinalCharge());
+                    assertEquals(8.97, agreementDto.getPreDiscountCharge().doubleValue());
+                    assertEquals(0.00, agreementDto.getDiscountAmount().doubleValue());
+                    assertEquals(8.97, agreementDto.getFinalCharge().doubleValue());
                 });
 
         // Verify the content of the agreement document returned by GET request
@@ -316,11 +316,11 @@ public class CheckoutControllerTestCasesTest {
 
                     // Assert expected values in the rental agreement
                     assertEquals(LocalDate.parse("2015-07-11"), agreementDto.getDueDate());
-                    assertEquals(2.99, agreementDto.getDailyRentalCharge());
+                    assertEquals(2.99, agreementDto.getDailyRentalCharge().doubleValue());
                     assertEquals(5, agreementDto.getChargeDays());
-                    assertEquals(14.95, agreementDto.getPreDiscountCharge());
-                    assertEquals(0D, agreementDto.getDiscountAmount());
-                    assertEquals(14.95, agreementDto.getFinalCharge());
+                    assertEquals(14.95, agreementDto.getPreDiscountCharge().doubleValue());
+                    assertEquals(0D, agreementDto.getDiscountAmount().doubleValue());
+                    assertEquals(14.95, agreementDto.getFinalCharge().doubleValue());
                 });
     }
 
@@ -372,11 +372,11 @@ public class CheckoutControllerTestCasesTest {
 
                     // Assert expected values in the rental agreement
                     assertEquals(LocalDate.parse("2020-07-11"), agreementDto.getDueDate());
-                    assertEquals(2.99, agreementDto.getDailyRentalCharge());
+                    assertEquals(2.99, agreementDto.getDailyRentalCharge().doubleValue());
                     assertEquals(5, agreementDto.getChargeDays());
-                    assertEquals(14.95, agreementDto.getPreDiscountCharge());
-                    assertEquals(7.48, agreementDto.getDiscountAmount());
-                    assertEquals(7.47, agreementDto.getFinalCharge());
+                    assertEquals(14.95, agreementDto.getPreDiscountCharge().doubleValue());
+                    assertEquals(7.48, agreementDto.getDiscountAmount().doubleValue());
+                    assertEquals(7.47, agreementDto.getFinalCharge().doubleValue());
                 });
     }
 
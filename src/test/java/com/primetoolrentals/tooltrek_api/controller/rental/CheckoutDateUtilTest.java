@@ -2,12 +2,15 @@ package com.primetoolrentals.tooltrek_api.controller.rental;
 
 import com.primetoolrentals.tooltrek_api.dto.RentalDaysDto;
 import com.primetoolrentals.tooltrek_api.services.checkout.CheckoutDateUtil;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvFileSource;
 import org.junit.jupiter.params.provider.CsvSource;
 import org.junit.jupiter.params.provider.ValueSource;
 
+import java.time.DayOfWeek;
 import java.time.LocalDate;
+import java.util.Random;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -136,4 +139,85 @@ public class CheckoutDateUtilTest {
         LocalDate dueDate = CheckoutDateUtil.calculateDueDate(date, Integer.parseInt(rentalDayCount));
         assertEquals(expectedDueDate, dueDate);
     }
+
+    /**
+     * Compares CheckoutDateUtil.numberOfChargeDays against a day-by-day reference walk
+     * for random checkout dates and rental periods of up to several years.
+     */
+    @Test
+    public void numberOfChargeDaysMatchesDayByDayWalk() {
+        Random random = new Random(20240704L);
+        long firstCheckoutDay = LocalDate.parse("1990-01-01").toEpochDay();
+        long lastCheckoutDay = LocalDate.parse("2060-12-31").toEpochDay();
+
+        for (int i = 0; i < 20_000; i++) {
+            LocalDate checkoutDate = LocalDate.ofEpochDay(firstCheckoutDay + random.nextInt((int) (lastCheckoutDay - firstCheckoutDay)));
+            int rentalDayCount = 1 + random.nextInt(i % 10 == 0 ? 2_000 : 30);
+
+            RentalDaysDto expected = numberOfChargeDaysByDayWalk(checkoutDate, rentalDayCount);
+            RentalDaysDto actual = CheckoutDateUtil.numberOfChargeDays(checkoutDate, rentalDayCount);
+
+            String scenario = checkoutDate + " +" + rentalDayCount;
+            assertEquals(expected.getWeekdayRentalDays(), actual.getWeekdayRentalDays(), scenario);
+            assertEquals(expected.getWeekendRentalDays(), actual.getWeekendRentalDays(), scenario);
+            assertEquals(expected.getHolidaysRentalDays(), actual.getHolidaysRentalDays(), scenario);
+            assertEquals(expected.getTotalRentalDays(), actual.getTotalRentalDays(), scenario);
+        }
+    }
+
+    /**
+     * Reference implementation walking every rental day, kept to verify the arithmetic calculation.
+     *
+     * @param checkoutDate the checkout date.
+     * @param rentalDays   the rental day count.
+     * @return the breakdown of rental days.
+     */
+    private static RentalDaysDto numberOfChargeDaysByDayWalk(LocalDate checkoutDate, int rentalDays) {
+        int holidayRentalDays = 0;
+        int weekendRentalDays = 0;
+        int weekdayRentalDays = 0;
+        boolean observeIndependenceDay = false;
+
+        for (int i = 1; i <= rentalDays; i++) {
+            LocalDate rentalDay = checkoutDate.plusDays(i);
+
+            if (CheckoutDateUtil.isLaborDay(rentalDay)) {
+                holidayRentalDays++;
+                continue;
+            }
+
+            if (CheckoutDateUtil.isIndependenceDay(rentalDay)) {
+                if (!CheckoutDateUtil.isWeekend(rentalDay)) {
+                    holidayRentalDays++;
+                } else {
+                    weekendRentalDays++;
+                    if (rentalDay.getDayOfWeek().equals(DayOfWeek.SATURDAY)) {
+                        if (weekdayRentalDays > 0) {
+                            holidayRentalDays++;
+                            weekdayRentalDays--;
+                        }
+                    } else {
+                        observeIndependenceDay = true;
+                    }
+                }
+                continue;
+            }
+
+            if (CheckoutDateUtil.isWeekend(rentalDay)) {
+                weekendRentalDays++;
+            } else if (observeIndependenceDay) {
+                holidayRentalDays++;
+                observeIndependenceDay = false;
+            } else {
+                weekdayRentalDays++;
+            }
+        }
+
+        return RentalDaysDto.builder()
+                .totalRentalDays(weekdayRentalDays + holidayRentalDays + weekendRentalDays)
+                .weekdayRentalDays(weekdayRentalDays)
+                .holidaysRentalDays(holidayRentalDays)
+                .weekendRentalDays(weekendRentalDays)
+                .build();
+    }
 }
@@ -0,0 +1,247 @@
+package com.primetoolrentals.tooltrek_api.controller.rental;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.primetoolrentals.tooltrek_api.ClearDatabase;
+import com.primetoolrentals.tooltrek_api.ToolTrekApiApplication;
+import com.primetoolrentals.tooltrek_api.dto.RentalBulkRequestDto;
+import com.primetoolrentals.tooltrek_api.dto.RentalRequestDto;
+import com.primetoolrentals.tooltrek_api.entity.Rental;
+import com.primetoolrentals.tooltrek_api.entity.Tool;
+import com.primetoolrentals.tooltrek_api.entity.ToolBrand;
+import com.primetoolrentals.tooltrek_api.entity.ToolType;
+import com.primetoolrentals.tooltrek_api.repository.RentalRepository;
+import com.primetoolrentals.tooltrek_api.repository.ToolBrandRepository;
+import com.primetoolrentals.tooltrek_api.repository.ToolRepository;
+import com.primetoolrentals.tooltrek_api.repository.ToolTypeRepository;
+import com.primetoolrentals.tooltrek_api.services.availability.ToolAvailabilityIndex;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Tests the prevention of double bookings: a tool cannot be checked out for dates overlapping one of its rentals,
+ * from the day it is checked out until the day before it is due back.
+ */
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.MOCK,
+        classes = ToolTrekApiApplication.class,
+        properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+@ClearDatabase
+public class DoubleBookingTest {
+
+    private static final int CONCURRENT_CHECKOUTS = 8;
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ToolBrandRepository toolBrandRepository;
+
+    @Autowired
+    private ToolTypeRepository toolTypeRepository;
+
+    @Autowired
+    private ToolRepository toolRepository;
+
+    @Autowired
+    private RentalRepository rentalRepository;
+
+    @Autowired
+    private ToolAvailabilityIndex toolAvailabilityIndex;
+
+    private Tool ladw;
+    private Tool ladx;
+
+    /**
+     * Saves two ladders.
+     */
+    @BeforeEach
+    public void setUp() {
+        ToolBrand werner = toolBrandRepository.save(ToolBrand.builder().name("Werner").build());
+        ToolType ladder = toolTypeRepository.save(ToolType.builder()
+                .name("Ladder")
+                .dailyCharge(new BigDecimal("1.99"))
+                .isWeekdayCharge(true)
+                .isWeekendCharge(true)
+                .isHolidayCharge(false)
+                .build());
+        ladw = toolRepository.save(Tool.builder().code("LADW").toolBrand(werner).toolType(ladder).build());
+        ladx = toolRepository.save(Tool.builder().code("LADX").toolBrand(werner).toolType(ladder).build());
+    }
+
+    /**
+     * Tests checking out a tool for overlapping dates, expecting a Conflict response, while the dates before
+     * the rental and from its due date on are free, as are the same dates for another tool.
+     *
+     * @throws Exception if there is an error performing the HTTP requests.
+     */
+    @Test
+    public void checkout_overlappingDates_thenReturnConflict() throws Exception {
+        checkout(rental(ladw, "2020-07-02", 3)).andExpect(status().isCreated());
+
+        String response = checkout(rental(ladw, "2020-07-04", 2))
+                .andExpect(status().isConflict())
+                .andReturn().getResponse().getContentAsString();
+        assertEquals("Tool LADW is already rented from 2020-07-02 to 2020-07-05", response);
+        checkout(rental(ladw, "2020-06-25", 30)).andExpect(status().isConflict());
+
+        checkout(rental(ladw, "2020-07-05", 1)).andExpect(status().isCreated());
+        checkout(rental(ladw, "2020-06-30", 2)).andExpect(status().isCreated());
+        checkout(rental(ladx, "2020-07-02", 3)).andExpect(status().isCreated());
+        assertEquals(4, rentalRepository.count());
+    }
+
+    /**
+     * Tests that rentals saved outside the checkout are caught by the check against the database,
+     * and by the index without any statement once it is rebuilt from the rentals as done at startup.
+     *
+     * @throws Exception if there is an error performing the HTTP requests.
+     */
+    @Test
+    public void checkout_overlappingSavedRental_thenReturnConflict() throws Exception {
+        checkout(rental(ladw, "2020-08-03", 1)).andExpect(status().isCreated());
+        rentalRepository.save(Rental.builder()
+                .tool(ladw)
+                .rentalDate(LocalDate.parse("2020-07-02"))
+                .rentalDayCount(9)
+                .rentalDiscount(0)
+                .build());
+
+        checkout(rental(ladw, "2020-07-10", 2)).andExpect(status().isConflict());
+
+        toolAvailabilityIndex.rebuild();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        checkout(rental(ladw, "2020-07-10", 2)).andExpect(status().isConflict());
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(2, rentalRepository.count());
+    }
+
+    /**
+     * Tests checking out a tool for dates overlapping a rental before 1970, whose days have negative epoch days,
+     * expecting a Conflict response found by the index without any statement.
+     *
+     * @throws Exception if there is an error performing the HTTP requests.
+     */
+    @Test
+    public void checkout_overlappingRentalBefore1970_thenReturnConflict() throws Exception {
+        checkout(rental(ladw, "1969-12-30", 3)).andExpect(status().isCreated());
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        String response = checkout(rental(ladw, "1969-12-31", 1))
+                .andExpect(status().isConflict())
+                .andReturn().getResponse().getContentAsString();
+        assertEquals("Tool LADW is already rented from 1969-12-30 to 1970-01-02", response);
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    /**
+     * Tests checking out the same tool for the same dates concurrently: exactly one request gets a Created response
+     * and the others a Conflict response.
+     *
+     * @throws Exception if there is an error performing the HTTP requests.
+     */
+    @Test
+    public void checkoutConcurrently_sameToolAndDates_thenExactlyOneRental() throws Exception {
+        String body = objectMapper.writeValueAsString(rental(ladw, "2020-07-02", 3));
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(CONCURRENT_CHECKOUTS);
+        try {
+            List<Future<MockHttpServletResponse>> responses = new ArrayList<>();
+            for (int i = 0; i < CONCURRENT_CHECKOUTS; i++) {
+                responses.add(executor.submit(() -> {
+                    start.await();
+                    return mvc.perform(post("/api/rental").contentType("application/json").content(body)).andReturn().getResponse();
+                }));
+            }
+            start.countDown();
+
+            int created = 0;
+            for (Future<MockHttpServletResponse> future : responses) {
+                MockHttpServletResponse response = future.get();
+                if (response.getStatus() == 201) {
+                    created++;
+                } else {
+                    assertEquals(409, response.getStatus());
+                }
+            }
+            assertEquals(1, created);
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(1, rentalRepository.count());
+    }
+
+    /**
+     * Tests a bulk checkout renting a tool for overlapping dates, either already rented or twice within the request,
+     * expecting a Conflict response and no rental saved.
+     *
+     * @throws Exception if there is an error performing the HTTP requests.
+     */
+    @Test
+    public void bulk_overlappingDates_thenReturnConflictAndSaveNothing() throws Exception {
+        checkout(rental(ladw, "2020-07-02", 3)).andExpect(status().isCreated());
+
+        String response = bulk(rental(ladx, "2020-07-02", 3), rental(ladw, "2020-07-03", 1))
+                .andExpect(status().isConflict())
+                .andReturn().getResponse().getContentAsString();
+        assertEquals("Tool LADW is already rented from 2020-07-02 to 2020-07-05", response);
+
+        response = bulk(rental(ladx, "2020-07-06", 3), rental(ladx, "2020-07-02", 5))
+                .andExpect(status().isConflict())
+                .andReturn().getResponse().getContentAsString();
+        assertEquals("Tool LADX is already rented from 2020-07-02 to 2020-07-07", response);
+        assertEquals(1, rentalRepository.count());
+
+        bulk(rental(ladx, "2020-07-07", 3), rental(ladx, "2020-07-02", 5)).andExpect(status().isCreated());
+        assertEquals(3, rentalRepository.count());
+    }
+
+    private ResultActions checkout(RentalRequestDto rental) throws Exception {
+        return mvc.perform(post("/api/rental").contentType("application/json")
+                .content(objectMapper.writeValueAsString(rental)));
+    }
+
+    private ResultActions bulk(RentalRequestDto... rentals) throws Exception {
+        return mvc.perform(post("/api/rental/bulk").contentType("application/json")
+                .content(objectMapper.writeValueAsString(RentalBulkRequestDto.builder().rentals(List.of(rentals)).build())));
+    }
+
+    private static RentalRequestDto rental(Tool tool, String rentalDate, int rentalDayCount) {
+        return RentalRequestDto.builder()
+                .toolId(tool.getId())
+                .rentalDate(rentalDate)
+                .rentalDayCount(rentalDayCount)
+                .rentalDiscount(0)
+                .build();
+    }
+}
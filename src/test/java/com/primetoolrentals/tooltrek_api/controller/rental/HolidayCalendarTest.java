@@ -0,0 +1,118 @@
+package com.primetoolrentals.tooltrek_api.controller.rental;
+
+import com.primetoolrentals.tooltrek_api.dto.RentalDaysDto;
+import com.primetoolrentals.tooltrek_api.services.calendar.HolidayCalendar;
+import com.primetoolrentals.tooltrek_api.services.calendar.HolidayCalendar.DayClass;
+import com.primetoolrentals.tooltrek_api.services.checkout.CheckoutDateUtil;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvFileSource;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Unit tests for HolidayCalendar.
+ */
+public class HolidayCalendarTest {
+
+    /**
+     * Tests the day classes of the calendar.
+     *
+     * @param localDate        the date to classify.
+     * @param expectedDayClass the expected class of the day.
+     */
+    @ParameterizedTest
+    @CsvSource(value = {"2024-07-03,WEEKDAY", "2024-07-04,HOLIDAY", "2024-07-06,WEEKEND", "2024-09-02,HOLIDAY",
+            "2020-07-03,OBSERVED_HOLIDAY", "2020-07-04,WEEKEND", "2021-07-04,WEEKEND", "2021-07-05,OBSERVED_HOLIDAY"})
+    public void dayClassOfTest(String localDate, String expectedDayClass) {
+        HolidayCalendar calendar = new HolidayCalendar(CheckoutDateUtil.DEFAULT_HOLIDAY_RULES, 2000, 2099);
+        assertEquals(DayClass.valueOf(expectedDayClass), calendar.dayClassOf(LocalDate.parse(localDate)));
+    }
+
+    /**
+     * Tests the indexed calendar using the CSV file shared with CheckoutDateUtil.
+     *
+     * @param localDate                  the checkout date.
+     * @param rentalDayCount             the rental day count.
+     * @param expectedWeekdayRentalDays  expected number of weekday rental days.
+     * @param expectedWeekendRentalDays  expected number of weekend rental days.
+     * @param expectedHolidaysRentalDays expected number of holidays rental days.
+     */
+    @ParameterizedTest
+    @CsvFileSource(resources = "/dateUtils.csv", numLinesToSkip = 1)
+    public void validateCountRentalDays(String localDate, String rentalDayCount, String expectedWeekdayRentalDays, String expectedWeekendRentalDays, String expectedHolidaysRentalDays) {
+        HolidayCalendar calendar = new HolidayCalendar(CheckoutDateUtil.DEFAULT_HOLIDAY_RULES, 2000, 2099);
+        RentalDaysDto rentalDays = calendar.countRentalDays(LocalDate.parse(localDate), Integer.parseInt(rentalDayCount));
+        assertEquals(Integer.parseInt(expectedWeekdayRentalDays), rentalDays.getWeekdayRentalDays());
+        assertEquals(Integer.parseInt(expectedWeekendRentalDays), rentalDays.getWeekendRentalDays());
+        assertEquals(Integer.parseInt(expectedHolidaysRentalDays), rentalDays.getHolidaysRentalDays());
+        assertEquals(Integer.parseInt(rentalDayCount), rentalDays.getTotalRentalDays());
+    }
+
+    /**
+     * Compares the indexed calendar with a calendar whose span does not cover the queried years,
+     * which falls back to the arithmetic calculation.
+     */
+    @Test
+    public void indexedCalendarMatchesArithmeticCalculation() {
+        HolidayCalendar indexed = new HolidayCalendar(CheckoutDateUtil.DEFAULT_HOLIDAY_RULES, 1980, 2080);
+        HolidayCalendar arithmetic = new HolidayCalendar(CheckoutDateUtil.DEFAULT_HOLIDAY_RULES, 1900, 1900);
+        Random random = new Random(20200703L);
+
+        for (int i = 0; i < 20_000; i++) {
+            LocalDate checkoutDate = LocalDate.of(1990, 1, 1).plusDays(random.nextInt(365 * 70));
+            int rentalDayCount = 1 + random.nextInt(i % 10 == 0 ? 2_000 : 30);
+
+            RentalDaysDto expected = arithmetic.countRentalDays(checkoutDate, rentalDayCount);
+            RentalDaysDto actual = indexed.countRentalDays(checkoutDate, rentalDayCount);
+
+            String scenario = checkoutDate + " +" + rentalDayCount;
+            assertEquals(expected.getWeekdayRentalDays(), actual.getWeekdayRentalDays(), scenario);
+            assertEquals(expected.getWeekendRentalDays(), actual.getWeekendRentalDays(), scenario);
+            assertEquals(expected.getHolidaysRentalDays(), actual.getHolidaysRentalDays(), scenario);
+        }
+    }
+
+    /**
+     * Queries a freshly created calendar from several threads while its years are being indexed.
+     *
+     * @throws Exception if a query fails.
+     */
+    @Test
+    public void concurrentQueriesReturnSameResults() throws Exception {
+        HolidayCalendar shared = new HolidayCalendar(CheckoutDateUtil.DEFAULT_HOLIDAY_RULES, 2000, 2099);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int thread = 0; thread < 8; thread++) {
+                long seed = thread;
+                futures.add(executor.submit(() -> {
+                    Random random = new Random(seed);
+                    for (int i = 0; i < 5_000; i++) {
+                        LocalDate checkoutDate = LocalDate.of(2000, 1, 1).plusDays(random.nextInt(365 * 95));
+                        int rentalDayCount = 1 + random.nextInt(400);
+                        RentalDaysDto expected = CheckoutDateUtil.numberOfChargeDays(checkoutDate, rentalDayCount);
+                        RentalDaysDto actual = shared.countRentalDays(checkoutDate, rentalDayCount);
+                        assertEquals(expected.getWeekdayRentalDays(), actual.getWeekdayRentalDays());
+                        assertEquals(expected.getWeekendRentalDays(), actual.getWeekendRentalDays());
+                        assertEquals(expected.getHolidaysRentalDays(), actual.getHolidaysRentalDays());
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.primetoolrentals.tooltrek_api.controller.rental;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.primetoolrentals.tooltrek_api.dto.Money;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.math.BigDecimal;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Unit tests for Money.
+ */
+public class MoneyTest {
+
+    /**
+     * Tests that percentages are rounded half up to whole cents.
+     *
+     * @param amount          the amount in dollars.
+     * @param percent         the percentage.
+     * @param expectedPercent the expected percentage of the amount in dollars.
+     */
+    @ParameterizedTest
+    @CsvSource(value = {"14.95,50,7.48", "4.47,25,1.12", "3.98,10,0.40", "0.01,50,0.01", "0.01,49,0.00",
+            "-14.95,50,-7.48", "8.97,0,0.00", "8.97,100,8.97"})
+    public void percentRoundsHalfUp(String amount, int percent, String expectedPercent) {
+        assertEquals(new BigDecimal(expectedPercent), Money.of(new BigDecimal(amount)).percent(percent).toBigDecimal());
+    }
+
+    /**
+     * Tests that amounts are serialized to JSON exactly as the equivalent double values were.
+     *
+     * @throws Exception if there is an error during JSON processing.
+     */
+    @Test
+    public void jsonMatchesDoubleRepresentation() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+        Random random = new Random(358L);
+        for (int i = 0; i < 10_000; i++) {
+            long cents = random.nextInt(10_000_000);
+            double amount = BigDecimal.valueOf(cents, 2).doubleValue();
+            String json = objectMapper.writeValueAsString(Money.ofCents(cents));
+            assertEquals(objectMapper.writeValueAsString(amount), json);
+            assertEquals(Money.ofCents(cents), objectMapper.readValue(json, Money.class));
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.primetoolrentals.tooltrek_api.controller.rental;
+
+import com.primetoolrentals.tooltrek_api.ClearDatabase;
+import com.primetoolrentals.tooltrek_api.ToolTrekApiApplication;
+import com.primetoolrentals.tooltrek_api.entity.Rental;
+import com.primetoolrentals.tooltrek_api.entity.Tool;
+import com.primetoolrentals.tooltrek_api.entity.ToolBrand;
+import com.primetoolrentals.tooltrek_api.entity.ToolType;
+import com.primetoolrentals.tooltrek_api.repository.RentalRepository;
+import com.primetoolrentals.tooltrek_api.repository.ToolBrandRepository;
+import com.primetoolrentals.tooltrek_api.repository.ToolRepository;
+import com.primetoolrentals.tooltrek_api.repository.ToolTypeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for the rental agreement document endpoint of CheckoutController and its template variants.
+ */
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.MOCK,
+        classes = ToolTrekApiApplication.class)
+@AutoConfigureMockMvc
+@ClearDatabase
+public class RentalAgreementControllerTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private ToolBrandRepository toolBrandRepository;
+
+    @Autowired
+    private ToolTypeRepository toolTypeRepository;
+
+    @Autowired
+    private ToolRepository toolRepository;
+
+    @Autowired
+    private RentalRepository rentalRepository;
+
+    private Rental rental;
+
+    /**
+     * Saves a ladder rental of 3 days from 07/02/20 with a 10% discount.
+     */
+    @BeforeEach
+    public void setUp() {
+        ToolBrand brand = toolBrandRepository.save(ToolBrand.builder().name("Werner & Sons").build());
+        ToolType type = toolTypeRepository.save(ToolType.builder()
+                .name("Ladder")
+                .dailyCharge(new BigDecimal("1.99"))
+                .isWeekdayCharge(true)
+                .isWeekendCharge(true)
+                .isHolidayCharge(false)
+                .build());
+        Tool tool = toolRepository.save(Tool.builder().code("LADW").toolBrand(brand).toolType(type).build());
+        rental = rentalRepository.save(Rental.builder()
+                .tool(tool)
+                .rentalDate(LocalDate.parse("2020-07-02"))
+                .rentalDayCount(3)
+                .rentalDiscount(10)
+                .build());
+    }
+
+    /**
+     * Tests retrieving the default plain text agreement.
+     *
+     * @throws Exception if there is an error performing the HTTP request or validating the response.
+     */
+    @Test
+    public void getAgreement_defaultVariant_thenReturnPlainText() throws Exception {
+        String document = mvc.perform(get("/api/rental/{rentalId}/agreement", rental.getId()))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("text/plain;charset=UTF-8"))
+                .andReturn().getResponse().getContentAsString();
+
+        assertEquals("""
+                Rental Agreement
+
+                Tool code: LADW
+                Tool type: Ladder
+                Tool brand: Werner & Sons
+                Check out date: 07/02/20
+                Due date: 07/05/20
+                Daily rental charge: $1.99
+                Charge days: 2
+                Pre-discount charge: $3.98
+                Discount percent: 10%
+                Discount amount: $0.40
+                Final charge: $3.58""", document);
+    }
+
+    /**
+     * Tests retrieving the HTML agreement, expecting the values to be escaped.
+     *
+     * @throws Exception if there is an error performing the HTTP request or validating the response.
+     */
+    @Test
+    public void getAgreement_htmlVariant_thenReturnEscapedHtml() throws Exception {
+        String document = mvc.perform(get("/api/rental/{rentalId}/agreement", rental.getId()).param("variant", "HTML"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("text/html;charset=UTF-8"))
+                .andReturn().getResponse().getContentAsString();
+
+        assertTrue(document.startsWith("<!DOCTYPE html>"));
+        assertTrue(document.contains("<td>Werner &amp; Sons</td>"));
+        assertTrue(document.contains("<td><strong>$3.58</strong></td>"));
+    }
+
+    /**
+     * Tests retrieving the receipt agreement, expecting every line to fit the receipt width
+     * and the values to be aligned to the right.
+     *
+     * @throws Exception if there is an error performing the HTTP request or validating the response.
+     */
+    @Test
+    public void getAgreement_receiptVariant_thenReturnAlignedLines() throws Exception {
+        String document = mvc.perform(get("/api/rental/{rentalId}/agreement", rental.getId()).param("variant", "RECEIPT"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("text/plain;charset=UTF-8"))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = document.split("\n");
+        assertEquals("            RENTAL AGREEMENT", lines[0]);
+        assertEquals("-".repeat(40), lines[1]);
+        assertEquals("Tool brand:                Werner & Sons", lines[4]);
+        assertEquals("FINAL CHARGE:                      $3.58", lines[lines.length - 1]);
+        for (String line : lines) {
+            assertTrue(line.length() <= 40, line);
+        }
+    }
+
+    /**
+     * Tests retrieving the agreement of a rental that does not exist, expecting a NotFound response.
+     *
+     * @throws Exception if there is an error performing the HTTP request.
+     */
+    @Test
+    public void getAgreement_unknownRental_thenReturnNotFound() throws Exception {
+        mvc.perform(get("/api/rental/{rentalId}/agreement", rental.getId() + 1))
+                .andExpect(status().isNotFound());
+    }
+
+    /**
+     * Tests retrieving an agreement with an unknown variant, expecting a BadRequest response.
+     *
+     * @throws Exception if there is an error performing the HTTP request.
+     */
+    @Test
+    public void getAgreement_unknownVariant_thenReturnBadRequest() throws Exception {
+        mvc.perform(get("/api/rental/{rentalId}/agreement", rental.getId()).param("variant", "PDF"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,202 @@
+package com.primetoolrentals.tooltrek_api.controller.rental;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.primetoolrentals.tooltrek_api.ClearDatabase;
+import com.primetoolrentals.tooltrek_api.ToolTrekApiApplication;
+import com.primetoolrentals.tooltrek_api.dto.RentalAgreementDto;
+import com.primetoolrentals.tooltrek_api.dto.RentalBulkRequestDto;
+import com.primetoolrentals.tooltrek_api.dto.RentalBulkResponseDto;
+import com.primetoolrentals.tooltrek_api.dto.RentalRequestDto;
+import com.primetoolrentals.tooltrek_api.dto.ToolTypeChargesDto;
+import com.primetoolrentals.tooltrek_api.entity.Rental;
+import com.primetoolrentals.tooltrek_api.entity.RentalAgreement;
+import com.primetoolrentals.tooltrek_api.entity.Tool;
+import com.primetoolrentals.tooltrek_api.entity.ToolBrand;
+import com.primetoolrentals.tooltrek_api.entity.ToolType;
+import com.primetoolrentals.tooltrek_api.repository.RentalAgreementRepository;
+import com.primetoolrentals.tooltrek_api.repository.RentalRepository;
+import com.primetoolrentals.tooltrek_api.repository.ToolBrandRepository;
+import com.primetoolrentals.tooltrek_api.repository.ToolRepository;
+import com.primetoolrentals.tooltrek_api.repository.ToolTypeRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for the agreement snapshots saved at checkout: an agreement is read back as a single row,
+ * with the charges of the time of the rental.
+ */
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.MOCK,
+        classes = ToolTrekApiApplication.class,
+        properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+@ClearDatabase
+public class RentalAgreementSnapshotTest {
+
+    private static final String LADW_AGREEMENT = """
+            Rental Agreement
+
+            Tool code: LADW
+            Tool type: Ladder
+            Tool brand: Werner
+            Check out date: 07/02/20
+            Due date: 07/05/20
+            Daily rental charge: $1.99
+            Charge days: 2
+            Pre-discount charge: $3.98
+            Discount percent: 10%
+            Discount amount: $0.40
+            Final charge: $3.58""";
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ToolBrandRepository toolBrandRepository;
+
+    @Autowired
+    private ToolTypeRepository toolTypeRepository;
+
+    @Autowired
+    private ToolRepository toolRepository;
+
+    @Autowired
+    private RentalRepository rentalRepository;
+
+    @Autowired
+    private RentalAgreementRepository rentalAgreementRepository;
+
+    private ToolType ladder;
+    private Tool ladw;
+    private Tool ladx;
+
+    /**
+     * Saves two ladders.
+     */
+    @BeforeEach
+    public void setUp() {
+        ToolBrand werner = toolBrandRepository.save(ToolBrand.builder().name("Werner").build());
+        ladder = toolTypeRepository.save(ToolType.builder()
+                .name("Ladder")
+                .dailyCharge(new BigDecimal("1.99"))
+                .isWeekdayCharge(true)
+                .isWeekendCharge(true)
+                .isHolidayCharge(false)
+                .build());
+        ladw = toolRepository.save(Tool.builder().code("LADW").toolBrand(werner).toolType(ladder).build());
+        ladx = toolRepository.save(Tool.builder().code("LADX").toolBrand(werner).toolType(ladder).build());
+    }
+
+    /**
+     * Tests retrieving the agreement of a rental after the price of its tool type changed: the agreement keeps
+     * the charges computed at checkout, and is rendered after reading the agreement only.
+     *
+     * @throws Exception if there is an error performing the HTTP requests or validating the responses.
+     */
+    @Test
+    public void getAgreement_afterPriceChange_thenReturnChargesAtCheckout() throws Exception {
+        String response = mvc.perform(post("/api/rental").contentType("application/json")
+                        .content(objectMapper.writeValueAsString(rental(ladw, "2020-07-02", 3))))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        Long rentalId = objectMapper.readValue(response, RentalAgreementDto.class).getRentalId();
+
+        RentalAgreement snapshot = rentalAgreementRepository.findById(rentalId).orElseThrow();
+        assertEquals(LocalDate.of(2020, 7, 5), snapshot.getDueDate());
+        assertEquals(0, new BigDecimal("3.58").compareTo(snapshot.getFinalCharge()));
+
+        mvc.perform(patch("/api/tool-type/" + ladder.getId()).contentType("application/json")
+                        .content(objectMapper.writeValueAsString(ToolTypeChargesDto.builder().dailyCharge(2.99).isHolidayCharge(true).build())))
+                .andExpect(status().isOk());
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        String document = mvc.perform(get("/api/rental/{rentalId}/agreement", rentalId))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertEquals(LADW_AGREEMENT, document);
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getEntityLoadCount());
+    }
+
+    /**
+     * Tests checking out several tools at once: the agreement of every rental is saved with it.
+     *
+     * @throws Exception if there is an error performing the HTTP request or validating the response.
+     */
+    @Test
+    public void checkoutTools_thenSaveEveryAgreement() throws Exception {
+        String response = mvc.perform(post("/api/rental/bulk").contentType("application/json")
+                        .content(objectMapper.writeValueAsString(RentalBulkRequestDto.builder()
+                                .rentals(List.of(rental(ladw, "2020-07-02", 3), rental(ladx, "2020-07-03", 4)))
+                                .build())))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+
+        for (RentalAgreementDto agreement : objectMapper.readValue(response, RentalBulkResponseDto.class).getAgreements()) {
+            RentalAgreement snapshot = rentalAgreementRepository.findById(agreement.getRentalId()).orElseThrow();
+            assertEquals(agreement.getToolCode(), snapshot.getToolCode());
+            assertEquals(agreement.getChargeDays(), snapshot.getChargeDays());
+            assertEquals(0, agreement.getFinalCharge().toBigDecimal().compareTo(snapshot.getFinalCharge()));
+        }
+        assertEquals(2, rentalAgreementRepository.count());
+    }
+
+    /**
+     * Tests retrieving the agreement of a rental saved without one: the agreement is priced on the first retrieval
+     * and saved, and later retrievals read the saved agreement.
+     *
+     * @throws Exception if there is an error performing the HTTP requests or validating the responses.
+     */
+    @Test
+    public void getAgreement_rentalWithoutAgreement_thenSaveAgreement() throws Exception {
+        Rental rental = rentalRepository.save(Rental.builder()
+                .tool(ladw)
+                .rentalDate(LocalDate.parse("2020-07-02"))
+                .rentalDayCount(3)
+                .rentalDiscount(10)
+                .build());
+        assertFalse(rentalAgreementRepository.existsById(rental.getId()));
+
+        for (int i = 0; i < 2; i++) {
+            String document = mvc.perform(get("/api/rental/{rentalId}/agreement", rental.getId()))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            assertEquals(LADW_AGREEMENT, document);
+            assertTrue(rentalAgreementRepository.existsById(rental.getId()));
+        }
+    }
+
+    private static RentalRequestDto rental(Tool tool, String rentalDate, int rentalDayCount) {
+        return RentalRequestDto.builder()
+                .toolId(tool.getId())
+                .rentalDate(rentalDate)
+                .rentalDayCount(rentalDayCount)
+                .rentalDiscount(10)
+                .build();
+    }
+}
@@ -0,0 +1,211 @@
+package com.primetoolrentals.tooltrek_api.controller.rental;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.primetoolrentals.tooltrek_api.ClearDatabase;
+import com.primetoolrentals.tooltrek_api.ToolTrekApiApplication;
+import com.primetoolrentals.tooltrek_api.dto.RentalAgreementDto;
+import com.primetoolrentals.tooltrek_api.dto.RentalBulkRequestDto;
+import com.primetoolrentals.tooltrek_api.dto.RentalBulkResponseDto;
+import com.primetoolrentals.tooltrek_api.dto.RentalRequestDto;
+import com.primetoolrentals.tooltrek_api.entity.Tool;
+import com.primetoolrentals.tooltrek_api.entity.ToolBrand;
+import com.primetoolrentals.tooltrek_api.entity.ToolType;
+import com.primetoolrentals.tooltrek_api.repository.RentalRepository;
+import com.primetoolrentals.tooltrek_api.repository.ToolBrandRepository;
+import com.primetoolrentals.tooltrek_api.repository.ToolRepository;
+import com.primetoolrentals.tooltrek_api.repository.ToolTypeRepository;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.MessageSource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for the bulk checkout endpoint of CheckoutController: the rentals are saved all at once
+ * with batched inserts, or not at all.
+ */
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.MOCK,
+        classes = ToolTrekApiApplication.class,
+        properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.primetoolrentals.tooltrek_api.controller.rental.RentalBulkControllerTest$SqlRecorder")
+@AutoConfigureMockMvc
+@ClearDatabase
+public class RentalBulkControllerTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MessageSource messageSource;
+
+    @Autowired
+    private ToolBrandRepository toolBrandRepository;
+
+    @Autowired
+    private ToolTypeRepository toolTypeRepository;
+
+    @Autowired
+    private ToolRepository toolRepository;
+
+    @Autowired
+    private RentalRepository rentalRepository;
+
+    /**
+     * Tests checking out many tools at once: all rentals are saved and their agreements returned in order,
+     * and the rentals and their agreements are each inserted by a single batched statement.
+     *
+     * @throws Exception if there is an error performing the HTTP request or validating the response.
+     */
+    @Test
+    public void bulk_validRentals_thenReturnCreated() throws Exception {
+        Tool ladw = saveTool("LADW", "Werner", "Ladder", "1.99", true, true, false);
+        Tool jakr = saveTool("JAKR", "Ridgid", "Jackhammer", "2.99", true, false, false);
+
+        // A tool cannot be rented twice for the same dates, so every rental takes its own copy of the tools
+        List<RentalRequestDto> rentals = new ArrayList<>();
+        for (int i = 0; i < 15; i++) {
+            char suffix = (char) ('A' + i);
+            rentals.add(rental(copyTool(ladw, "LADW" + suffix), "2020-07-02", 3, 10));
+            rentals.add(rental(copyTool(jakr, "JAKR" + suffix), "2020-07-02", 9, 50));
+        }
+        String body = objectMapper.writeValueAsString(RentalBulkRequestDto.builder().rentals(rentals).build());
+
+        SqlRecorder.STATEMENTS.clear();
+        String response = mvc.perform(post("/api/rental/bulk").contentType("application/json").content(body))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        List<String> statements = List.copyOf(SqlRecorder.STATEMENTS);
+        RentalBulkResponseDto result = objectMapper.readValue(response, RentalBulkResponseDto.class);
+
+        assertTrue(result.getErrors().isEmpty());
+        assertEquals(rentals.size(), result.getAgreements().size());
+        for (int i = 0; i < rentals.size(); i += 2) {
+            assertEquals(3.58, result.getAgreements().get(i).getFinalCharge().doubleValue());
+            assertEquals(7.47, result.getAgreements().get(i + 1).getFinalCharge().doubleValue());
+        }
+        assertEquals(rentals.size(), result.getAgreements().stream().map(RentalAgreementDto::getRentalId).distinct().count());
+        assertEquals(rentals.size(), rentalRepository.count());
+
+        assertEquals(1, count(statements, "insert into rentals "), statements::toString);
+        assertEquals(1, count(statements, "insert into rental_agreements "), statements::toString);
+        assertEquals(2, count(statements, "insert "), statements::toString);
+    }
+
+    /**
+     * Tests a bulk checkout with invalid rentals: the errors are reported per rental and no rental is saved.
+     *
+     * @throws Exception if there is an error performing the HTTP request or validating the response.
+     */
+    @Test
+    public void bulk_invalidRentals_thenReturnErrorsAndSaveNothing() throws Exception {
+        Tool jakr = saveTool("JAKR", "Ridgid", "Jackhammer", "2.99", true, false, false);
+        List<RentalRequestDto> rentals = List.of(
+                rental(jakr, "2020-07-02", 9, 50),
+                RentalRequestDto.builder().toolId(jakr.getId() + 1).rentalDate("2020-07-02").rentalDayCount(4).rentalDiscount(0).build(),
+                rental(jakr, "2020-07-02", 0, 101));
+        String body = objectMapper.writeValueAsString(RentalBulkRequestDto.builder().rentals(rentals).build());
+
+        String response = mvc.perform(post("/api/rental/bulk").contentType("application/json").content(body))
+                .andExpect(status().isBadRequest())
+                .andReturn().getResponse().getContentAsString();
+        RentalBulkResponseDto result = objectMapper.readValue(response, RentalBulkResponseDto.class);
+
+        assertTrue(result.getAgreements().isEmpty());
+        assertEquals(2, result.getErrors().size());
+        assertEquals(1, result.getErrors().get(0).getIndex());
+        assertEquals(List.of(messageSource.getMessage("rental.request.tool.notfound", null, null, Locale.ENGLISH)),
+                result.getErrors().get(0).getErrors());
+        assertEquals(2, result.getErrors().get(1).getIndex());
+        assertTrue(result.getErrors().get(1).getErrors().contains(messageSource.getMessage("rental.request.daycount.invalid", null, null, Locale.ENGLISH)));
+        assertTrue(result.getErrors().get(1).getErrors().contains(messageSource.getMessage("rental.request.discount.invalid", null, null, Locale.ENGLISH)));
+        assertEquals(0, rentalRepository.count());
+    }
+
+    /**
+     * Creates a rental request.
+     *
+     * @param tool           the tool to rent.
+     * @param rentalDate     the checkout date.
+     * @param rentalDayCount the number of rental days.
+     * @param rentalDiscount the discount percent.
+     * @return the rental request.
+     */
+    private RentalRequestDto rental(Tool tool, String rentalDate, int rentalDayCount, int rentalDiscount) {
+        return RentalRequestDto.builder()
+                .toolId(tool.getId())
+                .rentalDate(rentalDate)
+                .rentalDayCount(rentalDayCount)
+                .rentalDiscount(rentalDiscount)
+                .build();
+    }
+
+    /**
+     * Saves a tool with its own brand and type.
+     *
+     * @param code          the tool code.
+     * @param brandName     the tool brand name.
+     * @param typeName      the tool type name.
+     * @param dailyCharge   the daily charge of the tool type.
+     * @param weekdayCharge whether weekdays are charged.
+     * @param weekendCharge whether weekends are charged.
+     * @param holidayCharge whether holidays are charged.
+     * @return the saved tool.
+     */
+    private Tool saveTool(String code, String brandName, String typeName, String dailyCharge,
+                          boolean weekdayCharge, boolean weekendCharge, boolean holidayCharge) {
+        ToolBrand brand = toolBrandRepository.save(ToolBrand.builder().name(brandName).build());
+        ToolType type = toolTypeRepository.save(ToolType.builder()
+                .name(typeName)
+                .dailyCharge(new BigDecimal(dailyCharge))
+                .isWeekdayCharge(weekdayCharge)
+                .isWeekendCharge(weekendCharge)
+                .isHolidayCharge(holidayCharge)
+                .build());
+        return toolRepository.save(Tool.builder().code(code).toolBrand(brand).toolType(type).build());
+    }
+
+    /**
+     * Saves a tool with the brand and type of another tool.
+     *
+     * @param tool the tool to copy.
+     * @param code the code of the copy.
+     * @return the saved copy.
+     */
+    private Tool copyTool(Tool tool, String code) {
+        return toolRepository.save(Tool.builder().code(code).toolBrand(tool.getToolBrand()).toolType(tool.getToolType()).build());
+    }
+
+    private static long count(List<String> statements, String prefix) {
+        return statements.stream().filter(sql -> sql.startsWith(prefix)).count();
+    }
+
+    /**
+     * Records the SQL statements prepared by Hibernate; a batched statement is prepared once for the whole batch.
+     */
+    public static class SqlRecorder implements StatementInspector {
+
+        private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
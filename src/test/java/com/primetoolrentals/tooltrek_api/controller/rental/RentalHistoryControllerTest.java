@@ -0,0 +1,227 @@
+package com.primetoolrentals.tooltrek_api.controller.rental;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.primetoolrentals.tooltrek_api.ClearDatabase;
+import com.primetoolrentals.tooltrek_api.ToolTrekApiApplication;
+import com.primetoolrentals.tooltrek_api.dto.RentalSummaryDto;
+import com.primetoolrentals.tooltrek_api.entity.Rental;
+import com.primetoolrentals.tooltrek_api.entity.Tool;
+import com.primetoolrentals.tooltrek_api.entity.ToolBrand;
+import com.primetoolrentals.tooltrek_api.entity.ToolType;
+import com.primetoolrentals.tooltrek_api.repository.RentalRepository;
+import com.primetoolrentals.tooltrek_api.repository.ToolBrandRepository;
+import com.primetoolrentals.tooltrek_api.repository.ToolRepository;
+import com.primetoolrentals.tooltrek_api.repository.ToolTypeRepository;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for the rental history: the rentals are listed in rental date order across the pages,
+ * filtered by tool and rental date, and every page is read from a covering index without sorting.
+ */
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.MOCK,
+        classes = ToolTrekApiApplication.class,
+        properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.primetoolrentals.tooltrek_api.controller.rental.RentalHistoryControllerTest$SqlRecorder")
+@AutoConfigureMockMvc
+@ClearDatabase
+public class RentalHistoryControllerTest {
+
+    private static final int RENTALS_PER_TOOL = 100;
+
+    private static final LocalDate FIRST_RENTAL_DATE = LocalDate.of(2020, 1, 1);
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ToolBrandRepository toolBrandRepository;
+
+    @Autowired
+    private ToolTypeRepository toolTypeRepository;
+
+    @Autowired
+    private ToolRepository toolRepository;
+
+    @Autowired
+    private RentalRepository rentalRepository;
+
+    private Tool ladw;
+    private Tool ladx;
+    private List<Rental> rentals;
+
+    /**
+     * Saves two ladders, each rented for a day every other day, the second one on the days between,
+     * saved in the reverse order of their dates so that the ID order differs from the rental date order.
+     */
+    @BeforeEach
+    public void setUp() {
+        ToolBrand werner = toolBrandRepository.save(ToolBrand.builder().name("Werner").build());
+        ToolType ladder = toolTypeRepository.save(ToolType.builder()
+                .name("Ladder")
+                .dailyCharge(new BigDecimal("1.99"))
+                .isWeekdayCharge(true)
+                .isWeekendCharge(true)
+                .isHolidayCharge(false)
+                .build());
+        ladw = toolRepository.save(Tool.builder().code("LADW").toolBrand(werner).toolType(ladder).build());
+        ladx = toolRepository.save(Tool.builder().code("LADX").toolBrand(werner).toolType(ladder).build());
+
+        List<Rental> newRentals = new ArrayList<>();
+        for (int i = RENTALS_PER_TOOL - 1; i >= 0; i--) {
+            newRentals.add(rental(ladw, FIRST_RENTAL_DATE.plusDays(2L * i), i % 10));
+            newRentals.add(rental(ladx, FIRST_RENTAL_DATE.plusDays(2L * i + 1), i % 10));
+        }
+        rentals = rentalRepository.saveAll(newRentals);
+        SqlRecorder.STATEMENTS.clear();
+    }
+
+    /**
+     * Tests listing all the rentals by following the Link headers: every rental is listed once,
+     * in rental date order, with its due date.
+     *
+     * @throws Exception if there is an error performing the HTTP requests or validating the responses.
+     */
+    @Test
+    public void findRentals_followLinks_thenListAllInDateOrder() throws Exception {
+        List<RentalSummaryDto> listed = listAll("/api/rental?limit=30");
+
+        List<Rental> expected = rentals.stream().sorted(Comparator.comparing(Rental::getRentalDate)).toList();
+        assertEquals(expected.stream().map(Rental::getId).toList(), listed.stream().map(RentalSummaryDto::getRentalId).toList());
+
+        RentalSummaryDto first = listed.get(0);
+        assertEquals(ladw.getId(), first.getToolId());
+        assertEquals(FIRST_RENTAL_DATE, first.getRentalDate());
+        assertEquals(1, first.getRentalDayCount());
+        assertEquals(0, first.getRentalDiscount());
+        assertEquals(FIRST_RENTAL_DATE.plusDays(1), first.getDueDate());
+    }
+
+    /**
+     * Tests listing the rentals of a tool within a date range, both bounds included, across pages.
+     *
+     * @throws Exception if there is an error performing the HTTP requests or validating the responses.
+     */
+    @Test
+    public void findRentals_toolAndDateRange_thenListOnlyThose() throws Exception {
+        List<RentalSummaryDto> listed = listAll("/api/rental?toolId=" + ladx.getId() + "&from=2020-01-10&to=2020-02-10&limit=4");
+
+        List<LocalDate> dates = listed.stream().map(RentalSummaryDto::getRentalDate).toList();
+        assertEquals(16, dates.size());
+        assertEquals(LocalDate.of(2020, 1, 10), dates.get(0));
+        assertEquals(LocalDate.of(2020, 2, 9), dates.get(dates.size() - 1));
+        assertTrue(listed.stream().allMatch(rental -> rental.getToolId().equals(ladx.getId())));
+
+        List<RentalSummaryDto> allTools = listAll("/api/rental?from=2020-01-10&to=2020-01-10");
+        assertEquals(1, allTools.size());
+        assertEquals(ladx.getId(), allTools.get(0).getToolId());
+    }
+
+    /**
+     * Tests the invalid requests: a range ending before it starts, an invalid date or page size and an unknown afterId.
+     *
+     * @throws Exception if there is an error performing the HTTP requests.
+     */
+    @Test
+    public void findRentals_invalidRequest_thenReturnError() throws Exception {
+        mvc.perform(get("/api/rental?from=2020-02-01&to=2020-01-31")).andExpect(status().isBadRequest());
+        mvc.perform(get("/api/rental?from=01/02/20")).andExpect(status().isBadRequest());
+        mvc.perform(get("/api/rental?limit=0")).andExpect(status().isBadRequest());
+        mvc.perform(get("/api/rental?toolId=0")).andExpect(status().isBadRequest());
+        mvc.perform(get("/api/rental?afterId=" + (rentals.get(0).getId() + rentals.size()))).andExpect(status().isNotFound());
+    }
+
+    /**
+     * Tests the plans of the page queries with and without a tool filter: each is a range scan of its covering index,
+     * read from the index only and already in the rental date order, without a filesort.
+     *
+     * @throws Exception if there is an error performing the HTTP requests.
+     */
+    @Test
+    public void findRentals_thenReadCoveringIndexWithoutSort() throws Exception {
+        Long afterId = rentals.get(RENTALS_PER_TOOL).getId();
+        LocalDate afterDate = rentals.get(RENTALS_PER_TOOL).getRentalDate();
+
+        mvc.perform(get("/api/rental?toolId=" + ladw.getId() + "&from=2020-01-05&afterId=" + afterId + "&limit=10"))
+                .andExpect(status().isOk());
+        assertPlan("idx_rentals_tool_history",
+                ladw.getId(), Date.valueOf(afterDate), Date.valueOf(afterDate), afterId, Date.valueOf("9999-12-31"), 0, 11);
+
+        mvc.perform(get("/api/rental?to=2020-03-01&limit=10")).andExpect(status().isOk());
+        assertPlan("idx_rentals_date_history",
+                Date.valueOf("1000-01-01"), Date.valueOf("1000-01-01"), 0, Date.valueOf("2020-03-01"), 0, 11);
+    }
+
+    private void assertPlan(String index, Object... parameters) {
+        String sql = SqlRecorder.STATEMENTS.stream()
+                .filter(statement -> statement.contains("order by"))
+                .reduce((previous, last) -> last).orElseThrow();
+        List<Map<String, Object>> plan = jdbcTemplate.queryForList("explain " + sql, parameters);
+
+        assertEquals(1, plan.size(), plan::toString);
+        assertEquals(index, plan.get(0).get("key"), plan::toString);
+        String extra = String.valueOf(plan.get(0).get("Extra"));
+        assertTrue(extra.contains("Using index"), extra);
+        assertFalse(extra.contains("filesort"), extra);
+    }
+
+    private List<RentalSummaryDto> listAll(String url) throws Exception {
+        List<RentalSummaryDto> listed = new ArrayList<>();
+        String next = url;
+        while (next != null) {
+            MockHttpServletResponse response = mvc.perform(get(next)).andExpect(status().isOk()).andReturn().getResponse();
+            listed.addAll(objectMapper.readValue(response.getContentAsString(), new TypeReference<List<RentalSummaryDto>>() {
+            }));
+            String link = response.getHeader(HttpHeaders.LINK);
+            next = link != null ? link.substring(link.indexOf("/api/"), link.indexOf('>')) : null;
+        }
+        return listed;
+    }
+
+    private static Rental rental(Tool tool, LocalDate rentalDate, int discount) {
+        return Rental.builder().tool(tool).rentalDate(rentalDate).rentalDayCount(1).rentalDiscount(discount).build();
+    }
+
+    /**
+     * Records the SQL statements prepared by Hibernate, so that their plans can be explained.
+     */
+    public static class SqlRecorder implements StatementInspector {
+
+        private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
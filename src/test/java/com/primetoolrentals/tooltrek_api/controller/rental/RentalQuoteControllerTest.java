@@ -0,0 +1,193 @@
+package com.primetoolrentals.tooltrek_api.controller.rental;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.primetoolrentals.tooltrek_api.ClearDatabase;
+import com.primetoolrentals.tooltrek_api.ToolTrekApiApplication;
+import com.primetoolrentals.tooltrek_api.dto.RentalAgreementDto;
+import com.primetoolrentals.tooltrek_api.dto.RentalQuoteRequestDto;
+import com.primetoolrentals.tooltrek_api.dto.RentalRequestDto;
+import com.primetoolrentals.tooltrek_api.entity.Tool;
+import com.primetoolrentals.tooltrek_api.entity.ToolBrand;
+import com.primetoolrentals.tooltrek_api.entity.ToolType;
+import com.primetoolrentals.tooltrek_api.exception.ApiError;
+import com.primetoolrentals.tooltrek_api.repository.RentalRepository;
+import com.primetoolrentals.tooltrek_api.repository.ToolBrandRepository;
+import com.primetoolrentals.tooltrek_api.repository.ToolRepository;
+import com.primetoolrentals.tooltrek_api.repository.ToolTypeRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.MessageSource;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for the rental quote endpoint of CheckoutController.
+ */
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.MOCK,
+        classes = ToolTrekApiApplication.class)
+@AutoConfigureMockMvc
+@ClearDatabase
+public class RentalQuoteControllerTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MessageSource messageSource;
+
+    @Autowired
+    private ToolBrandRepository toolBrandRepository;
+
+    @Autowired
+    private ToolTypeRepository toolTypeRepository;
+
+    @Autowired
+    private ToolRepository toolRepository;
+
+    @Autowired
+    private RentalRepository rentalRepository;
+
+    /**
+     * Tests quoting many scenarios: the agreements are returned in the order of the scenarios,
+     * priced like checkouts, and no rental is persisted.
+     *
+     * @throws Exception if there is an error performing the HTTP request or validating the response.
+     */
+    @Test
+    public void quote_manyScenarios_thenReturnAgreementsInOrder() throws Exception {
+        Tool ladw = saveTool("LADW", "Werner", "Ladder", "1.99", true, true, false);
+        Tool chns = saveTool("CHNS", "Stihl", "Chainsaw", "1.49", true, false, true);
+        Tool jakr = saveTool("JAKR", "Ridgid", "Jackhammer", "2.99", true, false, false);
+
+        // The checkout test cases, repeated to have more scenarios than quote threads
+        List<RentalRequestDto> scenarios = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            scenarios.add(scenario(ladw, "2020-07-02", 3, 10));
+            scenarios.add(scenario(chns, "2015-07-02", 5, 25));
+            scenarios.add(scenario(jakr, "2015-07-02", 9, 0));
+            scenarios.add(scenario(jakr, "2020-07-02", 9, 50));
+        }
+        String body = objectMapper.writeValueAsString(RentalQuoteRequestDto.builder().scenarios(scenarios).build());
+
+        String response = mvc.perform(post("/api/rental/quote").contentType("application/json").content(body))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        List<RentalAgreementDto> agreements = objectMapper.readValue(response, new TypeReference<>() {
+        });
+
+        assertEquals(scenarios.size(), agreements.size());
+        for (int i = 0; i < agreements.size(); i += 4) {
+            assertEquals("LADW", agreements.get(i).getToolCode());
+            assertEquals(3.58, agreements.get(i).getFinalCharge().doubleValue());
+            assertEquals("CHNS", agreements.get(i + 1).getToolCode());
+            assertEquals(3.35, agreements.get(i + 1).getFinalCharge().doubleValue());
+            assertEquals(14.95, agreements.get(i + 2).getFinalCharge().doubleValue());
+            assertEquals(7.47, agreements.get(i + 3).getFinalCharge().doubleValue());
+            assertNull(agreements.get(i).getRentalId());
+        }
+        assertEquals(0, rentalRepository.count());
+    }
+
+    /**
+     * Tests quoting a scenario with a tool that does not exist, expecting a NotFound response.
+     *
+     * @throws Exception if there is an error performing the HTTP request.
+     */
+    @Test
+    public void quote_unknownTool_thenReturnNotFound() throws Exception {
+        Tool jakr = saveTool("JAKR", "Ridgid", "Jackhammer", "2.99", true, false, false);
+        RentalQuoteRequestDto req = RentalQuoteRequestDto.builder()
+                .scenarios(List.of(scenario(jakr, "2020-07-02", 4, 50),
+                        RentalRequestDto.builder().toolId(jakr.getId() + 1).rentalDate("2020-07-02").rentalDayCount(4).rentalDiscount(0).build()))
+                .build();
+
+        mvc.perform(post("/api/rental/quote").contentType("application/json").content(objectMapper.writeValueAsString(req)))
+                .andExpect(status().isNotFound());
+    }
+
+    /**
+     * Tests quoting without scenarios or with an invalid scenario, expecting a BadRequest response.
+     *
+     * @throws Exception if there is an error performing the HTTP request or validating the response.
+     */
+    @Test
+    public void quote_invalidScenarios_thenReturnBadRequest() throws Exception {
+        RentalQuoteRequestDto empty = RentalQuoteRequestDto.builder().scenarios(List.of()).build();
+        mvc.perform(post("/api/rental/quote").contentType("application/json").content(objectMapper.writeValueAsString(empty)))
+                .andExpect(status().isBadRequest())
+                .andExpect(result -> {
+                    ApiError apiError = objectMapper.readValue(result.getResponse().getContentAsString(), ApiError.class);
+                    assertEquals(HttpStatus.BAD_REQUEST, apiError.getStatus());
+                    assertTrue(apiError.getErrors().contains(messageSource.getMessage("rental.quote.scenarios.required", null, null, Locale.ENGLISH)));
+                });
+
+        RentalQuoteRequestDto invalid = RentalQuoteRequestDto.builder()
+                .scenarios(List.of(RentalRequestDto.builder().toolId(1L).rentalDate("2020-07-02").rentalDayCount(0).rentalDiscount(0).build()))
+                .build();
+        mvc.perform(post("/api/rental/quote").contentType("application/json").content(objectMapper.writeValueAsString(invalid)))
+                .andExpect(status().isBadRequest())
+                .andExpect(result -> {
+                    ApiError apiError = objectMapper.readValue(result.getResponse().getContentAsString(), ApiError.class);
+                    assertTrue(apiError.getErrors().contains(messageSource.getMessage("rental.request.daycount.invalid", null, null, Locale.ENGLISH)));
+                });
+    }
+
+    /**
+     * Creates a rental scenario.
+     *
+     * @param tool           the tool to rent.
+     * @param rentalDate     the checkout date.
+     * @param rentalDayCount the number of rental days.
+     * @param rentalDiscount the discount percent.
+     * @return the rental request.
+     */
+    private RentalRequestDto scenario(Tool tool, String rentalDate, int rentalDayCount, int rentalDiscount) {
+        return RentalRequestDto.builder()
+                .toolId(tool.getId())
+                .rentalDate(rentalDate)
+                .rentalDayCount(rentalDayCount)
+                .rentalDiscount(rentalDiscount)
+                .build();
+    }
+
+    /**
+     * Saves a tool with its own brand and type.
+     *
+     * @param code          the tool code.
+     * @param brandName     the tool brand name.
+     * @param typeName      the tool type name.
+     * @param dailyCharge   the daily charge of the tool type.
+     * @param weekdayCharge whether weekdays are charged.
+     * @param weekendCharge whether weekends are charged.
+     * @param holidayCharge whether holidays are charged.
+     * @return the saved tool.
+     */
+    private Tool saveTool(String code, String brandName, String typeName, String dailyCharge,
+                          boolean weekdayCharge, boolean weekendCharge, boolean holidayCharge) {
+        ToolBrand brand = toolBrandRepository.save(ToolBrand.builder().name(brandName).build());
+        ToolType type = toolTypeRepository.save(ToolType.builder()
+                .name(typeName)
+                .dailyCharge(new BigDecimal(dailyCharge))
+                .isWeekdayCharge(weekdayCharge)
+                .isWeekendCharge(weekendCharge)
+                .isHolidayCharge(holidayCharge)
+                .build());
+        return toolRepository.save(Tool.builder().code(code).toolBrand(brand).toolType(type).build());
+    }
+}
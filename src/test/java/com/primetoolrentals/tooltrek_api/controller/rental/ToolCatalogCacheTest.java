@@ -0,0 +1,244 @@
+package com.primetoolrentals.tooltrek_api.controller.rental;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.primetoolrentals.tooltrek_api.ClearDatabase;
+import com.primetoolrentals.tooltrek_api.ToolTrekApiApplication;
+import com.primetoolrentals.tooltrek_api.dto.RentalAgreementDto;
+import com.primetoolrentals.tooltrek_api.dto.RentalRequestDto;
+import com.primetoolrentals.tooltrek_api.dto.ToolCatalogCacheStatsDto;
+import com.primetoolrentals.tooltrek_api.entity.Tool;
+import com.primetoolrentals.tooltrek_api.entity.ToolBrand;
+import com.primetoolrentals.tooltrek_api.entity.ToolType;
+import com.primetoolrentals.tooltrek_api.repository.ToolBrandRepository;
+import com.primetoolrentals.tooltrek_api.repository.ToolRepository;
+import com.primetoolrentals.tooltrek_api.repository.ToolTypeRepository;
+import com.primetoolrentals.tooltrek_api.services.catalog.ToolCatalogCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for the tool catalog cache used by checkout. The maximum size is reduced to 2
+ * to test the eviction of the least recently used tools.
+ */
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.MOCK,
+        classes = ToolTrekApiApplication.class,
+        properties = "tooltrek.catalog-cache.max-size=2")
+@AutoConfigureMockMvc
+@ClearDatabase
+public class ToolCatalogCacheTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ToolBrandRepository toolBrandRepository;
+
+    @Autowired
+    private ToolTypeRepository toolTypeRepository;
+
+    @Autowired
+    private ToolRepository toolRepository;
+
+    @Autowired
+    private ToolCatalogCache toolCatalogCache;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private ToolBrand werner;
+    private ToolType ladder;
+    private ToolType chainsaw;
+    private Tool ladw;
+    private Tool chns;
+    private Tool chnw;
+
+    /**
+     * The date of the next rental; every rental is a week after the previous one, since a tool cannot be rented
+     * twice for the same dates, and the weeks of March 2020 have no holidays, so the rentals are priced the same.
+     */
+    private LocalDate nextRentalDate = LocalDate.parse("2020-03-03");
+
+    /**
+     * Saves two brands, two types and three tools.
+     */
+    @BeforeEach
+    public void setUp() {
+        werner = toolBrandRepository.save(ToolBrand.builder().name("Werner").build());
+        ToolBrand stihl = toolBrandRepository.save(ToolBrand.builder().name("Stihl").build());
+        ladder = toolTypeRepository.save(toolType("Ladder", "1.99"));
+        chainsaw = toolTypeRepository.save(toolType("Chainsaw", "1.49"));
+        ladw = toolRepository.save(Tool.builder().code("LADW").toolBrand(werner).toolType(ladder).build());
+        chns = toolRepository.save(Tool.builder().code("CHNS").toolBrand(stihl).toolType(chainsaw).build());
+        chnw = toolRepository.save(Tool.builder().code("CHNW").toolBrand(werner).toolType(chainsaw).build());
+    }
+
+    /**
+     * Tests that repeated checkouts of a tool read it from the database once, and that the agreement is the same.
+     *
+     * @throws Exception if there is an error performing the HTTP request or validating the response.
+     */
+    @Test
+    public void checkout_sameToolTwice_thenReadToolOnce() throws Exception {
+        ToolCatalogCacheStatsDto before = stats();
+
+        RentalAgreementDto first = checkout(ladw);
+        RentalAgreementDto second = checkout(ladw);
+
+        ToolCatalogCacheStatsDto after = stats();
+        assertEquals(1, after.getMisses() - before.getMisses());
+        assertEquals(1, after.getHits() - before.getHits());
+        assertEquals(1, after.getSize());
+        assertEquals("LADW", second.getToolCode());
+        assertEquals("Werner", second.getToolBrand());
+        assertEquals("Ladder", second.getToolType());
+        assertEquals(first.getFinalCharge(), second.getFinalCharge());
+        assertNotEquals(first.getRentalId(), second.getRentalId());
+    }
+
+    /**
+     * Tests that a write of a brand or type invalidates the cached tools of that brand or type only.
+     *
+     * @throws Exception if there is an error performing the HTTP request or validating the response.
+     */
+    @Test
+    public void evictBrandOrType_thenInvalidateItsToolsOnly() throws Exception {
+        checkout(ladw);
+        checkout(chns);
+        ToolCatalogCacheStatsDto before = stats();
+
+        toolCatalogCache.evictToolType(ladder.getId());
+        assertTrue(toolCatalogCache.findByCode("CHNS").isPresent());
+        assertFalse(toolCatalogCache.findByCode("LADX").isPresent());
+
+        ToolCatalogCacheStatsDto afterTypeWrite = stats();
+        assertEquals(1, afterTypeWrite.getInvalidations() - before.getInvalidations());
+        assertEquals(1, afterTypeWrite.getHits() - before.getHits());
+        assertEquals(1, afterTypeWrite.getSize());
+
+        toolCatalogCache.evictToolBrand(werner.getId());
+        assertEquals(1, stats().getSize());
+
+        checkout(ladw);
+        assertEquals(2, stats().getMisses() - before.getMisses());
+    }
+
+    /**
+     * Tests a change of the daily charge committed by another instance of the application, which increments
+     * the catalog version in the database: once the version is polled, the cached tools are invalidated,
+     * so that checkout prices the tool at the new daily charge.
+     *
+     * @throws Exception if there is an error performing the HTTP request or validating the response.
+     */
+    @Test
+    public void updateChargeElsewhere_afterPoll_thenInvalidateCachedTools() throws Exception {
+        checkout(ladw);
+        assertEquals(new BigDecimal("1.99"), toolCatalogCache.findByCode("LADW").orElseThrow().dailyCharge());
+
+        jdbcTemplate.update("update tool_types set daily_charge = 2.99 where id = ?", ladder.getId());
+        jdbcTemplate.update("update data_versions set version = version + 1, updated_on = current_timestamp(6) where name = 'catalog'");
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        while (stats().getSize() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(100);
+        }
+
+        assertEquals(2.99, checkout(ladw).getDailyRentalCharge().doubleValue());
+        assertEquals(new BigDecimal("2.99"), toolCatalogCache.findByCode("LADW").orElseThrow().dailyCharge());
+    }
+
+    /**
+     * Tests that the least recently used tool is evicted once the maximum size is reached.
+     *
+     * @throws Exception if there is an error performing the HTTP request or validating the response.
+     */
+    @Test
+    public void checkout_moreToolsThanMaxSize_thenEvictLeastRecentlyUsed() throws Exception {
+        ToolCatalogCacheStatsDto before = stats();
+
+        checkout(ladw);
+        checkout(chns);
+        checkout(ladw);
+        checkout(chnw);
+
+        ToolCatalogCacheStatsDto after = stats();
+        assertEquals(1, after.getEvictions() - before.getEvictions());
+        assertEquals(2, after.getSize());
+        assertEquals(2, after.getMaxSize());
+        assertTrue(toolCatalogCache.findByCode("LADW").isPresent());
+        assertEquals(3, stats().getMisses() - before.getMisses());
+
+        checkout(chns);
+        assertEquals(4, stats().getMisses() - before.getMisses());
+    }
+
+    /**
+     * Tests that a tool added through the API is found by checkout.
+     *
+     * @throws Exception if there is an error performing the HTTP request or validating the response.
+     */
+    @Test
+    public void createTool_thenCheckoutFindsIt() throws Exception {
+        mvc.perform(post("/api/rental").contentType("application/json")
+                        .content(objectMapper.writeValueAsString(rentalRequest(chnw.getId() + 1))))
+                .andExpect(status().isNotFound());
+
+        String body = "{\"code\":\"LADX\",\"toolBrandId\":" + werner.getId() + ",\"toolTypeId\":" + ladder.getId() + "}";
+        mvc.perform(post("/api/tool").contentType("application/json").content(body))
+                .andExpect(status().isCreated());
+        Tool ladx = toolRepository.findAll().stream().filter(tool -> tool.getCode().equals("LADX")).findFirst().orElseThrow();
+
+        assertEquals("LADX", checkout(ladx).getToolCode());
+    }
+
+    private RentalAgreementDto checkout(Tool tool) throws Exception {
+        String response = mvc.perform(post("/api/rental").contentType("application/json")
+                        .content(objectMapper.writeValueAsString(rentalRequest(tool.getId()))))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readValue(response, RentalAgreementDto.class);
+    }
+
+    private ToolCatalogCacheStatsDto stats() throws Exception {
+        String response = mvc.perform(get("/api/tool/cache-stats"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readValue(response, ToolCatalogCacheStatsDto.class);
+    }
+
+    private RentalRequestDto rentalRequest(Long toolId) {
+        LocalDate rentalDate = nextRentalDate;
+        nextRentalDate = nextRentalDate.plusWeeks(1);
+        return RentalRequestDto.builder()
+                .toolId(toolId)
+                .rentalDate(rentalDate.toString())
+                .rentalDayCount(3)
+                .rentalDiscount(10)
+                .build();
+    }
+
+    private static ToolType toolType(String name, String dailyCharge) {
+        return ToolType.builder()
+                .name(name)
+                .dailyCharge(new BigDecimal(dailyCharge))
+                .isWeekdayCharge(true)
+                .isWeekendCharge(true)
+                .isHolidayCharge(false)
+                .build();
+    }
+}
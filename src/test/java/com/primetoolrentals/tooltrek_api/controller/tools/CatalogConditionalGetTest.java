@@ -0,0 +1,178 @@
+package com.primetoolrentals.tooltrek_api.controller.tools;
+
+import com.primetoolrentals.tooltrek_api.ClearDatabase;
+import com.primetoolrentals.tooltrek_api.ToolTrekApiApplication;
+import com.primetoolrentals.tooltrek_api.entity.Tool;
+import com.primetoolrentals.tooltrek_api.entity.ToolBrand;
+import com.primetoolrentals.tooltrek_api.entity.ToolType;
+import com.primetoolrentals.tooltrek_api.repository.ToolBrandRepository;
+import com.primetoolrentals.tooltrek_api.repository.ToolRepository;
+import com.primetoolrentals.tooltrek_api.repository.ToolTypeRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Tests the conditional GET of the catalog listings with the ETag of the catalog version,
+ * and the update time of the catalog entities.
+ */
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.MOCK,
+        classes = ToolTrekApiApplication.class,
+        properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+@ClearDatabase
+public class CatalogConditionalGetTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ToolBrandRepository toolBrandRepository;
+
+    @Autowired
+    private ToolTypeRepository toolTypeRepository;
+
+    @Autowired
+    private ToolRepository toolRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private ToolBrand werner;
+
+    /**
+     * Saves a tool with its brand and type.
+     */
+    @BeforeEach
+    public void setUp() {
+        werner = toolBrandRepository.save(ToolBrand.builder().name("Werner").build());
+        ToolType ladder = toolTypeRepository.save(ToolType.builder()
+                .name("Ladder")
+                .dailyCharge(new BigDecimal("1.99"))
+                .isWeekdayCharge(true)
+                .isWeekendCharge(true)
+                .isHolidayCharge(false)
+                .build());
+        toolRepository.save(Tool.builder().code("LADW").toolBrand(werner).toolType(ladder).build());
+    }
+
+    /**
+     * Tests that every listing carries the ETag of the catalog version, and that a request with
+     * that ETag gets a 304 response without any statement being run.
+     *
+     * @throws Exception if there is an error performing the HTTP request or validating the response.
+     */
+    @Test
+    public void findCatalog_matchingETag_thenReturnNotModifiedWithoutQuery() throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        for (String url : new String[]{"/api/tool", "/api/tool-brand", "/api/tool-type?namePrefix=L"}) {
+            MockHttpServletResponse response = mvc.perform(get(url))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse();
+            String etag = response.getHeader(HttpHeaders.ETAG);
+            assertNotNull(etag, url);
+            assertTrue(etag.startsWith("\""), etag);
+            assertNotNull(response.getHeader(HttpHeaders.LAST_MODIFIED), url);
+
+            statistics.clear();
+            MockHttpServletResponse notModified = mvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, etag))
+                    .andExpect(status().isNotModified())
+                    .andReturn().getResponse();
+            assertEquals("", notModified.getContentAsString());
+            assertEquals(etag, notModified.getHeader(HttpHeaders.ETAG));
+            assertEquals(0, statistics.getPrepareStatementCount(), url);
+        }
+    }
+
+    /**
+     * Tests that a write through the API changes the ETag, so that the previous ETag gets the new listing.
+     *
+     * @throws Exception if there is an error performing the HTTP request or validating the response.
+     */
+    @Test
+    public void createBrand_thenPreviousETagGetsNewListing() throws Exception {
+        String etag = mvc.perform(get("/api/tool-brand"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mvc.perform(post("/api/tool-brand").contentType("application/json").content("{\"name\":\"Stihl\"}"))
+                .andExpect(status().isCreated());
+
+        MockHttpServletResponse response = mvc.perform(get("/api/tool-brand").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse();
+        assertNotEquals(etag, response.getHeader(HttpHeaders.ETAG));
+        assertTrue(response.getContentAsString().contains("Stihl"));
+
+        mvc.perform(get("/api/tool").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+    }
+
+    /**
+     * Tests a write committed by another instance of the application, which increments the catalog version in the
+     * database: the background poll picks up the version, so that the previous ETag gets the new listing.
+     *
+     * @throws Exception if there is an error performing the HTTP request or validating the response.
+     */
+    @Test
+    public void saveBrandElsewhere_afterPoll_thenPreviousETagGetsNewListing() throws Exception {
+        String etag = mvc.perform(get("/api/tool-brand"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        toolBrandRepository.save(ToolBrand.builder().name("Stihl").build());
+        jdbcTemplate.update("update data_versions set version = version + 1, updated_on = current_timestamp(6) where name = 'catalog'");
+
+        MockHttpServletResponse response;
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        do {
+            Thread.sleep(100);
+            response = mvc.perform(get("/api/tool-brand").header(HttpHeaders.IF_NONE_MATCH, etag))
+                    .andReturn().getResponse();
+        } while (response.getStatus() == 304 && System.nanoTime() < deadline);
+        assertEquals(200, response.getStatus());
+        assertNotEquals(etag, response.getHeader(HttpHeaders.ETAG));
+        assertTrue(response.getContentAsString().contains("Stihl"));
+    }
+
+    /**
+     * Tests that lastUpdatedOn is set on insert and advanced on update, while createdOn is kept.
+     */
+    @Test
+    public void updateBrand_thenLastUpdatedOnAdvances() {
+        Instant createdOn = werner.getCreatedOn();
+        Instant insertedOn = werner.getLastUpdatedOn();
+        assertNotNull(insertedOn);
+
+        ToolBrand brand = toolBrandRepository.findById(werner.getId()).orElseThrow();
+        brand.setName("Werner Co");
+        ToolBrand updated = toolBrandRepository.save(brand);
+
+        assertTrue(updated.getLastUpdatedOn().isAfter(insertedOn));
+        ToolBrand reloaded = toolBrandRepository.findById(werner.getId()).orElseThrow();
+        assertEquals("Werner Co", reloaded.getName());
+        assertTrue(reloaded.getLastUpdatedOn().isAfter(reloaded.getCreatedOn()));
+        assertEquals(createdOn.toEpochMilli(), reloaded.getCreatedOn().toEpochMilli());
+    }
+}
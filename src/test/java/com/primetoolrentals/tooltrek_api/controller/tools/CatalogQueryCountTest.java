@@ -0,0 +1,143 @@
+package com.primetoolrentals.tooltrek_api.controller.tools;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.primetoolrentals.tooltrek_api.ClearDatabase;
+import com.primetoolrentals.tooltrek_api.ToolTrekApiApplication;
+import com.primetoolrentals.tooltrek_api.dto.ToolDto;
+import com.primetoolrentals.tooltrek_api.entity.Tool;
+import com.primetoolrentals.tooltrek_api.entity.ToolBrand;
+import com.primetoolrentals.tooltrek_api.entity.ToolType;
+import com.primetoolrentals.tooltrek_api.repository.ToolBrandRepository;
+import com.primetoolrentals.tooltrek_api.repository.ToolRepository;
+import com.primetoolrentals.tooltrek_api.repository.ToolTypeRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Tests counting the SQL statements of the catalog endpoints with Hibernate statistics:
+ * the listings must run a single query whatever the number of distinct brands and types,
+ * without loading any entity.
+ */
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.MOCK,
+        classes = ToolTrekApiApplication.class,
+        properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+@ClearDatabase
+public class CatalogQueryCountTest {
+
+    private static final int BRAND_AND_TYPE_COUNT = 5;
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ToolBrandRepository toolBrandRepository;
+
+    @Autowired
+    private ToolTypeRepository toolTypeRepository;
+
+    @Autowired
+    private ToolRepository toolRepository;
+
+    private Statistics statistics;
+    private Tool firstTool;
+
+    /**
+     * Saves tools of distinct brands and types, then resets the statistics.
+     */
+    @BeforeEach
+    public void setUp() {
+        List<Tool> tools = new ArrayList<>();
+        for (int i = 0; i < BRAND_AND_TYPE_COUNT; i++) {
+            ToolBrand brand = toolBrandRepository.save(ToolBrand.builder().name("Brand " + i).build());
+            ToolType type = toolTypeRepository.save(ToolType.builder()
+                    .name("Type " + i)
+                    .dailyCharge(new BigDecimal("1.99"))
+                    .isWeekdayCharge(true)
+                    .isWeekendCharge(false)
+                    .isHolidayCharge(false)
+                    .build());
+            tools.add(Tool.builder().code("TOOL" + (char) ('A' + i)).toolBrand(brand).toolType(type).build());
+        }
+        firstTool = toolRepository.saveAll(tools).get(0);
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    /**
+     * Tests that listing tools runs one statement and loads no entity.
+     *
+     * @throws Exception if there is an error performing the HTTP request or validating the response.
+     */
+    @Test
+    public void findTools_thenRunSingleStatement() throws Exception {
+        String response = mvc.perform(get("/api/tool"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertEquals(BRAND_AND_TYPE_COUNT, objectMapper.readValue(response, ToolDto[].class).length);
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    /**
+     * Tests that listing tool brands and tool types runs one statement each and loads no entity.
+     *
+     * @throws Exception if there is an error performing the HTTP request.
+     */
+    @Test
+    public void findBrandsAndTypes_thenRunSingleStatementEach() throws Exception {
+        mvc.perform(get("/api/tool-brand")).andExpect(status().isOk());
+        assertEquals(1, statistics.getPrepareStatementCount());
+
+        mvc.perform(get("/api/tool-type")).andExpect(status().isOk());
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    /**
+     * Tests that creating a tool with a used code runs the query of its brand and type and the insert rejected
+     * by the unique key of the codes, loading the brand and the type only.
+     *
+     * @throws Exception if there is an error performing the HTTP request.
+     */
+    @Test
+    public void createTool_usedCode_thenRejectedByUniqueKey() throws Exception {
+        ToolDto tool = ToolDto.builder()
+                .code(firstTool.getCode())
+                .toolBrandId(firstTool.getToolBrand().getId())
+                .toolTypeId(firstTool.getToolType().getId())
+                .build();
+        String response = mvc.perform(post("/api/tool").contentType("application/json").content(objectMapper.writeValueAsString(tool)))
+                .andExpect(status().isNotAcceptable())
+                .andReturn().getResponse().getContentAsString();
+
+        assertEquals("Tool already exists: TOOLA", response);
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(2, statistics.getEntityLoadCount());
+    }
+}
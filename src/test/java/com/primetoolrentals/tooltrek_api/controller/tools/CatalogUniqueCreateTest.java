@@ -0,0 +1,193 @@
+package com.primetoolrentals.tooltrek_api.controller.tools;
+
+import com.primetoolrentals.tooltrek_api.ClearDatabase;
+import com.primetoolrentals.tooltrek_api.ToolTrekApiApplication;
+import com.primetoolrentals.tooltrek_api.entity.ToolBrand;
+import com.primetoolrentals.tooltrek_api.entity.ToolType;
+import com.primetoolrentals.tooltrek_api.repository.ToolBrandRepository;
+import com.primetoolrentals.tooltrek_api.repository.ToolRepository;
+import com.primetoolrentals.tooltrek_api.repository.ToolTypeRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Tests the creates of tools, tool brands and tool types relying on the unique keys of the database:
+ * concurrent creates of the same code or name have exactly one winner, and a create runs half the
+ * statements of a check for the code or name followed by the inserts.
+ */
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.MOCK,
+        classes = ToolTrekApiApplication.class,
+        properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+@ClearDatabase
+public class CatalogUniqueCreateTest {
+
+    private static final int CONCURRENT_CREATES = 8;
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ToolBrandRepository toolBrandRepository;
+
+    @Autowired
+    private ToolTypeRepository toolTypeRepository;
+
+    @Autowired
+    private ToolRepository toolRepository;
+
+    private ToolBrand werner;
+    private ToolType ladder;
+
+    /**
+     * Saves the brand and the type of the tools created by the tests.
+     */
+    @BeforeEach
+    public void setUp() {
+        werner = toolBrandRepository.save(ToolBrand.builder().name("Werner").build());
+        ladder = toolTypeRepository.save(ToolType.builder()
+                .name("Ladder")
+                .dailyCharge(new BigDecimal("1.99"))
+                .isWeekdayCharge(true)
+                .isWeekendCharge(true)
+                .isHolidayCharge(false)
+                .build());
+    }
+
+    /**
+     * Tests creating the same tool, tool brand and tool type concurrently: exactly one request of each
+     * gets a 201 response and the others get a 406 response with the message of the used code or name.
+     *
+     * @throws Exception if there is an error performing the HTTP requests.
+     */
+    @Test
+    public void createConcurrently_sameCodeOrName_thenExactlyOneWinner() throws Exception {
+        assertOneWinner("/api/tool", toolBody("LADX"), "Tool already exists: LADX");
+        assertOneWinner("/api/tool-brand", "{\"name\":\"Stihl\"}", "Tool brand already exists: Stihl");
+        assertOneWinner("/api/tool-type", toolTypeBody("Chainsaw"), "Tool type already exists: Chainsaw");
+
+        assertEquals(1, toolRepository.findAll().stream().filter(tool -> tool.getCode().equals("LADX")).count());
+        assertEquals(2, toolBrandRepository.count());
+        assertEquals(2, toolTypeRepository.count());
+    }
+
+    /**
+     * Tests the number of statements of the creates, after a first create of each has allocated a block of IDs:
+     * a tool brand or tool type is created by its insert and the increment and read of the catalog version,
+     * and a tool by the query of its brand and type as well. The code or name is not checked first.
+     *
+     * @throws Exception if there is an error performing the HTTP requests.
+     */
+    @Test
+    public void create_thenInsertWithoutCheck() throws Exception {
+        create("/api/tool", toolBody("LADA"));
+        create("/api/tool-brand", "{\"name\":\"Bosch\"}");
+        create("/api/tool-type", toolTypeBody("Jackhammer"));
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        statistics.clear();
+        create("/api/tool", toolBody("LADB"));
+        assertEquals(4, statistics.getPrepareStatementCount());
+
+        statistics.clear();
+        create("/api/tool-brand", "{\"name\":\"Makita\"}");
+        assertEquals(3, statistics.getPrepareStatementCount());
+
+        statistics.clear();
+        create("/api/tool-type", toolTypeBody("Chainsaw"));
+        assertEquals(3, statistics.getPrepareStatementCount());
+    }
+
+    /**
+     * Tests creating a tool with an unknown brand or type, expecting a NotFound response.
+     *
+     * @throws Exception if there is an error performing the HTTP requests.
+     */
+    @Test
+    public void createTool_unknownBrandOrType_thenReturnNotFound() throws Exception {
+        String unknownBrand = "{\"code\":\"LADX\",\"toolBrandId\":" + (werner.getId() + 100) + ",\"toolTypeId\":" + ladder.getId() + "}";
+        String unknownType = "{\"code\":\"LADX\",\"toolBrandId\":" + werner.getId() + ",\"toolTypeId\":" + (ladder.getId() + 100) + "}";
+
+        assertEquals("Selected tool brand does not exist", mvc.perform(post("/api/tool").contentType("application/json").content(unknownBrand))
+                .andExpect(status().isNotFound())
+                .andReturn().getResponse().getErrorMessage());
+        assertEquals("Selected tool type does not exist", mvc.perform(post("/api/tool").contentType("application/json").content(unknownType))
+                .andExpect(status().isNotFound())
+                .andReturn().getResponse().getErrorMessage());
+    }
+
+    /**
+     * Posts the same create from several threads released together, and checks that one of them gets
+     * a 201 response and all the others a 406 response with the given message.
+     *
+     * @param url     The URL of the create.
+     * @param body    The JSON body of the create.
+     * @param message The expected message of the 406 responses.
+     * @throws Exception if there is an error performing the HTTP requests.
+     */
+    private void assertOneWinner(String url, String body, String message) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(CONCURRENT_CREATES);
+        try {
+            List<Future<MockHttpServletResponse>> responses = new ArrayList<>();
+            for (int i = 0; i < CONCURRENT_CREATES; i++) {
+                responses.add(executor.submit(() -> {
+                    start.await();
+                    return mvc.perform(post(url).contentType("application/json").content(body)).andReturn().getResponse();
+                }));
+            }
+            start.countDown();
+
+            int created = 0;
+            for (Future<MockHttpServletResponse> future : responses) {
+                MockHttpServletResponse response = future.get();
+                if (response.getStatus() == 201) {
+                    created++;
+                } else {
+                    assertEquals(406, response.getStatus(), url);
+                    assertEquals(message, response.getContentAsString());
+                }
+            }
+            assertEquals(1, created, url);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private void create(String url, String body) throws Exception {
+        mvc.perform(post(url).contentType("application/json").content(body))
+                .andExpect(status().isCreated());
+    }
+
+    private String toolBody(String code) {
+        return "{\"code\":\"" + code + "\",\"toolBrandId\":" + werner.getId() + ",\"toolTypeId\":" + ladder.getId() + "}";
+    }
+
+    private static String toolTypeBody(String name) {
+        return "{\"name\":\"" + name + "\",\"dailyCharge\":1.49,\"isWeekdayCharge\":true,\"isWeekendCharge\":false,\"isHolidayCharge\":false}";
+    }
+}
@@ -0,0 +1,109 @@
+package com.primetoolrentals.tooltrek_api.controller.tools;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.primetoolrentals.tooltrek_api.ClearDatabase;
+import com.primetoolrentals.tooltrek_api.ToolTrekApiApplication;
+import com.primetoolrentals.tooltrek_api.datasource.DataSourceRoute;
+import com.primetoolrentals.tooltrek_api.dto.DataSourceRouteStatsDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Tests the routing of the read-only transactions to the replica pool. The replica stands in as a second pool
+ * on the test database, whose connections are marked by a session variable, so the tests need no second server.
+ */
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.MOCK,
+        classes = ToolTrekApiApplication.class,
+        properties = {
+                "tooltrek.datasource.replica.jdbc-url=${spring.datasource.url}",
+                "tooltrek.datasource.replica.username=${spring.datasource.username}",
+                "tooltrek.datasource.replica.password=${spring.datasource.password}",
+                "tooltrek.datasource.replica.connection-init-sql=set @tooltrek_route = 'replica'"})
+@AutoConfigureMockMvc
+@ClearDatabase
+public class ReadWriteRoutingTest {
+
+    private static final String ROUTE_QUERY = "select @tooltrek_route";
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    /**
+     * Tests that read-only transactions run on replica connections, which cannot write,
+     * and that read-write transactions and statements outside transactions run on primary connections.
+     */
+    @Test
+    public void readOnlyTransaction_thenRunOnReadOnlyReplica() {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        TransactionTemplate readWrite = new TransactionTemplate(transactionManager);
+
+        assertEquals("replica", readOnly.execute(status -> jdbcTemplate.queryForObject(ROUTE_QUERY, String.class)));
+        assertNull(readWrite.execute(status -> jdbcTemplate.queryForObject(ROUTE_QUERY, String.class)));
+        assertNull(jdbcTemplate.queryForObject(ROUTE_QUERY, String.class));
+
+        assertThrows(DataAccessException.class, () -> readOnly.executeWithoutResult(status ->
+                jdbcTemplate.update("insert into tool_brands (id, name) values (1000, 'Replica')")));
+        assertEquals(0, jdbcTemplate.queryForObject("select count(*) from tool_brands", Integer.class));
+    }
+
+    /**
+     * Tests that the catalog listings take their connections from the replica pool and the creates from the primary pool,
+     * as counted by the route stats.
+     *
+     * @throws Exception if there is an error performing the HTTP requests.
+     */
+    @Test
+    public void catalogRequests_thenCountedOnTheirRoutes() throws Exception {
+        DataSourceRouteStatsDto[] before = stats();
+
+        mvc.perform(post("/api/tool-brand").contentType("application/json").content("{\"name\":\"Stihl\"}"))
+                .andExpect(status().isCreated());
+        DataSourceRouteStatsDto[] afterCreate = stats();
+        assertTrue(afterCreate[0].getConnectionsAcquired() > before[0].getConnectionsAcquired());
+        assertEquals(before[1].getConnectionsAcquired(), afterCreate[1].getConnectionsAcquired());
+
+        String response = mvc.perform(get("/api/tool-brand"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertTrue(response.contains("Stihl"));
+        DataSourceRouteStatsDto[] afterList = stats();
+        assertEquals(afterCreate[0].getConnectionsAcquired(), afterList[0].getConnectionsAcquired());
+        assertEquals(afterCreate[1].getConnectionsAcquired() + 1, afterList[1].getConnectionsAcquired());
+
+        assertEquals(DataSourceRoute.REPLICA, afterList[1].getRoute());
+        assertTrue(afterList[1].getConfigured());
+        assertTrue(afterList[1].getAvailable());
+        assertEquals(0, afterList[1].getFallbacks());
+        assertTrue(afterList[1].getTotalConnections() > 0);
+    }
+
+    private DataSourceRouteStatsDto[] stats() throws Exception {
+        String response = mvc.perform(get("/api/datasource/stats"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readValue(response, DataSourceRouteStatsDto[].class);
+    }
+}
@@ -0,0 +1,71 @@
+package com.primetoolrentals.tooltrek_api.controller.tools;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.primetoolrentals.tooltrek_api.ClearDatabase;
+import com.primetoolrentals.tooltrek_api.ToolTrekApiApplication;
+import com.primetoolrentals.tooltrek_api.dto.DataSourceRouteStatsDto;
+import com.primetoolrentals.tooltrek_api.entity.ToolBrand;
+import com.primetoolrentals.tooltrek_api.repository.ToolBrandRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Tests the fallback of the read-only transactions to the primary database when the replica is unreachable.
+ */
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.MOCK,
+        classes = ToolTrekApiApplication.class,
+        properties = {
+                "tooltrek.datasource.replica.jdbc-url=jdbc:mysql://127.0.0.1:1/tooltrek_db_test",
+                "tooltrek.datasource.replica.username=${spring.datasource.username}",
+                "tooltrek.datasource.replica.password=${spring.datasource.password}",
+                "tooltrek.datasource.replica.connection-timeout=250",
+                "tooltrek.datasource.replica-retry-interval=1h"})
+@AutoConfigureMockMvc
+@ClearDatabase
+public class ReplicaFallbackTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ToolBrandRepository toolBrandRepository;
+
+    /**
+     * Tests that the listings are served from the primary database while the replica is down,
+     * and that the replica is not tried again within the retry interval.
+     *
+     * @throws Exception if there is an error performing the HTTP requests.
+     */
+    @Test
+    public void replicaDown_thenServeReadsFromPrimary() throws Exception {
+        toolBrandRepository.save(ToolBrand.builder().name("Werner").build());
+
+        for (int i = 0; i < 2; i++) {
+            String response = mvc.perform(get("/api/tool-brand"))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            assertTrue(response.contains("Werner"));
+        }
+
+        String response = mvc.perform(get("/api/datasource/stats"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        DataSourceRouteStatsDto replica = objectMapper.readValue(response, DataSourceRouteStatsDto[].class)[1];
+        assertTrue(replica.getConfigured());
+        assertFalse(replica.getAvailable());
+        assertEquals(0, replica.getConnectionsAcquired());
+        assertTrue(replica.getFallbacks() >= 2);
+        assertEquals(0, replica.getTotalConnections());
+    }
+}
@@ -0,0 +1,247 @@
+package com.primetoolrentals.tooltrek_api.controller.tools;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.primetoolrentals.tooltrek_api.ClearDatabase;
+import com.primetoolrentals.tooltrek_api.ToolTrekApiApplication;
+import com.primetoolrentals.tooltrek_api.dto.ToolDto;
+import com.primetoolrentals.tooltrek_api.entity.ToolBrand;
+import com.primetoolrentals.tooltrek_api.entity.ToolType;
+import com.primetoolrentals.tooltrek_api.repository.ToolBrandRepository;
+import com.primetoolrentals.tooltrek_api.repository.ToolTypeRepository;
+import com.primetoolrentals.tooltrek_api.services.tools.ToolExportFormat;
+import com.primetoolrentals.tooltrek_api.services.tools.ToolExportService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Tests for the streaming export of the tool catalog: the formats of the endpoint, and the heap
+ * retained while exporting, which must not grow with the number of tools.
+ */
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.MOCK,
+        classes = ToolTrekApiApplication.class)
+@AutoConfigureMockMvc
+@ClearDatabase
+public class ToolExportControllerTest {
+
+    private static final long FIRST_TOOL_ID = 1_000_000L;
+
+    /**
+     * The number of tools of the large export. 100 000 tools take a few seconds to insert and are already enough
+     * for a buffered result set to retain over twice the heap bound; larger catalogs, up to the 10 million rows
+     * of the nightly sync, can be checked with {@code -Dtooltrek.test.export-tool-count=10000000}.
+     */
+    private static final int LARGE_EXPORT_TOOL_COUNT = Integer.getInteger("tooltrek.test.export-tool-count", 100_000);
+
+    /**
+     * The largest heap the export may retain, whatever the number of tools.
+     */
+    private static final long MAX_RETAINED_HEAP = 5 * 1024 * 1024;
+
+    /**
+     * The number of heap readings taken before an export, and while writing it.
+     */
+    private static final int HEAP_SAMPLES = 5;
+
+    private static final int INSERT_BATCH_SIZE = 100_000;
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ToolBrandRepository toolBrandRepository;
+
+    @Autowired
+    private ToolTypeRepository toolTypeRepository;
+
+    @Autowired
+    private ToolExportService toolExportService;
+
+    private ToolBrand brand;
+    private ToolType type;
+
+    /**
+     * Saves the brand and the type of the tools inserted by the tests.
+     */
+    @BeforeEach
+    public void setUp() {
+        brand = toolBrandRepository.save(ToolBrand.builder().name("Werner").build());
+        type = toolTypeRepository.save(ToolType.builder()
+                .name("Ladder")
+                .dailyCharge(new BigDecimal("1.99"))
+                .isWeekdayCharge(true)
+                .isWeekendCharge(true)
+                .isHolidayCharge(false)
+                .build());
+    }
+
+    /**
+     * Tests exporting the tools as a JSON array, in ID order.
+     *
+     * @throws Exception if there is an error performing the HTTP request or validating the response.
+     */
+    @Test
+    public void exportTools_json_thenReturnArrayInIdOrder() throws Exception {
+        insertTools(0, 3);
+
+        MockHttpServletResponse response = export("/api/tool/export");
+
+        assertEquals("application/json;charset=UTF-8", response.getContentType());
+        List<ToolDto> tools = objectMapper.readValue(response.getContentAsString(), new TypeReference<>() {
+        });
+        assertEquals(List.of("T0000000", "T0000001", "T0000002"), tools.stream().map(ToolDto::getCode).toList());
+        assertEquals("Werner", tools.get(0).getToolBrandName());
+        assertEquals("Ladder", tools.get(0).getToolTypeName());
+        assertEquals(FIRST_TOOL_ID, tools.get(0).getId());
+    }
+
+    /**
+     * Tests exporting the tools as NDJSON, one tool per line, and exporting an empty catalog.
+     *
+     * @throws Exception if there is an error performing the HTTP request or validating the response.
+     */
+    @Test
+    public void exportTools_ndjson_thenReturnOneToolPerLine() throws Exception {
+        assertEquals("[]", export("/api/tool/export").getContentAsString());
+        assertEquals("", export("/api/tool/export?format=NDJSON").getContentAsString());
+
+        insertTools(0, 2);
+        MockHttpServletResponse response = export("/api/tool/export?format=NDJSON");
+
+        assertEquals("application/x-ndjson;charset=UTF-8", response.getContentType());
+        String[] lines = response.getContentAsString().split("\n");
+        assertEquals(2, lines.length);
+        assertEquals("T0000001", objectMapper.readValue(lines[1], ToolDto.class).getCode());
+        assertTrue(response.getContentAsString().endsWith("}\n"));
+
+        mvc.perform(get("/api/tool/export?format=XML")).andExpect(status().isBadRequest());
+    }
+
+    /**
+     * Tests that the heap retained while exporting 1 000 tools and while exporting 100 000 tools (or the configured
+     * number of tools) stays within the same small bound. Each export is measured against the heap read just before it,
+     * as medians of several readings after a garbage collection, so that a single noisy collection does not decide
+     * the result; a driver buffering the result set, or tools collected into a list, would retain tens of megabytes.
+     *
+     * @throws Exception if the export cannot be written.
+     */
+    @Test
+    public void exportTools_hundredTimesMoreTools_thenRetainNoMoreHeap() throws Exception {
+        insertTools(0, 1_000);
+        long smallExportHeap = heapRetainedDuringExport(1_000);
+        assertTrue(smallExportHeap < MAX_RETAINED_HEAP, "Retained " + smallExportHeap + " bytes exporting 1 000 tools");
+
+        insertTools(1_000, LARGE_EXPORT_TOOL_COUNT);
+        long largeExportHeap = heapRetainedDuringExport(LARGE_EXPORT_TOOL_COUNT);
+        assertTrue(largeExportHeap < MAX_RETAINED_HEAP,
+                "Retained " + largeExportHeap + " bytes exporting " + LARGE_EXPORT_TOOL_COUNT + " tools");
+    }
+
+    private MockHttpServletResponse export(String url) throws Exception {
+        MvcResult result = mvc.perform(get(url))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andReturn().getResponse();
+    }
+
+    /**
+     * Exports all tools as NDJSON into a stream discarding the bytes, measuring the heap used after a garbage collection
+     * several times just before the export, and once each time another tenth of the tools has been written
+     * from half of the tools on.
+     *
+     * @param toolCount The number of tools in the catalog.
+     * @return The median heap used during the export minus the median heap used before it, in bytes.
+     * @throws Exception if the export cannot be written.
+     */
+    private long heapRetainedDuringExport(int toolCount) throws Exception {
+        List<Long> heapDuringExport = new ArrayList<>(HEAP_SAMPLES);
+        OutputStream sampler = new OutputStream() {
+            private long lines;
+
+            @Override
+            public void write(int b) {
+                if (b == '\n' && ++lines % (toolCount / 10) == 0 && lines >= toolCount / 2 && lines < toolCount) {
+                    heapDuringExport.add(usedHeapAfterGc());
+                }
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+                for (int i = off; i < off + len; i++) {
+                    write(b[i]);
+                }
+            }
+        };
+
+        List<Long> heapBeforeExport = new ArrayList<>(HEAP_SAMPLES);
+        for (int i = 0; i < HEAP_SAMPLES; i++) {
+            heapBeforeExport.add(usedHeapAfterGc());
+        }
+        assertEquals(toolCount, toolExportService.exportTools(ToolExportFormat.NDJSON, sampler));
+        assertEquals(HEAP_SAMPLES, heapDuringExport.size());
+        return median(heapDuringExport) - median(heapBeforeExport);
+    }
+
+    /**
+     * Returns the median of heap readings.
+     *
+     * @param samples The heap readings, in bytes.
+     * @return The median reading, in bytes.
+     */
+    private static long median(List<Long> samples) {
+        return samples.stream().sorted().toList().get(samples.size() / 2);
+    }
+
+    private static long usedHeapAfterGc() {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        System.gc();
+        System.gc();
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+
+    /**
+     * Inserts tools with plain JDBC batches, with IDs above those allocated by Hibernate.
+     *
+     * @param from The index of the first tool.
+     * @param to   The index after the last tool.
+     */
+    private void insertTools(int from, int to) {
+        for (int batchFrom = from; batchFrom < to; batchFrom += INSERT_BATCH_SIZE) {
+            int batchTo = Math.min(to, batchFrom + INSERT_BATCH_SIZE);
+            List<Object[]> rows = new ArrayList<>(batchTo - batchFrom);
+            for (int i = batchFrom; i < batchTo; i++) {
+                rows.add(new Object[]{FIRST_TOOL_ID + i, String.format("T%07d", i), brand.getId(), type.getId()});
+            }
+            jdbcTemplate.batchUpdate("insert into tools (id, code, tool_brand_id, tool_type_id) values (?, ?, ?, ?)", rows);
+        }
+    }
+}
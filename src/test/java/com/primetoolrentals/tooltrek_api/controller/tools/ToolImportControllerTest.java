@@ -0,0 +1,158 @@
+package com.primetoolrentals.tooltrek_api.controller.tools;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.primetoolrentals.tooltrek_api.ClearDatabase;
+import com.primetoolrentals.tooltrek_api.ToolTrekApiApplication;
+import com.primetoolrentals.tooltrek_api.dto.ToolImportResultDto;
+import com.primetoolrentals.tooltrek_api.entity.Tool;
+import com.primetoolrentals.tooltrek_api.entity.ToolBrand;
+import com.primetoolrentals.tooltrek_api.entity.ToolType;
+import com.primetoolrentals.tooltrek_api.repository.ToolBrandRepository;
+import com.primetoolrentals.tooltrek_api.repository.ToolRepository;
+import com.primetoolrentals.tooltrek_api.repository.ToolTypeRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.MessageSource;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for the import endpoints of ToolController.
+ */
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.MOCK,
+        classes = ToolTrekApiApplication.class)
+@AutoConfigureMockMvc
+@ClearDatabase
+public class ToolImportControllerTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MessageSource messageSource;
+
+    @Autowired
+    private ToolBrandRepository toolBrandRepository;
+
+    @Autowired
+    private ToolTypeRepository toolTypeRepository;
+
+    @Autowired
+    private ToolRepository toolRepository;
+
+    /**
+     * Tests importing a CSV file that creates a brand and a type, reuses existing ones and
+     * rejects an invalid code, a code used twice in the file and a code that already exists.
+     *
+     * @throws Exception if there is an error performing the HTTP request or validating the response.
+     */
+    @Test
+    public void importCsv_mixedLines_thenImportValidAndReportRejected() throws Exception {
+        ToolBrand stihl = toolBrandRepository.save(ToolBrand.builder().name("Stihl").build());
+        ToolType chainsaw = toolTypeRepository.save(ToolType.builder()
+                .name("Chainsaw")
+                .dailyCharge(new BigDecimal("1.49"))
+                .isWeekdayCharge(true)
+                .isWeekendCharge(false)
+                .isHolidayCharge(true)
+                .build());
+        toolRepository.save(Tool.builder().code("CHNS").toolBrand(stihl).toolType(chainsaw).build());
+
+        String csv = """
+                code,brand,type,dailyCharge,isWeekdayCharge,isWeekendCharge,isHolidayCharge
+                CHNA,Stihl,Chainsaw,,,,
+                LADW,Werner,Ladder,1.99,true,true,false
+                LADX,"Werner",Ladder,,,,
+                chns,Stihl,Chainsaw,,,,
+                LADW,Werner,Ladder,,,,
+                CHNS,Stihl,Chainsaw,,,,
+                """;
+
+        ToolImportResultDto result = importTools(csv, "text/csv", null);
+
+        assertEquals(6, result.getLinesRead());
+        assertEquals(3, result.getToolsImported());
+        assertEquals(1, result.getBrandsCreated());
+        assertEquals(1, result.getTypesCreated());
+        assertEquals(3, result.getLinesRejected());
+        assertEquals(List.of(5L, 6L, 7L), result.getErrors().stream().map(error -> error.getLine()).toList());
+        assertEquals(List.of(message("tool.code.format")), result.getErrors().get(0).getErrors());
+        assertEquals(List.of(message("import.code.duplicate")), result.getErrors().get(1).getErrors());
+        assertEquals(List.of(message("import.code.duplicate")), result.getErrors().get(2).getErrors());
+
+        assertEquals(4, toolRepository.count());
+        Tool ladx = toolRepository.findAll().stream().filter(tool -> tool.getCode().equals("LADX")).findFirst().orElseThrow();
+        assertEquals("Werner", ladx.getToolBrand().getName());
+        assertEquals(0, new BigDecimal("1.99").compareTo(ladx.getToolType().getDailyCharge()));
+        assertTrue(ladx.getToolType().getIsWeekendCharge());
+    }
+
+    /**
+     * Tests importing an NDJSON file with one tool per batch, rejecting a line that cannot be parsed
+     * and a new type without charge attributes.
+     *
+     * @throws Exception if there is an error performing the HTTP request or validating the response.
+     */
+    @Test
+    public void importNdjson_batchSizeOne_thenImportEachLineInOwnBatch() throws Exception {
+        String ndjson = """
+                {"code":"JAKD","brand":"DeWalt","type":"Jackhammer","dailyCharge":2.99,"isWeekdayCharge":true,"isWeekendCharge":false,"isHolidayCharge":false}
+                {"code":"JAKR","brand":"Ridgid","type":"Jackhammer"}
+                {"code":"JAKX",
+                {"code":"DRIL","brand":"DeWalt","type":"Drill"}
+                """;
+
+        ToolImportResultDto result = importTools(ndjson, MediaType.APPLICATION_NDJSON_VALUE, 1);
+
+        assertEquals(4, result.getLinesRead());
+        assertEquals(2, result.getToolsImported());
+        assertEquals(2, result.getBatches());
+        assertEquals(2, result.getBrandsCreated());
+        assertEquals(1, result.getTypesCreated());
+        assertEquals(2, result.getLinesRejected());
+        assertEquals(List.of(message("import.line.invalid")), result.getErrors().get(0).getErrors());
+        assertEquals(List.of(message("import.type.attributes.required")), result.getErrors().get(1).getErrors());
+        assertEquals(2, toolRepository.count());
+    }
+
+    /**
+     * Tests importing a CSV file whose header lacks the brand column, expecting a BadRequest response.
+     *
+     * @throws Exception if there is an error performing the HTTP request.
+     */
+    @Test
+    public void importCsv_missingColumn_thenReturnBadRequest() throws Exception {
+        mvc.perform(post("/api/tool/import").contentType("text/csv").content("code,type\nLADW,Ladder\n"))
+                .andExpect(status().isBadRequest());
+        assertEquals(0, toolRepository.count());
+    }
+
+    private ToolImportResultDto importTools(String body, String contentType, Integer batchSize) throws Exception {
+        var request = post("/api/tool/import").contentType(contentType).content(body);
+        if (batchSize != null) {
+            request.param("batchSize", batchSize.toString());
+        }
+        String response = mvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readValue(response, ToolImportResultDto.class);
+    }
+
+    private String message(String code) {
+        return messageSource.getMessage(code, null, Locale.getDefault());
+    }
+}
@@ -0,0 +1,213 @@
+package com.primetoolrentals.tooltrek_api.controller.tools;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.primetoolrentals.tooltrek_api.ClearDatabase;
+import com.primetoolrentals.tooltrek_api.ToolTrekApiApplication;
+import com.primetoolrentals.tooltrek_api.dto.ToolBrandDto;
+import com.primetoolrentals.tooltrek_api.dto.ToolDto;
+import com.primetoolrentals.tooltrek_api.dto.ToolTypeDto;
+import com.primetoolrentals.tooltrek_api.entity.Tool;
+import com.primetoolrentals.tooltrek_api.entity.ToolBrand;
+import com.primetoolrentals.tooltrek_api.entity.ToolType;
+import com.primetoolrentals.tooltrek_api.exception.ApiError;
+import com.primetoolrentals.tooltrek_api.repository.ToolBrandRepository;
+import com.primetoolrentals.tooltrek_api.repository.ToolRepository;
+import com.primetoolrentals.tooltrek_api.repository.ToolTypeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for the keyset paginated listings of tools, tool brands and tool types.
+ * The maximum page size is reduced to 3 to test its enforcement.
+ */
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.MOCK,
+        classes = ToolTrekApiApplication.class,
+        properties = "tooltrek.pagination.max-page-size=3")
+@AutoConfigureMockMvc
+@ClearDatabase
+public class ToolListingControllerTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ToolBrandRepository toolBrandRepository;
+
+    @Autowired
+    private ToolTypeRepository toolTypeRepository;
+
+    @Autowired
+    private ToolRepository toolRepository;
+
+    private ToolBrand stihl;
+    private ToolBrand werner;
+    private ToolType chainsaw;
+    private ToolType ladder;
+
+    /**
+     * Saves two brands, two types and five tools.
+     */
+    @BeforeEach
+    public void setUp() {
+        stihl = toolBrandRepository.save(ToolBrand.builder().name("Stihl").build());
+        werner = toolBrandRepository.save(ToolBrand.builder().name("Werner").build());
+        chainsaw = toolTypeRepository.save(toolType("Chainsaw"));
+        ladder = toolTypeRepository.save(toolType("Ladder"));
+        toolRepository.saveAll(List.of(
+                Tool.builder().code("CHNS").toolBrand(stihl).toolType(chainsaw).build(),
+                Tool.builder().code("LADW").toolBrand(werner).toolType(ladder).build(),
+                Tool.builder().code("CHNW").toolBrand(werner).toolType(chainsaw).build(),
+                Tool.builder().code("LADS").toolBrand(stihl).toolType(ladder).build(),
+                Tool.builder().code("LADX").toolBrand(werner).toolType(ladder).build()));
+    }
+
+    /**
+     * Tests following the Link headers through all pages of tools.
+     *
+     * @throws Exception if there is an error performing the HTTP request or validating the response.
+     */
+    @Test
+    public void findTools_followNextLinks_thenReturnAllToolsInIdOrder() throws Exception {
+        List<String> codes = new ArrayList<>();
+        List<Integer> pageSizes = new ArrayList<>();
+        String url = "/api/tool?limit=2";
+        while (url != null) {
+            MockHttpServletResponse response = mvc.perform(get(url))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse();
+            List<ToolDto> tools = objectMapper.readValue(response.getContentAsString(), new TypeReference<>() {
+            });
+            tools.forEach(tool -> codes.add(tool.getCode()));
+            pageSizes.add(tools.size());
+            url = nextLink(response);
+        }
+
+        assertEquals(List.of("CHNS", "LADW", "CHNW", "LADS", "LADX"), codes);
+        assertEquals(List.of(2, 2, 1), pageSizes);
+    }
+
+    /**
+     * Tests filtering tools by brand, type and code prefix.
+     *
+     * @throws Exception if there is an error performing the HTTP request or validating the response.
+     */
+    @Test
+    public void findTools_withFilters_thenReturnMatchingTools() throws Exception {
+        assertEquals(List.of("LADW", "CHNW", "LADX"), toolCodes("/api/tool?brandId=" + werner.getId()));
+        assertEquals(List.of("CHNS", "CHNW"), toolCodes("/api/tool?typeId=" + chainsaw.getId()));
+        assertEquals(List.of("LADW", "LADX"), toolCodes("/api/tool?brandId=" + werner.getId() + "&typeId=" + ladder.getId()));
+        assertEquals(List.of("LADW", "LADS", "LADX"), toolCodes("/api/tool?codePrefix=LAD"));
+        assertEquals(List.of(), toolCodes("/api/tool?codePrefix=DRIL"));
+    }
+
+    /**
+     * Tests requesting more tools than the maximum page size, expecting a page of the maximum size with a next link.
+     *
+     * @throws Exception if there is an error performing the HTTP request or validating the response.
+     */
+    @Test
+    public void findTools_limitAboveMaximum_thenReturnMaximumPageSize() throws Exception {
+        MockHttpServletResponse response = mvc.perform(get("/api/tool?limit=100"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse();
+
+        assertEquals(3, objectMapper.readValue(response.getContentAsString(), List.class).size());
+        assertNotNull(nextLink(response));
+    }
+
+    /**
+     * Tests listing tools with invalid parameters, expecting a BadRequest response with the validation message.
+     *
+     * @throws Exception if there is an error performing the HTTP request or validating the response.
+     */
+    @Test
+    public void findTools_invalidParameters_thenReturnBadRequest() throws Exception {
+        String response = mvc.perform(get("/api/tool?codePrefix=la%25"))
+                .andExpect(status().isBadRequest())
+                .andReturn().getResponse().getContentAsString();
+        assertEquals(List.of("Tool code prefix should be of 1 to 10 uppercase letters."),
+                objectMapper.readValue(response, ApiError.class).getErrors());
+
+        mvc.perform(get("/api/tool?limit=0")).andExpect(status().isBadRequest());
+        mvc.perform(get("/api/tool?afterId=-1")).andExpect(status().isBadRequest());
+    }
+
+    /**
+     * Tests paging and filtering tool brands and tool types by name prefix, with the LIKE wildcards taken literally.
+     *
+     * @throws Exception if there is an error performing the HTTP request or validating the response.
+     */
+    @Test
+    public void findBrandsAndTypes_withNamePrefix_thenReturnMatchingPage() throws Exception {
+        toolBrandRepository.save(ToolBrand.builder().name("W_rks").build());
+
+        MockHttpServletResponse response = mvc.perform(get("/api/tool-brand?limit=1&namePrefix=W"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse();
+        List<ToolBrandDto> brands = objectMapper.readValue(response.getContentAsString(), new TypeReference<>() {
+        });
+        assertEquals(List.of("Werner"), brands.stream().map(ToolBrandDto::getName).toList());
+        assertTrue(nextLink(response).contains("namePrefix=W"));
+
+        String underscore = mvc.perform(get("/api/tool-brand?namePrefix=W_"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        List<ToolBrandDto> literal = objectMapper.readValue(underscore, new TypeReference<>() {
+        });
+        assertEquals(List.of("W_rks"), literal.stream().map(ToolBrandDto::getName).toList());
+
+        String types = mvc.perform(get("/api/tool-type?afterId=" + chainsaw.getId()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        List<ToolTypeDto> page = objectMapper.readValue(types, new TypeReference<>() {
+        });
+        assertEquals(List.of("Ladder"), page.stream().map(ToolTypeDto::getName).toList());
+    }
+
+    private List<String> toolCodes(String url) throws Exception {
+        String response = mvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        List<ToolDto> tools = objectMapper.readValue(response, new TypeReference<>() {
+        });
+        return tools.stream().map(ToolDto::getCode).toList();
+    }
+
+    private static String nextLink(MockHttpServletResponse response) {
+        String link = response.getHeader(HttpHeaders.LINK);
+        if (link == null) {
+            return null;
+        }
+        assertTrue(link.endsWith(">; rel=\"next\""), link);
+        return link.substring(1, link.indexOf('>'));
+    }
+
+    private static ToolType toolType(String name) {
+        return ToolType.builder()
+                .name(name)
+                .dailyCharge(new BigDecimal("1.99"))
+                .isWeekdayCharge(true)
+                .isWeekendCharge(true)
+                .isHolidayCharge(false)
+                .build();
+    }
+}
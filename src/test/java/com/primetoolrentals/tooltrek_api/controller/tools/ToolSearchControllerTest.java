@@ -0,0 +1,175 @@
+package com.primetoolrentals.tooltrek_api.controller.tools;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.primetoolrentals.tooltrek_api.ClearDatabase;
+import com.primetoolrentals.tooltrek_api.ToolTrekApiApplication;
+import com.primetoolrentals.tooltrek_api.dto.ToolDto;
+import com.primetoolrentals.tooltrek_api.entity.Tool;
+import com.primetoolrentals.tooltrek_api.entity.ToolBrand;
+import com.primetoolrentals.tooltrek_api.entity.ToolType;
+import com.primetoolrentals.tooltrek_api.exception.ApiError;
+import com.primetoolrentals.tooltrek_api.repository.ToolBrandRepository;
+import com.primetoolrentals.tooltrek_api.repository.ToolRepository;
+import com.primetoolrentals.tooltrek_api.repository.ToolTypeRepository;
+import com.primetoolrentals.tooltrek_api.services.catalog.ToolCodeIndex;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for the tool code search served from the in-memory tool code index.
+ */
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.MOCK,
+        classes = ToolTrekApiApplication.class,
+        properties = {"spring.jpa.properties.hibernate.generate_statistics=true", "tooltrek.tool-search.max-limit=3"})
+@AutoConfigureMockMvc
+@ClearDatabase
+public class ToolSearchControllerTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ToolBrandRepository toolBrandRepository;
+
+    @Autowired
+    private ToolTypeRepository toolTypeRepository;
+
+    @Autowired
+    private ToolRepository toolRepository;
+
+    @Autowired
+    private ToolCodeIndex toolCodeIndex;
+
+    private ToolBrand ridgid;
+    private ToolType jackhammer;
+
+    /**
+     * Saves jackhammers and a ladder, then loads them into the index as done at startup.
+     */
+    @BeforeEach
+    public void setUp() {
+        ridgid = toolBrandRepository.save(ToolBrand.builder().name("Ridgid").build());
+        ToolBrand werner = toolBrandRepository.save(ToolBrand.builder().name("Werner").build());
+        jackhammer = toolTypeRepository.save(toolType("Jackhammer", "2.99"));
+        ToolType ladder = toolTypeRepository.save(toolType("Ladder", "1.99"));
+        toolRepository.saveAll(List.of(
+                Tool.builder().code("JAKR").toolBrand(ridgid).toolType(jackhammer).build(),
+                Tool.builder().code("JAKD").toolBrand(ridgid).toolType(jackhammer).build(),
+                Tool.builder().code("JAKDX").toolBrand(ridgid).toolType(jackhammer).build(),
+                Tool.builder().code("LADW").toolBrand(werner).toolType(ladder).build()));
+        toolCodeIndex.rebuild();
+    }
+
+    /**
+     * Tests searching by prefix in any case: the matching tools are returned in code order with their brand
+     * and type names, without any statement being run.
+     *
+     * @throws Exception if there is an error performing the HTTP request or validating the response.
+     */
+    @Test
+    public void searchTools_prefix_thenReturnMatchingToolsInCodeOrder() throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<ToolDto> tools = search("/api/tool/search?prefix=jak");
+
+        assertEquals(List.of("JAKD", "JAKDX", "JAKR"), tools.stream().map(ToolDto::getCode).toList());
+        assertEquals("Ridgid", tools.get(0).getToolBrandName());
+        assertEquals("Jackhammer", tools.get(0).getToolTypeName());
+        assertEquals(ridgid.getId(), tools.get(0).getToolBrandId());
+        assertEquals(List.of("JAKD", "JAKDX"), search("/api/tool/search?prefix=JAKD").stream().map(ToolDto::getCode).toList());
+        assertEquals(List.of(), search("/api/tool/search?prefix=JAKZ"));
+        assertEquals(List.of(), search("/api/tool/search?prefix=Z"));
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    /**
+     * Tests limiting the number of results, up to the configured maximum of 3.
+     *
+     * @throws Exception if there is an error performing the HTTP request or validating the response.
+     */
+    @Test
+    public void searchTools_limit_thenReturnAtMostLimit() throws Exception {
+        assertEquals(List.of("JAKD"), search("/api/tool/search?prefix=J&limit=1").stream().map(ToolDto::getCode).toList());
+        assertEquals(3, search("/api/tool/search?prefix=J&limit=100").size());
+    }
+
+    /**
+     * Tests that tools added through the API and through an import are found right away.
+     *
+     * @throws Exception if there is an error performing the HTTP request or validating the response.
+     */
+    @Test
+    public void addTools_thenSearchFindsThem() throws Exception {
+        String body = "{\"code\":\"JAKB\",\"toolBrandId\":" + ridgid.getId() + ",\"toolTypeId\":" + jackhammer.getId() + "}";
+        mvc.perform(post("/api/tool").contentType("application/json").content(body))
+                .andExpect(status().isCreated());
+        mvc.perform(post("/api/tool/import").contentType(MediaType.APPLICATION_NDJSON)
+                        .content("{\"code\":\"JAKA\",\"brand\":\"Bosch\",\"type\":\"Jackhammer\"}\n"))
+                .andExpect(status().isOk());
+
+        List<ToolDto> tools = search("/api/tool/search?prefix=JAK");
+
+        assertEquals(List.of("JAKA", "JAKB", "JAKD"), tools.stream().map(ToolDto::getCode).toList());
+        assertEquals("Bosch", tools.get(0).getToolBrandName());
+    }
+
+    /**
+     * Tests searching with an invalid prefix or limit, expecting a BadRequest response with the validation message.
+     *
+     * @throws Exception if there is an error performing the HTTP request or validating the response.
+     */
+    @Test
+    public void searchTools_invalidParameters_thenReturnBadRequest() throws Exception {
+        String response = mvc.perform(get("/api/tool/search?prefix=JA%25"))
+                .andExpect(status().isBadRequest())
+                .andReturn().getResponse().getContentAsString();
+        assertEquals(List.of("Tool code search prefix should be of 1 to 10 letters."),
+                objectMapper.readValue(response, ApiError.class).getErrors());
+
+        mvc.perform(get("/api/tool/search")).andExpect(status().isBadRequest());
+        mvc.perform(get("/api/tool/search?prefix=JAK&limit=0")).andExpect(status().isBadRequest());
+    }
+
+    private List<ToolDto> search(String url) throws Exception {
+        String response = mvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readValue(response, new TypeReference<>() {
+        });
+    }
+
+    private static ToolType toolType(String name, String dailyCharge) {
+        return ToolType.builder()
+                .name(name)
+                .dailyCharge(new BigDecimal(dailyCharge))
+                .isWeekdayCharge(true)
+                .isWeekendCharge(false)
+                .isHolidayCharge(false)
+                .build();
+    }
+}
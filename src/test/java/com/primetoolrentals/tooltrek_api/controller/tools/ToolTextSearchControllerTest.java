@@ -0,0 +1,206 @@
+package com.primetoolrentals.tooltrek_api.controller.tools;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.primetoolrentals.tooltrek_api.ClearDatabase;
+import com.primetoolrentals.tooltrek_api.ToolTrekApiApplication;
+import com.primetoolrentals.tooltrek_api.dto.ToolDto;
+import com.primetoolrentals.tooltrek_api.entity.Tool;
+import com.primetoolrentals.tooltrek_api.entity.ToolBrand;
+import com.primetoolrentals.tooltrek_api.entity.ToolType;
+import com.primetoolrentals.tooltrek_api.exception.ApiError;
+import com.primetoolrentals.tooltrek_api.repository.ToolBrandRepository;
+import com.primetoolrentals.tooltrek_api.repository.ToolRepository;
+import com.primetoolrentals.tooltrek_api.repository.ToolTypeRepository;
+import com.primetoolrentals.tooltrek_api.services.catalog.ToolTextIndex;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for the full-text tool search served from the in-memory tool text index.
+ */
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.MOCK,
+        classes = ToolTrekApiApplication.class,
+        properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+@ClearDatabase
+public class ToolTextSearchControllerTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ToolBrandRepository toolBrandRepository;
+
+    @Autowired
+    private ToolTypeRepository toolTypeRepository;
+
+    @Autowired
+    private ToolRepository toolRepository;
+
+    @Autowired
+    private ToolTextIndex toolTextIndex;
+
+    private ToolBrand dewalt;
+    private ToolType jackhammer;
+
+    /**
+     * Saves jackhammers, a demolition hammer and a ladder, then loads them into the index as done at startup.
+     */
+    @BeforeEach
+    public void setUp() {
+        dewalt = toolBrandRepository.save(ToolBrand.builder().name("DeWalt").build());
+        ToolBrand ridgid = toolBrandRepository.save(ToolBrand.builder().name("Ridgid").build());
+        ToolBrand werner = toolBrandRepository.save(ToolBrand.builder().name("Werner").build());
+        jackhammer = toolTypeRepository.save(toolType("Jackhammer", "2.99"));
+        ToolType demolitionHammer = toolTypeRepository.save(toolType("Demolition Hammer", "3.49"));
+        ToolType ladder = toolTypeRepository.save(toolType("Ladder", "1.99"));
+        toolRepository.saveAll(List.of(
+                Tool.builder().code("JAKD").toolBrand(dewalt).toolType(jackhammer).build(),
+                Tool.builder().code("JAKR").toolBrand(ridgid).toolType(jackhammer).build(),
+                Tool.builder().code("DEMD").toolBrand(dewalt).toolType(demolitionHammer).build(),
+                Tool.builder().code("LADW").toolBrand(werner).toolType(ladder).build()));
+        toolTextIndex.rebuild();
+    }
+
+    /**
+     * Tests searching by brand and type words in any case: only the tools matching every word are returned,
+     * without any statement being run.
+     *
+     * @throws Exception if there is an error performing the HTTP request or validating the response.
+     */
+    @Test
+    public void searchTools_brandAndType_thenReturnToolsMatchingEveryWord() throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<ToolDto> tools = search("/api/tool/text-search?query=dewalt jackhammer");
+
+        assertEquals(List.of("JAKD"), codes(tools));
+        assertEquals("DeWalt", tools.get(0).getToolBrandName());
+        assertEquals(jackhammer.getId(), tools.get(0).getToolTypeId());
+        assertEquals(List.of("DEMD", "JAKD"), codes(search("/api/tool/text-search?query=DEWALT")));
+        assertEquals(List.of("DEMD"), codes(search("/api/tool/text-search?query=hammer, dew")));
+        assertEquals(List.of(), codes(search("/api/tool/text-search?query=werner jackhammer")));
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    /**
+     * Tests the ranking: a match of the code before a match of a name word, then code order, and the limit.
+     *
+     * @throws Exception if there is an error performing the HTTP request or validating the response.
+     */
+    @Test
+    public void searchTools_ranking_thenCodeMatchesFirst() throws Exception {
+        assertEquals(List.of("DEMD", "JAKD"), codes(search("/api/tool/text-search?query=d")));
+        assertEquals(List.of("JAKD", "JAKR"), codes(search("/api/tool/text-search?query=ja")));
+        assertEquals(List.of("JAKR"), codes(search("/api/tool/text-search?query=jakr")));
+        assertEquals(List.of("JAKR"), codes(search("/api/tool/text-search?query=jackhammer r")));
+        assertEquals(List.of("DEMD"), codes(search("/api/tool/text-search?query=d&limit=1")));
+    }
+
+    /**
+     * Tests a tool saved by another instance of the application: the background poll adds it to the index,
+     * and the polls reading it again do not index it twice.
+     *
+     * @throws Exception if there is an error performing the HTTP request or validating the response.
+     */
+    @Test
+    public void saveToolElsewhere_afterPoll_thenSearchFindsItOnce() throws Exception {
+        toolRepository.save(Tool.builder().code("JAKW").toolBrand(dewalt).toolType(jackhammer).build());
+
+        List<String> codes;
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        do {
+            Thread.sleep(100);
+            codes = codes(search("/api/tool/text-search?query=jackhammer dewalt"));
+        } while (codes.size() < 2 && System.nanoTime() < deadline);
+        assertEquals(List.of("JAKD", "JAKW"), codes);
+
+        // The next polls read the tool again, within the poll overlap
+        Thread.sleep(2500);
+        assertEquals(List.of("JAKD", "JAKW"), codes(search("/api/tool/text-search?query=jackhammer dewalt")));
+        assertEquals(5, toolTextIndex.size());
+    }
+
+    /**
+     * Tests that tools added through the API and through an import are found right away.
+     *
+     * @throws Exception if there is an error performing the HTTP request or validating the response.
+     */
+    @Test
+    public void addTools_thenSearchFindsThem() throws Exception {
+        String body = "{\"code\":\"JAKW\",\"toolBrandId\":" + dewalt.getId() + ",\"toolTypeId\":" + jackhammer.getId() + "}";
+        mvc.perform(post("/api/tool").contentType("application/json").content(body))
+                .andExpect(status().isCreated());
+        mvc.perform(post("/api/tool/import").contentType(MediaType.APPLICATION_NDJSON)
+                        .content("{\"code\":\"JAKB\",\"brand\":\"Bosch\",\"type\":\"Jackhammer\"}\n"))
+                .andExpect(status().isOk());
+
+        assertEquals(List.of("JAKD", "JAKW"), codes(search("/api/tool/text-search?query=jackhammer dewalt")));
+        assertEquals(List.of("JAKB"), codes(search("/api/tool/text-search?query=bosch")));
+    }
+
+    /**
+     * Tests searching with a blank query or an invalid limit, expecting a BadRequest response with the validation message.
+     *
+     * @throws Exception if there is an error performing the HTTP request or validating the response.
+     */
+    @Test
+    public void searchTools_invalidParameters_thenReturnBadRequest() throws Exception {
+        String response = mvc.perform(get("/api/tool/text-search?query= "))
+                .andExpect(status().isBadRequest())
+                .andReturn().getResponse().getContentAsString();
+        assertEquals(List.of("Please provide the words to search tools by."),
+                objectMapper.readValue(response, ApiError.class).getErrors());
+
+        mvc.perform(get("/api/tool/text-search")).andExpect(status().isBadRequest());
+        mvc.perform(get("/api/tool/text-search?query=jak&limit=0")).andExpect(status().isBadRequest());
+        mvc.perform(get("/api/tool/text-search?query=" + "a".repeat(101))).andExpect(status().isBadRequest());
+    }
+
+    private List<ToolDto> search(String url) throws Exception {
+        String response = mvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readValue(response, new TypeReference<>() {
+        });
+    }
+
+    private static List<String> codes(List<ToolDto> tools) {
+        return tools.stream().map(ToolDto::getCode).toList();
+    }
+
+    private static ToolType toolType(String name, String dailyCharge) {
+        return ToolType.builder()
+                .name(name)
+                .dailyCharge(new BigDecimal(dailyCharge))
+                .isWeekdayCharge(true)
+                .isWeekendCharge(false)
+                .isHolidayCharge(false)
+                .build();
+    }
+}
@@ -0,0 +1,242 @@
+package com.primetoolrentals.tooltrek_api.controller.tools;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.primetoolrentals.tooltrek_api.ClearDatabase;
+import com.primetoolrentals.tooltrek_api.ToolTrekApiApplication;
+import com.primetoolrentals.tooltrek_api.dto.DayAvailabilityDto;
+import com.primetoolrentals.tooltrek_api.dto.RentalRequestDto;
+import com.primetoolrentals.tooltrek_api.dto.ToolTypeAvailabilityDto;
+import com.primetoolrentals.tooltrek_api.entity.Rental;
+import com.primetoolrentals.tooltrek_api.entity.Tool;
+import com.primetoolrentals.tooltrek_api.entity.ToolBrand;
+import com.primetoolrentals.tooltrek_api.entity.ToolType;
+import com.primetoolrentals.tooltrek_api.repository.RentalRepository;
+import com.primetoolrentals.tooltrek_api.repository.ToolBrandRepository;
+import com.primetoolrentals.tooltrek_api.repository.ToolRepository;
+import com.primetoolrentals.tooltrek_api.repository.ToolTypeRepository;
+import com.primetoolrentals.tooltrek_api.services.availability.ToolAvailabilityIndex;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for the availability of the tools of a tool type, served from the in-memory tool availability index.
+ */
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.MOCK,
+        classes = ToolTrekApiApplication.class,
+        properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+@ClearDatabase
+public class ToolTypeAvailabilityControllerTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ToolBrandRepository toolBrandRepository;
+
+    @Autowired
+    private ToolTypeRepository toolTypeRepository;
+
+    @Autowired
+    private ToolRepository toolRepository;
+
+    @Autowired
+    private RentalRepository rentalRepository;
+
+    @Autowired
+    private ToolAvailabilityIndex toolAvailabilityIndex;
+
+    private ToolBrand werner;
+    private ToolType ladder;
+    private ToolType chainsaw;
+    private Tool ladw;
+    private Tool ladx;
+    private Tool lady;
+    private Tool chnw;
+
+    /**
+     * Saves three ladders and a chainsaw, then loads them into the index as done at startup.
+     */
+    @BeforeEach
+    public void setUp() {
+        werner = toolBrandRepository.save(ToolBrand.builder().name("Werner").build());
+        ladder = toolTypeRepository.save(toolType("Ladder", "1.99"));
+        chainsaw = toolTypeRepository.save(toolType("Chainsaw", "1.49"));
+        ladw = toolRepository.save(Tool.builder().code("LADW").toolBrand(werner).toolType(ladder).build());
+        ladx = toolRepository.save(Tool.builder().code("LADX").toolBrand(werner).toolType(ladder).build());
+        lady = toolRepository.save(Tool.builder().code("LADY").toolBrand(werner).toolType(ladder).build());
+        chnw = toolRepository.save(Tool.builder().code("CHNW").toolBrand(werner).toolType(chainsaw).build());
+        toolAvailabilityIndex.rebuild();
+    }
+
+    /**
+     * Tests the free tools by day after checkouts: a tool is rented from its checkout date until the day before
+     * it is due back, the tools of other types do not count, and the availability is read without any statement.
+     *
+     * @throws Exception if there is an error performing the HTTP request or validating the response.
+     */
+    @Test
+    public void availability_afterCheckouts_thenCountFreeToolsByDay() throws Exception {
+        checkout(ladw, "2020-07-02", 3);
+        checkout(ladx, "2020-07-04", 2);
+        checkout(chnw, "2020-07-01", 10);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        ToolTypeAvailabilityDto availability = availability(ladder.getId(), "2020-07-01", "2020-07-06");
+
+        assertEquals(3, availability.getToolCount());
+        assertEquals(LocalDate.parse("2020-07-01"), availability.getDays().get(0).getDate());
+        assertEquals(List.of(3, 2, 2, 1, 2, 3), freeCounts(availability));
+        assertEquals(List.of(lady.getId()), availability.getFreeToolIds());
+        assertEquals(List.of(ladw.getId(), lady.getId()), availability(ladder.getId(), "2020-07-05", "2020-07-06").getFreeToolIds());
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    /**
+     * Tests rentals loaded from the database at startup, spanning several words of the day bitmaps
+     * and over a year, and a tool added through the API, free on every day.
+     *
+     * @throws Exception if there is an error performing the HTTP request or validating the response.
+     */
+    @Test
+    public void availability_savedRentalsAndNewTool_thenCountFreeToolsByDay() throws Exception {
+        saveRental(ladw, "2019-12-30", 200);
+        saveRental(ladx, "2020-07-15", 1);
+        saveRental(ladx, "2020-07-16", 2);
+        toolAvailabilityIndex.rebuild();
+        String body = "{\"code\":\"LADZ\",\"toolBrandId\":" + werner.getId() + ",\"toolTypeId\":" + ladder.getId() + "}";
+        mvc.perform(post("/api/tool").contentType("application/json").content(body))
+                .andExpect(status().isCreated());
+
+        ToolTypeAvailabilityDto availability = availability(ladder.getId(), "2020-07-14", "2020-07-19");
+
+        assertEquals(4, availability.getToolCount());
+        // LADW is rented until 2020-07-16, LADX from 2020-07-15 until 2020-07-17
+        assertEquals(List.of(3, 2, 2, 3, 4, 4), freeCounts(availability));
+        assertEquals(List.of(4, 3), freeCounts(availability(ladder.getId(), "2019-12-29", "2019-12-30")));
+        assertEquals(2, availability(ladder.getId(), "2019-07-20", "2020-07-18").getFreeToolIds().size());
+    }
+
+    /**
+     * Tests a tool and rentals saved by another instance of the application: the background poll adds them
+     * to the index, also for a tool whose rental reached the index before the tool.
+     *
+     * @throws Exception if there is an error performing the HTTP request or validating the response.
+     */
+    @Test
+    public void saveElsewhere_afterPoll_thenCountToolsAndRentals() throws Exception {
+        Tool ladz = toolRepository.save(Tool.builder().code("LADZ").toolBrand(werner).toolType(ladder).build());
+        toolAvailabilityIndex.add(ladz.getId(), LocalDate.parse("2020-07-01"), LocalDate.parse("2020-07-03"));
+        saveRental(ladw, "2020-07-02", 3);
+
+        ToolTypeAvailabilityDto availability;
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        do {
+            Thread.sleep(100);
+            availability = availability(ladder.getId(), "2020-07-01", "2020-07-05");
+        } while ((availability.getToolCount() < 4 || freeCounts(availability).get(1) == 3) && System.nanoTime() < deadline);
+
+        assertEquals(4, availability.getToolCount());
+        // LADZ is rented until 2020-07-03, LADW from 2020-07-02 until 2020-07-05
+        assertEquals(List.of(3, 2, 3, 3, 4), freeCounts(availability));
+        assertEquals(List.of(ladx.getId(), lady.getId()), availability.getFreeToolIds());
+    }
+
+    /**
+     * Tests the availability of a tool type without tools, and of an unknown tool type.
+     *
+     * @throws Exception if there is an error performing the HTTP request or validating the response.
+     */
+    @Test
+    public void availability_typeWithoutToolsOrUnknown_thenReturnNoToolsOrNotFound() throws Exception {
+        ToolType jackhammer = toolTypeRepository.save(toolType("Jackhammer", "2.99"));
+
+        ToolTypeAvailabilityDto availability = availability(jackhammer.getId(), "2020-07-01", "2020-07-02");
+
+        assertEquals(0, availability.getToolCount());
+        assertEquals(List.of(0, 0), freeCounts(availability));
+        assertEquals(List.of(), availability.getFreeToolIds());
+        mvc.perform(get("/api/tool-type/" + (jackhammer.getId() + 1) + "/availability?from=2020-07-01&to=2020-07-02"))
+                .andExpect(status().isNotFound());
+    }
+
+    /**
+     * Tests periods ending before they start, longer than the maximum of 366 days or missing, expecting a BadRequest response.
+     *
+     * @throws Exception if there is an error performing the HTTP request.
+     */
+    @Test
+    public void availability_invalidPeriod_thenReturnBadRequest() throws Exception {
+        String url = "/api/tool-type/" + ladder.getId() + "/availability";
+        mvc.perform(get(url + "?from=2020-07-02&to=2020-07-01")).andExpect(status().isBadRequest());
+        mvc.perform(get(url + "?from=2020-01-01&to=2021-01-01")).andExpect(status().isBadRequest());
+        mvc.perform(get(url + "?from=2020-01-01&to=2020-12-31")).andExpect(status().isOk());
+        mvc.perform(get(url + "?from=2020-07-01")).andExpect(status().isBadRequest());
+        mvc.perform(get(url + "?from=2020-07-01&to=07/02/2020")).andExpect(status().isBadRequest());
+    }
+
+    private ToolTypeAvailabilityDto availability(Long toolTypeId, String from, String to) throws Exception {
+        String response = mvc.perform(get("/api/tool-type/" + toolTypeId + "/availability?from=" + from + "&to=" + to))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readValue(response, ToolTypeAvailabilityDto.class);
+    }
+
+    private void checkout(Tool tool, String rentalDate, int rentalDayCount) throws Exception {
+        RentalRequestDto rental = RentalRequestDto.builder()
+                .toolId(tool.getId())
+                .rentalDate(rentalDate)
+                .rentalDayCount(rentalDayCount)
+                .rentalDiscount(0)
+                .build();
+        mvc.perform(post("/api/rental").contentType("application/json").content(objectMapper.writeValueAsString(rental)))
+                .andExpect(status().isCreated());
+    }
+
+    private void saveRental(Tool tool, String rentalDate, int rentalDayCount) {
+        rentalRepository.save(Rental.builder()
+                .tool(tool)
+                .rentalDate(LocalDate.parse(rentalDate))
+                .rentalDayCount(rentalDayCount)
+                .rentalDiscount(0)
+                .build());
+    }
+
+    private static List<Integer> freeCounts(ToolTypeAvailabilityDto availability) {
+        return availability.getDays().stream().map(DayAvailabilityDto::getFreeCount).toList();
+    }
+
+    private static ToolType toolType(String name, String dailyCharge) {
+        return ToolType.builder()
+                .name(name)
+                .dailyCharge(new BigDecimal(dailyCharge))
+                .isWeekdayCharge(true)
+                .isWeekendCharge(true)
+                .isHolidayCharge(false)
+                .build();
+    }
+}
@@ -0,0 +1,184 @@
+package com.primetoolrentals.tooltrek_api.controller.tools;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.primetoolrentals.tooltrek_api.ClearDatabase;
+import com.primetoolrentals.tooltrek_api.ToolTrekApiApplication;
+import com.primetoolrentals.tooltrek_api.dto.ToolTypeChargesDto;
+import com.primetoolrentals.tooltrek_api.dto.ToolTypeDto;
+import com.primetoolrentals.tooltrek_api.dto.WriteRetryStatsDto;
+import com.primetoolrentals.tooltrek_api.entity.ToolType;
+import com.primetoolrentals.tooltrek_api.repository.ToolTypeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for changing the charges of a tool type, checked against the version of the tool type
+ * so that concurrent changes are not lost.
+ */
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.MOCK,
+        classes = ToolTrekApiApplication.class,
+        properties = "tooltrek.write-retry.max-attempts=20")
+@AutoConfigureMockMvc
+@ClearDatabase
+public class ToolTypeChargesControllerTest {
+
+    private static final int UPDATES_PER_CHARGE = 21;
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ToolTypeRepository toolTypeRepository;
+
+    private ToolType ladder;
+
+    /**
+     * Saves a tool type without any charge day.
+     */
+    @BeforeEach
+    public void setUp() {
+        ladder = toolTypeRepository.save(ToolType.builder()
+                .name("Ladder")
+                .dailyCharge(new BigDecimal("0.99"))
+                .isWeekdayCharge(false)
+                .isWeekendCharge(false)
+                .isHolidayCharge(false)
+                .build());
+    }
+
+    /**
+     * Tests changing some charges: only the charges given change, and the version is incremented.
+     * Unknown tool types and negative charges are rejected.
+     *
+     * @throws Exception if there is an error performing the HTTP request or validating the response.
+     */
+    @Test
+    public void updateCharges_someCharges_thenChangeOnlyThose() throws Exception {
+        String response = update(ladder.getId(), ToolTypeChargesDto.builder().dailyCharge(1.99).isWeekdayCharge(true).build())
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        ToolTypeDto toolType = objectMapper.readValue(response, ToolTypeDto.class);
+        assertEquals("Ladder", toolType.getName());
+        assertEquals(1.99, toolType.getDailyCharge());
+        assertTrue(toolType.getIsWeekdayCharge());
+        assertFalse(toolType.getIsWeekendCharge());
+        assertEquals(1, toolTypeRepository.findById(ladder.getId()).orElseThrow().getVersion());
+
+        update(ladder.getId() + 1, ToolTypeChargesDto.builder().dailyCharge(1.99).build())
+                .andExpect(status().isNotFound());
+        update(ladder.getId(), ToolTypeChargesDto.builder().dailyCharge(-1.0).build())
+                .andExpect(status().isBadRequest());
+    }
+
+    /**
+     * Tests saving a tool type read before a concurrent change: the stale update fails instead of overwriting the change.
+     *
+     * @throws Exception if there is an error performing the HTTP request.
+     */
+    @Test
+    public void saveStaleToolType_thenOptimisticLockingFailure() throws Exception {
+        ToolType stale = toolTypeRepository.findById(ladder.getId()).orElseThrow();
+        update(ladder.getId(), ToolTypeChargesDto.builder().isHolidayCharge(true).build())
+                .andExpect(status().isOk());
+
+        stale.setDailyCharge(new BigDecimal("2.49"));
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> toolTypeRepository.save(stale));
+
+        ToolType toolType = toolTypeRepository.findById(ladder.getId()).orElseThrow();
+        assertTrue(toolType.getIsHolidayCharge());
+        assertEquals(0, new BigDecimal("0.99").compareTo(toolType.getDailyCharge()));
+    }
+
+    /**
+     * Tests changing each charge of a tool type from its own thread many times concurrently, each change setting
+     * a new value: every change succeeds, conflicting changes are retried, and none is lost, as the version
+     * counts every change and each charge ends with the last value set by its thread.
+     * The writes are given more attempts than by default, as the threads keep updating the same row.
+     *
+     * @throws Exception if there is an error performing the HTTP requests or validating the responses.
+     */
+    @Test
+    public void updateChargesConcurrently_thenNoLostUpdates() throws Exception {
+        List<IntFunction<ToolTypeChargesDto>> updaters = List.of(
+                i -> ToolTypeChargesDto.builder().dailyCharge(i + 0.5).build(),
+                i -> ToolTypeChargesDto.builder().isWeekdayCharge(i % 2 == 1).build(),
+                i -> ToolTypeChargesDto.builder().isWeekendCharge(i % 2 == 1).build(),
+                i -> ToolTypeChargesDto.builder().isHolidayCharge(i % 2 == 1).build());
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(updaters.size());
+        try {
+            List<Future<List<Integer>>> statuses = new ArrayList<>();
+            for (IntFunction<ToolTypeChargesDto> updater : updaters) {
+                statuses.add(executor.submit(() -> {
+                    start.await();
+                    List<Integer> threadStatuses = new ArrayList<>();
+                    for (int i = 1; i <= UPDATES_PER_CHARGE; i++) {
+                        MockHttpServletResponse response = update(ladder.getId(), updater.apply(i)).andReturn().getResponse();
+                        threadStatuses.add(response.getStatus());
+                    }
+                    return threadStatuses;
+                }));
+            }
+            start.countDown();
+
+            for (Future<List<Integer>> future : statuses) {
+                assertEquals(List.of(200), future.get().stream().distinct().toList());
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        ToolType toolType = toolTypeRepository.findById(ladder.getId()).orElseThrow();
+        assertEquals(updaters.size() * UPDATES_PER_CHARGE, toolType.getVersion());
+        assertEquals(0, new BigDecimal("21.50").compareTo(toolType.getDailyCharge()));
+        assertTrue(toolType.getIsWeekdayCharge());
+        assertTrue(toolType.getIsWeekendCharge());
+        assertTrue(toolType.getIsHolidayCharge());
+
+        WriteRetryStatsDto stats = writeRetryStats().stream()
+                .filter(operation -> operation.getOperation().equals("ToolTypeServiceImpl.updateToolTypeCharges"))
+                .findFirst().orElseThrow();
+        assertEquals(0, stats.getExhausted());
+        assertEquals(stats.getConflicts(), stats.getRetries());
+    }
+
+    private ResultActions update(Long toolTypeId, ToolTypeChargesDto charges) throws Exception {
+        return mvc.perform(patch("/api/tool-type/" + toolTypeId).contentType("application/json")
+                .content(objectMapper.writeValueAsString(charges)));
+    }
+
+    private List<WriteRetryStatsDto> writeRetryStats() throws Exception {
+        String response = mvc.perform(get("/api/write-retry/stats"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readValue(response, new TypeReference<>() {
+        });
+    }
+}